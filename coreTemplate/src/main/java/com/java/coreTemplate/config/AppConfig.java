@@ -1,16 +1,19 @@
 package com.java.coreTemplate.config;
 
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({JwtKeyringProperties.class, VectorQuantizationProperties.class})
 public class AppConfig {
     @Bean
-    public FilterRegistrationBean<AuthFilter> authFilter(SessionAuthService sessionAuthService) {
+    public FilterRegistrationBean<AuthFilter> authFilter(SessionAuthService sessionAuthService,
+                                                         JwtClaimsCache jwtClaimsCache) {
         FilterRegistrationBean<AuthFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new AuthFilter(sessionAuthService));
+        registrationBean.setFilter(new AuthFilter(sessionAuthService, jwtClaimsCache));
         registrationBean.addUrlPatterns("/api/*");
         return registrationBean;
     }
@@ -7,9 +7,11 @@ import java.io.IOException;
 
 public class AuthFilter implements Filter {
     private final SessionAuthService sessionAuthService;
+    private final JwtClaimsCache jwtClaimsCache;
 
-    public AuthFilter(SessionAuthService sessionAuthService) {
+    public AuthFilter(SessionAuthService sessionAuthService, JwtClaimsCache jwtClaimsCache) {
         this.sessionAuthService = sessionAuthService;
+        this.jwtClaimsCache = jwtClaimsCache;
     }
 
     @Override
@@ -22,13 +24,12 @@ public class AuthFilter implements Filter {
         String jwtToken = httpRequest.getHeader("Authorization");
 
         // Check for session cookie
-        String sessionId = httpRequest.getSession(false) != null ?
-                httpRequest.getSession(false).getId() : null;
+        String sessionId = sessionAuthService.getRequestedSessionId(httpRequest);
 
         if (jwtToken != null && jwtToken.startsWith("Bearer ")) {
             // JWT-based authentication
             String token = jwtToken.substring(7);
-            if (JwtTokenUtil.validateToken(token)) {
+            if (jwtClaimsCache.getVerifiedClaims(token).isPresent()) {
                 chain.doFilter(request, response);
                 return;
             }
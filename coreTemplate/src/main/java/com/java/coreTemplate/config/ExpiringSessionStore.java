@@ -0,0 +1,102 @@
+package com.java.coreTemplate.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-memory session store with idle and absolute timeouts and a hard size cap.
+ * Expiry is tracked by Caffeine's timer wheel, so reads and writes stay O(1) and
+ * expired sessions are reclaimed without scanning the whole map.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.session.store", havingValue = "memory", matchIfMissing = true)
+public class ExpiringSessionStore implements SessionStore, MeterBinder {
+    private final Ticker ticker;
+    private final Cache<String, SessionEntry> sessions;
+
+    @Autowired
+    public ExpiringSessionStore(@Value("${auth.session.idle-timeout:30m}") Duration idleTimeout,
+                                @Value("${auth.session.absolute-timeout:12h}") Duration absoluteTimeout,
+                                @Value("${auth.session.max-sessions:100000}") long maxSessions) {
+        this(idleTimeout, absoluteTimeout, maxSessions, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param ticker   time source for both expiry and session creation times
+     * @param executor runs Caffeine's maintenance, including size-based eviction
+     */
+    ExpiringSessionStore(Duration idleTimeout, Duration absoluteTimeout, long maxSessions, Ticker ticker, Executor executor) {
+        this.ticker = ticker;
+        long idleNanos = idleTimeout.toNanos();
+        long absoluteNanos = absoluteTimeout.toNanos();
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(maxSessions)
+                .expireAfter(new Expiry<String, SessionEntry>() {
+                    @Override
+                    public long expireAfterCreate(String sessionId, SessionEntry entry, long currentTime) {
+                        return Math.min(idleNanos, absoluteNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String sessionId, SessionEntry entry, long currentTime, long currentDuration) {
+                        return remaining(entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String sessionId, SessionEntry entry, long currentTime, long currentDuration) {
+                        return remaining(entry, currentTime);
+                    }
+
+                    // Each access extends the idle window, but never past the absolute deadline
+                    private long remaining(SessionEntry entry, long currentTime) {
+                        long untilAbsolute = absoluteNanos - (currentTime - entry.createdAtNanos());
+                        return Math.max(0, Math.min(idleNanos, untilAbsolute));
+                    }
+                })
+                .ticker(ticker)
+                .executor(executor)
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void put(String sessionId, String userId) {
+        sessions.put(sessionId, new SessionEntry(userId, ticker.read()));
+    }
+
+    @Override
+    public Optional<String> getUserId(String sessionId) {
+        SessionEntry entry = sessions.getIfPresent(sessionId);
+        return entry != null ? Optional.of(entry.userId()) : Optional.empty();
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        sessions.invalidate(sessionId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Publishes cache.size (live sessions) and cache.evictions for the session store
+        CaffeineCacheMetrics.monitor(registry, sessions, "authSessions");
+    }
+
+    private record SessionEntry(String userId, long createdAtNanos) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.java.coreTemplate.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Session store shared by every node through the {@code auth_sessions} table.
+ * A short-lived per-node near-cache answers most lookups locally; its TTL bounds how long
+ * a logout on one node can go unnoticed by the others.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.session.store", havingValue = "jdbc")
+public class JdbcSessionStore implements SessionStore, MeterBinder {
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration idleTimeout;
+    private final Duration absoluteTimeout;
+    private final Cache<String, String> nearCache;
+
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate,
+                            @Value("${auth.session.idle-timeout:30m}") Duration idleTimeout,
+                            @Value("${auth.session.absolute-timeout:12h}") Duration absoluteTimeout,
+                            @Value("${auth.session.jdbc.near-cache-ttl:5s}") Duration nearCacheTtl,
+                            @Value("${auth.session.jdbc.near-cache-max-entries:10000}") long nearCacheMaxEntries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idleTimeout = idleTimeout;
+        this.absoluteTimeout = absoluteTimeout;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxEntries)
+                .expireAfterWrite(nearCacheTtl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void put(String sessionId, String userId) {
+        Instant now = Instant.now();
+        Instant absoluteExpiry = now.plus(absoluteTimeout);
+        Timestamp expiresAt = Timestamp.from(earliest(now.plus(idleTimeout), absoluteExpiry));
+        int updated = jdbcTemplate.update(
+                "UPDATE auth_sessions SET user_id = ?, created_at = ?, last_accessed_at = ?, expires_at = ?, " +
+                "absolute_expires_at = ? WHERE session_id = ?",
+                userId, Timestamp.from(now), Timestamp.from(now), expiresAt, Timestamp.from(absoluteExpiry), sessionId);
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO auth_sessions (session_id, user_id, created_at, last_accessed_at, expires_at, " +
+                    "absolute_expires_at) VALUES (?, ?, ?, ?, ?, ?)",
+                    sessionId, userId, Timestamp.from(now), Timestamp.from(now), expiresAt, Timestamp.from(absoluteExpiry));
+        }
+        nearCache.put(sessionId, userId);
+    }
+
+    @Override
+    @Transactional
+    public Optional<String> getUserId(String sessionId) {
+        String cached = nearCache.getIfPresent(sessionId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Instant now = Instant.now();
+        List<SessionRow> rows = jdbcTemplate.query(
+                "SELECT user_id, absolute_expires_at FROM auth_sessions WHERE session_id = ? AND expires_at > ?",
+                (rs, rowNum) -> new SessionRow(rs.getString("user_id"), rs.getTimestamp("absolute_expires_at").toInstant()),
+                sessionId, Timestamp.from(now));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // The idle window is only extended on near-cache misses, i.e. at most once per TTL per node
+        SessionRow row = rows.get(0);
+        jdbcTemplate.update(
+                "UPDATE auth_sessions SET last_accessed_at = ?, expires_at = ? WHERE session_id = ?",
+                Timestamp.from(now), Timestamp.from(earliest(now.plus(idleTimeout), row.absoluteExpiresAt())), sessionId);
+        nearCache.put(sessionId, row.userId());
+        return Optional.of(row.userId());
+    }
+
+    @Override
+    @Transactional
+    public void remove(String sessionId) {
+        nearCache.invalidate(sessionId);
+        jdbcTemplate.update("DELETE FROM auth_sessions WHERE session_id = ?", sessionId);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.session.jdbc.purge-interval:5m}")
+    @Transactional
+    public void purgeExpired() {
+        jdbcTemplate.update("DELETE FROM auth_sessions WHERE expires_at <= ?", Timestamp.from(Instant.now()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, nearCache, "authSessionsNearCache");
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record SessionRow(String userId, Instant absoluteExpiresAt) {
+    }
+}
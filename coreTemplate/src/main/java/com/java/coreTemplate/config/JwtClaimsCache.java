@@ -0,0 +1,113 @@
+package com.java.coreTemplate.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.java.coreTemplate.util.Digests;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Bounded cache of verified JWT claims so repeat bearer tokens skip signature verification.
+ * Entries are keyed by a SHA-256 digest of the token and expire at the token's own {@code exp},
+ * or when its signing key is retired if that comes first.
+ */
+@Component
+public class JwtClaimsCache implements MeterBinder {
+    private final JwtTokenUtil jwtTokenUtil;
+    private final Clock clock;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public JwtClaimsCache(JwtTokenUtil jwtTokenUtil,
+                          @Value("${auth.jwt.claims-cache.max-entries:10000}") long maxEntries) {
+        this(jwtTokenUtil, maxEntries, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    JwtClaimsCache(JwtTokenUtil jwtTokenUtil, long maxEntries, Clock clock, Ticker ticker) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .ticker(ticker)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return nanosUntilExpiration(token);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return nanosUntilExpiration(token);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the verified claims for the token, consulting the cache before doing a full parse.
+     *
+     * @param token the compact JWT
+     * @return the claims if the token is valid and unexpired, empty otherwise
+     */
+    public Optional<Claims> getVerifiedClaims(String token) {
+        String key = Digests.sha256(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            // Cache expiry runs on the monotonic clock; re-check the wall clock so an expired token is never accepted
+            if (clock.instant().isBefore(cached.validUntil())) {
+                return Optional.of(cached.claims());
+            }
+            cache.invalidate(key);
+        }
+
+        Jws<Claims> jws;
+        try {
+            jws = jwtTokenUtil.parseSignedToken(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        // Tokens without an expiration are verified every time rather than cached indefinitely
+        Instant validUntil = jwtTokenUtil.validUntil(jws);
+        if (validUntil != null) {
+            cache.put(key, new VerifiedToken(jws.getPayload(), validUntil));
+        }
+        return Optional.of(jws.getPayload());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwtClaims");
+    }
+
+    private long nanosUntilExpiration(VerifiedToken token) {
+        Duration remaining = Duration.between(clock.instant(), token.validUntil());
+        return remaining.isNegative() ? 0 : remaining.toNanos();
+    }
+
+    private record VerifiedToken(Claims claims, Instant validUntil) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.java.coreTemplate.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable set of JWT signing keys indexed by key ID.
+ *
+ * <p>Rotation: deploy the new key everywhere, switch {@code active-key-id} to it, then give the
+ * old key a {@code retire-at} at least one token lifetime in the future. During that overlap window
+ * every node signs with the new key and still accepts tokens signed with the old one.
+ */
+@Slf4j
+@Component
+public class JwtKeyring {
+    private final Map<String, SigningKey> keysById;
+    private final SigningKey activeKey;
+    private final Clock clock;
+
+    @Autowired
+    public JwtKeyring(JwtKeyringProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    JwtKeyring(JwtKeyringProperties properties, Clock clock) {
+        this.clock = clock;
+        Map<String, SigningKey> keys = new HashMap<>();
+        for (JwtKeyringProperties.Key key : properties.keys()) {
+            if (key.id() == null || key.id().isBlank() || key.secret() == null) {
+                throw new IllegalStateException("Every JWT keyring entry needs an id and a secret");
+            }
+            SecretKey secretKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(key.secret()));
+            if (keys.put(key.id(), new SigningKey(key.id(), secretKey, key.retireAt())) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + key.id());
+            }
+        }
+
+        if (keys.isEmpty()) {
+            // Keeps local development working, but tokens will not survive a restart or work across nodes
+            log.warn("No auth.jwt.keyring keys configured; using an ephemeral signing key");
+            String id = "ephemeral-" + UUID.randomUUID();
+            keys.put(id, new SigningKey(id, Jwts.SIG.HS256.key().build(), null));
+            this.activeKey = keys.get(id);
+        } else {
+            this.activeKey = keys.get(properties.activeKeyId());
+            if (activeKey == null) {
+                throw new IllegalStateException("auth.jwt.keyring.active-key-id does not match a configured key");
+            }
+            if (activeKey.retireAt() != null) {
+                throw new IllegalStateException("The active JWT key cannot have a retire-at");
+            }
+        }
+        this.keysById = Map.copyOf(keys);
+    }
+
+    public SigningKey activeKey() {
+        return activeKey;
+    }
+
+    /**
+     * Looks up the key that may verify a token with the given {@code kid}.
+     *
+     * @param keyId the token's key ID
+     * @return the key, or empty if it is unknown or already retired
+     */
+    public Optional<SigningKey> verificationKey(String keyId) {
+        if (keyId == null) {
+            return Optional.empty();
+        }
+        SigningKey key = keysById.get(keyId);
+        if (key == null || key.isRetired(clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(key);
+    }
+
+    public record SigningKey(String id, SecretKey key, Instant retireAt) {
+
+        boolean isRetired(Instant now) {
+            return retireAt != null && !now.isBefore(retireAt);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.java.coreTemplate.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Signing keys for {@link JwtKeyring}, bound from {@code auth.jwt.keyring.*}.
+ * Keys can live in a separate file pulled in with {@code spring.config.import}.
+ *
+ * @param activeKeyId ID of the key used to sign new tokens
+ * @param keys        every key that may still verify tokens
+ */
+@ConfigurationProperties(prefix = "auth.jwt.keyring")
+public record JwtKeyringProperties(String activeKeyId, List<Key> keys) {
+
+    public JwtKeyringProperties {
+        keys = keys != null ? List.copyOf(keys) : List.of();
+    }
+
+    /**
+     * @param id       the key ID written to the token's {@code kid} header
+     * @param secret   Base64-encoded HMAC secret, at least 256 bits
+     * @param retireAt when set, tokens signed with this key stop verifying after this instant
+     */
+    public record Key(String id, String secret, Instant retireAt) {
+    }
+}
@@ -2,40 +2,76 @@ package com.java.coreTemplate.config;
 
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 import org.apache.commons.lang3.time.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.security.Key;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
 
+@Component
 public class JwtTokenUtil {
-     private static final Key SECRET_KEY = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    //private static final Key SECRET_KEY = Keys.secretKeyFor(Jwts.SIG.HS256);
     private static final int EXPIRATION_HOURS = 24;
 
-    public static String generateToken(String subject, Map<String, Object> claims) {
+    private final JwtKeyring keyring;
+    private final Clock clock;
+    // JwtParser is immutable and thread-safe, so build it once instead of per request
+    private final JwtParser parser;
+
+    @Autowired
+    public JwtTokenUtil(JwtKeyring keyring) {
+        this(keyring, Clock.systemUTC());
+    }
+
+    JwtTokenUtil(JwtKeyring keyring, Clock clock) {
+        this.keyring = keyring;
+        this.clock = clock;
+        this.parser = Jwts.parser()
+                .clock(() -> Date.from(clock.instant()))
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        // Unknown or retired kid: no key, so jjwt rejects the token
+                        return keyring.verificationKey(header.getKeyId())
+                                .map(JwtKeyring.SigningKey::key)
+                                .orElse(null);
+                    }
+                })
+                .build();
+    }
+
+    public String generateToken(String subject, Map<String, Object> claims) {
+        JwtKeyring.SigningKey signingKey = keyring.activeKey();
+        Date now = Date.from(clock.instant());
         return Jwts.builder()
+                .header().keyId(signingKey.id()).and()
                 .setClaims(claims)
                 .setSubject(subject)
-                .setIssuedAt(new Date())
-                .setExpiration(DateUtils.addHours(new Date(), EXPIRATION_HOURS))
-                .signWith(SECRET_KEY)
+                .setIssuedAt(now)
+                .setExpiration(DateUtils.addHours(now, EXPIRATION_HOURS))
+                .signWith(signingKey.key())
                 .compact();
     }
 
-    public static Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) SECRET_KEY) // Changed from setSigningKey()
-                .build()
-                .parseSignedClaims(token) // Changed from parseClaimsJws()
+    public Jws<Claims> parseSignedToken(String token) {
+        return parser.parseSignedClaims(token);
+    }
+
+    public Claims parseToken(String token) {
+        return parseSignedToken(token)
                 .getPayload(); // Changed from getBody()
     }
-    public static boolean validateToken(String token) {
+
+    public boolean validateToken(String token) {
         try {
             parseToken(token);
             return true;
@@ -43,4 +79,22 @@ public class JwtTokenUtil {
             return false;
         }
     }
+
+    /**
+     * Returns the instant after which a verified token stops being valid: its {@code exp},
+     * or earlier if its signing key is retired first.
+     *
+     * @param jws a token returned by {@link #parseSignedToken(String)}
+     * @return the validity deadline, or null if the token never expires
+     */
+    public Instant validUntil(Jws<Claims> jws) {
+        Date expiration = jws.getPayload().getExpiration();
+        Instant retireAt = keyring.verificationKey(jws.getHeader().getKeyId())
+                .map(JwtKeyring.SigningKey::retireAt)
+                .orElse(null);
+        if (expiration == null) {
+            return retireAt;
+        }
+        return retireAt != null && retireAt.isBefore(expiration.toInstant()) ? retireAt : expiration.toInstant();
+    }
 }
\ No newline at end of file
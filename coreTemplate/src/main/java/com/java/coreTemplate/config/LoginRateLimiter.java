@@ -0,0 +1,63 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.exception.TooManyRequestsException;
+import com.java.coreTemplate.util.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-username and per-client-IP token buckets for the login endpoints. Checked before any
+ * database access so credential-stuffing bursts are shed with 429 instead of reaching the pool.
+ */
+@Component
+public class LoginRateLimiter {
+    private final TokenBucketLimiter byUsername;
+    private final TokenBucketLimiter byIp;
+    private final Counter usernameRejections;
+    private final Counter ipRejections;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.rate-limit.username.capacity:5}") int usernameCapacity,
+                            @Value("${auth.rate-limit.username.refill-per-minute:5}") double usernameRefillPerMinute,
+                            @Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+                            @Value("${auth.rate-limit.ip.refill-per-minute:60}") double ipRefillPerMinute,
+                            @Value("${auth.rate-limit.max-keys:100000}") int maxKeys,
+                            @Value("${auth.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        this.byUsername = new TokenBucketLimiter(usernameCapacity, usernameRefillPerMinute / 60, maxKeys, idleTimeout.toMillis());
+        this.byIp = new TokenBucketLimiter(ipCapacity, ipRefillPerMinute / 60, maxKeys, idleTimeout.toMillis());
+        this.usernameRejections = Counter.builder("auth.login.throttled").tag("key", "username").register(meterRegistry);
+        this.ipRejections = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.login.buckets", byUsername, TokenBucketLimiter::size).tag("key", "username").register(meterRegistry);
+        Gauge.builder("auth.login.buckets", byIp, TokenBucketLimiter::size).tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Consumes a token for the client IP and then for the username.
+     *
+     * @param clientIp the request's remote address, which the container resolves through trusted proxies
+     *                 ({@code server.forward-headers-strategy}); otherwise every client shares the balancer's
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void checkLogin(String username, String clientIp) {
+        if (!byIp.tryAcquire(clientIp)) {
+            ipRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts from this address");
+        }
+        if (!byUsername.tryAcquire(username)) {
+            usernameRejections.increment();
+            throw new TooManyRequestsException("Too many login attempts for this user");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.sweep-interval:1m}")
+    public void evictIdleBuckets() {
+        byUsername.evictIdle();
+        byIp.evictIdle();
+    }
+}
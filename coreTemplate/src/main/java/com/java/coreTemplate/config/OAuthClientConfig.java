@@ -0,0 +1,58 @@
+package com.java.coreTemplate.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * HTTP client for the OAuth provider: pooled keep-alive connections and hard timeouts so a slow
+ * provider cannot pin request threads indefinitely.
+ */
+@Configuration
+public class OAuthClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient oauthHttpClient(
+            @Value("${oauth2.http.max-connections:50}") int maxConnections,
+            @Value("${oauth2.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${oauth2.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${oauth2.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${oauth2.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${oauth2.http.idle-eviction:30s}") Duration idleEviction) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate oauthRestTemplate(CloseableHttpClient oauthHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(oauthHttpClient));
+    }
+}
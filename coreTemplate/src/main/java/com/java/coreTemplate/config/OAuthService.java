@@ -1,7 +1,14 @@
 package com.java.coreTemplate.config;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.java.coreTemplate.util.Digests;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -22,7 +29,22 @@ public class OAuthService {
     @Value("${oauth2.client.redirect-uri}")
     private String redirectUri;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    // Keyed by a digest of the access token so raw tokens are not retained
+    private final Cache<String, Map<String, Object>> userInfoCache;
+
+    public OAuthService(@Qualifier("oauthRestTemplate") RestTemplate restTemplate,
+                        MeterRegistry meterRegistry,
+                        @Value("${oauth2.user-info-cache.ttl:60s}") Duration userInfoTtl,
+                        @Value("${oauth2.user-info-cache.max-entries:10000}") long userInfoMaxEntries) {
+        this.restTemplate = restTemplate;
+        this.userInfoCache = Caffeine.newBuilder()
+                .maximumSize(userInfoMaxEntries)
+                .expireAfterWrite(userInfoTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userInfoCache, "oauthUserInfo");
+    }
 
     public String getAccessToken(String code) {
         Map<String, String> params = new HashMap<>();
@@ -37,6 +59,7 @@ public class OAuthService {
     }
 
     public Map<String, Object> getUserInfo(String accessToken) {
-        return restTemplate.getForObject(userInfoUri + "?access_token=" + accessToken, Map.class);
+        return userInfoCache.get(Digests.sha256(accessToken),
+                key -> restTemplate.getForObject(userInfoUri + "?access_token=" + accessToken, Map.class));
     }
 }
\ No newline at end of file
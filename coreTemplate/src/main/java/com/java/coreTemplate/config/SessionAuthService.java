@@ -3,11 +3,14 @@ package com.java.coreTemplate.config;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.stereotype.Service;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class SessionAuthService {
-    private final ConcurrentHashMap<String, String> activeSessions = new ConcurrentHashMap<>();
+    private final SessionStore activeSessions;
+
+    public SessionAuthService(SessionStore activeSessions) {
+        this.activeSessions = activeSessions;
+    }
 
     public String createSession(String userId, HttpServletRequest request) {
         HttpSession session = request.getSession(true);
@@ -16,19 +19,29 @@ public class SessionAuthService {
         return session.getId();
     }
 
+    /**
+     * The session ID the client sent, whether or not this node's container holds that session.
+     * Sessions are checked against the shared {@link SessionStore}, so no container session is
+     * looked up or created and requests need not return to the node that logged them in.
+     */
+    public String getRequestedSessionId(HttpServletRequest request) {
+        return request.getRequestedSessionId();
+    }
+
     public boolean isValidSession(String sessionId) {
-        return activeSessions.containsKey(sessionId);
+        return activeSessions.getUserId(sessionId).isPresent();
     }
 
     public void invalidateSession(String sessionId, HttpServletRequest request) {
+        // Only the node that created the session has a container session to drop
         HttpSession session = request.getSession(false);
-        if (session != null) {
+        if (session != null && session.getId().equals(sessionId)) {
             session.invalidate();
         }
         activeSessions.remove(sessionId);
     }
 
     public String getUserIdFromSession(String sessionId) {
-        return activeSessions.get(sessionId);
+        return activeSessions.getUserId(sessionId).orElse(null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.java.coreTemplate.config;
+
+import java.util.Optional;
+
+/**
+ * Storage for authenticated sessions tracked by {@link SessionAuthService}.
+ */
+public interface SessionStore {
+
+    void put(String sessionId, String userId);
+
+    /**
+     * Looks up the user for a session, refreshing its idle timeout.
+     *
+     * @param sessionId the session ID
+     * @return the user ID if the session exists and has not expired, empty otherwise
+     */
+    Optional<String> getUserId(String sessionId);
+
+    void remove(String sessionId);
+}
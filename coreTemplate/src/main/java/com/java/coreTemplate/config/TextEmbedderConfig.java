@@ -0,0 +1,41 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.vector.HashingTextEmbedder;
+import com.java.coreTemplate.vector.TextEmbedder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-process text embedder for vector stores, so indexes can be built without an external embedding
+ * service. Declare another {@link TextEmbedder} bean to replace it with a model-based one.
+ */
+@Configuration
+public class TextEmbedderConfig {
+
+    /**
+     * With {@code vector-index.embedder.idf-file} set, loads the weights written by
+     * {@link TextEmbedderFitRunner}; its dimension and n-gram settings take precedence over the ones
+     * configured here. Without it every bucket weighs the same.
+     */
+    @Bean
+    public TextEmbedder textEmbedder(@Value("${vector-index.embedder.dimension:512}") int dimension,
+                                     @Value("${vector-index.embedder.word-ngrams:2}") int wordNgrams,
+                                     @Value("${vector-index.embedder.char-ngrams:3}") int charNgrams,
+                                     @Value("${vector-index.embedder.idf-file:}") String idfFile) throws IOException {
+        if (!idfFile.isBlank()) {
+            return HashingTextEmbedder.read(Path.of(idfFile));
+        }
+        return new HashingTextEmbedder(dimension, wordNgrams, charNgrams);
+    }
+
+    /** Bulk embedding is CPU-bound, so it gets its own pool rather than sharing the common one. */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool embeddingPool(@Value("${vector-index.embedder.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
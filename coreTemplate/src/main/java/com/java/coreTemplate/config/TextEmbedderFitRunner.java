@@ -0,0 +1,75 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.vector.HashingTextEmbedder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Command-line entry point that fits the hashing embedder's IDF weights to a corpus and writes them for
+ * {@code vector-index.embedder.idf-file}. The corpus is UTF-8 text with one document per line; blank lines
+ * are skipped. Run once with, for example:
+ * <pre>
+ * java -jar coreTemplate.jar --spring.main.web-application-type=none \
+ *     --vector-index.embedder.fit.corpus=corpus.txt --vector-index.embedder.fit.output=embedder.idf
+ * </pre>
+ * The configured dimension and n-gram settings are fitted. Vectors already indexed with other weights
+ * have to be re-indexed once the file is in use, or documents and queries are weighted differently.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "vector-index.embedder.fit.corpus")
+public class TextEmbedderFitRunner implements ApplicationRunner {
+    private final Path corpus;
+    private final Path output;
+    private final int dimension;
+    private final int wordNgrams;
+    private final int charNgrams;
+    private final ForkJoinPool embeddingPool;
+
+    public TextEmbedderFitRunner(@Value("${vector-index.embedder.fit.corpus}") Path corpus,
+                                 @Value("${vector-index.embedder.fit.output:embedder.idf}") Path output,
+                                 @Value("${vector-index.embedder.dimension:512}") int dimension,
+                                 @Value("${vector-index.embedder.word-ngrams:2}") int wordNgrams,
+                                 @Value("${vector-index.embedder.char-ngrams:3}") int charNgrams,
+                                 ForkJoinPool embeddingPool) {
+        this.corpus = corpus;
+        this.output = output;
+        this.dimension = dimension;
+        this.wordNgrams = wordNgrams;
+        this.charNgrams = charNgrams;
+        this.embeddingPool = embeddingPool;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long start = System.nanoTime();
+        List<String> documents = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(corpus, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    documents.add(line);
+                }
+            }
+        }
+        if (documents.isEmpty()) {
+            throw new IOException(corpus + " holds no documents to fit");
+        }
+        HashingTextEmbedder.fit(documents, dimension, wordNgrams, charNgrams, embeddingPool).write(output);
+        log.info("Fitted embedder weights on {} documents from {} into {} in {} ms", documents.size(), corpus,
+                output, (System.nanoTime() - start) / 1_000_000);
+    }
+}
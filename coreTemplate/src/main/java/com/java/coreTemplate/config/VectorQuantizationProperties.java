@@ -0,0 +1,33 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.vector.Quantization;
+import com.java.coreTemplate.vector.QuantizationSettings;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Segment quantization for persistent vector indexes, bound from {@code vector-index.quantization.*}.
+ *
+ * @param type           default for stores without an override
+ * @param pqSubspaces    product-quantization code bytes per vector; 0 picks one per 8 dimensions
+ * @param rerankFactor   approximate candidates re-scored exactly per requested hit
+ * @param trainingSample vectors sampled per segment to train the quantizer
+ * @param stores         per-store overrides of {@code type}, keyed by vector store id
+ */
+@ConfigurationProperties(prefix = "vector-index.quantization")
+public record VectorQuantizationProperties(@DefaultValue("none") Quantization type,
+                                           @DefaultValue("0") int pqSubspaces,
+                                           @DefaultValue("4") int rerankFactor,
+                                           @DefaultValue("5000") int trainingSample,
+                                           Map<Long, Quantization> stores) {
+
+    public VectorQuantizationProperties {
+        stores = stores != null ? Map.copyOf(stores) : Map.of();
+    }
+
+    public QuantizationSettings forStore(long storeId) {
+        return new QuantizationSettings(stores.getOrDefault(storeId, type), pqSubspaces, rerankFactor, trainingSample);
+    }
+}
@@ -0,0 +1,44 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.service.DatabaseIntegrationVectorStoresBulkLoader;
+import com.java.coreTemplate.service.DatabaseIntegrationVectorStoresBulkLoader.Format;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command-line entry point for the vector-store bulk loader. Run once with, for example:
+ * <pre>
+ * java -jar coreTemplate.jar --spring.main.web-application-type=none --vector-store.bulk-load.file=corpus.ndjson
+ * </pre>
+ * Without a web server the application exits after the load completes; a failed load fails startup.
+ */
+@Component
+@ConditionalOnProperty(name = "vector-store.bulk-load.file")
+public class VectorStoreBulkLoadRunner implements ApplicationRunner {
+    private final DatabaseIntegrationVectorStoresBulkLoader bulkLoader;
+    private final Path file;
+
+    public VectorStoreBulkLoadRunner(DatabaseIntegrationVectorStoresBulkLoader bulkLoader,
+                                     @Value("${vector-store.bulk-load.file}") Path file) {
+        this.bulkLoader = bulkLoader;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        Format format = fileName.endsWith(".csv") ? Format.CSV : Format.NDJSON;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            bulkLoader.load(in, format, file.toString());
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package com.java.coreTemplate.controller;
 
 import com.java.coreTemplate.config.JwtTokenUtil;
+import com.java.coreTemplate.config.LoginRateLimiter;
 import com.java.coreTemplate.config.OAuthService;
 import com.java.coreTemplate.config.SessionAuthService;
 import com.java.coreTemplate.model.dto.RegistrationRequest;
 import com.java.coreTemplate.model.entity.UserDetails;
 import com.java.coreTemplate.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +25,10 @@ public class AuthController {
     private SessionAuthService sessionAuthService;
     @Autowired
     private UserService userService;
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
     @GetMapping("/oauth/callback")
     public String oauthCallback(@RequestParam String code, HttpServletRequest request) {
         String accessToken = oauthService.getAccessToken(code);
@@ -38,7 +42,7 @@ public class AuthController {
         Map<String, Object> claims = new HashMap<>();
         claims.put("email", userId);
         claims.put("name", userInfo.get("name"));
-        String jwtToken = JwtTokenUtil.generateToken(userId, claims);
+        String jwtToken = jwtTokenUtil.generateToken(userId, claims);
 
         return "Session ID: " + sessionId + "\nJWT Token: " + jwtToken;
     }
@@ -47,6 +51,7 @@ public class AuthController {
     public String login(@RequestParam String username,
                         @RequestParam String password,
                         HttpServletRequest request) {
+        loginRateLimiter.checkLogin(username, request.getRemoteAddr());
         // Validate credentials (in a real app, check against database)
         if (!"admin".equals(username) || !"password".equals(password)) {
             throw new RuntimeException("Invalid credentials");
@@ -58,7 +63,7 @@ public class AuthController {
         // Generate JWT token
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", "admin");
-        String jwtToken = JwtTokenUtil.generateToken(username, claims);
+        String jwtToken = jwtTokenUtil.generateToken(username, claims);
 
         return "Session ID: " + sessionId + "\nJWT Token: " + jwtToken;
     }
@@ -79,6 +84,7 @@ public class AuthController {
     public ResponseEntity<?> loginUser(@RequestParam String username,
                         @RequestParam String password,
                         HttpServletRequest request) {
+        loginRateLimiter.checkLogin(username, request.getRemoteAddr());
         // Validate credentials (in a real app, check against database)
         Optional<UserDetails> authenticatedUser = userService.authenticateUser(
                 username,
@@ -91,7 +97,7 @@ public class AuthController {
             // Generate JWT token
             Map<String, Object> claims = new HashMap<>();
             claims.put("role", "user");
-            String jwtToken = JwtTokenUtil.generateToken(username, claims);
+            String jwtToken = jwtTokenUtil.generateToken(username, claims);
 
             return new ResponseEntity<>("Session ID: " + sessionId + "\nJWT Token: " + jwtToken, HttpStatus.OK);
         } else {
@@ -100,9 +106,9 @@ public class AuthController {
     }
     @PostMapping("/logout")
     public String logout(HttpServletRequest request) {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            sessionAuthService.invalidateSession(session.getId(), request);
+        String sessionId = sessionAuthService.getRequestedSessionId(request);
+        if (sessionId != null) {
+            sessionAuthService.invalidateSession(sessionId, request);
         }
         return "Logged out successfully";
     }
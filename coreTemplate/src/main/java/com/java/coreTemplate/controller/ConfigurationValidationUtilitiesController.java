@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -14,10 +15,18 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
+import com.java.coreTemplate.model.dto.ConfigurationSnapshot;
 import com.java.coreTemplate.model.dto.ConfigurationValidationUtilities;
+import com.java.coreTemplate.model.dto.KeysetPage;
+import com.java.coreTemplate.model.dto.ValidationBatchRequest;
+import com.java.coreTemplate.model.dto.ValidationBatchResult;
+import com.java.coreTemplate.service.ConfigurationSnapshotService;
 import com.java.coreTemplate.service.ConfigurationValidationUtilitiesService;
+import com.java.coreTemplate.service.ValidationRuleEngine;
 
+import java.time.Duration;
 import java.util.List;
 
 @Tag(name = "Configuration Validation Utilities", description = "API for managing configuration validation utilities")
@@ -26,9 +35,21 @@ import java.util.List;
 public class ConfigurationValidationUtilitiesController {
 
     private final ConfigurationValidationUtilitiesService service;
+    private final ValidationRuleEngine ruleEngine;
+    private final ConfigurationSnapshotService snapshotService;
+    private final long maxValidationCells;
+    private final Duration maxPollTimeout;
 
-    public ConfigurationValidationUtilitiesController(ConfigurationValidationUtilitiesService service) {
+    public ConfigurationValidationUtilitiesController(ConfigurationValidationUtilitiesService service,
+                                                      ValidationRuleEngine ruleEngine,
+                                                      ConfigurationSnapshotService snapshotService,
+                                                      @Value("${validation.batch.max-cells:1000000}") long maxValidationCells,
+                                                      @Value("${config-snapshot.max-poll-timeout:60s}") Duration maxPollTimeout) {
         this.service = service;
+        this.ruleEngine = ruleEngine;
+        this.snapshotService = snapshotService;
+        this.maxValidationCells = maxValidationCells;
+        this.maxPollTimeout = maxPollTimeout;
     }
 
     @Operation(
@@ -89,6 +110,25 @@ public class ConfigurationValidationUtilitiesController {
         return ResponseEntity.ok(page);
     }
 
+    @Operation(
+        summary = "Get configuration validation utilities with cursor pagination",
+        description = KeysetPage.API_DESCRIPTION,
+        parameters = {
+            @Parameter(name = "after", description = KeysetPage.API_AFTER, example = ""),
+            @Parameter(name = "size", description = KeysetPage.API_SIZE, example = "10")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(schema = @Schema(implementation = KeysetPage.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+        }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<KeysetPage<ConfigurationValidationUtilities>> getAllAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(service.findPageAfter(after, size));
+    }
+
     @Operation(
         summary = "Update an existing configuration validation utility",
         description = "Updates the configuration validation utility with the provided ID.",
@@ -129,6 +169,64 @@ public class ConfigurationValidationUtilitiesController {
         return ResponseEntity.notFound().build();
     }
 
+    @Operation(
+        summary = "Long-poll for active configuration changes",
+        description = "Without 'since', returns the full active configuration. With 'since', returns the changes after that " +
+                      "version immediately if there are any; otherwise the request is parked until the next change or the timeout. " +
+                      "Pass the returned version as 'since' on the next call.",
+        parameters = {
+            @Parameter(name = "since", description = "Version from the previous response", example = "5302424889720874"),
+            @Parameter(name = "timeoutSeconds", description = "How long to wait for a change, capped by the server", example = "30")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Full snapshot or delta",
+                content = @Content(schema = @Schema(implementation = ConfigurationSnapshot.class))),
+            @ApiResponse(responseCode = "304", description = "No change before the timeout; poll again with the same version"),
+            @ApiResponse(responseCode = "503", description = "Too many parked pollers")
+        }
+    )
+    @GetMapping("/snapshot")
+    public DeferredResult<ResponseEntity<ConfigurationSnapshot>> snapshot(
+            @RequestParam(required = false) Long since,
+            @RequestParam(defaultValue = "30") long timeoutSeconds) {
+        Duration timeout = Duration.ofSeconds(Math.max(1, timeoutSeconds));
+        return snapshotService.poll(since, timeout.compareTo(maxPollTimeout) > 0 ? maxPollTimeout : timeout);
+    }
+
+    @Operation(
+        summary = "Validate inputs against validation rules",
+        description = "Evaluates every input against every listed rule using the compiled rule set. " +
+                      "results[i][j] is true when input i passes rule j.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Validation matrix",
+                content = @Content(schema = @Schema(implementation = ValidationBatchResult.class))),
+            @ApiResponse(responseCode = "404", description = "A rule id is not active or its rule does not compile"),
+            @ApiResponse(responseCode = "413", description = "Too many inputs x rules in one request")
+        }
+    )
+    @PostMapping("/validate")
+    public ResponseEntity<ValidationBatchResult> validate(@RequestBody ValidationBatchRequest request) {
+        List<Long> ruleIds = request.ruleIds() == null ? List.of() : request.ruleIds();
+        List<String> inputs = request.inputs() == null ? List.of() : request.inputs();
+        if ((long) ruleIds.size() * inputs.size() > maxValidationCells) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return ResponseEntity.ok(ruleEngine.validate(ruleIds, inputs));
+    }
+
+    @Operation(
+        summary = "Flush the configuration cache",
+        description = "Discards every cached configuration lookup on this node; the next reads go to the database.",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Cache flushed")
+        }
+    )
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> evictCache() {
+        service.evictCache();
+        return ResponseEntity.noContent().build();
+    }
+
     @Operation(
         summary = "Search configuration validation utilities by name or description",
         description = "Performs a fuzzy search across name and description fields.",
@@ -10,14 +10,22 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.java.coreTemplate.model.dto.BulkLoadResult;
 import com.java.coreTemplate.model.dto.DatabaseIntegrationVectorStores;
+import com.java.coreTemplate.model.dto.KeysetPage;
+import com.java.coreTemplate.model.dto.RankedResult;
+import com.java.coreTemplate.service.DatabaseIntegrationVectorStoresBulkLoader;
 import com.java.coreTemplate.service.DatabaseIntegrationVectorStoresService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 @Tag(name = "Database Integration & Vector Stores", description = "API for managing database integration and vector store configurations")
@@ -26,9 +34,12 @@ import java.util.List;
 public class DatabaseIntegrationVectorStoresController {
 
     private final DatabaseIntegrationVectorStoresService service;
+    private final DatabaseIntegrationVectorStoresBulkLoader bulkLoader;
 
-    public DatabaseIntegrationVectorStoresController(DatabaseIntegrationVectorStoresService service) {
+    public DatabaseIntegrationVectorStoresController(DatabaseIntegrationVectorStoresService service,
+                                                     DatabaseIntegrationVectorStoresBulkLoader bulkLoader) {
         this.service = service;
+        this.bulkLoader = bulkLoader;
     }
 
     @Operation(
@@ -52,6 +63,28 @@ public class DatabaseIntegrationVectorStoresController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    @Operation(
+        summary = "Bulk load Database Integration & Vector Stores",
+        description = "Streams a CSV (with header) or NDJSON body into a staging table with PostgreSQL COPY, " +
+                      "then inserts new names and updates existing ones in a single transaction.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Load committed", content = @Content(schema = @Schema(implementation = BulkLoadResult.class))),
+            @ApiResponse(responseCode = "415", description = "Body is neither text/csv nor application/x-ndjson"),
+            @ApiResponse(responseCode = "500", description = "Load failed and was rolled back")
+        }
+    )
+    @PostMapping(value = "/bulk-load", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<BulkLoadResult> bulkLoad(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                   HttpServletRequest request) throws IOException {
+        DatabaseIntegrationVectorStoresBulkLoader.Format format =
+                MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf("text/csv"))
+                        ? DatabaseIntegrationVectorStoresBulkLoader.Format.CSV
+                        : DatabaseIntegrationVectorStoresBulkLoader.Format.NDJSON;
+        // Read the request body as a stream; binding it to a String or byte[] would buffer the whole corpus
+        BulkLoadResult result = bulkLoader.load(request.getInputStream(), format, "request from " + request.getRemoteAddr());
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(
         summary = "Get a Database Integration & Vector Store by ID",
         description = "Retrieves a specific integration configuration by its unique ID.",
@@ -90,6 +123,25 @@ public class DatabaseIntegrationVectorStoresController {
         return ResponseEntity.ok(result);
     }
 
+    @Operation(
+        summary = "Get Database Integration & Vector Stores with cursor pagination",
+        description = KeysetPage.API_DESCRIPTION,
+        parameters = {
+            @Parameter(name = "after", description = KeysetPage.API_AFTER, example = ""),
+            @Parameter(name = "size", description = KeysetPage.API_SIZE, example = "10")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(schema = @Schema(implementation = KeysetPage.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+        }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<KeysetPage<DatabaseIntegrationVectorStores>> getAllAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(service.findPageAfter(after, size));
+    }
+
     @Operation(
         summary = "Update an existing Database Integration & Vector Store",
         description = "Updates the configuration of an existing integration by ID.",
@@ -137,20 +189,25 @@ public class DatabaseIntegrationVectorStoresController {
     }
 
     @Operation(
-        summary = "Search Database Integration & Vector Stores by name or type",
-        description = "Performs a fuzzy search on integration name or type using partial match.",
+        summary = "Search Database Integration & Vector Stores",
+        description = "Ranks integrations by relevance to free text, combining BM25 keyword matching on name, description, " +
+                      "tags and metadata with embedding similarity through reciprocal-rank fusion. Answered from in-memory " +
+                      "indexes; only the returned rows are read from the database.",
         parameters = {
-            @Parameter(name = "query", description = "Search term (e.g., name or type)", required = true, example = "PostgreSQL")
+            @Parameter(name = "query", description = "Free-text search terms", required = true, example = "postgres billing"),
+            @Parameter(name = "page", description = "Page number (0-based)", example = "0"),
+            @Parameter(name = "size", description = "Number of results per page", example = "20")
         },
         responses = {
-            @ApiResponse(responseCode = "200", description = "Matching integrations found", content = @Content(schema = @Schema(implementation = List.class)))
+            @ApiResponse(responseCode = "200", description = "Matching integrations with their fused scores, best first", content = @Content(schema = @Schema(implementation = List.class))),
+            @ApiResponse(responseCode = "400", description = "Page lies past the deepest result served (vector-store.search.max-results)")
         }
     )
     @GetMapping("/search")
-    public ResponseEntity<List<DatabaseIntegrationVectorStores>> search(
+    public ResponseEntity<List<RankedResult<DatabaseIntegrationVectorStores>>> search(
             @RequestParam String query,
             @PageableDefault(page = 0, size = 20) Pageable pageable) {
-        List<DatabaseIntegrationVectorStores> results = service.searchByQuery(query, pageable);
-        return ResponseEntity.ok(results);
+        int size = Math.max(1, Math.min(pageable.getPageSize(), KeysetPage.MAX_SIZE));
+        return ResponseEntity.ok(service.search(query, pageable.getPageNumber(), size));
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.java.coreTemplate.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Stand-in OAuth provider for integration and load tests. Only active with the
+ * {@code oauth-stub} profile, which also points {@code oauth2.provider.*} at these endpoints,
+ * so {@code /auth/oauth/callback} can be exercised without network access.
+ */
+@RestController
+@RequestMapping("/oauth-stub")
+@Profile("oauth-stub")
+public class OAuthStubController {
+
+    private final Duration latency;
+
+    public OAuthStubController(@Value("${oauth2.stub.latency:0ms}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @PostMapping("/token")
+    public Map<String, Object> token(@RequestBody Map<String, String> params) throws InterruptedException {
+        simulateLatency();
+        return Map.of(
+                "access_token", "stub-" + params.get("code"),
+                "token_type", "bearer");
+    }
+
+    @GetMapping("/userinfo")
+    public Map<String, Object> userInfo(@RequestParam("access_token") String accessToken) throws InterruptedException {
+        simulateLatency();
+        String user = accessToken.startsWith("stub-") ? accessToken.substring(5) : accessToken;
+        return Map.of(
+                "email", user + "@stub.local",
+                "name", "Stub User " + user);
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (!latency.isZero()) {
+            Thread.sleep(latency.toMillis());
+        }
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import com.java.coreTemplate.model.dto.KeysetPage;
 import com.java.coreTemplate.model.dto.Recommender;
 import com.java.coreTemplate.service.RecommenderService;
 
@@ -93,6 +94,25 @@ public class RecommenderController {
         return ResponseEntity.ok(recommenders);
     }
 
+    @Operation(
+        summary = "Get recommenders with cursor pagination",
+        description = KeysetPage.API_DESCRIPTION,
+        parameters = {
+            @Parameter(name = "after", description = KeysetPage.API_AFTER, example = ""),
+            @Parameter(name = "size", description = KeysetPage.API_SIZE, example = "10")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(schema = @Schema(implementation = KeysetPage.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+        }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<KeysetPage<Recommender>> getAllAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(service.findPageAfter(after, size));
+    }
+
     @Operation(
         summary = "Update an existing recommender",
         description = "Updates a recommender by ID. If the entity does not exist, returns 404.",
@@ -6,19 +6,35 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import com.java.coreTemplate.model.dto.BatchIngestResult;
+import com.java.coreTemplate.model.dto.FeedbackExportFilter;
+import com.java.coreTemplate.model.dto.FeedbackSearchHit;
+import com.java.coreTemplate.model.dto.KeysetPage;
+import com.java.coreTemplate.model.dto.RatingAggregate;
 import com.java.coreTemplate.model.dto.Userfeedbackmodule;
 import com.java.coreTemplate.service.UserfeedbackmoduleService;
+import jakarta.servlet.http.HttpServletResponse;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @Tag(name = "User Feedback Module API", description = "Operations related to user feedback management")
 @RestController
@@ -27,9 +43,15 @@ import java.util.Optional;
 public class UserfeedbackmoduleController {
 
     private final UserfeedbackmoduleService service;
+    private final int maxBatchItems;
+    private final Duration exportTimeout;
 
-    public UserfeedbackmoduleController(UserfeedbackmoduleService service) {
+    public UserfeedbackmoduleController(UserfeedbackmoduleService service,
+                                        @Value("${feedback.batch.max-items:50000}") int maxBatchItems,
+                                        @Value("${feedback.export.timeout:1h}") Duration exportTimeout) {
         this.service = service;
+        this.maxBatchItems = maxBatchItems;
+        this.exportTimeout = exportTimeout;
     }
 
     @Operation(
@@ -52,6 +74,26 @@ public class UserfeedbackmoduleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
+    @Operation(
+        summary = "Create user feedbacks in bulk",
+        description = "Inserts an array of feedbacks using batched inserts in chunked transactions. " +
+                      "Returns 201 if every item was stored, otherwise 207 with the index and reason for each rejected item.",
+        responses = {
+            @ApiResponse(responseCode = "201", description = "All feedbacks created", content = @Content(schema = @Schema(implementation = BatchIngestResult.class))),
+            @ApiResponse(responseCode = "207", description = "Some feedbacks were rejected", content = @Content(schema = @Schema(implementation = BatchIngestResult.class))),
+            @ApiResponse(responseCode = "413", description = "Too many items in one request")
+        }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<BatchIngestResult> createBatch(@RequestBody List<Userfeedbackmodule> entities) {
+        if (entities.size() > maxBatchItems) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        BatchIngestResult result = service.saveBatch(entities);
+        return ResponseEntity.status(result.failures().isEmpty() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .body(result);
+    }
+
     @Operation(
         summary = "Get user feedback by ID",
         description = "Retrieves a user feedback by its unique ID.",
@@ -90,19 +132,81 @@ public class UserfeedbackmoduleController {
         return ResponseEntity.ok(feedbacks);
     }
 
+    @Operation(
+        summary = "Get user feedbacks with cursor pagination",
+        description = KeysetPage.API_DESCRIPTION,
+        parameters = {
+            @Parameter(name = "after", description = KeysetPage.API_AFTER, example = ""),
+            @Parameter(name = "size", description = KeysetPage.API_SIZE, example = "10")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Page retrieved successfully", content = @Content(schema = @Schema(implementation = KeysetPage.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor")
+        }
+    )
+    @GetMapping(params = "after")
+    public ResponseEntity<KeysetPage<Userfeedbackmodule>> getAllAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(service.findPageAfter(after, size));
+    }
+
+    @Operation(
+        summary = "Rating aggregates over all feedback",
+        description = "Count, sum, average and 1-5 histogram of ratings. Read from aggregates maintained on every write, " +
+                      "so the cost does not grow with the number of feedbacks.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Aggregates retrieved", content = @Content(schema = @Schema(implementation = RatingAggregate.class)))
+        }
+    )
+    @GetMapping("/aggregates")
+    public ResponseEntity<RatingAggregate> getAggregates() {
+        return ResponseEntity.ok(service.getRatingAggregate());
+    }
+
+    @Operation(
+        summary = "Rating aggregates of one user's feedback",
+        parameters = {
+            @Parameter(name = "userId", description = "User whose feedback to aggregate", example = "42")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Aggregates retrieved; all zero if the user has no feedback", content = @Content(schema = @Schema(implementation = RatingAggregate.class)))
+        }
+    )
+    @GetMapping("/aggregates/users/{userId}")
+    public ResponseEntity<RatingAggregate> getUserAggregates(@PathVariable Long userId) {
+        return ResponseEntity.ok(service.getRatingAggregateForUser(userId));
+    }
+
+    @Operation(
+        summary = "Rating aggregates of one day's feedback",
+        parameters = {
+            @Parameter(name = "date", description = "Day of feedbackDate (ISO-8601)", example = "2025-01-31")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Aggregates retrieved; all zero if there is no feedback that day", content = @Content(schema = @Schema(implementation = RatingAggregate.class)))
+        }
+    )
+    @GetMapping("/aggregates/days/{date}")
+    public ResponseEntity<RatingAggregate> getDayAggregates(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(service.getRatingAggregateForDay(date));
+    }
+
     @Operation(
         summary = "Search user feedbacks by criteria",
         description = "Searches for feedbacks using optional filters like feedbackType, status, or keyword.",
         parameters = {
-            @Parameter(name = "feedbackType", description = "Filter by feedback type", example = "BUG_REPORT"),
-            @Parameter(name = "status", description = "Filter by status", example = "PENDING"),
+            @Parameter(name = "feedbackType", description = "Filter by feedback type; feedback records no type, so any value is rejected", example = "BUG_REPORT"),
+            @Parameter(name = "status", description = "Filter by status: PENDING or RESOLVED", example = "PENDING"),
             @Parameter(name = "keyword", description = "Search in content or title", example = "login error"),
             @Parameter(name = "page", description = "Page number (0-based)", example = "0"),
             @Parameter(name = "size", description = "Number of items per page", example = "10"),
             @Parameter(name = "sort", description = "Sort field (e.g., 'createdAt,desc')", example = "createdAt,desc")
         },
         responses = {
-            @ApiResponse(responseCode = "200", description = "Filtered list of feedbacks retrieved", content = @Content(schema = @Schema(implementation = Page.class)))
+            @ApiResponse(responseCode = "200", description = "Filtered list of feedbacks retrieved", content = @Content(schema = @Schema(implementation = Page.class))),
+            @ApiResponse(responseCode = "400", description = "A filter cannot be applied")
         }
     )
     @GetMapping("/search")
@@ -117,6 +221,67 @@ public class UserfeedbackmoduleController {
         return ResponseEntity.ok(results);
     }
 
+    @Operation(
+        summary = "Full-text search of user feedbacks",
+        description = "Searches name and description, best match first, with matched words wrapped in <mark> in the highlight. " +
+                      "Supports \"quoted phrases\", or, and -excluded words. When nothing matches, falls back to fuzzy " +
+                      "matching so misspellings still find results; fuzzy hits have no highlight.",
+        parameters = {
+            @Parameter(name = "query", description = "Search query", example = "login error"),
+            @Parameter(name = "page", description = "Page number (0-based)", example = "0"),
+            @Parameter(name = "size", description = "Number of items per page", example = "10")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Ranked feedbacks retrieved", content = @Content(schema = @Schema(implementation = Slice.class)))
+        }
+    )
+    @GetMapping("/search/text")
+    public ResponseEntity<Slice<FeedbackSearchHit>> searchText(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(service.searchText(query, page, size));
+    }
+
+    @Operation(
+        summary = "Export user feedbacks as NDJSON",
+        description = "Streams every matching feedback as one JSON object per line, straight from a database cursor. " +
+                      "Memory use is constant regardless of how many rows match.",
+        parameters = {
+            @Parameter(name = "from", description = "Inclusive lower bound on feedbackDate (ISO-8601)", example = "2025-01-01T00:00:00"),
+            @Parameter(name = "to", description = "Exclusive upper bound on feedbackDate (ISO-8601)", example = "2025-02-01T00:00:00"),
+            @Parameter(name = "rating", description = "Only feedback with this rating", example = "5"),
+            @Parameter(name = "userId", description = "Only feedback from this user", example = "42"),
+            @Parameter(name = "gzip", description = "Gzip-compress the response body", example = "false")
+        },
+        responses = {
+            @ApiResponse(responseCode = "200", description = "NDJSON stream of feedbacks", content = @Content(mediaType = "application/x-ndjson"))
+        }
+    )
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public WebAsyncTask<Void> export(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer rating,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) {
+        FeedbackExportFilter filter = new FeedbackExportFilter(from, to, rating, userId);
+        // Written straight to the response on the async executor, under its own timeout rather than the global one
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            response.setContentType("application/x-ndjson");
+            if (gzip) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                try (GZIPOutputStream compressed = new GZIPOutputStream(response.getOutputStream(), 64 * 1024)) {
+                    service.exportNdjson(filter, compressed);
+                }
+            } else {
+                service.exportNdjson(filter, response.getOutputStream());
+            }
+            return null;
+        });
+    }
+
     @Operation(
         summary = "Update existing user feedback",
         description = "Updates a user feedback by ID. Returns updated entity with HTTP 200.",
@@ -0,0 +1,146 @@
+package com.java.coreTemplate.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.java.coreTemplate.model.dto.TextSearchRequest;
+import com.java.coreTemplate.model.dto.TextUpsertRequest;
+import com.java.coreTemplate.model.dto.VectorSearchRequest;
+import com.java.coreTemplate.model.dto.VectorUpsertRequest;
+import com.java.coreTemplate.service.TextEmbeddingService;
+import com.java.coreTemplate.vector.HnswIndex;
+import com.java.coreTemplate.vector.VectorIndexRegistry;
+
+import java.util.List;
+
+@Tag(name = "Vector Index", description = "In-process nearest-neighbor index per vector store")
+@RestController
+@RequestMapping("/api/v1/database-integration-vector-stores/{storeId}/vectors")
+public class VectorIndexController {
+
+    private static final int MAX_K = 1000;
+
+    private final VectorIndexRegistry registry;
+    private final TextEmbeddingService textEmbeddingService;
+    private final int maxTextBatch;
+
+    public VectorIndexController(VectorIndexRegistry registry, TextEmbeddingService textEmbeddingService,
+                                 @Value("${vector-index.embedder.max-batch:10000}") int maxTextBatch) {
+        this.registry = registry;
+        this.textEmbeddingService = textEmbeddingService;
+        this.maxTextBatch = maxTextBatch;
+    }
+
+    @Operation(
+        summary = "Add a vector",
+        description = "Indexes an embedding under a caller-assigned id, with optional attributes for filtered search. "
+                + "The first vector fixes the store's dimension.",
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Vector indexed"),
+            @ApiResponse(responseCode = "400", description = "Wrong dimension, non-finite components or invalid attributes"),
+            @ApiResponse(responseCode = "404", description = "Vector store not found"),
+            @ApiResponse(responseCode = "409", description = "Id already indexed")
+        }
+    )
+    @PostMapping
+    public ResponseEntity<Void> add(@PathVariable Long storeId, @RequestBody VectorUpsertRequest request) {
+        registry.add(storeId, request.id(), request.vector(), request.attributes());
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @Operation(
+        summary = "Add or replace a vector",
+        description = "Indexes an embedding under the id in the path, replacing the vector and attributes indexed "
+                + "under it, if any. The replacement is searchable immediately; no rebuild is needed.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Vector replaced"),
+            @ApiResponse(responseCode = "201", description = "Vector indexed"),
+            @ApiResponse(responseCode = "400", description = "Wrong dimension, non-finite components or invalid attributes"),
+            @ApiResponse(responseCode = "404", description = "Vector store not found")
+        }
+    )
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> upsert(@PathVariable Long storeId, @PathVariable Long id,
+                                       @RequestBody VectorUpsertRequest request) {
+        boolean replaced = registry.upsert(storeId, id, request.vector(), request.attributes());
+        return ResponseEntity.status(replaced ? HttpStatus.OK : HttpStatus.CREATED).build();
+    }
+
+    @Operation(
+        summary = "Delete a vector",
+        description = "Removes a vector from search results immediately. Its space is reclaimed in the background "
+                + "once enough of its segment has been deleted.",
+        responses = {
+            @ApiResponse(responseCode = "204", description = "Vector deleted"),
+            @ApiResponse(responseCode = "404", description = "Vector or vector store not found")
+        }
+    )
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long storeId, @PathVariable Long id) {
+        registry.delete(storeId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+        summary = "Find nearest vectors",
+        description = "Returns the k most similar indexed vectors, best first. Raise efSearch for better recall at higher latency. "
+                + "An optional filter such as environment = 'prod' AND (tags IN ('billing', 'faq') OR region != eu) "
+                + "restricts results to vectors whose attributes match. A query nearly identical to a recent one "
+                + "with the same options returns that query's cached hits until the store changes.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Nearest neighbors",
+                content = @Content(schema = @Schema(implementation = HnswIndex.Hit.class))),
+            @ApiResponse(responseCode = "400", description = "Wrong query dimension or invalid filter"),
+            @ApiResponse(responseCode = "404", description = "No vectors indexed for this store")
+        }
+    )
+    @PostMapping("/search")
+    public ResponseEntity<List<HnswIndex.Hit>> search(@PathVariable Long storeId, @RequestBody VectorSearchRequest request) {
+        int k = request.k() == null ? 10 : Math.max(1, Math.min(request.k(), MAX_K));
+        return ResponseEntity.ok(registry.search(storeId, request.vector(), k, request.efSearch(), request.filter()));
+    }
+
+    @Operation(
+        summary = "Add texts",
+        description = "Embeds an array of texts with the built-in embedder, in parallel, and indexes each under its id. "
+                + "A store holds either embedded texts or caller-supplied vectors of the embedder's dimension.",
+        responses = {
+            @ApiResponse(responseCode = "201", description = "Texts indexed"),
+            @ApiResponse(responseCode = "400", description = "Missing text, invalid attributes or a store of another dimension"),
+            @ApiResponse(responseCode = "404", description = "Vector store not found"),
+            @ApiResponse(responseCode = "409", description = "Id already indexed"),
+            @ApiResponse(responseCode = "413", description = "Too many texts in one request")
+        }
+    )
+    @PostMapping("/texts")
+    public ResponseEntity<Void> addTexts(@PathVariable Long storeId, @RequestBody List<TextUpsertRequest> documents) {
+        if (documents.size() > maxTextBatch) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        textEmbeddingService.addAll(storeId, documents);
+        return ResponseEntity.status(HttpStatus.CREATED).build();
+    }
+
+    @Operation(
+        summary = "Find nearest texts",
+        description = "Embeds the query text and returns the k most similar indexed vectors, best first.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Nearest neighbors",
+                content = @Content(schema = @Schema(implementation = HnswIndex.Hit.class))),
+            @ApiResponse(responseCode = "400", description = "Missing text or invalid filter"),
+            @ApiResponse(responseCode = "404", description = "No vectors indexed for this store")
+        }
+    )
+    @PostMapping("/texts/search")
+    public ResponseEntity<List<HnswIndex.Hit>> searchText(@PathVariable Long storeId, @RequestBody TextSearchRequest request) {
+        int k = request.k() == null ? 10 : Math.max(1, Math.min(request.k(), MAX_K));
+        return ResponseEntity.ok(textEmbeddingService.search(storeId, request.text(), k, request.efSearch(), request.filter()));
+    }
+}
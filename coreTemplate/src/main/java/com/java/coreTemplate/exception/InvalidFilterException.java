@@ -0,0 +1,15 @@
+package com.java.coreTemplate.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a search filter expression cannot be parsed, or a filter cannot be applied.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidFilterException extends RuntimeException {
+
+    public InvalidFilterException(String message) {
+        super(message);
+    }
+}
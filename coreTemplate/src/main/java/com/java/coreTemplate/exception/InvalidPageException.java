@@ -0,0 +1,15 @@
+package com.java.coreTemplate.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a requested page lies outside the range an endpoint serves.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPageException extends RuntimeException {
+
+    public InvalidPageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.java.coreTemplate.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a {@code validationRule} cannot be compiled.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidValidationRuleException extends RuntimeException {
+
+    public InvalidValidationRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.java.coreTemplate.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a vector is missing, has the wrong dimension or contains non-finite values.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidVectorException extends RuntimeException {
+
+    public InvalidVectorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.java.coreTemplate.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a validation request names a rule that is not active or failed to compile.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UnknownValidationRuleException extends RuntimeException {
+
+    public UnknownValidationRuleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.java.coreTemplate.model.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk insert: how many items were stored and why the others were rejected.
+ */
+public record BatchIngestResult(int received, int inserted, List<ItemFailure> failures) {
+
+    /**
+     * @param index position of the rejected item in the request array
+     * @param error reason it was not stored
+     */
+    public record ItemFailure(int index, String error) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.java.coreTemplate.model.dto;
+
+/**
+ * Outcome of a bulk load: rows read from the input and how the merge applied them.
+ *
+ * @param rowsRead      records streamed into the staging table
+ * @param inserted      new rows created in the target table
+ * @param updated       existing rows (matched by name) overwritten
+ * @param skipped       records dropped for missing required columns or superseded by a later duplicate name
+ * @param elapsedMillis wall-clock duration of the whole load
+ */
+public record BulkLoadResult(long rowsRead, long inserted, long updated, long skipped, long elapsedMillis) {
+}
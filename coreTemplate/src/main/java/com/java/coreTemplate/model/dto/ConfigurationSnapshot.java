@@ -0,0 +1,16 @@
+package com.java.coreTemplate.model.dto;
+
+import java.util.List;
+
+/**
+ * Changes to the active configuration between the client's version and {@code version}.
+ *
+ * @param version pass back as {@code since} on the next poll
+ * @param full    true when {@code changed} is the whole active set and the client should replace its copy,
+ *                e.g. on first poll or when {@code since} is too old or from another instance
+ * @param changed active rows created or modified since the client's version
+ * @param removed ids deleted or deactivated since the client's version; empty when {@code full}
+ */
+public record ConfigurationSnapshot(long version, boolean full,
+                                    List<ConfigurationValidationUtilities> changed, List<Long> removed) {
+}
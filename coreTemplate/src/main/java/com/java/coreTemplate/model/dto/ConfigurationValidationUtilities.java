@@ -26,7 +26,7 @@ public class ConfigurationValidationUtilities {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private java.time.LocalDateTime createdAt;
 
     @Column(name = "updated_at")
@@ -84,4 +84,10 @@ public class ConfigurationValidationUtilities {
     public Optional<Integer> getTimeoutSeconds() {
         return Optional.ofNullable(timeoutSeconds);
     }
+
+    // Detached field-by-field copy, so cached instances are never shared with callers
+    public ConfigurationValidationUtilities copy() {
+        return new ConfigurationValidationUtilities(id, name, isActive, validationRule, description, createdAt,
+                updatedAt, version, maxRetries, timeoutSeconds, enabledForProduction, dynamicConfig);
+    }
 }
\ No newline at end of file
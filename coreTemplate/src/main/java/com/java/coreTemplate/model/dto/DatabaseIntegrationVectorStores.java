@@ -17,6 +17,9 @@ public class DatabaseIntegrationVectorStores {
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
     @Column(name = "is_active")
     private boolean isActive;
 
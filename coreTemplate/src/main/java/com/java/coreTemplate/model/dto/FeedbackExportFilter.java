@@ -0,0 +1,14 @@
+package com.java.coreTemplate.model.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters for the feedback export; null fields are not applied.
+ *
+ * @param from   inclusive lower bound on feedbackDate
+ * @param to     exclusive upper bound on feedbackDate
+ * @param rating exact rating
+ * @param userId exact user ID
+ */
+public record FeedbackExportFilter(LocalDateTime from, LocalDateTime to, Integer rating, Long userId) {
+}
@@ -0,0 +1,11 @@
+package com.java.coreTemplate.model.dto;
+
+/**
+ * One feedback text-search result.
+ *
+ * @param rank      full-text rank, or trigram word similarity for fuzzy matches; higher is better
+ * @param highlight matching fragments of the description with terms wrapped in {@code <mark>}; null for
+ *                  fuzzy matches
+ */
+public record FeedbackSearchHit(Userfeedbackmodule feedback, float rank, String highlight) {
+}
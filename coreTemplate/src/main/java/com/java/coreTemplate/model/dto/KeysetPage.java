@@ -0,0 +1,44 @@
+package com.java.coreTemplate.model.dto;
+
+import com.java.coreTemplate.util.KeysetCursor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a cursor-paginated listing. Unlike {@code Page} it carries no total count,
+ * so producing it never issues a {@code COUNT(*)}.
+ *
+ * <p>Listings are ordered by {@code createdAt DESC, id DESC}. A blank {@code after} cursor asks for the
+ * first page; each page's {@link #nextCursor()} (a {@link KeysetCursor}) asks for the one after it. Every
+ * page seeks on the composite index, so deep pages cost the same as the first. The {@code API_*}
+ * constants carry this contract into the OpenAPI annotations of each listing endpoint.
+ */
+public record KeysetPage<T>(List<T> content, int size, String nextCursor, boolean hasNext) {
+
+    public static final int MAX_SIZE = 500;
+
+    public static final String API_DESCRIPTION =
+            "Opt-in keyset pagination ordered by createdAt DESC, id DESC. Pass an empty 'after' for the first page, " +
+            "then the returned nextCursor. No total count is computed and deep pages cost the same as the first.";
+    public static final String API_AFTER = "Opaque cursor from the previous page; empty for the first page";
+    public static final String API_SIZE = "Number of items per page (max " + MAX_SIZE + ")";
+
+    /**
+     * Limit-only page request for keyset queries; the offset is always zero.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    public static <T> KeysetPage<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new KeysetPage<>(content, content.size(), nextCursor, slice.hasNext());
+    }
+}
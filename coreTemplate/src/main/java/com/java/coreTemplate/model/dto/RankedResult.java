@@ -0,0 +1,7 @@
+package com.java.coreTemplate.model.dto;
+
+/**
+ * One search result with the relevance score it was ranked by; higher is better.
+ */
+public record RankedResult<T>(T item, float score) {
+}
@@ -0,0 +1,13 @@
+package com.java.coreTemplate.model.dto;
+
+/**
+ * Rating statistics for one aggregate scope: all feedback, one user's, or one day's.
+ *
+ * @param histogram number of 1- to 5-star ratings, in that order
+ */
+public record RatingAggregate(long count, long sum, double average, long[] histogram) {
+
+    public static RatingAggregate of(long count, long sum, long[] histogram) {
+        return new RatingAggregate(count, sum, count == 0 ? 0 : (double) sum / count, histogram);
+    }
+}
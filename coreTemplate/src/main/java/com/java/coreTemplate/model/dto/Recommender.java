@@ -26,7 +26,7 @@ public class Recommender {
     @Column(name = "model_version", length = 50)
     private String modelVersion;
 
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private java.time.LocalDateTime createdAt;
 
     @Column(name = "updated_at")
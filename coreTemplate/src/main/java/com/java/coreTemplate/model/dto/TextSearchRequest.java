@@ -0,0 +1,10 @@
+package com.java.coreTemplate.model.dto;
+
+/**
+ * @param text     the query text, embedded the same way as indexed texts
+ * @param k        number of neighbors to return
+ * @param efSearch optional per-query beam width
+ * @param filter   optional attribute filter, as in {@link VectorSearchRequest}
+ */
+public record TextSearchRequest(String text, Integer k, Integer efSearch, String filter) {
+}
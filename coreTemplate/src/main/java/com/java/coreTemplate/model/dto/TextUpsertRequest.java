@@ -0,0 +1,12 @@
+package com.java.coreTemplate.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param id         caller-assigned key of the item, e.g. a training-data row id
+ * @param text       the text to embed, e.g. a question or a question/SQL pair
+ * @param attributes optional metadata for filtered search, as in {@link VectorUpsertRequest}
+ */
+public record TextUpsertRequest(long id, String text, Map<String, List<String>> attributes) {
+}
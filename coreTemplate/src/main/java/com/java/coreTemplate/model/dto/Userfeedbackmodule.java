@@ -10,8 +10,10 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Userfeedbackmodule {
+    // Sequence with a pooled optimizer: IDENTITY would force one INSERT round trip per row and disable batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_feedback_module_seq")
+    @SequenceGenerator(name = "user_feedback_module_seq", sequenceName = "user_feedback_module_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
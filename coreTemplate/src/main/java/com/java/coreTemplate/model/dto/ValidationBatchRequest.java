@@ -0,0 +1,12 @@
+package com.java.coreTemplate.model.dto;
+
+import java.util.List;
+
+/**
+ * Evaluate every input against every rule.
+ *
+ * @param ruleIds ids of active configuration rows whose validationRule to apply
+ * @param inputs  values to validate; null entries count as absent
+ */
+public record ValidationBatchRequest(List<Long> ruleIds, List<String> inputs) {
+}
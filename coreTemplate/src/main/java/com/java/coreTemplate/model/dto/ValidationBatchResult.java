@@ -0,0 +1,13 @@
+package com.java.coreTemplate.model.dto;
+
+import java.util.List;
+
+/**
+ * @param rules   the rules evaluated, in request order, with the version each was compiled from
+ * @param results {@code results[i][j]} is whether input {@code i} passed rule {@code j}
+ */
+public record ValidationBatchResult(List<RuleVersion> rules, boolean[][] results) {
+
+    public record RuleVersion(long id, long version) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.java.coreTemplate.model.dto;
+
+/**
+ * @param vector   the query embedding
+ * @param k        number of neighbors to return
+ * @param efSearch optional per-query beam width; higher trades latency for recall
+ * @param filter   optional attribute filter, e.g. {@code environment = 'prod' AND tags IN ('billing', 'faq')}
+ */
+public record VectorSearchRequest(float[] vector, Integer k, Integer efSearch, String filter) {
+}
@@ -0,0 +1,13 @@
+package com.java.coreTemplate.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param id         caller-assigned key of the embedded item, e.g. a training-data row id
+ * @param vector     the embedding
+ * @param attributes optional metadata for filtered search, each field with one or more values,
+ *                   e.g. {@code {"environment": ["prod"], "tags": ["billing", "faq"]}}
+ */
+public record VectorUpsertRequest(long id, float[] vector, Map<String, List<String>> attributes) {
+}
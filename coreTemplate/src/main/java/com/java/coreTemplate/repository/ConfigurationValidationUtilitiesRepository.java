@@ -1,5 +1,7 @@
 package com.java.coreTemplate.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -89,4 +91,26 @@ public interface ConfigurationValidationUtilitiesRepository extends JpaRepositor
     @EntityGraph(attributePaths = {"metadata"}) // Assuming 'metadata' is a lazy-loaded relation
     List<ConfigurationValidationUtilities> findWithMetadataByValidationType(
             @Param("validationType") String validationType);
+
+    /**
+     * All active configurations.
+     */
+    List<ConfigurationValidationUtilities> findByIsActiveTrue();
+
+    /**
+     * First page of the (createdAt DESC, id DESC) keyset ordering. Returning a Slice fetches
+     * size + 1 rows to detect a next page and never issues a count query.
+     */
+    @Query("SELECT c FROM ConfigurationValidationUtilities c ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<ConfigurationValidationUtilities> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Rows strictly after the given cursor; the row-value comparison seeks on the composite index.
+     */
+    @Query("SELECT c FROM ConfigurationValidationUtilities c " +
+           "WHERE (c.createdAt, c.id) < (:createdAt, :id) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    Slice<ConfigurationValidationUtilities> findKeysetPageAfter(@Param("createdAt") java.time.LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.java.coreTemplate.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -34,12 +36,11 @@ public interface DatabaseIntegrationVectorStoresRepository extends JpaRepository
     Optional<DatabaseIntegrationVectorStores> findByNameIgnoreCase(@Param("name") String name);
 
     /**
-     * Find vector stores by name or description (partial match, case-insensitive).
+     * Id and version of every row, without loading the entities. The search index compares these against
+     * what it has indexed and only fetches the rows that changed.
      */
-    @Query("SELECT v FROM DatabaseIntegrationVectorStores v " +
-           "WHERE LOWER(v.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
-           "   OR LOWER(v.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<DatabaseIntegrationVectorStores> searchByNameOrDescription(@Param("searchTerm") String searchTerm);
+    @Query("SELECT v.id AS id, v.version AS version FROM DatabaseIntegrationVectorStores v")
+    List<RowVersion> findAllRowVersions();
 
     /**
      * Count total number of vector stores for a given database integration.
@@ -55,4 +56,27 @@ public interface DatabaseIntegrationVectorStoresRepository extends JpaRepository
      * Delete by name and integration ID (useful for cleanup).
      */
     void deleteByNameAndDatabaseIntegrationId(String name, Long databaseIntegrationId);
+
+    /**
+     * First page of the (createdAt DESC, id DESC) keyset ordering. Returning a Slice fetches
+     * size + 1 rows to detect a next page and never issues a count query.
+     */
+    @Query("SELECT v FROM DatabaseIntegrationVectorStores v ORDER BY v.createdAt DESC, v.id DESC")
+    Slice<DatabaseIntegrationVectorStores> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Rows strictly after the given cursor; the row-value comparison seeks on the composite index.
+     */
+    @Query("SELECT v FROM DatabaseIntegrationVectorStores v " +
+           "WHERE (v.createdAt, v.id) < (:createdAt, :id) " +
+           "ORDER BY v.createdAt DESC, v.id DESC")
+    Slice<DatabaseIntegrationVectorStores> findKeysetPageAfter(@Param("createdAt") java.time.LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    interface RowVersion {
+        Long getId();
+
+        Long getVersion();
+    }
 }
\ No newline at end of file
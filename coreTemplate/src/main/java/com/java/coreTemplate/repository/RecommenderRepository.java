@@ -1,5 +1,7 @@
 package com.java.coreTemplate.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -49,4 +51,15 @@ public interface RecommenderRepository extends JpaRepository<Recommender, Long>
     // 11. Custom method using @Query with pagination (for API endpoints)
     @Query("SELECT r FROM Recommender r WHERE r.active = true")
     List<Recommender> findActiveRecommendersWithPagination(@Param("page") int page, @Param("size") int size);
+
+    // 12. Keyset pagination on (createdAt, id); Slice fetches size + 1 rows and never counts
+    @Query("SELECT r FROM Recommender r ORDER BY r.createdAt DESC, r.id DESC")
+    Slice<Recommender> findFirstKeysetPage(Pageable pageable);
+
+    @Query("SELECT r FROM Recommender r " +
+           "WHERE (r.createdAt, r.id) < (:createdAt, :id) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    Slice<Recommender> findKeysetPageAfter(@Param("createdAt") java.time.LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
 }
\ No newline at end of file
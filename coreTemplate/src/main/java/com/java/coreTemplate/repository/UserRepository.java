@@ -2,10 +2,38 @@ package com.java.coreTemplate.repository;
 
 
 import com.java.coreTemplate.model.entity.UserDetails;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface UserRepository extends JpaRepository<UserDetails, Long> {
     Optional<UserDetails> findByUsername(String username);
     Optional<UserDetails> findByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Single round trip for both uniqueness checks; loads only the two identity columns.
+     */
+    @Query("SELECT u.username AS username, u.email AS email FROM UserDetails u " +
+           "WHERE u.username = :username OR u.email = :email")
+    List<UserIdentity> findIdentities(@Param("username") String username, @Param("email") String email);
+
+    /**
+     * Streams every username/email pair; must be consumed inside a transaction and closed.
+     */
+    @Query("SELECT u.username AS username, u.email AS email FROM UserDetails u")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserIdentity> streamAllIdentities();
+
+    interface UserIdentity {
+        String getUsername();
+        String getEmail();
+    }
+}
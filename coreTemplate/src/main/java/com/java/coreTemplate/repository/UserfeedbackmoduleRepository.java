@@ -1,5 +1,8 @@
 package com.java.coreTemplate.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,7 +12,8 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserfeedbackmoduleRepository extends JpaRepository<Userfeedbackmodule, Long> {
+public interface UserfeedbackmoduleRepository extends JpaRepository<Userfeedbackmodule, Long>,
+        UserfeedbackmoduleRepositoryCustom {
 
     /**
      * Find feedback by user ID (assuming Userfeedbackmodule has a userId field)
@@ -57,4 +61,30 @@ public interface UserfeedbackmoduleRepository extends JpaRepository<Userfeedback
      * Check if feedback exists for a given user and feedback ID
      */
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Filtered, paged listing behind /search; a null argument disables its filter. The pattern is a lower-case
+     * LIKE pattern with backslash escapes, matched against name and description.
+     */
+    @Query("SELECT f FROM Userfeedbackmodule f " +
+           "WHERE (:resolved IS NULL OR f.isResolved = :resolved) " +
+           "AND (:pattern IS NULL OR LOWER(f.name) LIKE :pattern ESCAPE '\\' OR LOWER(f.description) LIKE :pattern ESCAPE '\\')")
+    Page<Userfeedbackmodule> search(@Param("resolved") Boolean resolved, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * First page of the (createdAt DESC, id DESC) keyset ordering. Returning a Slice fetches
+     * size + 1 rows to detect a next page and never issues a count query.
+     */
+    @Query("SELECT f FROM Userfeedbackmodule f ORDER BY f.createdAt DESC, f.id DESC")
+    Slice<Userfeedbackmodule> findFirstKeysetPage(Pageable pageable);
+
+    /**
+     * Rows strictly after the given cursor; the row-value comparison seeks on the composite index.
+     */
+    @Query("SELECT f FROM Userfeedbackmodule f " +
+           "WHERE (f.createdAt, f.id) < (:createdAt, :id) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    Slice<Userfeedbackmodule> findKeysetPageAfter(@Param("createdAt") java.time.LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.java.coreTemplate.repository;
+
+import com.java.coreTemplate.model.dto.FeedbackExportFilter;
+import com.java.coreTemplate.model.dto.FeedbackSearchHit;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.stream.Stream;
+
+public interface UserfeedbackmoduleRepositoryCustom {
+
+    /**
+     * Streams matching feedback in id order through a server-side cursor. Must be consumed inside
+     * a transaction and closed; callers should detach entities as they go to keep memory flat.
+     */
+    Stream<Userfeedbackmodule> streamForExport(FeedbackExportFilter filter);
+
+    /**
+     * Full-text search of name and description through the {@code search_vector} GIN index, ranked with
+     * {@code ts_rank_cd} and highlighted with {@code ts_headline}. The query accepts web-search syntax:
+     * quoted phrases, {@code or} and {@code -excluded} terms. Only the page's rows are highlighted.
+     */
+    Slice<FeedbackSearchHit> searchFullText(String query, Pageable pageable);
+
+    /**
+     * Trigram word-similarity search of name and description through the {@code gin_trgm_ops} indexes,
+     * for queries with misspellings that full-text search cannot match.
+     */
+    Slice<FeedbackSearchHit> searchFuzzy(String query, Pageable pageable);
+
+    /** Whether any row matches {@code query} in full-text search; an index-only existence check. */
+    boolean hasFullTextMatch(String query);
+}
@@ -0,0 +1,139 @@
+package com.java.coreTemplate.repository;
+
+import com.java.coreTemplate.model.dto.FeedbackExportFilter;
+import com.java.coreTemplate.model.dto.FeedbackSearchHit;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+class UserfeedbackmoduleRepositoryImpl implements UserfeedbackmoduleRepositoryCustom {
+
+    // Ranks every match but highlights only the page: ts_headline re-parses the text, ts_rank_cd does not
+    static final String FULL_TEXT_SEARCH =
+            "WITH q AS (SELECT websearch_to_tsquery('english', :query) AS query), " +
+            "hits AS (" +
+            "  SELECT f.id, ts_rank_cd(f.search_vector, q.query) AS rank" +
+            "  FROM \"user feedback module\" f, q" +
+            "  WHERE f.search_vector @@ q.query" +
+            "  ORDER BY rank DESC, f.id DESC" +
+            "  LIMIT :limit OFFSET :offset) " +
+            "SELECT hits.id, hits.rank, ts_headline('english', coalesce(f.description, f.name), q.query, " +
+            "    'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=20, MinWords=5') " +
+            "FROM hits JOIN \"user feedback module\" f ON f.id = hits.id CROSS JOIN q " +
+            "ORDER BY hits.rank DESC, hits.id DESC";
+
+    // <% is word similarity above pg_trgm.word_similarity_threshold (0.6 by default), served by the trigram indexes
+    static final String FUZZY_SEARCH =
+            "SELECT f.id, greatest(word_similarity(:query, f.name), word_similarity(:query, coalesce(f.description, ''))) AS rank, " +
+            "    CAST(NULL AS text) " +
+            "FROM \"user feedback module\" f " +
+            "WHERE :query <% f.name OR :query <% f.description " +
+            "ORDER BY rank DESC, f.id DESC " +
+            "LIMIT :limit OFFSET :offset";
+
+    static final String HAS_FULL_TEXT_MATCH =
+            "SELECT EXISTS (SELECT 1 FROM \"user feedback module\" " +
+            "WHERE search_vector @@ websearch_to_tsquery('english', :query))";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${feedback.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public Stream<Userfeedbackmodule> streamForExport(FeedbackExportFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Userfeedbackmodule> query = cb.createQuery(Userfeedbackmodule.class);
+        Root<Userfeedbackmodule> feedback = query.from(Userfeedbackmodule.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(feedback.get("feedbackDate"), filter.from()));
+        }
+        if (filter.to() != null) {
+            predicates.add(cb.lessThan(feedback.get("feedbackDate"), filter.to()));
+        }
+        if (filter.rating() != null) {
+            predicates.add(cb.equal(feedback.get("rating"), filter.rating()));
+        }
+        if (filter.userId() != null) {
+            predicates.add(cb.equal(feedback.get("userId"), filter.userId()));
+        }
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(feedback.get("id")));
+
+        // PostgreSQL only honours the fetch size (cursor mode) inside a non-autocommit transaction
+        return entityManager.createQuery(query)
+                .setHint(HINT_FETCH_SIZE, fetchSize)
+                .setHint(HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public Slice<FeedbackSearchHit> searchFullText(String query, Pageable pageable) {
+        return search(FULL_TEXT_SEARCH, query, pageable);
+    }
+
+    @Override
+    public Slice<FeedbackSearchHit> searchFuzzy(String query, Pageable pageable) {
+        return search(FUZZY_SEARCH, query, pageable);
+    }
+
+    @Override
+    public boolean hasFullTextMatch(String query) {
+        return (Boolean) entityManager.createNativeQuery(HAS_FULL_TEXT_MATCH)
+                .setParameter("query", query)
+                .getSingleResult();
+    }
+
+    /**
+     * Runs a query returning {@code (id, rank, highlight)} rows, fetching one extra row to detect a next
+     * page, then loads the page's entities in a single query.
+     */
+    @SuppressWarnings("unchecked")
+    private Slice<FeedbackSearchHit> search(String sql, String query, Pageable pageable) {
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("query", query)
+                .setParameter("limit", pageable.getPageSize() + 1)
+                .setParameter("offset", pageable.getOffset())
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).toList();
+        Map<Long, Userfeedbackmodule> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            entityManager.createQuery("SELECT f FROM Userfeedbackmodule f WHERE f.id IN :ids", Userfeedbackmodule.class)
+                    .setParameter("ids", ids)
+                    .getResultList()
+                    .forEach(feedback -> byId.put(feedback.getId(), feedback));
+        }
+        List<FeedbackSearchHit> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Userfeedbackmodule feedback = byId.get(((Number) row[0]).longValue());
+            if (feedback != null) {
+                hits.add(new FeedbackSearchHit(feedback, ((Number) row[1]).floatValue(), (String) row[2]));
+            }
+        }
+        return new SliceImpl<>(hits, pageable, hasNext);
+    }
+}
@@ -0,0 +1,241 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.InvalidValidationRuleException;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable, pre-parsed form of a {@code validationRule}. Rules are {@code ;}-separated clauses:
+ * <pre>
+ * required             value must be present and non-empty
+ * minLength:N          at least N characters
+ * maxLength:N          at most N characters
+ * numeric              plain decimal number, e.g. -12.5
+ * integer              whole number
+ * min:X / max:X        numeric bounds, inclusive (imply numeric)
+ * oneOf:a|b|c          exact match against a fixed set
+ * regex:PATTERN        whole-value match; must be the last clause since PATTERN may contain ';'
+ * </pre>
+ * An absent or empty value passes every clause except {@code required}. Evaluation allocates nothing
+ * when the caller supplies a reusable {@link Matcher} from {@link #newMatcher()}.
+ */
+public final class CompiledValidationRule {
+    private final long id;
+    private final long version;
+    private final boolean required;
+    private final int minLength;
+    private final int maxLength;
+    private final boolean numeric;
+    private final boolean integer;
+    private final double min;
+    private final double max;
+    private final Set<String> oneOf;
+    private final Pattern pattern;
+
+    private CompiledValidationRule(long id, long version, boolean required, int minLength, int maxLength,
+                                   boolean numeric, boolean integer, double min, double max,
+                                   Set<String> oneOf, Pattern pattern) {
+        this.id = id;
+        this.version = version;
+        this.required = required;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.numeric = numeric;
+        this.integer = integer;
+        this.min = min;
+        this.max = max;
+        this.oneOf = oneOf;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Parses a rule.
+     *
+     * @throws InvalidValidationRuleException if the rule has an unknown clause or a malformed argument
+     */
+    public static CompiledValidationRule compile(long id, long version, String rule) {
+        boolean required = false;
+        boolean numeric = false;
+        boolean integer = false;
+        int minLength = 0;
+        int maxLength = Integer.MAX_VALUE;
+        double min = Double.NEGATIVE_INFINITY;
+        double max = Double.POSITIVE_INFINITY;
+        Set<String> oneOf = null;
+        Pattern pattern = null;
+
+        String remaining = rule == null ? "" : rule.strip();
+        while (!remaining.isEmpty()) {
+            String clause;
+            if (remaining.regionMatches(true, 0, "regex:", 0, 6)) {
+                clause = remaining;
+                remaining = "";
+            } else {
+                int end = remaining.indexOf(';');
+                clause = (end < 0 ? remaining : remaining.substring(0, end)).strip();
+                remaining = end < 0 ? "" : remaining.substring(end + 1).strip();
+            }
+            if (clause.isEmpty()) {
+                continue;
+            }
+
+            int colon = clause.indexOf(':');
+            String name = (colon < 0 ? clause : clause.substring(0, colon)).strip().toLowerCase(Locale.ROOT);
+            String argument = colon < 0 ? null : clause.substring(colon + 1);
+            switch (name) {
+                case "required" -> required = true;
+                case "numeric" -> numeric = true;
+                case "integer" -> {
+                    numeric = true;
+                    integer = true;
+                }
+                case "minlength" -> minLength = parseLength(rule, name, argument);
+                case "maxlength" -> maxLength = parseLength(rule, name, argument);
+                case "min" -> {
+                    numeric = true;
+                    min = parseBound(rule, name, argument);
+                }
+                case "max" -> {
+                    numeric = true;
+                    max = parseBound(rule, name, argument);
+                }
+                case "oneof" -> oneOf = Set.copyOf(Arrays.asList(requireArgument(rule, name, argument).split("\\|", -1)));
+                case "regex" -> {
+                    try {
+                        pattern = Pattern.compile(requireArgument(rule, name, argument));
+                    } catch (PatternSyntaxException e) {
+                        throw new InvalidValidationRuleException("Invalid regex in rule '" + rule + "': " + e.getDescription());
+                    }
+                }
+                default -> throw new InvalidValidationRuleException("Unknown clause '" + name + "' in rule '" + rule + "'");
+            }
+        }
+        if (minLength > maxLength || min > max) {
+            throw new InvalidValidationRuleException("Rule '" + rule + "' has a lower bound above its upper bound");
+        }
+        return new CompiledValidationRule(id, version, required, minLength, maxLength, numeric, integer,
+                min, max, oneOf, pattern);
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns a matcher to pass to {@link #test(CharSequence, Matcher)}, or null if the rule has no regex.
+     * A matcher is not thread-safe; reuse it across inputs within one thread only.
+     */
+    public Matcher newMatcher() {
+        return pattern == null ? null : pattern.matcher("");
+    }
+
+    /**
+     * Evaluates the rule against one value.
+     *
+     * @param value   the value to check, may be null
+     * @param matcher a matcher from {@link #newMatcher()} on this rule, reset for each value
+     */
+    public boolean test(CharSequence value, Matcher matcher) {
+        if (value == null || value.length() == 0) {
+            return !required;
+        }
+        int length = value.length();
+        if (length < minLength || length > maxLength) {
+            return false;
+        }
+        if (numeric && !inNumericBounds(value)) {
+            return false;
+        }
+        if (oneOf != null && !oneOf.contains(value.toString())) {
+            return false;
+        }
+        return matcher == null || matcher.reset(value).matches();
+    }
+
+    /**
+     * Parses a plain decimal ({@code -?digits[.digits]}) without allocating and checks the bounds.
+     * Precision beyond a long mantissa is irrelevant for bounds checks on configuration values.
+     */
+    private boolean inNumericBounds(CharSequence value) {
+        int i = 0;
+        int length = value.length();
+        boolean negative = false;
+        if (value.charAt(0) == '-' || value.charAt(0) == '+') {
+            negative = value.charAt(0) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && !fraction && !integer) {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            digits++;
+            // Digits past long precision only shift the magnitude
+            if (mantissa < Long.MAX_VALUE / 10) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (fraction) {
+                    scale++;
+                }
+            } else if (!fraction) {
+                scale--;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        double number = mantissa / Math.pow(10, scale);
+        if (negative) {
+            number = -number;
+        }
+        return number >= min && number <= max;
+    }
+
+    private static int parseLength(String rule, String clause, String argument) {
+        try {
+            int length = Integer.parseInt(requireArgument(rule, clause, argument).strip());
+            if (length < 0) {
+                throw new InvalidValidationRuleException("Negative " + clause + " in rule '" + rule + "'");
+            }
+            return length;
+        } catch (NumberFormatException e) {
+            throw new InvalidValidationRuleException("Invalid " + clause + " in rule '" + rule + "'");
+        }
+    }
+
+    private static double parseBound(String rule, String clause, String argument) {
+        try {
+            double bound = Double.parseDouble(requireArgument(rule, clause, argument).strip());
+            // NaN compares false against everything, so it would reject every value
+            if (Double.isNaN(bound)) {
+                throw new InvalidValidationRuleException("Invalid " + clause + " in rule '" + rule + "'");
+            }
+            return bound;
+        } catch (NumberFormatException e) {
+            throw new InvalidValidationRuleException("Invalid " + clause + " in rule '" + rule + "'");
+        }
+    }
+
+    private static String requireArgument(String rule, String clause, String argument) {
+        if (argument == null || argument.isEmpty()) {
+            throw new InvalidValidationRuleException("Clause '" + clause + "' in rule '" + rule + "' needs an argument");
+        }
+        return argument;
+    }
+}
@@ -0,0 +1,10 @@
+package com.java.coreTemplate.service;
+
+/**
+ * Published when a configuration row is created, updated or deleted. Listeners that derive state from
+ * configuration should react after commit, once the change is visible to other transactions.
+ *
+ * @param id the affected row
+ */
+public record ConfigurationChangedEvent(Long id) {
+}
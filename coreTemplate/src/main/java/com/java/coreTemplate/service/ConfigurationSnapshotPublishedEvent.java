@@ -0,0 +1,16 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.ConfigurationValidationUtilities;
+
+import java.util.List;
+
+/**
+ * Published by {@link ConfigurationSnapshotService} each time it swaps in a new snapshot, so state derived
+ * from the active configuration is rebuilt from the same reload instead of polling the database itself.
+ * Events arrive in version order.
+ *
+ * @param version    the new snapshot version
+ * @param activeRows every active row in the snapshot; shared, so treat as read-only
+ */
+public record ConfigurationSnapshotPublishedEvent(long version, List<ConfigurationValidationUtilities> activeRows) {
+}
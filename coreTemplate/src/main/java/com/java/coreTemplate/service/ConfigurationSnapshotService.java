@@ -0,0 +1,247 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.ServiceUnavailableException;
+import com.java.coreTemplate.model.dto.ConfigurationSnapshot;
+import com.java.coreTemplate.model.dto.ConfigurationValidationUtilities;
+import com.java.coreTemplate.repository.ConfigurationValidationUtilitiesRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monotonically versioned, immutable in-memory snapshot of the active configuration, with a long-poll
+ * change feed. Pollers whose version is current are parked as {@link DeferredResult}s, so they hold no
+ * servlet thread, and are completed together when the next snapshot is published.
+ *
+ * <p>Each process draws a random instance id at boot and issues versions {@code id << 32 | sequence}, so
+ * the versions of another node or an earlier process fall outside this instance's {@code [floor, version]}
+ * and are answered with a full snapshot rather than a delta against the wrong history. Versions stay below
+ * 2<sup>53</sup>, so JavaScript clients can echo them back exactly.
+ *
+ * <p>Each new snapshot is also announced as a {@link ConfigurationSnapshotPublishedEvent}, so this is the
+ * only component that reloads the active configuration.
+ */
+@Slf4j
+@Service
+public class ConfigurationSnapshotService implements MeterBinder {
+    static final int INSTANCE_ID_BITS = 21;
+    private static final int SEQUENCE_BITS = 32;
+
+    private final ConfigurationValidationUtilitiesRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxWaiters;
+    private final int maxRemovals;
+    private final Set<Waiter> waiters;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ConfigurationSnapshotService(ConfigurationValidationUtilitiesRepository repository,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Value("${config-snapshot.max-waiters:10000}") int maxWaiters,
+                                        @Value("${config-snapshot.max-removals:1000}") int maxRemovals) {
+        this(repository, eventPublisher, maxWaiters, maxRemovals, ConcurrentHashMap.newKeySet(),
+                new SecureRandom().nextInt(1 << INSTANCE_ID_BITS));
+    }
+
+    /**
+     * @param waiters    where parked pollers are kept; must be thread-safe
+     * @param instanceId below 2<sup>{@value #INSTANCE_ID_BITS}</sup>; instances sharing one can mistake each other's versions
+     */
+    ConfigurationSnapshotService(ConfigurationValidationUtilitiesRepository repository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 int maxWaiters, int maxRemovals, Set<Waiter> waiters, int instanceId) {
+        if (instanceId < 0 || instanceId >= 1 << INSTANCE_ID_BITS) {
+            throw new IllegalArgumentException("instanceId must be below 2^" + INSTANCE_ID_BITS);
+        }
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.maxWaiters = maxWaiters;
+        this.maxRemovals = maxRemovals;
+        this.waiters = waiters;
+        long bootVersion = (long) instanceId << SEQUENCE_BITS;
+        this.snapshot = new Snapshot(bootVersion, bootVersion, Map.of(), Map.of());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onStartup() {
+        refresh();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        refresh();
+    }
+
+    /**
+     * Picks up changes committed by other nodes, which do not publish events here.
+     */
+    @Scheduled(fixedDelayString = "${config-snapshot.refresh-interval:30s}",
+               initialDelayString = "${config-snapshot.refresh-interval:30s}")
+    @Transactional(readOnly = true)
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Reloads the active rows and, if any row was added, changed (by {@code @Version}) or dropped,
+     * publishes the next snapshot version, announces it and wakes every parked poller.
+     */
+    synchronized void refresh() {
+        Snapshot current = snapshot;
+        long nextVersion = current.version() + 1;
+        Map<Long, Entry> entries = new HashMap<>();
+        boolean changed = false;
+        for (ConfigurationValidationUtilities row : repository.findByIsActiveTrue()) {
+            long rowVersion = row.getVersion() == null ? 0 : row.getVersion();
+            Entry existing = current.entries().get(row.getId());
+            if (existing != null && existing.rowVersion() == rowVersion) {
+                entries.put(row.getId(), existing);
+            } else {
+                entries.put(row.getId(), new Entry(row, rowVersion, nextVersion));
+                changed = true;
+            }
+        }
+
+        LinkedHashMap<Long, Long> removals = new LinkedHashMap<>(current.removals());
+        for (Long id : current.entries().keySet()) {
+            if (!entries.containsKey(id)) {
+                removals.remove(id);
+                removals.put(id, nextVersion);
+                changed = true;
+            }
+        }
+        for (Long id : entries.keySet()) {
+            // Re-activated rows are reported as changed, not removed
+            removals.remove(id);
+        }
+        if (!changed) {
+            return;
+        }
+
+        // Removal history is bounded; a client older than the last dropped removal gets a full snapshot
+        long floor = current.floor();
+        var oldest = removals.entrySet().iterator();
+        while (removals.size() > maxRemovals) {
+            floor = Math.max(floor, oldest.next().getValue());
+            oldest.remove();
+        }
+        snapshot = new Snapshot(nextVersion, floor, Map.copyOf(entries), Collections.unmodifiableMap(removals));
+        log.debug("Published configuration snapshot {} ({} active rows)", nextVersion, entries.size());
+        List<ConfigurationValidationUtilities> activeRows = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> activeRows.add(entry.row()));
+        // Still under the lock, so listeners see snapshots in version order
+        eventPublisher.publishEvent(new ConfigurationSnapshotPublishedEvent(nextVersion, List.copyOf(activeRows)));
+        // Parked pollers all hold the previous version, so they usually share one response
+        Snapshot published = snapshot;
+        Map<Long, ResponseEntity<ConfigurationSnapshot>> responses = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            waiter.result().setResult(responses.computeIfAbsent(waiter.since(),
+                    since -> ResponseEntity.ok(delta(published, since))));
+        }
+    }
+
+    /**
+     * Answers immediately when there is a change after {@code since}, otherwise parks the request until the
+     * next snapshot or until {@code timeout}, which completes it with 304 Not Modified.
+     *
+     * @param since the version from the client's previous response, or null for a full snapshot
+     * @throws ServiceUnavailableException if too many pollers are already parked
+     */
+    public DeferredResult<ResponseEntity<ConfigurationSnapshot>> poll(Long since, Duration timeout) {
+        DeferredResult<ResponseEntity<ConfigurationSnapshot>> result = new DeferredResult<>(timeout.toMillis());
+        Snapshot current = snapshot;
+        if (since == null || since != current.version()) {
+            result.setResult(ResponseEntity.ok(delta(current, since)));
+            return result;
+        }
+        if (waiters.size() >= maxWaiters) {
+            throw new ServiceUnavailableException("Too many configuration pollers; retry later");
+        }
+
+        Waiter waiter = new Waiter(since, result);
+        result.onTimeout(() -> result.setResult(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build()));
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        // A snapshot published between the version check and add() would not have seen this waiter
+        Snapshot latest = snapshot;
+        if (latest.version() != since) {
+            result.setResult(ResponseEntity.ok(delta(latest, since)));
+        }
+        return result;
+    }
+
+    public long currentVersion() {
+        return snapshot.version();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("config.snapshot.waiters", waiters, Set::size)
+                .description("Long-poll requests parked waiting for a configuration change")
+                .register(registry);
+        Gauge.builder("config.snapshot.version", this, ConfigurationSnapshotService::currentVersion)
+                .register(registry);
+    }
+
+    private static ConfigurationSnapshot delta(Snapshot snapshot, Long since) {
+        if (since == null || since < snapshot.floor() || since > snapshot.version()) {
+            List<ConfigurationValidationUtilities> all = new ArrayList<>(snapshot.entries().size());
+            snapshot.entries().values().forEach(entry -> all.add(entry.row()));
+            return new ConfigurationSnapshot(snapshot.version(), true, all, List.of());
+        }
+        List<ConfigurationValidationUtilities> changed = new ArrayList<>();
+        for (Entry entry : snapshot.entries().values()) {
+            if (entry.changedAt() > since) {
+                changed.add(entry.row());
+            }
+        }
+        List<Long> removed = new ArrayList<>();
+        snapshot.removals().forEach((id, removedAt) -> {
+            if (removedAt > since) {
+                removed.add(id);
+            }
+        });
+        return new ConfigurationSnapshot(snapshot.version(), false, changed, removed);
+    }
+
+    /**
+     * @param floor    oldest {@code since} for which a delta can still be computed
+     * @param removals id to the version it was removed at, oldest first
+     */
+    private record Snapshot(long version, long floor, Map<Long, Entry> entries, Map<Long, Long> removals) {
+    }
+
+    private record Entry(ConfigurationValidationUtilities row, long rowVersion, long changedAt) {
+    }
+
+    record Waiter(long since, DeferredResult<ResponseEntity<ConfigurationSnapshot>> result) {
+    }
+}
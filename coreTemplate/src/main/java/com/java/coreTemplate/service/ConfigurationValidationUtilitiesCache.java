@@ -0,0 +1,99 @@
+package com.java.coreTemplate.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for configuration lookups, bounded by size (W-TinyLFU eviction) and by a TTL that
+ * caps how long a change made on another node can go unnoticed here.
+ * Local writes invalidate every entry once their transaction completes; since configuration changes a
+ * few times a day, dropping everything is cheaper than tracking which lookups a row belongs to.
+ */
+@Component
+public class ConfigurationValidationUtilitiesCache implements MeterBinder {
+    private final Cache<Object, Object> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ConfigurationValidationUtilitiesCache(@Value("${config-cache.max-entries:10000}") long maxEntries,
+                                                 @Value("${config-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached value for the key, loading and caching it on a miss.
+     * A load that overlaps an invalidation is returned to its caller but not cached, so it cannot
+     * reinstate data read before the write committed.
+     *
+     * @param key    a value object identifying the lookup, e.g. {@code new ByName(name)}
+     * @param loader reads the value from the database; must not return null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Supplier<T> loader) {
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long loadGeneration = generation.get();
+        T loaded = loader.get();
+        cache.put(key, loaded);
+        // Re-check after the put: an invalidation that raced the load either already bumped the
+        // generation (we remove our entry) or has yet to clear the cache (it removes it)
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(key);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops every entry once the current transaction commits or rolls back, or immediately when no
+     * transaction is active. Invalidating before commit would let a concurrent read cache the old row again.
+     */
+    public void invalidateAfterCompletion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateAll();
+                }
+            });
+        } else {
+            invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "configurationValidationUtilities");
+    }
+
+    record ById(Long id) {
+    }
+
+    record ByName(String name) {
+    }
+
+    record ByType(String type) {
+    }
+
+    enum Lookup { ALL_ACTIVE }
+}
@@ -1,8 +1,13 @@
 package com.java.coreTemplate.service;
 
+import com.java.coreTemplate.exception.InvalidValidationRuleException;
+import com.java.coreTemplate.model.dto.KeysetPage;
 import com.java.coreTemplate.model.dto.ConfigurationValidationUtilities;
 import com.java.coreTemplate.repository.ConfigurationValidationUtilitiesRepository;
+import com.java.coreTemplate.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,15 +23,23 @@ import java.util.Optional;
 public class ConfigurationValidationUtilitiesService {
 
     private final ConfigurationValidationUtilitiesRepository repository;
+    private final ConfigurationValidationUtilitiesCache cache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor injection for dependency injection.
      *
-     * @param repository the repository to interact with the database
+     * @param repository     the repository to interact with the database
+     * @param cache          read-through cache for the lookups validators run on every request
+     * @param eventPublisher announces committed changes to the rule engine
      */
     @Autowired
-    public ConfigurationValidationUtilitiesService(ConfigurationValidationUtilitiesRepository repository) {
+    public ConfigurationValidationUtilitiesService(ConfigurationValidationUtilitiesRepository repository,
+                                                   ConfigurationValidationUtilitiesCache cache,
+                                                   ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.cache = cache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -34,14 +47,21 @@ public class ConfigurationValidationUtilitiesService {
      *
      * @param entity the entity to save
      * @return the saved entity
-     * @throws IllegalArgumentException if entity is null
+     * @throws IllegalArgumentException       if entity is null
+     * @throws InvalidValidationRuleException if a new or changed validationRule does not compile
      */
     @Transactional
     public ConfigurationValidationUtilities save(ConfigurationValidationUtilities entity) {
         if (entity == null) {
             throw new IllegalArgumentException("Entity cannot be null");
         }
-        return repository.save(entity);
+        String storedRule = entity.getId() == null ? null
+                : repository.findById(entity.getId()).map(ConfigurationValidationUtilities::getValidationRule).orElse(null);
+        checkValidationRule(entity, storedRule);
+        cache.invalidateAfterCompletion();
+        ConfigurationValidationUtilities saved = repository.save(entity);
+        eventPublisher.publishEvent(new ConfigurationChangedEvent(saved.getId()));
+        return saved;
     }
 
     /**
@@ -51,7 +71,7 @@ public class ConfigurationValidationUtilitiesService {
      * @return an Optional containing the entity if found, otherwise empty
      */
     public Optional<ConfigurationValidationUtilities> findById(Long id) {
-        return repository.findById(id);
+        return copyOf(cache.get(new ConfigurationValidationUtilitiesCache.ById(id), () -> copyOf(repository.findById(id))));
     }
 
     /**
@@ -60,7 +80,8 @@ public class ConfigurationValidationUtilitiesService {
      * @return a list of active configuration validation utilities
      */
     public List<ConfigurationValidationUtilities> findAllActive() {
-        return repository.findByIsActiveTrue();
+        return copyOf(cache.get(ConfigurationValidationUtilitiesCache.Lookup.ALL_ACTIVE,
+                () -> copyOf(repository.findByIsActiveTrue())));
     }
 
     /**
@@ -72,6 +93,17 @@ public class ConfigurationValidationUtilitiesService {
         return repository.findAll();
     }
 
+    /**
+     * Retrieves one {@link KeysetPage} of configuration validation utilities.
+     */
+    public KeysetPage<ConfigurationValidationUtilities> findPageAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Slice<ConfigurationValidationUtilities> slice = cursor == null
+                ? repository.findFirstKeysetPage(KeysetPage.limit(size))
+                : repository.findKeysetPageAfter(cursor.createdAt(), cursor.id(), KeysetPage.limit(size));
+        return KeysetPage.of(slice, e -> new KeysetCursor(e.getCreatedAt(), e.getId()));
+    }
+
     /**
      * Checks if a configuration validation utility with the given ID exists.
      *
@@ -93,7 +125,9 @@ public class ConfigurationValidationUtilitiesService {
         if (id == null) {
             throw new IllegalArgumentException("ID must not be null");
         }
+        cache.invalidateAfterCompletion();
         repository.deleteById(id);
+        eventPublisher.publishEvent(new ConfigurationChangedEvent(id));
     }
 
     /**
@@ -102,17 +136,22 @@ public class ConfigurationValidationUtilitiesService {
      *
      * @param entity the updated entity
      * @return the updated entity
-     * @throws IllegalArgumentException if entity is null or does not exist
+     * @throws IllegalArgumentException       if entity is null or does not exist
+     * @throws InvalidValidationRuleException if a changed validationRule does not compile
      */
     @Transactional
     public ConfigurationValidationUtilities update(ConfigurationValidationUtilities entity) {
         if (entity == null) {
             throw new IllegalArgumentException("Entity cannot be null");
         }
-        if (!repository.existsById(entity.getId())) {
-            throw new IllegalArgumentException("Entity with ID " + entity.getId() + " does not exist");
-        }
-        return repository.save(entity);
+        String storedRule = repository.findById(entity.getId())
+                .map(ConfigurationValidationUtilities::getValidationRule)
+                .orElseThrow(() -> new IllegalArgumentException("Entity with ID " + entity.getId() + " does not exist"));
+        checkValidationRule(entity, storedRule);
+        cache.invalidateAfterCompletion();
+        ConfigurationValidationUtilities updated = repository.save(entity);
+        eventPublisher.publishEvent(new ConfigurationChangedEvent(updated.getId()));
+        return updated;
     }
 
     /**
@@ -122,7 +161,7 @@ public class ConfigurationValidationUtilitiesService {
      * @return an Optional containing the entity if found, otherwise empty
      */
     public Optional<ConfigurationValidationUtilities> findByName(String name) {
-        return repository.findByName(name);
+        return copyOf(cache.get(new ConfigurationValidationUtilitiesCache.ByName(name), () -> copyOf(repository.findByName(name))));
     }
 
     /**
@@ -132,6 +171,38 @@ public class ConfigurationValidationUtilitiesService {
      * @return a list of configuration validation utilities matching the type
      */
     public List<ConfigurationValidationUtilities> findByType(String type) {
-        return repository.findByType(type);
+        return copyOf(cache.get(new ConfigurationValidationUtilitiesCache.ByType(type), () -> copyOf(repository.findByType(type))));
+    }
+
+    /**
+     * Discards every cached lookup so the next reads go to the database.
+     */
+    public void evictCache() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Cached lookups hold detached copies, and every caller gets copies of its own: a managed entity in the
+     * cache would be shared across transactions, and a caller's setters would change what everyone else reads.
+     */
+    private static Optional<ConfigurationValidationUtilities> copyOf(Optional<ConfigurationValidationUtilities> entity) {
+        return entity.map(ConfigurationValidationUtilities::copy);
+    }
+
+    private static List<ConfigurationValidationUtilities> copyOf(List<ConfigurationValidationUtilities> entities) {
+        return entities.stream().map(ConfigurationValidationUtilities::copy).toList();
+    }
+
+    /**
+     * Rejects rules the engine could not compile, so a typo is reported to the writer rather than
+     * silently skipped at refresh time. Rows written before rules were parsed may still hold free text;
+     * they pass through unchanged as long as the rule itself is not edited, so their other fields stay
+     * editable. The engine skips such rules, and validating against them reports an unknown rule.
+     */
+    private static void checkValidationRule(ConfigurationValidationUtilities entity, String storedRule) {
+        String rule = entity.getValidationRule();
+        if (rule != null && !rule.equals(storedRule)) {
+            CompiledValidationRule.compile(0, 0, rule);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,270 @@
+package com.java.coreTemplate.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.coreTemplate.model.dto.BulkLoadResult;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Streams CSV or NDJSON into {@code "database integration & vector stores"} through PostgreSQL {@code COPY},
+ * then merges the staged rows into the target with {@code INSERT ... ON CONFLICT (name)}.
+ * Input is forwarded in fixed-size buffers, so memory use does not grow with the file.
+ *
+ * <p>Columns, in CSV order (with a header line): name, connection_string, vector_store_type, is_active,
+ * environment, region, tags, metadata. NDJSON objects use the same keys; a non-string {@code metadata}
+ * (e.g. a question/SQL pair) is stored as its JSON text. When a name appears more than once the last
+ * occurrence wins.
+ */
+@Slf4j
+@Service
+public class DatabaseIntegrationVectorStoresBulkLoader {
+
+    public enum Format { CSV, NDJSON }
+
+    static final List<String> COLUMNS = List.of(
+            "name", "connection_string", "vector_store_type", "is_active",
+            "environment", "region", "tags", "metadata");
+
+    private static final int COPY_BUFFER_BYTES = 64 * 1024;
+
+    private static final String CREATE_STAGING =
+            "CREATE TEMP TABLE vector_store_staging (" +
+            "ordinal bigserial, name text, connection_string text, vector_store_type text, is_active boolean, " +
+            "environment text, region text, tags text, metadata text) ON COMMIT DROP";
+
+    private static final String COPY_INTO_STAGING =
+            "COPY vector_store_staging (" + String.join(", ", COLUMNS) + ") FROM STDIN WITH (FORMAT csv, HEADER %s)";
+
+    // DISTINCT ON keeps one row per name: ON CONFLICT cannot touch the same target row twice in one statement
+    private static final String MERGE =
+            "WITH merged AS (" +
+            "  INSERT INTO \"database integration & vector stores\" (name, connection_string, vector_store_type, " +
+            "      is_active, environment, region, tags, metadata, is_encrypted, created_at, updated_at, version)" +
+            "  SELECT DISTINCT ON (name) name, connection_string, vector_store_type, COALESCE(is_active, true), " +
+            "      environment, region, tags, metadata, false, now(), now(), 0" +
+            "  FROM vector_store_staging" +
+            "  WHERE name IS NOT NULL AND connection_string IS NOT NULL AND vector_store_type IS NOT NULL" +
+            "  ORDER BY name, ordinal DESC" +
+            "  ON CONFLICT (name) DO UPDATE SET" +
+            "      connection_string = EXCLUDED.connection_string," +
+            "      vector_store_type = EXCLUDED.vector_store_type," +
+            "      is_active = EXCLUDED.is_active," +
+            "      environment = EXCLUDED.environment," +
+            "      region = EXCLUDED.region," +
+            "      tags = EXCLUDED.tags," +
+            "      metadata = EXCLUDED.metadata," +
+            "      updated_at = EXCLUDED.updated_at," +
+            "      version = \"database integration & vector stores\".version + 1" +
+            "  RETURNING (xmax = 0) AS inserted" +
+            ") SELECT count(*) FILTER (WHERE inserted) AS inserted, count(*) FILTER (WHERE NOT inserted) AS updated " +
+            "FROM merged";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long progressInterval;
+    private final VectorStoreSearchIndex searchIndex;
+
+    public DatabaseIntegrationVectorStoresBulkLoader(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                                     ObjectMapper objectMapper,
+                                                     @Value("${vector-store.bulk-load.progress-interval:100000}") long progressInterval,
+                                                     VectorStoreSearchIndex searchIndex) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.progressInterval = progressInterval;
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Loads the input in a single transaction: either every merged row is applied or none is.
+     *
+     * @param in     the CSV (with header) or NDJSON input; not closed by this method
+     * @param format the input format
+     * @param source label used in progress logs, e.g. a file name
+     * @return counts of rows read, inserted, updated and skipped
+     */
+    @Transactional
+    public BulkLoadResult load(InputStream in, Format format, String source) throws IOException {
+        long start = System.nanoTime();
+        jdbcTemplate.execute(CREATE_STAGING);
+
+        long rowsRead;
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(String.format(COPY_INTO_STAGING, format == Format.CSV));
+            try {
+                rowsRead = format == Format.CSV ? copyCsv(in, copy, source) : copyNdjson(in, copy, source);
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("COPY into staging failed: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        // Fresh statistics so the merge plans against the real staging size, not the empty-table default
+        jdbcTemplate.execute("ANALYZE vector_store_staging");
+        long[] merged = jdbcTemplate.queryForObject(MERGE,
+                (rs, rowNum) -> new long[] { rs.getLong("inserted"), rs.getLong("updated") });
+        BulkLoadResult result = new BulkLoadResult(rowsRead, merged[0], merged[1],
+                rowsRead - merged[0] - merged[1], (System.nanoTime() - start) / 1_000_000);
+        log.info("Bulk load of {} finished: {}", source, result);
+        // Merged rows carry new versions, so the refresh re-indexes exactly those
+        searchIndex.refreshAfterCommit();
+        return result;
+    }
+
+    /**
+     * Forwards CSV bytes, counting records by unquoted newlines. Blank lines are dropped: COPY rejects them,
+     * and NDJSON input skips them too. Quote, CR and LF are single bytes in UTF-8 and never occur inside a
+     * multi-byte sequence, so no decoding is needed.
+     */
+    long copyCsv(InputStream in, CopyIn copy, String source) throws IOException, SQLException {
+        byte[] input = new byte[COPY_BUFFER_BYTES];
+        byte[] output = new byte[COPY_BUFFER_BYTES];
+        int length = 0;
+        // Start of the current line in output, so a blank one can be taken back
+        int lineStart = 0;
+        boolean blankLine = true;
+        boolean inQuotes = false;
+        boolean headerPending = true;
+        long records = 0;
+        int read;
+        while ((read = in.read(input)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (length == output.length) {
+                    // Hold back a line of only CRs until its newline shows whether it is dropped
+                    int flush = blankLine && lineStart > 0 ? lineStart : length;
+                    copy.writeToCopy(output, 0, flush);
+                    System.arraycopy(output, flush, output, 0, length - flush);
+                    length -= flush;
+                    lineStart = Math.max(0, lineStart - flush);
+                }
+                byte b = input[i];
+                output[length++] = b;
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                    blankLine = false;
+                } else if (b == '\n' && !inQuotes) {
+                    if (blankLine) {
+                        length = lineStart;
+                    } else if (headerPending) {
+                        headerPending = false;
+                    } else {
+                        records++;
+                        reportProgress(records, source);
+                    }
+                    lineStart = length;
+                    blankLine = true;
+                } else if (b != '\r') {
+                    blankLine = false;
+                }
+            }
+        }
+        if (blankLine) {
+            length = lineStart;
+        } else if (!headerPending) {
+            // A final record without a trailing newline
+            records++;
+        }
+        if (length > 0) {
+            copy.writeToCopy(output, 0, length);
+        }
+        return records;
+    }
+
+    /**
+     * Re-encodes each NDJSON object as a CSV record, buffering up to {@link #COPY_BUFFER_BYTES} before each write.
+     */
+    long copyNdjson(InputStream in, CopyIn copy, String source) throws IOException, SQLException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_BYTES + 4096);
+        StringBuilder record = new StringBuilder(256);
+        long records = 0;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IOException("Invalid JSON on line " + lineNumber + " of " + source + ": " + e.getOriginalMessage(), e);
+            }
+            if (!node.isObject()) {
+                throw new IOException("Line " + lineNumber + " of " + source + " is not a JSON object");
+            }
+
+            record.setLength(0);
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    record.append(',');
+                }
+                appendCsvField(record, node.get(COLUMNS.get(i)));
+            }
+            record.append('\n');
+            buffer.writeBytes(record.toString().getBytes(StandardCharsets.UTF_8));
+            if (buffer.size() >= COPY_BUFFER_BYTES) {
+                copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                buffer.reset();
+            }
+            records++;
+            reportProgress(records, source);
+        }
+        if (buffer.size() > 0) {
+            copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+        }
+        return records;
+    }
+
+    private static void appendCsvField(StringBuilder record, JsonNode value) {
+        // An unquoted empty field is NULL in CSV COPY; a quoted one is an empty string
+        if (value == null || value.isNull()) {
+            return;
+        }
+        String text = value.isValueNode() ? value.asText() : value.toString();
+        record.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                record.append('"');
+            }
+            record.append(c);
+        }
+        record.append('"');
+    }
+
+    private void reportProgress(long records, String source) {
+        if (progressInterval > 0 && records % progressInterval == 0) {
+            log.info("Bulk load of {}: {} rows staged", source, records);
+        }
+    }
+}
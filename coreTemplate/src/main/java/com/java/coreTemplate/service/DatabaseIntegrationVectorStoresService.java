@@ -1,6 +1,7 @@
 package com.java.coreTemplate.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -8,9 +9,15 @@ import java.util.List;
 import java.util.Optional;
 
 import com.java.coreTemplate.model.dto.DatabaseIntegrationVectorStores;
+import com.java.coreTemplate.model.dto.KeysetPage;
+import com.java.coreTemplate.model.dto.RankedResult;
 import com.java.coreTemplate.repository.DatabaseIntegrationVectorStoresRepository;
 import com.java.coreTemplate.exception.ResourceNotFoundException;
 import com.java.coreTemplate.exception.ValidationException;
+import com.java.coreTemplate.exception.InvalidPageException;
+import com.java.coreTemplate.util.AfterCommit;
+import com.java.coreTemplate.util.KeysetCursor;
+import com.java.coreTemplate.vector.VectorIndexRegistry;
 
 import jakarta.validation.Valid;
 
@@ -19,10 +26,16 @@ import jakarta.validation.Valid;
 public class DatabaseIntegrationVectorStoresService {
 
     private final DatabaseIntegrationVectorStoresRepository repository;
+    private final VectorIndexRegistry vectorIndexRegistry;
+    private final VectorStoreSearchIndex searchIndex;
 
     @Autowired
-    public DatabaseIntegrationVectorStoresService(DatabaseIntegrationVectorStoresRepository repository) {
+    public DatabaseIntegrationVectorStoresService(DatabaseIntegrationVectorStoresRepository repository,
+                                                  VectorIndexRegistry vectorIndexRegistry,
+                                                  VectorStoreSearchIndex searchIndex) {
         this.repository = repository;
+        this.vectorIndexRegistry = vectorIndexRegistry;
+        this.searchIndex = searchIndex;
     }
 
     /**
@@ -38,7 +51,9 @@ public class DatabaseIntegrationVectorStoresService {
             // Optional: Validate required fields before saving
             validateEntity(entity);
         }
-        return repository.save(entity);
+        DatabaseIntegrationVectorStores saved = repository.save(entity);
+        searchIndex.indexAfterCommit(saved);
+        return saved;
     }
 
     /**
@@ -70,7 +85,30 @@ public class DatabaseIntegrationVectorStoresService {
     }
 
     /**
-     * Deletes a DatabaseIntegrationVectorStores entity by ID.
+     * Retrieves one {@link KeysetPage} of DatabaseIntegrationVectorStores entities.
+     */
+    public KeysetPage<DatabaseIntegrationVectorStores> findPageAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Slice<DatabaseIntegrationVectorStores> slice = cursor == null
+                ? repository.findFirstKeysetPage(KeysetPage.limit(size))
+                : repository.findKeysetPageAfter(cursor.createdAt(), cursor.id(), KeysetPage.limit(size));
+        return KeysetPage.of(slice, e -> new KeysetCursor(e.getCreatedAt(), e.getId()));
+    }
+
+    /**
+     * Ranks entities by keyword and semantic relevance to {@code query}; see {@link VectorStoreSearchIndex}.
+     *
+     * @param query free text matched against name, description, tags and metadata
+     * @param page  0-based page of {@code size} results
+     * @return the page's results, best first
+     * @throws InvalidPageException if the page is negative or lies past the search depth limit
+     */
+    public List<RankedResult<DatabaseIntegrationVectorStores>> search(String query, int page, int size) {
+        return searchIndex.search(query, (long) page * size, size);
+    }
+
+    /**
+     * Deletes a DatabaseIntegrationVectorStores entity by ID, and its vector index once the delete commits.
      *
      * @param id the ID of the entity to delete
      * @throws ResourceNotFoundException if the entity is not found
@@ -81,6 +119,8 @@ public class DatabaseIntegrationVectorStoresService {
             throw new ResourceNotFoundException("DatabaseIntegrationVectorStores with id " + id + " not found");
         }
         repository.deleteById(id);
+        searchIndex.removeAfterCommit(id);
+        AfterCommit.run(() -> vectorIndexRegistry.drop(id));
     }
 
     /**
@@ -101,7 +141,9 @@ public class DatabaseIntegrationVectorStoresService {
         validateEntity(entity);
 
         entity.setId(id); // Ensure ID is set for update
-        return repository.save(entity);
+        DatabaseIntegrationVectorStores saved = repository.save(entity);
+        searchIndex.indexAfterCommit(saved);
+        return saved;
     }
 
     /**
@@ -0,0 +1,268 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.RatingAggregate;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Rating count, sum and 1-5 histogram of user feedback, overall, per user and per day, kept in the
+ * {@code feedback_rating_aggregate} table so dashboards read a few rows instead of scanning feedback.
+ *
+ * <p>Writers report each change through {@link #recordChange}. A transaction's deltas are summed in memory and
+ * written just before it commits, in key order, so they commit or roll back with the feedback rows and two
+ * writers never lock aggregate rows in opposite orders. Each transaction adds to one of {@code slots} rows per
+ * key, so concurrent writers rarely queue on the overall or current-day row; reads sum the slots. Reads do not
+ * see the pending deltas of their own transaction.
+ *
+ * <p>{@link #reconcile} recomputes the aggregates from the feedback table and adds the difference, repairing
+ * drift from writes that bypassed the service, such as manual SQL.
+ */
+@Slf4j
+@Service
+public class FeedbackRatingAggregates {
+
+    public enum Scope { OVERALL, USER, DAY }
+
+    /** The aggregated fields of one feedback row. */
+    public record Rating(long userId, LocalDate day, int rating) {
+
+        /** @return null if the row lacks a field, as it will then fail its NOT NULL constraint anyway */
+        public static Rating of(Userfeedbackmodule feedback) {
+            if (feedback == null || feedback.getUserId() == null || feedback.getFeedbackDate() == null
+                    || feedback.getRating() == null) {
+                return null;
+            }
+            return new Rating(feedback.getUserId(), feedback.getFeedbackDate().toLocalDate(), feedback.getRating());
+        }
+    }
+
+    private record Key(Scope scope, long key) {
+    }
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::scope).thenComparingLong(Key::key);
+
+    // Reconciliation writes only to slot 0 so it never contends with writers, which use 1..slots
+    private static final int RECONCILE_SLOT = 0;
+    // Arbitrary, but fixed: every node must take the same advisory lock
+    private static final long RECONCILE_LOCK = 0x66625f7261746eL;
+
+    static final String UPSERT =
+            "INSERT INTO feedback_rating_aggregate AS a " +
+            "(scope, scope_key, slot, rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (scope, scope_key, slot) DO UPDATE SET " +
+            "rating_count = a.rating_count + EXCLUDED.rating_count, rating_sum = a.rating_sum + EXCLUDED.rating_sum, " +
+            "rating_1 = a.rating_1 + EXCLUDED.rating_1, rating_2 = a.rating_2 + EXCLUDED.rating_2, " +
+            "rating_3 = a.rating_3 + EXCLUDED.rating_3, rating_4 = a.rating_4 + EXCLUDED.rating_4, " +
+            "rating_5 = a.rating_5 + EXCLUDED.rating_5";
+
+    static final String SELECT =
+            "SELECT coalesce(sum(rating_count), 0), coalesce(sum(rating_sum), 0), coalesce(sum(rating_1), 0), " +
+            "coalesce(sum(rating_2), 0), coalesce(sum(rating_3), 0), coalesce(sum(rating_4), 0), coalesce(sum(rating_5), 0) " +
+            "FROM feedback_rating_aggregate WHERE scope = ? AND scope_key = ?";
+
+    // One statement, so the feedback scan and the stored sums come from the same snapshot. The difference is
+    // added rather than assigned, so writers committing meanwhile keep their own deltas.
+    static final String RECONCILE =
+            "WITH actual AS (" +
+            "  SELECT CASE WHEN GROUPING(user_id) = 0 THEN 'USER' WHEN GROUPING(feedback_day) = 0 THEN 'DAY' ELSE 'OVERALL' END AS scope," +
+            "         CASE WHEN GROUPING(user_id) = 0 THEN user_id WHEN GROUPING(feedback_day) = 0 THEN feedback_day ELSE 0 END AS scope_key," +
+            "         count(*) AS rating_count, coalesce(sum(rating), 0) AS rating_sum," +
+            "         count(*) FILTER (WHERE rating = 1) AS rating_1, count(*) FILTER (WHERE rating = 2) AS rating_2," +
+            "         count(*) FILTER (WHERE rating = 3) AS rating_3, count(*) FILTER (WHERE rating = 4) AS rating_4," +
+            "         count(*) FILTER (WHERE rating = 5) AS rating_5" +
+            "  FROM (SELECT user_id, CAST(feedback_date AS date) - DATE '1970-01-01' AS feedback_day, rating" +
+            "        FROM \"user feedback module\") f" +
+            "  GROUP BY GROUPING SETS ((), (user_id), (feedback_day))), " +
+            "stored AS (" +
+            "  SELECT scope, scope_key, sum(rating_count) AS rating_count, sum(rating_sum) AS rating_sum," +
+            "         sum(rating_1) AS rating_1, sum(rating_2) AS rating_2, sum(rating_3) AS rating_3," +
+            "         sum(rating_4) AS rating_4, sum(rating_5) AS rating_5" +
+            "  FROM feedback_rating_aggregate GROUP BY scope, scope_key), " +
+            "drift AS (" +
+            "  SELECT coalesce(a.scope, s.scope) AS scope, coalesce(a.scope_key, s.scope_key) AS scope_key," +
+            "         coalesce(a.rating_count, 0) - coalesce(s.rating_count, 0) AS rating_count," +
+            "         coalesce(a.rating_sum, 0) - coalesce(s.rating_sum, 0) AS rating_sum," +
+            "         coalesce(a.rating_1, 0) - coalesce(s.rating_1, 0) AS rating_1," +
+            "         coalesce(a.rating_2, 0) - coalesce(s.rating_2, 0) AS rating_2," +
+            "         coalesce(a.rating_3, 0) - coalesce(s.rating_3, 0) AS rating_3," +
+            "         coalesce(a.rating_4, 0) - coalesce(s.rating_4, 0) AS rating_4," +
+            "         coalesce(a.rating_5, 0) - coalesce(s.rating_5, 0) AS rating_5" +
+            "  FROM actual a FULL JOIN stored s ON s.scope = a.scope AND s.scope_key = a.scope_key) " +
+            "INSERT INTO feedback_rating_aggregate AS t " +
+            "(scope, scope_key, slot, rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+            "SELECT scope, scope_key, " + RECONCILE_SLOT + ", rating_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5 " +
+            "FROM drift " +
+            "WHERE rating_count <> 0 OR rating_sum <> 0 OR rating_1 <> 0 OR rating_2 <> 0 OR rating_3 <> 0 " +
+            "   OR rating_4 <> 0 OR rating_5 <> 0 " +
+            "ON CONFLICT (scope, scope_key, slot) DO UPDATE SET " +
+            "rating_count = t.rating_count + EXCLUDED.rating_count, rating_sum = t.rating_sum + EXCLUDED.rating_sum, " +
+            "rating_1 = t.rating_1 + EXCLUDED.rating_1, rating_2 = t.rating_2 + EXCLUDED.rating_2, " +
+            "rating_3 = t.rating_3 + EXCLUDED.rating_3, rating_4 = t.rating_4 + EXCLUDED.rating_4, " +
+            "rating_5 = t.rating_5 + EXCLUDED.rating_5";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int slots;
+
+    public FeedbackRatingAggregates(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                    @Value("${feedback.aggregates.slots:8}") int slots) {
+        if (slots < 1) {
+            throw new IllegalArgumentException("feedback.aggregates.slots must be at least 1");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.slots = slots;
+    }
+
+    /**
+     * Records that a feedback row changed from {@code before} to {@code after}; either is null for an insert or
+     * a delete. Inside a transaction the change is written when it commits, otherwise immediately.
+     */
+    public void recordChange(Rating before, Rating after) {
+        if (before == null && after == null) {
+            return;
+        }
+        boolean deferred = TransactionSynchronizationManager.isSynchronizationActive();
+        Map<Key, long[]> deltas = deferred ? pendingDeltas().deltas : new TreeMap<Key, long[]>(KEY_ORDER);
+        if (before != null) {
+            add(deltas, before, -1);
+        }
+        if (after != null) {
+            add(deltas, after, 1);
+        }
+        if (!deferred) {
+            write(deltas);
+        }
+    }
+
+    public RatingAggregate overall() {
+        return read(new Key(Scope.OVERALL, 0));
+    }
+
+    public RatingAggregate forUser(long userId) {
+        return read(new Key(Scope.USER, userId));
+    }
+
+    public RatingAggregate forDay(LocalDate day) {
+        return read(new Key(Scope.DAY, day.toEpochDay()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        // Freshly migrated: fill the table now rather than at the first scheduled run
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM feedback_rating_aggregate)", Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Recomputes every aggregate from the feedback table and repairs those that drifted. A full scan, so it
+     * runs on one node at a time: if another node holds the advisory lock this run is skipped.
+     *
+     * @return the number of aggregate keys repaired, or -1 if skipped
+     */
+    @Scheduled(fixedDelayString = "${feedback.aggregates.reconcile-interval:1h}",
+               initialDelayString = "${feedback.aggregates.reconcile-interval:1h}")
+    public int reconcile() {
+        long start = System.nanoTime();
+        Integer repaired = transactionTemplate.execute(status -> {
+            Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, RECONCILE_LOCK);
+            return Boolean.TRUE.equals(locked) ? jdbcTemplate.update(RECONCILE) : -1;
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        if (repaired == null || repaired < 0) {
+            log.debug("Rating aggregate reconciliation skipped: running on another node");
+            return -1;
+        }
+        if (repaired > 0) {
+            log.warn("Rating aggregates drifted: repaired {} keys in {} ms", repaired, millis);
+        } else {
+            log.debug("Rating aggregates consistent, checked in {} ms", millis);
+        }
+        return repaired;
+    }
+
+    private RatingAggregate read(Key key) {
+        return jdbcTemplate.queryForObject(SELECT, (rs, rowNum) -> RatingAggregate.of(rs.getLong(1), rs.getLong(2),
+                new long[] { rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getLong(6), rs.getLong(7) }),
+                key.scope().name(), key.key());
+    }
+
+    private PendingDeltas pendingDeltas() {
+        // Synchronizations are suspended with their transaction, so a REQUIRES_NEW transaction gets its own
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingDeltas pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        PendingDeltas pending = new PendingDeltas();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private static void add(Map<Key, long[]> deltas, Rating rating, int sign) {
+        for (Key key : new Key[] { new Key(Scope.OVERALL, 0), new Key(Scope.USER, rating.userId()),
+                                   new Key(Scope.DAY, rating.day().toEpochDay()) }) {
+            long[] delta = deltas.computeIfAbsent(key, k -> new long[7]);
+            delta[0] += sign;
+            delta[1] += (long) sign * rating.rating();
+            if (rating.rating() >= 1 && rating.rating() <= 5) {
+                delta[1 + rating.rating()] += sign;
+            }
+        }
+    }
+
+    /** Writes the deltas in key order, skipping those that cancelled out, such as an unchanged rating. */
+    private void write(Map<Key, long[]> deltas) {
+        int slot = 1 + ThreadLocalRandom.current().nextInt(slots);
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            for (long value : delta) {
+                if (value != 0) {
+                    rows.add(new Object[] { key.scope().name(), key.key(), slot,
+                            delta[0], delta[1], delta[2], delta[3], delta[4], delta[5], delta[6] });
+                    return;
+                }
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+        deltas.clear();
+    }
+
+    /** The deltas of one transaction, written as it commits and dropped if it rolls back. */
+    private final class PendingDeltas implements TransactionSynchronization {
+        final Map<Key, long[]> deltas = new TreeMap<>(KEY_ORDER);
+
+        FeedbackRatingAggregates owner() {
+            return FeedbackRatingAggregates.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(deltas);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Hashes and verifies passwords with bcrypt on a dedicated, size-bounded pool so a login burst
+ * cannot tie up the servlet threads serving other endpoints. When the pool and its queue are full
+ * the call fails fast with {@link ServiceUnavailableException}.
+ */
+@Service
+public class PasswordHashingService {
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final BCryptPasswordEncoder encoder;
+    // Verified against when the user does not exist, so the bcrypt cost is paid either way
+    private final String dummyHash;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Timer verifyTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${auth.password.bcrypt-strength:10}") int strength,
+                                  @Value("${auth.password.verifier.threads:4}") int threads,
+                                  @Value("${auth.password.verifier.queue-capacity:64}") int queueCapacity,
+                                  @Value("${auth.password.verifier.timeout:5s}") Duration timeout) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.dummyHash = encoder.encode(UUID.randomUUID().toString());
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "credential-verifier-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // executor.queued / executor.active / executor.completed tagged name=credentialVerifier
+        new ExecutorServiceMetrics(executor, "credentialVerifier", List.of()).bindTo(meterRegistry);
+        this.verifyTimer = Timer.builder("auth.credentials.verify")
+                .description("Time spent verifying a password hash")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.credentials.rejected")
+                .description("Hash/verify requests shed because the verifier pool was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks a raw password against a stored bcrypt hash, or against a legacy plaintext value.
+     *
+     * @throws ServiceUnavailableException if the verifier pool is saturated or too slow
+     */
+    public boolean verify(String rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+                    storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return matches(rawPassword, storedPassword);
+    }
+
+    /**
+     * Does the work of verifying a password against a bcrypt hash of the configured strength and
+     * returns false. Call it for unknown users so a failed login takes as long whether or not the
+     * username exists.
+     *
+     * @throws ServiceUnavailableException if the verifier pool is saturated or too slow
+     */
+    public boolean verifyUnknownUser(String rawPassword) {
+        matches(rawPassword == null ? "" : rawPassword, dummyHash);
+        return false;
+    }
+
+    /**
+     * @throws ServiceUnavailableException if the verifier pool is saturated or too slow
+     */
+    public String hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * True for legacy plaintext values and for hashes created with a lower work factor.
+     */
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || encoder.upgradeEncoding(storedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean matches(String rawPassword, String hash) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            try {
+                return encoder.matches(rawPassword, hash);
+            } finally {
+                verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private static boolean isHashed(String storedPassword) {
+        return BCRYPT_HASH.matcher(storedPassword).matches();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many concurrent logins, try again shortly", e);
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Credential verification timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Credential verification interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Credential verification failed", e.getCause());
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.java.coreTemplate.service;
 
+import com.java.coreTemplate.model.dto.KeysetPage;
 import com.java.coreTemplate.model.dto.Recommender;
 import com.java.coreTemplate.repository.RecommenderRepository;
+import com.java.coreTemplate.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -57,6 +60,17 @@ public class RecommenderService {
         return repository.findByIsActiveTrue();
     }
 
+    /**
+     * Retrieves one {@link KeysetPage} of recommenders.
+     */
+    public KeysetPage<Recommender> findPageAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Slice<Recommender> slice = cursor == null
+                ? repository.findFirstKeysetPage(KeysetPage.limit(size))
+                : repository.findKeysetPageAfter(cursor.createdAt(), cursor.id(), KeysetPage.limit(size));
+        return KeysetPage.of(slice, e -> new KeysetCursor(e.getCreatedAt(), e.getId()));
+    }
+
     /**
      * Finds all recommenders associated with a specific user ID.
      *
@@ -0,0 +1,63 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.InvalidVectorException;
+import com.java.coreTemplate.model.dto.TextUpsertRequest;
+import com.java.coreTemplate.vector.HnswIndex;
+import com.java.coreTemplate.vector.TextEmbedder;
+import com.java.coreTemplate.vector.VectorIndexRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Indexes and searches vector stores by text, embedding with the configured {@link TextEmbedder}.
+ * Bulk inserts embed on the embedding fork/join pool and then add the vectors in order, since index writes
+ * are serialized anyway.
+ */
+@Slf4j
+@Service
+public class TextEmbeddingService {
+
+    private final VectorIndexRegistry registry;
+    private final TextEmbedder embedder;
+    private final ForkJoinPool embeddingPool;
+
+    public TextEmbeddingService(VectorIndexRegistry registry, TextEmbedder embedder, ForkJoinPool embeddingPool) {
+        this.registry = registry;
+        this.embedder = embedder;
+        this.embeddingPool = embeddingPool;
+    }
+
+    /**
+     * Embeds and indexes every document. Indexing stops at the first document that fails, e.g. on a
+     * duplicate id; the documents before it stay indexed.
+     *
+     * @throws InvalidVectorException if a document has no text
+     */
+    public void addAll(long storeId, List<TextUpsertRequest> documents) {
+        List<String> texts = new ArrayList<>(documents.size());
+        for (TextUpsertRequest document : documents) {
+            if (document.text() == null || document.text().isBlank()) {
+                throw new InvalidVectorException("Document " + document.id() + " has no text to embed");
+            }
+            texts.add(document.text());
+        }
+        long start = System.nanoTime();
+        float[][] vectors = embedder.embedAll(texts, embeddingPool);
+        log.debug("Embedded {} texts for store {} in {} ms", texts.size(), storeId, (System.nanoTime() - start) / 1_000_000);
+        for (int i = 0; i < vectors.length; i++) {
+            TextUpsertRequest document = documents.get(i);
+            registry.add(storeId, document.id(), vectors[i], document.attributes());
+        }
+    }
+
+    public List<HnswIndex.Hit> search(long storeId, String text, int k, Integer efSearch, String filter) {
+        if (text == null || text.isBlank()) {
+            throw new InvalidVectorException("Query text is required");
+        }
+        return registry.search(storeId, embedder.embed(text), k, efSearch, filter);
+    }
+}
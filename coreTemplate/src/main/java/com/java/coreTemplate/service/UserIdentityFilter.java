@@ -0,0 +1,61 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.repository.UserRepository;
+import com.java.coreTemplate.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters of registered usernames and emails. A negative answer means the value is
+ * definitely not in the {@code users} table, so registration can skip the uniqueness query.
+ * Until the startup rebuild finishes every value is reported as possibly present.
+ */
+@Slf4j
+@Component
+public class UserIdentityFilter {
+    private final UserRepository userRepository;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private volatile boolean ready;
+
+    public UserIdentityFilter(UserRepository userRepository,
+                              @Value("${auth.registration.bloom.expected-users:1000000}") long expectedUsers,
+                              @Value("${auth.registration.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long count = 0;
+        try (Stream<UserRepository.UserIdentity> identities = userRepository.streamAllIdentities()) {
+            for (UserRepository.UserIdentity identity : (Iterable<UserRepository.UserIdentity>) identities::iterator) {
+                add(identity.getUsername(), identity.getEmail());
+                count++;
+            }
+        }
+        ready = true;
+        log.info("Loaded {} users into the registration Bloom filter", count);
+    }
+
+    public void add(String username, String email) {
+        usernames.put(username);
+        emails.put(email);
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !ready || usernames.mightContain(username);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || emails.mightContain(email);
+    }
+}
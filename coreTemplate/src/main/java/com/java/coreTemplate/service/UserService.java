@@ -3,6 +3,7 @@ package com.java.coreTemplate.service;
 import com.java.coreTemplate.model.entity.UserDetails;
 import com.java.coreTemplate.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -11,20 +12,51 @@ import java.util.Optional;
 public class UserService {
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserIdentityFilter userIdentityFilter;
+    @Autowired
+    private PasswordHashingService passwordHashingService;
         public UserDetails registerUser(String username, String password, String email) {
-            if (userRepository.findByUsername(username).isPresent()) {
-                throw new IllegalArgumentException("Username already exists");
-            }
-            if (userRepository.findByEmail(email).isPresent()) {
-                throw new IllegalArgumentException("Email already exists");
+            // Definite Bloom misses skip the DB; possible hits are resolved with one existence query
+            if (userIdentityFilter.mightContainUsername(username) || userIdentityFilter.mightContainEmail(email)) {
+                for (UserRepository.UserIdentity existing : userRepository.findIdentities(username, email)) {
+                    if (username.equals(existing.getUsername())) {
+                        throw new IllegalArgumentException("Username already exists");
+                    }
+                    if (email.equals(existing.getEmail())) {
+                        throw new IllegalArgumentException("Email already exists");
+                    }
+                }
             }
 
-            UserDetails newUser = new UserDetails(username, password, email);
-            return userRepository.save(newUser);
+            UserDetails newUser = new UserDetails(username, passwordHashingService.hash(password), email);
+            UserDetails saved;
+            try {
+                // The unique constraints settle races between concurrent registrations
+                saved = userRepository.saveAndFlush(newUser);
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalArgumentException("Username or email already exists");
+            }
+            userIdentityFilter.add(username, email);
+            return saved;
         }
 
         public Optional<UserDetails> authenticateUser(String username, String password) {
             Optional<UserDetails> userOptional = userRepository.findByUsername(username);
-            return userOptional.filter(user -> user.getPassword().equals(password));
+            if (userOptional.isEmpty()) {
+                // Same bcrypt cost as a wrong password, so response time does not reveal which usernames exist
+                passwordHashingService.verifyUnknownUser(password);
+                return Optional.empty();
+            }
+            UserDetails user = userOptional.get();
+            if (!passwordHashingService.verify(password, user.getPassword())) {
+                return Optional.empty();
+            }
+            // Transparently migrate plaintext or weaker hashes now that we hold the raw password
+            if (passwordHashingService.needsRehash(user.getPassword())) {
+                user.setPassword(passwordHashingService.hash(password));
+                userRepository.save(user);
+            }
+            return Optional.of(user);
         }
-    }
\ No newline at end of file
+    }
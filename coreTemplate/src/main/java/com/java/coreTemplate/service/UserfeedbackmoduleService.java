@@ -1,24 +1,67 @@
 package com.java.coreTemplate.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.java.coreTemplate.exception.InvalidFilterException;
 import com.java.coreTemplate.exception.ResourceNotFoundException;
+import com.java.coreTemplate.model.dto.BatchIngestResult;
+import com.java.coreTemplate.model.dto.FeedbackExportFilter;
+import com.java.coreTemplate.model.dto.FeedbackSearchHit;
+import com.java.coreTemplate.model.dto.KeysetPage;
+import com.java.coreTemplate.model.dto.RatingAggregate;
 import com.java.coreTemplate.model.dto.Userfeedbackmodule;
 import com.java.coreTemplate.repository.UserfeedbackmoduleRepository;
+import com.java.coreTemplate.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
 public class UserfeedbackmoduleService {
 
     private final UserfeedbackmoduleRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final FeedbackRatingAggregates aggregates;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${feedback.batch.chunk-size:500}")
+    private int batchChunkSize;
 
     @Autowired
-    public UserfeedbackmoduleService(UserfeedbackmoduleRepository repository) {
+    public UserfeedbackmoduleService(UserfeedbackmoduleRepository repository, ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager, FeedbackRatingAggregates aggregates) {
         this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.aggregates = aggregates;
     }
 
     /**
@@ -33,7 +76,99 @@ public class UserfeedbackmoduleService {
         if (entity == null) {
             throw new IllegalArgumentException("Userfeedbackmodule entity cannot be null");
         }
-        return repository.save(entity);
+        FeedbackRatingAggregates.Rating before = entity.getId() == null ? null
+                : repository.findById(entity.getId()).map(FeedbackRatingAggregates.Rating::of).orElse(null);
+        Userfeedbackmodule saved = repository.save(entity);
+        aggregates.recordChange(before, FeedbackRatingAggregates.Rating.of(saved));
+        return saved;
+    }
+
+    /**
+     * Inserts many new Userfeedbackmodule entities using JDBC batching, one transaction per chunk.
+     * Invalid items are skipped up front; if a chunk fails in the database its rows are retried one
+     * by one so a single bad row does not reject its neighbours.
+     *
+     * @param entities the entities to insert; ids are ignored and assigned from the sequence
+     * @return counts and per-item failures, indexed by position in {@code entities}
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchIngestResult saveBatch(List<Userfeedbackmodule> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("Userfeedbackmodule batch cannot be null");
+        }
+        List<BatchIngestResult.ItemFailure> failures = new ArrayList<>();
+        List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+        int inserted = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            String error = validateForInsert(entities.get(i));
+            if (error != null) {
+                failures.add(new BatchIngestResult.ItemFailure(i, error));
+                continue;
+            }
+            chunkIndexes.add(i);
+            if (chunkIndexes.size() == batchChunkSize) {
+                inserted += insertChunk(entities, chunkIndexes, failures);
+                chunkIndexes.clear();
+            }
+        }
+        if (!chunkIndexes.isEmpty()) {
+            inserted += insertChunk(entities, chunkIndexes, failures);
+        }
+        failures.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        return new BatchIngestResult(entities.size(), inserted, failures);
+    }
+
+    private int insertChunk(List<Userfeedbackmodule> entities, List<Integer> indexes,
+                            List<BatchIngestResult.ItemFailure> failures) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistAndClear(entities, indexes));
+            return indexes.size();
+        } catch (RuntimeException chunkFailure) {
+            int inserted = 0;
+            for (int index : indexes) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistAndClear(entities, List.of(index)));
+                    inserted++;
+                } catch (RuntimeException rowFailure) {
+                    failures.add(new BatchIngestResult.ItemFailure(index,
+                            NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage()));
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private void persistAndClear(List<Userfeedbackmodule> entities, List<Integer> indexes) {
+        for (int index : indexes) {
+            Userfeedbackmodule entity = entities.get(index);
+            // Reset state a rolled-back attempt may have assigned, so the row is persisted as new
+            entity.setId(null);
+            entity.setVersion(null);
+            entityManager.persist(entity);
+            aggregates.recordChange(null, FeedbackRatingAggregates.Rating.of(entity));
+        }
+        // Flush the whole chunk as JDBC batches, then drop it from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static String validateForInsert(Userfeedbackmodule entity) {
+        if (entity == null) {
+            return "Userfeedbackmodule entity cannot be null";
+        }
+        if (entity.getName() == null || entity.getName().isBlank()) {
+            return "name is required";
+        }
+        if (entity.getRating() == null) {
+            return "rating is required";
+        }
+        if (entity.getFeedbackDate() == null) {
+            return "feedbackDate is required";
+        }
+        if (entity.getUserId() == null) {
+            return "userId is required";
+        }
+        return null;
     }
 
     /**
@@ -68,6 +203,17 @@ public class UserfeedbackmoduleService {
         return repository.findAll();
     }
 
+    /**
+     * Retrieves one {@link KeysetPage} of Userfeedbackmodule entities.
+     */
+    public KeysetPage<Userfeedbackmodule> findPageAfter(String after, int size) {
+        KeysetCursor cursor = KeysetCursor.decode(after);
+        Slice<Userfeedbackmodule> slice = cursor == null
+                ? repository.findFirstKeysetPage(KeysetPage.limit(size))
+                : repository.findKeysetPageAfter(cursor.createdAt(), cursor.id(), KeysetPage.limit(size));
+        return KeysetPage.of(slice, e -> new KeysetCursor(e.getCreatedAt(), e.getId()));
+    }
+
     /**
      * Updates an existing Userfeedbackmodule entity.
      *
@@ -87,12 +233,15 @@ public class UserfeedbackmoduleService {
 
         return repository.findById(id)
                 .map(existingEntity -> {
+                    FeedbackRatingAggregates.Rating before = FeedbackRatingAggregates.Rating.of(existingEntity);
                     // Update fields as needed (example: assuming you have setters)
                     existingEntity.setFeedbackText(entity.getFeedbackText());
                     existingEntity.setRating(entity.getRating());
                     existingEntity.setIsActive(entity.getIsActive());
                     // Add other fields as necessary
-                    return repository.save(existingEntity);
+                    Userfeedbackmodule saved = repository.save(existingEntity);
+                    aggregates.recordChange(before, FeedbackRatingAggregates.Rating.of(saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Userfeedbackmodule with id " + id + " not found"));
     }
@@ -109,11 +258,11 @@ public class UserfeedbackmoduleService {
             throw new IllegalArgumentException("ID must not be null");
         }
 
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Userfeedbackmodule with id " + id + " not found");
-        }
+        Userfeedbackmodule existing = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Userfeedbackmodule with id " + id + " not found"));
 
-        repository.deleteById(id);
+        repository.delete(existing);
+        aggregates.recordChange(FeedbackRatingAggregates.Rating.of(existing), null);
     }
 
     /**
@@ -127,16 +276,90 @@ public class UserfeedbackmoduleService {
     }
 
     /**
-     * Finds all Userfeedbackmodule entities by feedback text (case-insensitive partial match).
+     * Filters feedbacks for the paged /search endpoint; every filter is optional.
+     *
+     * @param feedbackType not recorded for feedback, so any non-blank value is rejected
+     * @param status       PENDING or RESOLVED, case-insensitive
+     * @param keyword      case-insensitive substring of name or description
+     * @param pageable     page, size and sort
+     * @throws InvalidFilterException if a filter cannot be applied
+     */
+    public Page<Userfeedbackmodule> search(String feedbackType, String status, String keyword, Pageable pageable) {
+        if (feedbackType != null && !feedbackType.isBlank()) {
+            throw new InvalidFilterException("Feedback has no type; feedbackType cannot be filtered on");
+        }
+        Boolean resolved = null;
+        if (status != null && !status.isBlank()) {
+            resolved = switch (status.trim().toUpperCase(Locale.ROOT)) {
+                case "PENDING" -> false;
+                case "RESOLVED" -> true;
+                default -> throw new InvalidFilterException("Unknown status '" + status + "'; expected PENDING or RESOLVED");
+            };
+        }
+        String pattern = keyword == null || keyword.isBlank() ? null
+                : "%" + keyword.trim().toLowerCase(Locale.ROOT).replaceAll("[\\\\%_]", "\\\\$0") + "%";
+        return repository.search(resolved, pattern, pageable);
+    }
+
+    /**
+     * Searches name and description with PostgreSQL full-text search, best match first, highlighting the
+     * matched words. When nothing matches at all, falls back to trigram similarity so misspelled queries
+     * still find something; those hits carry no highlight.
+     *
+     * @param query web-search style query: words, "quoted phrases", or, -excluded
+     * @param page  0-based page number
+     * @param size  maximum number of hits to return
+     * @return the page of hits, and whether another follows
+     */
+    public Slice<FeedbackSearchHit> searchText(String query, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, KeysetPage.MAX_SIZE)));
+        if (query == null || query.isBlank()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        String trimmed = query.trim();
+        Slice<FeedbackSearchHit> hits = repository.searchFullText(trimmed, pageable);
+        // An empty later page only means the matches ran out; fall back when there were none to begin with
+        if (hits.hasContent() || (pageable.getPageNumber() > 0 && repository.hasFullTextMatch(trimmed))) {
+            return hits;
+        }
+        return repository.searchFuzzy(trimmed, pageable);
+    }
+
+    /**
+     * Finds Userfeedbackmodule entities whose name or description matches the text, best match first.
      *
      * @param feedbackText the text to search for
-     * @return list of matching entities
+     * @return up to {@link KeysetPage#MAX_SIZE} matching entities
      */
     public List<Userfeedbackmodule> findByFeedbackTextContainingIgnoreCase(String feedbackText) {
-        if (feedbackText == null || feedbackText.trim().isEmpty()) {
-            return List.of(); // Return empty list instead of null
+        return searchText(feedbackText, 0, KeysetPage.MAX_SIZE).map(FeedbackSearchHit::feedback).getContent();
+    }
+
+    /**
+     * Rating count, sum, average and histogram over all feedback, read from the maintained aggregates.
+     */
+    public RatingAggregate getRatingAggregate() {
+        return aggregates.overall();
+    }
+
+    /**
+     * Rating aggregates of one user's feedback; all zero if the user has none.
+     */
+    public RatingAggregate getRatingAggregateForUser(Long userId) {
+        if (userId == null) {
+            throw new IllegalArgumentException("User ID must not be null");
         }
-        return repository.findByFeedbackTextContainingIgnoreCase(feedbackText.trim());
+        return aggregates.forUser(userId);
+    }
+
+    /**
+     * Rating aggregates of the feedback dated on one day; all zero if there is none.
+     */
+    public RatingAggregate getRatingAggregateForDay(LocalDate day) {
+        if (day == null) {
+            throw new IllegalArgumentException("Day must not be null");
+        }
+        return aggregates.forDay(day);
     }
 
     /**
@@ -148,4 +371,36 @@ public class UserfeedbackmoduleService {
     public List<Userfeedbackmodule> findByRating(int rating) {
         return repository.findByRating(rating);
     }
+
+    /**
+     * Writes matching feedback to the stream as newline-delimited JSON. Rows are read through a
+     * server-side cursor and detached once written, so memory stays flat regardless of row count.
+     * Output is buffered rather than flushed per row; the stream is flushed once at the end but not closed.
+     *
+     * @param filter optional feedbackDate/rating/userId filters
+     * @param out    destination for the NDJSON lines
+     * @return the number of rows written
+     * @throws IOException if writing to the stream fails
+     */
+    public long exportNdjson(FeedbackExportFilter filter, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(Userfeedbackmodule.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (Stream<Userfeedbackmodule> rows = repository.streamForExport(filter);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                     .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            // Lines are terminated explicitly; the default separator would prefix each later line with a space
+            generator.setRootValueSeparator(null);
+            Iterator<Userfeedbackmodule> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Userfeedbackmodule row = iterator.next();
+                writer.writeValue(generator, row);
+                generator.writeRaw('\n');
+                entityManager.detach(row);
+                count++;
+            }
+            generator.flush();
+        }
+        return count;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.InvalidValidationRuleException;
+import com.java.coreTemplate.exception.UnknownValidationRuleException;
+import com.java.coreTemplate.model.dto.ConfigurationValidationUtilities;
+import com.java.coreTemplate.model.dto.ValidationBatchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+
+/**
+ * Holds every active {@code validationRule} compiled once, keyed by row id and tagged with the row's
+ * {@code @Version}. Each {@link ConfigurationSnapshotPublishedEvent} builds a new immutable map and swaps
+ * it in atomically, recompiling only rows whose version changed; evaluations keep using the snapshot they
+ * started with. Rules follow the configuration snapshot rather than reloading on their own schedule.
+ */
+@Slf4j
+@Service
+public class ValidationRuleEngine {
+    private final AtomicReference<Map<Long, CompiledValidationRule>> rules = new AtomicReference<>(Map.of());
+
+    @EventListener
+    public void onSnapshotPublished(ConfigurationSnapshotPublishedEvent event) {
+        refresh(event.activeRows());
+    }
+
+    /**
+     * Swaps in the recompiled set for the given active rows; rows without a rule are ignored. Serialized so
+     * overlapping refreshes cannot publish an older snapshot over a newer one.
+     */
+    synchronized void refresh(List<ConfigurationValidationUtilities> activeRows) {
+        Map<Long, CompiledValidationRule> current = rules.get();
+        Map<Long, CompiledValidationRule> next = new HashMap<>();
+        int compiled = 0;
+        for (ConfigurationValidationUtilities row : activeRows) {
+            if (row.getValidationRule() == null) {
+                continue;
+            }
+            long version = row.getVersion() == null ? 0 : row.getVersion();
+            CompiledValidationRule existing = current.get(row.getId());
+            if (existing != null && existing.version() == version) {
+                next.put(row.getId(), existing);
+                continue;
+            }
+            try {
+                next.put(row.getId(), CompiledValidationRule.compile(row.getId(), version, row.getValidationRule()));
+                compiled++;
+            } catch (InvalidValidationRuleException e) {
+                log.warn("Skipping validation rule {} (version {}): {}", row.getId(), version, e.getMessage());
+            }
+        }
+        rules.set(Map.copyOf(next));
+        if (compiled > 0 || next.size() != current.size()) {
+            log.info("Validation rules refreshed: {} active, {} recompiled", next.size(), compiled);
+        }
+    }
+
+    public Optional<CompiledValidationRule> rule(long id) {
+        return Optional.ofNullable(rules.get().get(id));
+    }
+
+    /**
+     * Evaluates every input against every rule using a single rule snapshot. Each rule's regex matcher
+     * is created once and reset per input, so the only per-input allocation is the result row.
+     *
+     * @throws UnknownValidationRuleException if a rule id is not active or failed to compile
+     */
+    public ValidationBatchResult validate(List<Long> ruleIds, List<String> inputs) {
+        Map<Long, CompiledValidationRule> snapshot = rules.get();
+        int ruleCount = ruleIds.size();
+        CompiledValidationRule[] selected = new CompiledValidationRule[ruleCount];
+        Matcher[] matchers = new Matcher[ruleCount];
+        List<ValidationBatchResult.RuleVersion> versions = new ArrayList<>(ruleCount);
+        for (int j = 0; j < ruleCount; j++) {
+            Long id = ruleIds.get(j);
+            CompiledValidationRule rule = id == null ? null : snapshot.get(id);
+            if (rule == null) {
+                throw new UnknownValidationRuleException("No active validation rule with id " + id);
+            }
+            selected[j] = rule;
+            matchers[j] = rule.newMatcher();
+            versions.add(new ValidationBatchResult.RuleVersion(rule.id(), rule.version()));
+        }
+
+        boolean[][] results = new boolean[inputs.size()][];
+        for (int i = 0; i < results.length; i++) {
+            String input = inputs.get(i);
+            boolean[] row = new boolean[ruleCount];
+            for (int j = 0; j < ruleCount; j++) {
+                row[j] = selected[j].test(input, matchers[j]);
+            }
+            results[i] = row;
+        }
+        return new ValidationBatchResult(versions, results);
+    }
+}
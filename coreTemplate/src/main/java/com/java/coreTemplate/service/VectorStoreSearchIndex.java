@@ -0,0 +1,211 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.InvalidPageException;
+import com.java.coreTemplate.model.dto.DatabaseIntegrationVectorStores;
+import com.java.coreTemplate.model.dto.RankedResult;
+import com.java.coreTemplate.repository.DatabaseIntegrationVectorStoresRepository;
+import com.java.coreTemplate.util.AfterCommit;
+import com.java.coreTemplate.vector.Bm25Index;
+import com.java.coreTemplate.vector.HnswIndex;
+import com.java.coreTemplate.vector.HnswParameters;
+import com.java.coreTemplate.vector.ReciprocalRankFusion;
+import com.java.coreTemplate.vector.TextEmbedder;
+import com.java.coreTemplate.vector.VectorMetric;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hybrid search over vector store rows: a {@link Bm25Index} over name, description, tags and metadata, and
+ * an in-memory {@link HnswIndex} of the same text embedded by the configured {@link TextEmbedder}. The two
+ * rankings are merged with {@link ReciprocalRankFusion}, so exact keyword matches and paraphrases both
+ * surface without tuning score scales against each other.
+ *
+ * <p>Local saves and deletes update both indexes once their transaction commits. A periodic refresh
+ * compares row versions against what is indexed, which picks up bulk loads and writes made on other nodes.
+ * Replaced and removed vectors are dropped from the graph by the {@link HnswIndex}'s own memtable compaction.
+ *
+ * <p>Both rankings are computed {@code offset + limit} deep, so paging stops at
+ * {@code vector-store.search.max-results}.
+ */
+@Slf4j
+@Service
+public class VectorStoreSearchIndex {
+    // name, description, tags, metadata
+    private static final float[] FIELD_WEIGHTS = { 3f, 1.5f, 2f, 1f };
+    private static final HnswParameters HNSW = new HnswParameters(16, 100, 64, 42L);
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    private final DatabaseIntegrationVectorStoresRepository repository;
+    private final TextEmbedder embedder;
+    private final int candidates;
+    private final int rankConstant;
+    private final float minSimilarity;
+    private final int maxResults;
+    private final Bm25Index lexical = new Bm25Index(1.2f, 0.75f, FIELD_WEIGHTS);
+    private final Map<Long, Long> indexedVersions = new ConcurrentHashMap<>();
+    private final HnswIndex vectors;
+
+    public VectorStoreSearchIndex(DatabaseIntegrationVectorStoresRepository repository, TextEmbedder embedder,
+                                  @Value("${vector-store.search.candidates:100}") int candidates,
+                                  @Value("${vector-store.search.rank-constant:" + ReciprocalRankFusion.DEFAULT_RANK_CONSTANT + "}") int rankConstant,
+                                  @Value("${vector-store.search.min-similarity:0.2}") float minSimilarity,
+                                  @Value("${vector-store.search.max-results:1000}") int maxResults,
+                                  @Value("${vector-index.compaction.deletes-ratio:0.2}") double compactionRatio) {
+        this.repository = repository;
+        this.embedder = embedder;
+        this.candidates = candidates;
+        this.rankConstant = rankConstant;
+        this.minSimilarity = minSimilarity;
+        this.maxResults = maxResults;
+        this.vectors = new HnswIndex(embedder.dimension(), VectorMetric.COSINE, HNSW, compactionRatio);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${vector-store.search.refresh-interval:1m}",
+               initialDelayString = "${vector-store.search.refresh-interval:1m}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Re-indexes rows whose {@code @Version} differs from the indexed one and removes rows that are gone.
+     * Only ids and versions are read for the whole table; entities are loaded just for the changed rows.
+     */
+    public synchronized void refresh() {
+        long start = System.nanoTime();
+        Set<Long> seen = new HashSet<>();
+        List<Long> changed = new ArrayList<>();
+        for (DatabaseIntegrationVectorStoresRepository.RowVersion row : repository.findAllRowVersions()) {
+            seen.add(row.getId());
+            Long indexed = indexedVersions.get(row.getId());
+            long version = row.getVersion() == null ? 0 : row.getVersion();
+            if (indexed == null || indexed != version) {
+                changed.add(row.getId());
+            }
+        }
+        int updated = 0;
+        for (int from = 0; from < changed.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = changed.subList(from, Math.min(from + REFRESH_BATCH_SIZE, changed.size()));
+            for (DatabaseIntegrationVectorStores row : repository.findAllById(batch)) {
+                index(row);
+                updated++;
+            }
+        }
+        int removed = 0;
+        for (Long id : new ArrayList<>(indexedVersions.keySet())) {
+            if (!seen.contains(id)) {
+                remove(id);
+                removed++;
+            }
+        }
+        if (updated > 0 || removed > 0) {
+            log.info("Search index refreshed: {} rows indexed, {} removed, {} total in {} ms", updated, removed,
+                    lexical.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    public synchronized void index(DatabaseIntegrationVectorStores row) {
+        lexical.put(row.getId(), row.getName(), row.getDescription(), row.getTags(), row.getMetadata());
+        vectors.upsert(row.getId(), embedder.embed(text(row)), null);
+        indexedVersions.put(row.getId(), versionOf(row));
+    }
+
+    public synchronized void remove(long id) {
+        lexical.remove(id);
+        vectors.delete(id);
+        indexedVersions.remove(id);
+    }
+
+    /** {@link #index} once the current transaction commits, or now without one. */
+    public void indexAfterCommit(DatabaseIntegrationVectorStores row) {
+        AfterCommit.run(() -> index(row));
+    }
+
+    /** {@link #remove} once the current transaction commits, or now without one. */
+    public void removeAfterCommit(long id) {
+        AfterCommit.run(() -> remove(id));
+    }
+
+    /** {@link #refresh} once the current transaction commits, or now without one. */
+    public void refreshAfterCommit() {
+        AfterCommit.run(this::refresh);
+    }
+
+    /**
+     * Ranks rows by fused BM25 and embedding similarity. Only the matching rows are loaded, by primary key.
+     *
+     * @param offset results to skip, for paging
+     * @param limit  results to return
+     * @throws InvalidPageException if the page is negative or reaches past {@code max-results}
+     */
+    public List<RankedResult<DatabaseIntegrationVectorStores>> search(String query, long offset, int limit) {
+        if (offset < 0 || offset + limit > maxResults) {
+            throw new InvalidPageException("Search results are served up to " + maxResults + " deep");
+        }
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        int wanted = (int) offset + limit;
+        int depth = Math.max(wanted, candidates);
+        List<HnswIndex.Hit> keywordHits = lexical.search(query, depth);
+        List<HnswIndex.Hit> similarHits = new ArrayList<>();
+        if (vectors.size() > 0) {
+            // Every vector has a nearest neighbor; only reasonably similar ones count as matches
+            for (HnswIndex.Hit hit : vectors.search(embedder.embed(query), depth, null)) {
+                if (hit.score() >= minSimilarity) {
+                    similarHits.add(hit);
+                }
+            }
+        }
+        List<HnswIndex.Hit> fused = ReciprocalRankFusion.fuse(wanted, rankConstant, List.of(keywordHits, similarHits));
+        if (offset >= fused.size()) {
+            return List.of();
+        }
+        List<HnswIndex.Hit> page = fused.subList((int) offset, fused.size());
+        Map<Long, DatabaseIntegrationVectorStores> rows = new HashMap<>();
+        repository.findAllById(page.stream().map(HnswIndex.Hit::id).toList()).forEach(row -> rows.put(row.getId(), row));
+        List<RankedResult<DatabaseIntegrationVectorStores>> results = new ArrayList<>(page.size());
+        for (HnswIndex.Hit hit : page) {
+            DatabaseIntegrationVectorStores row = rows.get(hit.id());
+            // Deleted on another node since the last refresh
+            if (row != null) {
+                results.add(new RankedResult<>(row, hit.score()));
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return lexical.size();
+    }
+
+    private static String text(DatabaseIntegrationVectorStores row) {
+        StringBuilder text = new StringBuilder(row.getName() == null ? "" : row.getName());
+        for (String field : new String[] { row.getDescription(), row.getTags(), row.getMetadata() }) {
+            if (field != null) {
+                text.append('\n').append(field);
+            }
+        }
+        return text.toString();
+    }
+
+    private static long versionOf(DatabaseIntegrationVectorStores row) {
+        return row.getVersion() == null ? 0 : row.getVersion();
+    }
+}
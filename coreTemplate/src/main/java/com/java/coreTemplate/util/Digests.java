@@ -0,0 +1,28 @@
+package com.java.coreTemplate.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Digest helpers for turning credentials into cache keys without retaining the raw value.
+ */
+public final class Digests {
+
+    private Digests() {
+    }
+
+    /**
+     * @return the URL-safe, unpadded Base64 SHA-256 of the value's UTF-8 bytes
+     */
+    public static String sha256(String value) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.java.coreTemplate.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token-bucket rate limiter with bounded memory.
+ *
+ * <p>Keys are spread over lock stripes, each an access-ordered map capped at its share of
+ * {@code maxKeys}, so contention is limited to keys that hash to the same stripe. Buckets refill
+ * lazily on access. When a stripe is full, a bucket that has refilled completely is dropped first,
+ * since a new one for the same key would be identical. Failing that the least recently used bucket
+ * goes: a new key is never refused, so filling the stripes with junk keys cannot lock real users out.
+ * The price is that enough fresh keys can reset a drained bucket, so pair a per-key limiter with one
+ * that bounds how fast a single client can introduce keys.
+ */
+public class TokenBucketLimiter {
+    private static final int STRIPES = 64;
+    // Least recently used buckets examined for a refilled one when a stripe is full
+    private static final int EVICTION_SCAN = 16;
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final long idleNanos;
+    private final int maxKeysPerStripe;
+    private final LongSupplier clock;
+    private final Stripe[] stripes;
+
+    /**
+     * @param capacity          burst size: tokens in a full bucket
+     * @param refillPerSecond   steady-state rate at which tokens are added
+     * @param maxKeys           upper bound on tracked keys across all stripes
+     * @param idleTimeoutMillis buckets untouched for this long are dropped by {@link #evictIdle()}
+     */
+    public TokenBucketLimiter(int capacity, double refillPerSecond, int maxKeys, long idleTimeoutMillis) {
+        this(capacity, refillPerSecond, maxKeys, idleTimeoutMillis, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, double refillPerSecond, int maxKeys, long idleTimeoutMillis, LongSupplier clock) {
+        if (capacity <= 0 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.idleNanos = idleTimeoutMillis * 1_000_000L;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.clock = clock;
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return true if the request is allowed, false if the key's bucket is empty
+     */
+    public boolean tryAcquire(String key) {
+        Stripe stripe = stripes[Math.floorMod(spread(key.hashCode()), STRIPES)];
+        long now = clock.getAsLong();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe) {
+                    evict(stripe, now);
+                }
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                refill(bucket, now);
+            }
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    /**
+     * Drops buckets idle for longer than the idle timeout that have refilled by now. Stripes are
+     * access-ordered, so each stripe is walked only until the first recently used bucket.
+     */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Bucket> eldestFirst = stripe.buckets.values().iterator();
+                while (eldestFirst.hasNext()) {
+                    Bucket bucket = eldestFirst.next();
+                    if (now - bucket.lastRefillNanos <= idleNanos) {
+                        break;
+                    }
+                    if (isRefilled(bucket, now)) {
+                        eldestFirst.remove();
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes the least recently used bucket that has refilled, looking at no more than
+     * {@link #EVICTION_SCAN} of them, or else the least recently used one. The caller holds the
+     * stripe's lock.
+     */
+    private void evict(Stripe stripe, long now) {
+        Iterator<Bucket> eldestFirst = stripe.buckets.values().iterator();
+        for (int scanned = 0; scanned < EVICTION_SCAN && eldestFirst.hasNext(); scanned++) {
+            if (isRefilled(eldestFirst.next(), now)) {
+                eldestFirst.remove();
+                return;
+            }
+        }
+        Iterator<Bucket> eldest = stripe.buckets.values().iterator();
+        eldest.next();
+        eldest.remove();
+    }
+
+    private void refill(Bucket bucket, long now) {
+        bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.lastRefillNanos) * refillPerNano);
+        bucket.lastRefillNanos = now;
+    }
+
+    private boolean isRefilled(Bucket bucket, long now) {
+        return bucket.tokens + (now - bucket.lastRefillNanos) * refillPerNano >= capacity;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+        private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.java.coreTemplate.vector;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Inverted index of one segment's {@link VectorAttributes}: a {@link RoaringBitmap} of ordinals per
+ * {@code (field, value)} term. Immutable once built.
+ */
+final class AttributeIndex {
+    static final AttributeIndex EMPTY = new AttributeIndex(Map.of());
+
+    private final Map<String, Map<String, RoaringBitmap>> terms;
+
+    private AttributeIndex(Map<String, Map<String, RoaringBitmap>> terms) {
+        this.terms = terms;
+    }
+
+    static AttributeIndex build(IntFunction<VectorAttributes> attributes, int count) {
+        Map<String, Map<String, RoaringBitmap>> terms = new HashMap<>();
+        for (int ord = 0; ord < count; ord++) {
+            int node = ord;
+            attributes.apply(ord).asMap().forEach((field, values) -> {
+                Map<String, RoaringBitmap> byValue = terms.computeIfAbsent(field, key -> new HashMap<>());
+                for (String value : values) {
+                    byValue.computeIfAbsent(value, key -> new RoaringBitmap()).add(node);
+                }
+            });
+        }
+        return terms.isEmpty() ? EMPTY : new AttributeIndex(terms);
+    }
+
+    /** Ordinals whose {@code field} has {@code value}. */
+    RoaringBitmap get(String field, String value) {
+        Map<String, RoaringBitmap> byValue = terms.get(field);
+        RoaringBitmap bitmap = byValue == null ? null : byValue.get(value);
+        return bitmap == null ? RoaringBitmap.EMPTY : bitmap;
+    }
+
+    /** Rebuilds per-ordinal attributes, for merging segments. */
+    VectorAttributes[] invert(int count) {
+        Map<String, Set<String>>[] byOrd = newMaps(count);
+        terms.forEach((field, byValue) -> byValue.forEach((value, bitmap) -> {
+            for (PrimitiveIterator.OfInt it = bitmap.iterator(); it.hasNext(); ) {
+                int ord = it.nextInt();
+                if (byOrd[ord] == null) {
+                    byOrd[ord] = new HashMap<>();
+                }
+                byOrd[ord].computeIfAbsent(field, key -> new HashSet<>()).add(value);
+            }
+        }));
+        VectorAttributes[] attributes = new VectorAttributes[count];
+        for (int ord = 0; ord < count; ord++) {
+            attributes[ord] = byOrd[ord] == null ? VectorAttributes.EMPTY : VectorAttributes.of(byOrd[ord]);
+        }
+        return attributes;
+    }
+
+    /**
+     * Little-endian {@code int termCount}, then per term its field and value (each {@code int length} plus
+     * UTF-8 bytes) followed by the serialized bitmap.
+     */
+    byte[] encode() {
+        int bytes = Integer.BYTES;
+        int count = 0;
+        for (Map.Entry<String, Map<String, RoaringBitmap>> field : terms.entrySet()) {
+            for (Map.Entry<String, RoaringBitmap> term : field.getValue().entrySet()) {
+                bytes += 2 * Integer.BYTES + VectorAttributes.utf8Length(field.getKey())
+                        + VectorAttributes.utf8Length(term.getKey()) + term.getValue().serializedBytes();
+                count++;
+            }
+        }
+        ByteBuffer out = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(count);
+        terms.forEach((field, byValue) -> byValue.forEach((value, bitmap) -> {
+            VectorAttributes.putString(out, field);
+            VectorAttributes.putString(out, value);
+            bitmap.serialize(out);
+        }));
+        return out.array();
+    }
+
+    static AttributeIndex decode(ByteBuffer in) {
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        int count = in.getInt();
+        Map<String, Map<String, RoaringBitmap>> terms = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String field = VectorAttributes.getString(in);
+            String value = VectorAttributes.getString(in);
+            terms.computeIfAbsent(field, key -> new HashMap<>()).put(value, RoaringBitmap.deserialize(in));
+        }
+        return terms.isEmpty() ? EMPTY : new AttributeIndex(terms);
+    }
+
+    long ramBytesUsed() {
+        long bytes = 0;
+        for (Map<String, RoaringBitmap> byValue : terms.values()) {
+            for (Map.Entry<String, RoaringBitmap> term : byValue.entrySet()) {
+                bytes += 64 + term.getKey().length() * 2L + term.getValue().ramBytesUsed();
+            }
+        }
+        return bytes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Set<String>>[] newMaps(int count) {
+        return (Map<String, Set<String>>[]) new Map[count];
+    }
+}
@@ -0,0 +1,340 @@
+package com.java.coreTemplate.vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory BM25 inverted index over short multi-field documents keyed by {@code long} ids. Text is split
+ * into lower-cased runs of letters and digits, as {@link HashingTextEmbedder} does. Each field has a weight
+ * that scales the frequency of its terms, so a name match can outrank the same word in free-form metadata.
+ *
+ * <p>Documents are added, replaced and removed one at a time. A removed document stops matching at once and
+ * its postings are dropped when enough of the index has been removed. A query only reads the postings of
+ * its own terms, so its cost follows how many documents match, not how many are indexed.
+ *
+ * <p>Writes take an exclusive lock; searches share a read lock.
+ */
+public final class Bm25Index {
+    // Postings are compacted once removed documents pass this fraction of all ordinals, and this count
+    private static final double COMPACTION_RATIO = 0.25;
+    private static final int COMPACTION_MIN = 1024;
+
+    private final float k1;
+    private final float b;
+    private final float[] fieldWeights;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<Long, Integer> ordById = new HashMap<>();
+    private final ThreadLocal<NeighborQueue> results = ThreadLocal.withInitial(() -> new NeighborQueue(64, false));
+    private final ThreadLocal<Accumulator> accumulator = ThreadLocal.withInitial(Accumulator::new);
+
+    private long[] idByOrd = new long[64];
+    private float[] lengthByOrd = new float[64];
+    // The postings each document appears in, or null once it is removed
+    private Postings[][] postingsByOrd = new Postings[64][];
+    private int ordCount;
+    private int liveCount;
+    private double totalLength;
+
+    /**
+     * @param k1           term-frequency saturation, usually 1.2
+     * @param b            document-length normalization from 0 (none) to 1 (full), usually 0.75
+     * @param fieldWeights weight of each field passed to {@link #put}, in order
+     */
+    public Bm25Index(float k1, float b, float... fieldWeights) {
+        if (!(k1 >= 0) || !(b >= 0 && b <= 1)) {
+            throw new IllegalArgumentException("k1 must be >= 0 and b between 0 and 1");
+        }
+        if (fieldWeights.length == 0) {
+            throw new IllegalArgumentException("At least one field weight is required");
+        }
+        for (float weight : fieldWeights) {
+            if (!(weight > 0) || !Float.isFinite(weight)) {
+                throw new IllegalArgumentException("Field weights must be positive");
+            }
+        }
+        this.k1 = k1;
+        this.b = b;
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    /**
+     * Indexes a document, replacing any indexed under the same id.
+     *
+     * @param fields one value per field weight; null values are skipped
+     */
+    public void put(long id, CharSequence... fields) {
+        if (fields.length != fieldWeights.length) {
+            throw new IllegalArgumentException("Expected " + fieldWeights.length + " fields, got " + fields.length);
+        }
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (int field = 0; field < fields.length; field++) {
+            if (fields[field] == null) {
+                continue;
+            }
+            float weight = fieldWeights[field];
+            int[] count = new int[1];
+            tokenize(fields[field], term -> {
+                frequencies.merge(term, weight, Float::sum);
+                count[0]++;
+            });
+            length += weight * count[0];
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ord = ordCount++;
+            if (ord == idByOrd.length) {
+                int capacity = idByOrd.length * 2;
+                idByOrd = Arrays.copyOf(idByOrd, capacity);
+                lengthByOrd = Arrays.copyOf(lengthByOrd, capacity);
+                postingsByOrd = Arrays.copyOf(postingsByOrd, capacity);
+            }
+            Postings[] postings = new Postings[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                Postings termPostings = postingsByTerm.computeIfAbsent(entry.getKey(), Postings::new);
+                termPostings.add(ord, entry.getValue());
+                postings[i++] = termPostings;
+            }
+            idByOrd[ord] = id;
+            lengthByOrd[ord] = length;
+            postingsByOrd[ord] = postings;
+            ordById.put(id, ord);
+            liveCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return false if no document is indexed under the id
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops every document. */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            ordById.clear();
+            Arrays.fill(postingsByOrd, 0, ordCount, null);
+            ordCount = 0;
+            liveCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code k} documents containing at least one query term, best BM25 score first.
+     */
+    public List<HnswIndex.Hit> search(CharSequence query, int k) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add);
+        if (terms.isEmpty() || k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            float averageLength = (float) Math.max(totalLength / liveCount, 1e-6);
+            Accumulator scores = accumulator.get();
+            scores.ensureCapacity(ordCount);
+            for (String term : terms) {
+                Postings postings = postingsByTerm.get(term);
+                if (postings == null) {
+                    continue;
+                }
+                float idf = (float) Math.log(1 + (liveCount - postings.documentFrequency + 0.5)
+                        / (postings.documentFrequency + 0.5));
+                for (int i = 0; i < postings.size; i++) {
+                    int ord = postings.ords[i];
+                    if (postingsByOrd[ord] == null) {
+                        continue;
+                    }
+                    float tf = postings.frequencies[i];
+                    float norm = k1 * (1 - b + b * lengthByOrd[ord] / averageLength);
+                    scores.add(ord, idf * tf * (k1 + 1) / (tf + norm));
+                }
+            }
+            NeighborQueue top = results.get();
+            top.clear();
+            for (int i = 0; i < scores.touchedCount; i++) {
+                int ord = scores.touched[i];
+                top.insertWithOverflow(ord, scores.scores[ord], k);
+            }
+            scores.reset();
+            HnswIndex.Hit[] hits = new HnswIndex.Hit[top.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                float score = top.topScore();
+                hits[i] = new HnswIndex.Hit(idByOrd[top.pop()], score);
+            }
+            return new ArrayList<>(List.of(hits));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Number of distinct terms in live documents. */
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postingsByTerm.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Feeds each lower-cased run of letters and digits in {@code text} to {@code terms}. */
+    static void tokenize(CharSequence text, Consumer<String> terms) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                terms.accept(text.subSequence(start, i).toString().toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    private boolean removeLocked(long id) {
+        Integer ord = ordById.remove(id);
+        if (ord == null) {
+            return false;
+        }
+        for (Postings postings : postingsByOrd[ord]) {
+            if (--postings.documentFrequency == 0) {
+                postingsByTerm.remove(postings.term);
+            }
+        }
+        postingsByOrd[ord] = null;
+        liveCount--;
+        totalLength -= lengthByOrd[ord];
+        int removed = ordCount - liveCount;
+        if (removed >= COMPACTION_MIN && removed >= ordCount * COMPACTION_RATIO) {
+            compact();
+        }
+        return true;
+    }
+
+    /** Renumbers live documents densely and drops the postings of removed ones, keeping ordinals sorted. */
+    private void compact() {
+        int[] remap = new int[ordCount];
+        int next = 0;
+        for (int ord = 0; ord < ordCount; ord++) {
+            if (postingsByOrd[ord] == null) {
+                remap[ord] = -1;
+                continue;
+            }
+            remap[ord] = next;
+            idByOrd[next] = idByOrd[ord];
+            lengthByOrd[next] = lengthByOrd[ord];
+            postingsByOrd[next] = postingsByOrd[ord];
+            ordById.put(idByOrd[next], next);
+            next++;
+        }
+        Arrays.fill(postingsByOrd, next, ordCount, null);
+        ordCount = next;
+        for (Postings postings : postingsByTerm.values()) {
+            int kept = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int ord = remap[postings.ords[i]];
+                if (ord >= 0) {
+                    postings.ords[kept] = ord;
+                    postings.frequencies[kept] = postings.frequencies[i];
+                    kept++;
+                }
+            }
+            postings.size = kept;
+        }
+    }
+
+    /** Ordinals containing one term, ascending, with the term's weighted frequency in each. */
+    private static final class Postings {
+        final String term;
+        int[] ords = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+        int documentFrequency;
+
+        Postings(String term) {
+            this.term = term;
+        }
+
+        void add(int ord, float frequency) {
+            if (size == ords.length) {
+                ords = Arrays.copyOf(ords, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ords[size] = ord;
+            frequencies[size] = frequency;
+            size++;
+            documentFrequency++;
+        }
+    }
+
+    /** Per-thread score sums; {@link #reset()} clears only the ordinals a query touched. */
+    private static final class Accumulator {
+        float[] scores = new float[0];
+        int[] touched = new int[0];
+        int touchedCount;
+
+        void ensureCapacity(int ords) {
+            if (scores.length < ords) {
+                scores = new float[Math.max(ords, scores.length * 2)];
+                touched = new int[scores.length];
+            }
+        }
+
+        void add(int ord, float score) {
+            if (scores[ord] == 0) {
+                touched[touchedCount++] = ord;
+            }
+            scores[ord] += score;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+}
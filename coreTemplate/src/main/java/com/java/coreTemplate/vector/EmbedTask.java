@@ -0,0 +1,35 @@
+package com.java.coreTemplate.vector;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/** Halves its range until it is small enough that task overhead is negligible next to embedding it. */
+final class EmbedTask extends RecursiveAction {
+    private static final int LEAF_SIZE = 64;
+
+    private final TextEmbedder embedder;
+    private final List<? extends CharSequence> texts;
+    private final float[][] vectors;
+    private final int from;
+    private final int to;
+
+    EmbedTask(TextEmbedder embedder, List<? extends CharSequence> texts, float[][] vectors, int from, int to) {
+        this.embedder = embedder;
+        this.texts = texts;
+        this.vectors = vectors;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= LEAF_SIZE) {
+            for (int i = from; i < to; i++) {
+                vectors[i] = embedder.embed(texts.get(i));
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new EmbedTask(embedder, texts, vectors, from, mid), new EmbedTask(embedder, texts, vectors, mid, to));
+    }
+}
@@ -0,0 +1,319 @@
+package com.java.coreTemplate.vector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * {@link TextEmbedder} based on the hashing trick. Every feature of the text, meaning lower-cased word
+ * n-grams and the character n-grams of each word, is hashed straight to one of {@code dimension} buckets with
+ * a hash-derived sign, so there is no vocabulary to build or ship. Bucket counts are damped to
+ * {@code 1 + ln(count)}, weighted by inverse document frequency and scaled to unit length.
+ *
+ * <p>An embedder built with the constructor weights every bucket equally; {@link #fit} learns the weights
+ * from a corpus. Fitted weights must be {@link #write written} with the index and {@link #read read} back to
+ * embed queries, or queries and documents are weighted differently. {@code TextEmbedderFitRunner} produces
+ * the file from a corpus at startup.
+ *
+ * <p>Each thread reuses its own scratch space, so embedding allocates only the returned vector.
+ */
+public final class HashingTextEmbedder implements TextEmbedder {
+    private static final int MAGIC = 0x48544531;
+    private static final int VERSION = 1;
+    private static final int CHAR_SALT = 0x5bd1e995;
+
+    private final int dimension;
+    private final int wordNgrams;
+    private final int charNgrams;
+    private final float[] idf;
+    private final ThreadLocal<Scratch> scratch;
+
+    /**
+     * @param wordNgrams longest run of consecutive words hashed as one feature, 1 to 4
+     * @param charNgrams length of the character n-grams taken from each word, 2 to 8, or 0 for none
+     */
+    public HashingTextEmbedder(int dimension, int wordNgrams, int charNgrams) {
+        this(dimension, wordNgrams, charNgrams, uniform(dimension));
+    }
+
+    private HashingTextEmbedder(int dimension, int wordNgrams, int charNgrams, float[] idf) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("dimension must be positive");
+        }
+        if (wordNgrams < 1 || wordNgrams > 4) {
+            throw new IllegalArgumentException("wordNgrams must be between 1 and 4");
+        }
+        if (charNgrams != 0 && (charNgrams < 2 || charNgrams > 8)) {
+            throw new IllegalArgumentException("charNgrams must be 0 or between 2 and 8");
+        }
+        this.dimension = dimension;
+        this.wordNgrams = wordNgrams;
+        this.charNgrams = charNgrams;
+        this.idf = idf;
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(dimension, wordNgrams));
+    }
+
+    /**
+     * Learns per-bucket inverse document frequencies, {@code ln((1 + n) / (1 + df)) + 1}, from
+     * {@code corpus}, counting on {@code pool}.
+     */
+    public static HashingTextEmbedder fit(List<? extends CharSequence> corpus, int dimension, int wordNgrams,
+                                          int charNgrams, ForkJoinPool pool) {
+        HashingTextEmbedder counter = new HashingTextEmbedder(dimension, wordNgrams, charNgrams);
+        int[] documentFrequency = pool.invoke(new DocumentFrequencyTask(counter, corpus, 0, corpus.size()));
+        float[] idf = new float[dimension];
+        for (int bucket = 0; bucket < dimension; bucket++) {
+            idf[bucket] = (float) (Math.log((1.0 + corpus.size()) / (1.0 + documentFrequency[bucket])) + 1);
+        }
+        return new HashingTextEmbedder(dimension, wordNgrams, charNgrams, idf);
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public void embed(CharSequence text, float[] destination) {
+        if (destination.length != dimension) {
+            throw new IllegalArgumentException("Expected a destination of dimension " + dimension);
+        }
+        Scratch s = scratch.get();
+        hashFeatures(text, s);
+        Arrays.fill(destination, 0f);
+        for (int i = 0; i < s.touchedCount; i++) {
+            int bucket = s.touched[i];
+            int count = s.counts[bucket];
+            if (count != 0) {
+                destination[bucket] = Integer.signum(count) * (1 + (float) Math.log(Math.abs(count))) * idf[bucket];
+            }
+        }
+        s.reset();
+        VectorMetric.normalize(destination);
+    }
+
+    /**
+     * File layout: {@code magic, version, dimension, wordNgrams, charNgrams, float[dimension] idf}, then a
+     * CRC32C of those bytes. Written to a temporary file and renamed into place.
+     */
+    public void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dimension);
+            out.writeInt(wordNgrams);
+            out.writeInt(charNgrams);
+            for (float weight : idf) {
+                out.writeFloat(weight);
+            }
+            out.flush();
+            out.writeLong(crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @throws IOException if the file is unreadable, not an embedder file, fails its checksum or holds
+     *                     n-gram settings outside the supported ranges
+     */
+    public static HashingTextEmbedder read(Path path) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path)), new CRC32C());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(path + " is not a hashing-embedder file");
+            }
+            int dimension = in.readInt();
+            int wordNgrams = in.readInt();
+            int charNgrams = in.readInt();
+            if (dimension <= 0 || dimension > 1 << 20) {
+                throw new IOException(path + " has an invalid dimension " + dimension);
+            }
+            float[] idf = new float[dimension];
+            for (int i = 0; i < dimension; i++) {
+                idf[i] = in.readFloat();
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException(path + " failed checksum verification");
+            }
+            try {
+                return new HashingTextEmbedder(dimension, wordNgrams, charNgrams, idf);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(path + " has invalid settings: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Counts the signed features of {@code text} into the scratch buckets. */
+    private void hashFeatures(CharSequence text, Scratch s) {
+        s.history = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            int wordLength = 0;
+            while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                if (wordLength == s.chars.length) {
+                    s.chars = Arrays.copyOf(s.chars, wordLength * 2);
+                }
+                s.chars[wordLength++] = Character.toLowerCase(text.charAt(i++));
+            }
+            if (wordLength == 0) {
+                break;
+            }
+            int word = hash(s.chars, 0, wordLength);
+            s.add(word);
+            int ngram = word;
+            for (int n = 0; n < s.history; n++) {
+                ngram = mix(s.previous[n] * 0x01000193 ^ ngram);
+                s.add(ngram);
+            }
+            if (wordNgrams > 1) {
+                System.arraycopy(s.previous, 0, s.previous, 1, wordNgrams - 2);
+                s.previous[0] = word;
+                s.history = Math.min(s.history + 1, wordNgrams - 1);
+            }
+            if (charNgrams > 0) {
+                hashCharNgrams(s, wordLength);
+            }
+        }
+    }
+
+    // Words are framed as "<word>" so prefixes and suffixes hash differently from the same letters inside a word
+    private void hashCharNgrams(Scratch s, int wordLength) {
+        int framed = wordLength + 2;
+        for (int start = 0; start + charNgrams <= framed; start++) {
+            int h = 0x811c9dc5 ^ CHAR_SALT;
+            for (int j = start; j < start + charNgrams; j++) {
+                char c = j == 0 ? '<' : j == framed - 1 ? '>' : s.chars[j - 1];
+                h = (h ^ c) * 0x01000193;
+            }
+            s.add(mix(h));
+        }
+    }
+
+    /** FNV-1a, finished with a murmur3 mix so the low bits used for the sign are well distributed. */
+    private static int hash(char[] chars, int offset, int length) {
+        int h = 0x811c9dc5;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ chars[i]) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static float[] uniform(int dimension) {
+        float[] idf = new float[Math.max(dimension, 0)];
+        Arrays.fill(idf, 1f);
+        return idf;
+    }
+
+    /** Per-thread buffers; {@link #reset()} restores the all-zero counts in time proportional to the features. */
+    private static final class Scratch {
+        final int[] counts;
+        final int[] touched;
+        final boolean[] marked;
+        final int[] previous;
+        char[] chars = new char[64];
+        int touchedCount;
+        int history;
+
+        Scratch(int dimension, int wordNgrams) {
+            this.counts = new int[dimension];
+            this.touched = new int[dimension];
+            this.marked = new boolean[dimension];
+            this.previous = new int[Math.max(1, wordNgrams - 1)];
+        }
+
+        void add(int feature) {
+            int bucket = (feature >>> 1) % counts.length;
+            counts[bucket] += (feature & 1) == 0 ? 1 : -1;
+            if (!marked[bucket]) {
+                marked[bucket] = true;
+                touched[touchedCount++] = bucket;
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                counts[touched[i]] = 0;
+                marked[touched[i]] = false;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /** Number of documents with a non-zero count in each bucket, summed across forked halves. */
+    private static final class DocumentFrequencyTask extends RecursiveTask<int[]> {
+        private static final int LEAF_SIZE = 256;
+
+        private final HashingTextEmbedder embedder;
+        private final List<? extends CharSequence> corpus;
+        private final int from;
+        private final int to;
+
+        DocumentFrequencyTask(HashingTextEmbedder embedder, List<? extends CharSequence> corpus, int from, int to) {
+            this.embedder = embedder;
+            this.corpus = corpus;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                int[] frequency = new int[embedder.dimension];
+                Scratch s = embedder.scratch.get();
+                for (int i = from; i < to; i++) {
+                    embedder.hashFeatures(corpus.get(i), s);
+                    for (int t = 0; t < s.touchedCount; t++) {
+                        if (s.counts[s.touched[t]] != 0) {
+                            frequency[s.touched[t]]++;
+                        }
+                    }
+                    s.reset();
+                }
+                return frequency;
+            }
+            int mid = (from + to) >>> 1;
+            DocumentFrequencyTask right = new DocumentFrequencyTask(embedder, corpus, mid, to);
+            right.fork();
+            int[] frequency = new DocumentFrequencyTask(embedder, corpus, from, mid).compute();
+            int[] other = right.join();
+            for (int bucket = 0; bucket < frequency.length; bucket++) {
+                frequency[bucket] += other[bucket];
+            }
+            return frequency;
+        }
+    }
+}
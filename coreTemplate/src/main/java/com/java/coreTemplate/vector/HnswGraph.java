@@ -0,0 +1,26 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * Read view of a hierarchical navigable small-world graph over the ordinals of a {@link VectorValues}.
+ * Level 0 holds every node; each higher level holds a sparser subset.
+ */
+public interface HnswGraph {
+
+    /** Number of nodes that may be visited; neighbor ordinals at or above this are skipped. */
+    int size();
+
+    /** Node to start every search from, or -1 if the graph is empty. */
+    int entryNode();
+
+    int maxLevel();
+
+    /** Upper bound on the neighbor count of any node at any level, for sizing scratch buffers. */
+    int maxNeighbors();
+
+    /**
+     * Copies the neighbors of {@code node} on {@code level} into {@code scratch}.
+     *
+     * @return the number of neighbors written
+     */
+    int neighbors(int node, int level, int[] scratch);
+}
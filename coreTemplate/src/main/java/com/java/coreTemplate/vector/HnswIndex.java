@@ -0,0 +1,852 @@
+package com.java.coreTemplate.vector;
+
+import com.java.coreTemplate.exception.ConflictException;
+import com.java.coreTemplate.exception.InvalidVectorException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Approximate nearest-neighbor index for one vector store, keyed by caller-supplied {@code long} ids.
+ *
+ * <p>New vectors go into an in-memory HNSW graph (the memtable) and, when the index has a directory, a
+ * write-ahead log. Once the memtable reaches the flush threshold it is written out as an immutable,
+ * memory-mapped segment. A background task merges small segments into larger ones and verifies segment
+ * checksums. Reopening an index maps its segments without reading them, so startup cost does not grow
+ * with the number of vectors.
+ *
+ * <p>With {@link QuantizationSettings quantization}, each segment also gets compact on-heap codes, built in
+ * the background. Searches then walk the graph on code scores and re-rank the best candidates against the
+ * full vectors, so resident memory is the codes plus the pages those few candidates touch.
+ *
+ * <p>Vectors may carry {@link VectorAttributes}, which each segment indexes as Roaring bitmaps. A
+ * {@link VectorFilter} is evaluated against those bitmaps before the graph is searched; filters that leave
+ * few candidates are answered by scoring the matches directly instead.
+ *
+ * <p>Deletes and updates are incremental: a deleted vector is marked in its segment's {@link Tombstones} and
+ * skipped by searches from then on, and an update deletes the old vector and adds the new one to the
+ * memtable. Once enough of a segment is deleted, the background task rewrites it without the deleted
+ * vectors, and searches keep using the old segment until the new one is swapped in. An in-memory index has
+ * no segments, so once enough of its memtable is deleted the writer rebuilds the memtable from the live
+ * vectors instead.
+ *
+ * <p>Writes are serialized; searches take no lock and see a consistent set of segments.
+ */
+@Slf4j
+public class HnswIndex implements Closeable {
+    static final String MANIFEST = "segments";
+    static final String WAL = "wal.log";
+    private static final String MANIFEST_HEADER = "hnsw-index 1";
+
+    private final Path directory;
+    private final int dimension;
+    private final VectorMetric metric;
+    private final HnswParameters parameters;
+    private final IndexSettings settings;
+    private final QuantizationSettings quantization;
+    private final Executor maintenance;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean mergeScheduled = new AtomicBoolean();
+    private final WriteAheadLog wal;
+    private long nextGeneration;
+    // Deletes logged since the last flush; counted towards the flush threshold so the log stays bounded
+    private int loggedDeletes;
+
+    private volatile State state;
+
+    private HnswIndex(Path directory, WriteAheadLog wal, int dimension, VectorMetric metric,
+                      HnswParameters parameters, IndexSettings settings, QuantizationSettings quantization,
+                      Executor maintenance, List<MappedSegment> segments, long nextGeneration) {
+        if (dimension <= 0) {
+            throw new InvalidVectorException("Vector dimension must be positive");
+        }
+        this.directory = directory;
+        this.wal = wal;
+        this.dimension = dimension;
+        this.metric = metric;
+        this.parameters = parameters;
+        this.settings = settings;
+        this.quantization = quantization;
+        this.maintenance = maintenance;
+        this.nextGeneration = nextGeneration;
+        this.state = new State(List.copyOf(segments), newMemTable());
+    }
+
+    /**
+     * An index that lives only in memory and is never flushed or quantized.
+     */
+    public HnswIndex(int dimension, VectorMetric metric, HnswParameters parameters) {
+        this(dimension, metric, parameters, IndexSettings.DEFAULT_COMPACTION_RATIO);
+    }
+
+    /**
+     * An in-memory index whose memtable is rebuilt without its deleted vectors once {@code compactionRatio}
+     * of it is deleted.
+     */
+    public HnswIndex(int dimension, VectorMetric metric, HnswParameters parameters, double compactionRatio) {
+        this(null, null, dimension, metric, parameters, IndexSettings.inMemory(compactionRatio),
+                QuantizationSettings.NONE, Runnable::run, List.of(), 1);
+    }
+
+    /**
+     * Creates an empty persistent index in {@code directory}, which must not already hold one.
+     */
+    public static HnswIndex create(Path directory, int dimension, VectorMetric metric, HnswParameters parameters,
+                                   IndexSettings settings, QuantizationSettings quantization,
+                                   Executor maintenance) throws IOException {
+        Files.createDirectories(directory);
+        if (Files.exists(directory.resolve(MANIFEST))) {
+            throw new IllegalStateException("An index already exists in " + directory);
+        }
+        HnswIndex index = new HnswIndex(directory, new WriteAheadLog(directory.resolve(WAL), dimension), dimension,
+                metric, parameters, settings, quantization, maintenance, List.of(), 1);
+        index.writeManifest(List.of());
+        return index;
+    }
+
+    /**
+     * Opens the index in {@code directory}: maps the segments listed in its manifest with their tombstones,
+     * deletes files the manifest does not reference (left behind by an interrupted flush or merge), replays
+     * the write-ahead log and schedules background checksum verification, quantization and compaction. Quantized codes persisted by an
+     * earlier run are reused when they match {@code quantization}, and rebuilt otherwise.
+     */
+    public static HnswIndex open(Path directory, HnswParameters parameters, IndexSettings settings,
+                                 QuantizationSettings quantization, Executor maintenance) throws IOException {
+        List<String> manifest = Files.readAllLines(directory.resolve(MANIFEST), StandardCharsets.UTF_8);
+        String[] header = manifest.isEmpty() ? new String[0] : manifest.get(0).split(" ");
+        if (header.length != 5 || !manifest.get(0).startsWith(MANIFEST_HEADER)) {
+            throw new IOException("Unrecognized index manifest in " + directory);
+        }
+        int dimension = Integer.parseInt(header[2]);
+        VectorMetric metric = VectorMetric.valueOf(header[3]);
+        long nextGeneration = Long.parseLong(header[4]);
+
+        List<MappedSegment> segments = new ArrayList<>();
+        List<String> live = manifest.subList(1, manifest.size());
+        for (String name : live) {
+            MappedSegment segment = MappedSegment.open(directory.resolve(name));
+            if (segment.dimension() != dimension || segment.metric() != metric) {
+                throw new IOException("Segment " + name + " does not match the index dimension or metric");
+            }
+            segments.add(segment);
+        }
+        String codes = SegmentFormat.EXTENSION + QuantizedVectors.EXTENSION;
+        String tombstones = SegmentFormat.EXTENSION + Tombstones.EXTENSION;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*{" + SegmentFormat.EXTENSION + ","
+                + SegmentFormat.EXTENSION + ".tmp," + codes + "," + codes + ".tmp," + tombstones + "," + tombstones + ".tmp}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean referenced;
+                if (name.endsWith(codes)) {
+                    referenced = quantization.type() != Quantization.NONE
+                            && live.contains(name.substring(0, name.length() - QuantizedVectors.EXTENSION.length()));
+                } else if (name.endsWith(tombstones)) {
+                    referenced = live.contains(name.substring(0, name.length() - Tombstones.EXTENSION.length()));
+                } else {
+                    referenced = live.contains(name);
+                }
+                if (!referenced) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        HnswIndex index = new HnswIndex(directory, new WriteAheadLog(directory.resolve(WAL), dimension), dimension,
+                metric, parameters, settings, quantization, maintenance, segments, nextGeneration);
+        MemTable memTable = index.state.memTable();
+        int replayed = index.wal.replay(new WriteAheadLog.Replay() {
+            @Override
+            public void add(long id, float[] vector, VectorAttributes attributes) {
+                // A crash between committing a flush and truncating the log leaves records already in a segment
+                if (!memTable.contains(id) && !index.containsInSegments(id)) {
+                    memTable.add(id, vector, attributes);
+                }
+            }
+
+            @Override
+            public void delete(long id) {
+                // Applying a delete again is harmless: the records after it re-add whatever should be live
+                index.deleteLocked(id);
+            }
+        });
+        if (replayed > 0) {
+            log.info("Replayed {} vectors from the write-ahead log of {}", replayed, directory);
+        }
+        maintenance.execute(index::verifySegments);
+        segments.forEach(index::scheduleQuantization);
+        // Also compacts segments whose tombstones passed the ratio before the last shutdown
+        index.scheduleMergeIfNeeded();
+        return index;
+    }
+
+    /**
+     * Adds a vector without attributes under the given id.
+     *
+     * @see #add(long, float[], VectorAttributes)
+     */
+    public void add(long id, float[] vector) {
+        add(id, vector, VectorAttributes.EMPTY);
+    }
+
+    /**
+     * Adds a vector under the given id.
+     *
+     * @param attributes metadata that search filters match against; null for none
+     * @throws InvalidVectorException if the vector has the wrong dimension or non-finite components
+     * @throws ConflictException      if the id is already indexed
+     */
+    public void add(long id, float[] vector, VectorAttributes attributes) {
+        write(id, vector, attributes, false);
+    }
+
+    /**
+     * Adds a vector under the given id, replacing the one already indexed under it, if any. The old vector
+     * is deleted and the new one goes into the memtable, so the replacement is visible to the next search.
+     *
+     * @param attributes metadata that search filters match against; null for none
+     * @return true if a vector was replaced
+     * @throws InvalidVectorException if the vector has the wrong dimension or non-finite components
+     */
+    public boolean upsert(long id, float[] vector, VectorAttributes attributes) {
+        return write(id, vector, attributes, true);
+    }
+
+    /**
+     * Deletes the vector with the given id. Searches skip it from now on; the space it takes is reclaimed
+     * when its segment is compacted.
+     *
+     * @return false if no vector is indexed under the id
+     */
+    public boolean delete(long id) {
+        writeLock.lock();
+        try {
+            if (!state.memTable().contains(id) && !containsInSegments(id)) {
+                return false;
+            }
+            if (wal != null) {
+                wal.appendDelete(id);
+            }
+            deleteLocked(id);
+            loggedDeletes++;
+            flushIfNeeded();
+            scheduleMergeIfNeeded();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete vector " + id, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean write(long id, float[] vector, VectorAttributes attributes, boolean replace) {
+        float[] prepared = prepare(vector);
+        VectorAttributes attrs = attributes == null ? VectorAttributes.EMPTY : attributes;
+        writeLock.lock();
+        try {
+            State current = state;
+            boolean exists = current.memTable().contains(id) || containsInSegments(id);
+            if (exists && !replace) {
+                throw new ConflictException("Vector " + id + " is already indexed");
+            }
+            if (exists) {
+                if (wal != null) {
+                    wal.appendDelete(id);
+                }
+                deleteLocked(id);
+                loggedDeletes++;
+            }
+            if (wal != null) {
+                wal.append(id, prepared, attrs);
+            }
+            current.memTable().add(id, prepared, attrs);
+            flushIfNeeded();
+            if (exists) {
+                scheduleMergeIfNeeded();
+            }
+            return exists;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write vector " + id, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Tombstones the live vector under {@code id}, wherever it is. Called with the write lock held, or
+     * before the index is published.
+     */
+    private boolean deleteLocked(long id) {
+        State current = state;
+        if (current.memTable().delete(id)) {
+            return true;
+        }
+        for (MappedSegment segment : current.segments()) {
+            int ord = segment.ordOf(id);
+            if (ord >= 0) {
+                return segment.deletes().delete(ord);
+            }
+        }
+        return false;
+    }
+
+    private void flushIfNeeded() throws IOException {
+        if (directory == null) {
+            compactMemTableIfNeeded();
+        } else if (state.memTable().size() + loggedDeletes >= settings.flushThreshold()) {
+            flushLocked();
+        }
+    }
+
+    /**
+     * Replaces the memtable of an in-memory index with one holding only its live vectors once the deleted
+     * fraction reaches the compaction ratio. The rebuild runs on the writer under the write lock; its cost
+     * is spread over the deletes that triggered it. Searches keep the old memtable until the swap.
+     */
+    private void compactMemTableIfNeeded() {
+        State current = state;
+        MemTable memTable = current.memTable();
+        int deleted = memTable.deletes.count();
+        if (deleted == 0 || deleted < settings.compactionRatio() * memTable.size()) {
+            return;
+        }
+        MemTable rebuilt = newMemTable();
+        float[] vector = new float[dimension];
+        for (int ord = 0, size = memTable.size(); ord < size; ord++) {
+            if (!memTable.deletes.isDeleted(ord)) {
+                memTable.vectors.copyVector(ord, vector);
+                rebuilt.add(memTable.id(ord), vector, memTable.attributes(ord));
+            }
+        }
+        state = new State(current.segments(), rebuilt);
+        loggedDeletes = 0;
+        log.debug("Compacted in-memory index: dropped {} deleted vectors, {} remain", deleted, rebuilt.size());
+    }
+
+    /**
+     * Returns up to {@code k} nearest vectors, best first, across every segment and the memtable.
+     *
+     * @param efSearch beam width; larger is slower with better recall. Values below {@code k} are raised to {@code k};
+     *                 null uses the index default
+     */
+    public List<Hit> search(float[] query, int k, Integer efSearch) {
+        return search(query, k, efSearch, null);
+    }
+
+    /**
+     * Returns up to {@code k} nearest vectors matching {@code filter}, best first.
+     *
+     * @param filter null to match every vector
+     * @see #search(float[], int, Integer)
+     */
+    public List<Hit> search(float[] query, int k, Integer efSearch, VectorFilter filter) {
+        float[] prepared = prepare(query);
+        int ef = efSearch == null ? parameters.efSearch() : efSearch;
+        State current = state;
+        List<Hit> hits = new ArrayList<>();
+        for (MappedSegment segment : current.segments()) {
+            QuantizedVectors quantized = segment.quantized();
+            RoaringBitmap allowed = filter == null ? null : filter.evaluate(segment.attributes(), segment.size());
+            search(segment, segment.scorer(prepared), quantized == null ? null : quantized.scorer(prepared), allowed,
+                    segment.deletes(), segment::id, k, ef, hits);
+        }
+        MemTable memTable = current.memTable();
+        RoaringBitmap allowed = null;
+        if (filter != null) {
+            // The memtable is small and changing, so it is filtered by testing each vector's attributes
+            allowed = new RoaringBitmap();
+            for (int ord = 0, size = memTable.size(); ord < size; ord++) {
+                if (!memTable.deletes.isDeleted(ord) && filter.test(memTable.attributes(ord))) {
+                    allowed.add(ord);
+                }
+            }
+        }
+        search(memTable.graph, memTable.vectors.scorer(prepared), null, allowed, memTable.deletes, memTable::id, k, ef,
+                hits);
+        if (current.segments().isEmpty()) {
+            return hits;
+        }
+        hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+    }
+
+    /**
+     * Writes the memtable out as a segment, if it holds anything, and saves new tombstones of existing
+     * segments. No-op for in-memory indexes.
+     */
+    public void flush() throws IOException {
+        writeLock.lock();
+        try {
+            flushLocked();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /** Number of live vectors. */
+    public int size() {
+        State current = state;
+        int size = current.memTable().size() - current.memTable().deletes.count();
+        for (MappedSegment segment : current.segments()) {
+            size += segment.liveCount();
+        }
+        return size;
+    }
+
+    public int segmentCount() {
+        return state.segments().size();
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public VectorMetric metric() {
+        return metric;
+    }
+
+    /** Heap used by the memtable and quantized codes; segment data is off-heap in the page cache. */
+    public long ramBytesUsed() {
+        State current = state;
+        long bytes = current.memTable().ramBytesUsed();
+        for (MappedSegment segment : current.segments()) {
+            QuantizedVectors quantized = segment.quantized();
+            bytes += quantized == null ? 0 : quantized.ramBytesUsed();
+        }
+        return bytes;
+    }
+
+    public QuantizationSettings quantization() {
+        return quantization;
+    }
+
+    /**
+     * Flushes the memtable so a clean shutdown needs no log replay on the next start.
+     */
+    @Override
+    public void close() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            flushLocked();
+            wal.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void flushLocked() throws IOException {
+        State current = state;
+        if (directory == null) {
+            return;
+        }
+        // Tombstones of listed segments are durable once written, before the log that also holds them is reset
+        boolean tombstonesWritten = false;
+        for (MappedSegment segment : current.segments()) {
+            if (segment.deletes().isDirty()) {
+                segment.deletes().write(segment.tombstonesPath(), segment.size());
+                tombstonesWritten = true;
+            }
+        }
+        MemTable memTable = current.memTable();
+        if (memTable.size() == memTable.deletes.count()) {
+            // Nothing live to write out
+            if (memTable.size() > 0 || tombstonesWritten) {
+                state = new State(current.segments(), newMemTable());
+                wal.reset();
+            }
+            loggedDeletes = 0;
+            return;
+        }
+        Path target = directory.resolve(segmentName(nextGeneration++));
+        memTable.writeTo(target);
+        MappedSegment flushed = MappedSegment.open(target);
+        List<MappedSegment> segments = new ArrayList<>(current.segments());
+        segments.add(flushed);
+        writeManifest(segments);
+        state = new State(List.copyOf(segments), newMemTable());
+        wal.reset();
+        loggedDeletes = 0;
+        scheduleQuantization(flushed);
+        scheduleMergeIfNeeded();
+    }
+
+    /**
+     * Starts the background rewrite task if there are too many segments or one has passed the compaction
+     * ratio, unless it is already running.
+     */
+    private void scheduleMergeIfNeeded() {
+        if (directory != null && nextRewrite(state.segments()) != null && mergeScheduled.compareAndSet(false, true)) {
+            maintenance.execute(() -> {
+                try {
+                    rewriteSegments();
+                } catch (IOException | RuntimeException e) {
+                    log.error("Merging segments of {} failed", directory, e);
+                } finally {
+                    mergeScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Merges and compacts until neither is due, one {@link #rewrite} at a time.
+     */
+    void rewriteSegments() throws IOException {
+        List<MappedSegment> rewriting;
+        while ((rewriting = nextRewrite(state.segments())) != null) {
+            rewrite(rewriting);
+        }
+    }
+
+    /**
+     * @return the smallest segments when there are too many, else the segment with the largest fraction
+     * of deleted vectors if it has passed the compaction ratio, else null
+     */
+    private List<MappedSegment> nextRewrite(List<MappedSegment> segments) {
+        if (segments.size() > settings.maxSegments()) {
+            List<MappedSegment> candidates = new ArrayList<>(segments);
+            candidates.sort(Comparator.comparingInt(MappedSegment::liveCount));
+            return List.copyOf(candidates.subList(0, Math.min(settings.mergeFactor(), candidates.size())));
+        }
+        MappedSegment worst = null;
+        double worstRatio = 0;
+        for (MappedSegment segment : segments) {
+            double ratio = (double) segment.deletes().count() / segment.size();
+            if (ratio >= settings.compactionRatio() && ratio > worstRatio) {
+                worst = segment;
+                worstRatio = ratio;
+            }
+        }
+        return worst == null ? null : List.of(worst);
+    }
+
+    /**
+     * Rebuilds the live vectors of {@code rewriting} into one segment, merging several or compacting one.
+     * The new graph is built without holding the write lock; only the swap of the segment list takes it, so
+     * writes and searches continue throughout. Deletes that arrive meanwhile are carried over at the swap.
+     */
+    void rewrite(List<MappedSegment> rewriting) throws IOException {
+        long start = System.nanoTime();
+        MemTable rebuilt = newMemTable();
+        float[] vector = new float[dimension];
+        // Ordinal of each copied vector in the rebuilt segment, -1 for vectors already deleted
+        int[][] rebuiltOrds = new int[rewriting.size()][];
+        int dropped = 0;
+        for (int i = 0; i < rewriting.size(); i++) {
+            MappedSegment segment = rewriting.get(i);
+            VectorAttributes[] attributes = segment.attributes().invert(segment.size());
+            rebuiltOrds[i] = new int[segment.size()];
+            for (int ord = 0; ord < segment.size(); ord++) {
+                if (segment.deletes().isDeleted(ord)) {
+                    rebuiltOrds[i][ord] = -1;
+                    dropped++;
+                    continue;
+                }
+                segment.copyVector(ord, vector);
+                rebuiltOrds[i][ord] = rebuilt.size();
+                rebuilt.add(segment.id(ord), vector, attributes[ord]);
+            }
+        }
+
+        MappedSegment rewritten = null;
+        if (rebuilt.size() > 0) {
+            Path target;
+            writeLock.lock();
+            try {
+                target = directory.resolve(segmentName(nextGeneration++));
+            } finally {
+                writeLock.unlock();
+            }
+            rebuilt.writeTo(target);
+            rewritten = MappedSegment.open(target);
+        }
+
+        writeLock.lock();
+        try {
+            if (rewritten != null) {
+                carryOverDeletes(rewriting, rebuiltOrds, rewritten);
+            }
+            List<MappedSegment> segments = new ArrayList<>(state.segments());
+            // Only this single maintenance thread removes segments, so every rewritten segment is still present
+            segments.removeAll(rewriting);
+            if (rewritten != null) {
+                segments.add(rewritten);
+            }
+            writeManifest(segments);
+            state = new State(List.copyOf(segments), state.memTable());
+        } finally {
+            writeLock.unlock();
+        }
+        // Searches still holding the old segments keep their mappings; unlinking does not invalidate them
+        for (MappedSegment segment : rewriting) {
+            Files.deleteIfExists(segment.path());
+            Files.deleteIfExists(segment.codesPath());
+            Files.deleteIfExists(segment.tombstonesPath());
+        }
+        log.info("{} {} segments of {} into {} vectors, dropping {} deleted, in {} ms",
+                rewriting.size() > 1 ? "Merged" : "Compacted", rewriting.size(), directory, rebuilt.size(), dropped,
+                (System.nanoTime() - start) / 1_000_000);
+        if (rewritten != null) {
+            scheduleQuantization(rewritten);
+        }
+    }
+
+    /**
+     * Applies to {@code rewritten} the deletes made to {@code rewriting} while it was being built, and saves
+     * them before the manifest lists it. Called with the write lock held, so no delete can slip in between.
+     */
+    private static void carryOverDeletes(List<MappedSegment> rewriting, int[][] rebuiltOrds,
+                                         MappedSegment rewritten) throws IOException {
+        for (int i = 0; i < rewriting.size(); i++) {
+            MappedSegment segment = rewriting.get(i);
+            Tombstones deletes = segment.deletes();
+            for (int ord = deletes.nextDeleted(0, segment.size()); ord >= 0; ord = deletes.nextDeleted(ord + 1, segment.size())) {
+                if (rebuiltOrds[i][ord] >= 0) {
+                    rewritten.deletes().delete(rebuiltOrds[i][ord]);
+                }
+            }
+        }
+        if (rewritten.deletes().isDirty()) {
+            rewritten.deletes().write(rewritten.tombstonesPath(), rewritten.size());
+        }
+    }
+
+    private void scheduleQuantization(MappedSegment segment) {
+        if (quantization.type() != Quantization.NONE) {
+            maintenance.execute(() -> quantize(segment));
+        }
+    }
+
+    /**
+     * Loads the segment's persisted codes, or trains and encodes new ones when there are none or they were
+     * built with different settings, then attaches them so searches switch over.
+     */
+    void quantize(MappedSegment segment) {
+        if (!state.segments().contains(segment)) {
+            // Merged away or quarantined before its turn came
+            return;
+        }
+        Path path = segment.codesPath();
+        try {
+            QuantizedVectors quantized = null;
+            if (Files.exists(path)) {
+                try {
+                    quantized = QuantizedVectors.read(path, segment);
+                } catch (IOException e) {
+                    log.warn("Rebuilding quantized codes of {} in {}: {}", segment.name(), directory, e.getMessage());
+                }
+            }
+            if (quantized == null || !quantized.matches(quantization, dimension)) {
+                long start = System.nanoTime();
+                quantized = QuantizedVectors.build(segment, quantization, parameters.seed());
+                quantized.write(path);
+                log.info("Quantized {} of {} ({} vectors, {}) in {} ms", segment.name(), directory, segment.size(),
+                        quantization.type(), (System.nanoTime() - start) / 1_000_000);
+            }
+            segment.attach(quantized);
+        } catch (IOException | RuntimeException e) {
+            log.error("Quantizing {} of {} failed; it stays at full precision", segment.name(), directory, e);
+        }
+    }
+
+    /**
+     * Searches one segment or the memtable, adding its best {@code k} to {@code hits}.
+     *
+     * <p>With {@code approximate} codes, the graph walk scores codes and the best {@code k * rerankFactor}
+     * candidates are re-scored against their full vectors, so only those candidates' vectors are read.
+     *
+     * <p>With a filter, rejected nodes are still traversed but never returned. When the matches number no
+     * more than the beam width, or the walk visits as many nodes as there are matches without filling the
+     * beam, scoring the matches directly is cheaper and exact. Deleted nodes are treated like rejected ones.
+     *
+     * @param allowed ordinals passing the filter, or null without one
+     */
+    private void search(HnswGraph graph, VectorScorer exact, VectorScorer approximate, RoaringBitmap allowed,
+                        Tombstones deletes, IntToLongFunction ids, int k, int ef, List<Hit> hits) {
+        IntPredicate accept = null;
+        int visitLimit = Integer.MAX_VALUE;
+        boolean hasDeletes = deletes.count() > 0;
+        if (allowed != null) {
+            int matches = allowed.cardinality();
+            if (matches == 0) {
+                return;
+            }
+            if (matches <= Math.max(ef, k)) {
+                collect(HnswSearcher.exhaustive(exact, k, live(allowed.iterator(), deletes)), ids, hits);
+                return;
+            }
+            accept = hasDeletes ? ord -> allowed.contains(ord) && !deletes.isDeleted(ord) : allowed::contains;
+            visitLimit = matches;
+        } else if (hasDeletes) {
+            accept = ord -> !deletes.isDeleted(ord);
+        }
+        if (approximate == null) {
+            HnswSearcher.TopHits top = HnswSearcher.search(graph, exact, k, ef, accept, visitLimit);
+            collect(top != null ? top : HnswSearcher.exhaustive(exact, k, live(allowed.iterator(), deletes)), ids, hits);
+            return;
+        }
+        int candidates = k * quantization.rerankFactor();
+        HnswSearcher.TopHits top = HnswSearcher.search(graph, approximate, candidates, Math.max(ef, candidates),
+                accept, visitLimit);
+        if (top == null) {
+            collect(HnswSearcher.exhaustive(exact, k, live(allowed.iterator(), deletes)), ids, hits);
+            return;
+        }
+        for (int i = 0; i < top.size(); i++) {
+            int ord = top.ords()[i];
+            hits.add(new Hit(ids.applyAsLong(ord), exact.score(ord)));
+        }
+    }
+
+    /**
+     * Reads every segment end to end and checks its CRC. A corrupt segment is taken out of service and
+     * renamed with a {@code .corrupt} suffix for inspection; its vectors must be re-added.
+     */
+    void verifySegments() {
+        for (MappedSegment segment : state.segments()) {
+            try {
+                segment.verifyChecksum();
+            } catch (MappedSegment.CorruptSegmentException e) {
+                log.error("Removing corrupt segment {} from {}: {}", segment.name(), directory, e.getMessage());
+                writeLock.lock();
+                try {
+                    List<MappedSegment> segments = new ArrayList<>(state.segments());
+                    segments.remove(segment);
+                    writeManifest(segments);
+                    state = new State(List.copyOf(segments), state.memTable());
+                    Files.move(segment.path(), segment.path().resolveSibling(segment.name() + ".corrupt"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                    Files.deleteIfExists(segment.codesPath());
+                    Files.deleteIfExists(segment.tombstonesPath());
+                } catch (IOException io) {
+                    log.error("Could not quarantine segment {}", segment.path(), io);
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        }
+    }
+
+    private boolean containsInSegments(long id) {
+        for (MappedSegment segment : state.segments()) {
+            if (segment.ordOf(id) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Atomically replaces the manifest, which is the commit point for flushes and merges: segment files
+     * it does not list are ignored and deleted on the next open.
+     */
+    private void writeManifest(List<MappedSegment> segments) throws IOException {
+        List<String> lines = new ArrayList<>(segments.size() + 1);
+        lines.add(MANIFEST_HEADER + " " + dimension + " " + metric.name() + " " + nextGeneration);
+        segments.forEach(segment -> lines.add(segment.name()));
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE);
+        SegmentWriter.syncDirectory(directory);
+    }
+
+    private MemTable newMemTable() {
+        return new MemTable(dimension, metric, parameters);
+    }
+
+    private static String segmentName(long generation) {
+        return String.format(Locale.ROOT, "seg-%08d%s", generation, SegmentFormat.EXTENSION);
+    }
+
+    /** {@code ords} without the deleted ones. */
+    private static PrimitiveIterator.OfInt live(PrimitiveIterator.OfInt ords, Tombstones deletes) {
+        if (deletes.count() == 0) {
+            return ords;
+        }
+        return new PrimitiveIterator.OfInt() {
+            private int next = advance();
+
+            private int advance() {
+                while (ords.hasNext()) {
+                    int ord = ords.nextInt();
+                    if (!deletes.isDeleted(ord)) {
+                        return ord;
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int ord = next;
+                next = advance();
+                return ord;
+            }
+        };
+    }
+
+    private static void collect(HnswSearcher.TopHits top, IntToLongFunction ids, List<Hit> hits) {
+        for (int i = 0; i < top.size(); i++) {
+            hits.add(new Hit(ids.applyAsLong(top.ords()[i]), top.scores()[i]));
+        }
+    }
+
+    private float[] prepare(float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new InvalidVectorException("Expected a vector of dimension " + dimension + ", got "
+                    + (vector == null ? "none" : vector.length));
+        }
+        for (float component : vector) {
+            if (!Float.isFinite(component)) {
+                throw new InvalidVectorException("Vector components must be finite");
+            }
+        }
+        float[] copy = vector.clone();
+        if (metric.normalizesVectors()) {
+            VectorMetric.normalize(copy);
+        }
+        return copy;
+    }
+
+    /**
+     * Segments visible to searches plus the memtable receiving new vectors; replaced as a unit.
+     */
+    private record State(List<MappedSegment> segments, MemTable memTable) {
+    }
+
+    public record Hit(long id, float score) {
+    }
+}
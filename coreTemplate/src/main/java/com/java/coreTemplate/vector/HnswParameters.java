@@ -0,0 +1,12 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * HNSW tuning knobs.
+ *
+ * @param m              links per node per level (2m on level 0); more links raise recall and memory
+ * @param efConstruction beam width while inserting; higher builds a better graph, more slowly
+ * @param efSearch       default beam width for queries; the recall/latency dial
+ * @param seed           seed for level assignment, so a rebuild from the same input is reproducible
+ */
+public record HnswParameters(int m, int efConstruction, int efSearch, long seed) {
+}
@@ -0,0 +1,215 @@
+package com.java.coreTemplate.vector;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
+
+/**
+ * Best-first search over an {@link HnswGraph}: greedy descent through the upper levels, then a beam of
+ * width {@code ef} on level 0. Per-search state lives in a reusable per-thread scratch, so a query
+ * allocates only its result.
+ */
+public final class HnswSearcher {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private HnswSearcher() {
+    }
+
+    /**
+     * @param accept ordinals allowed in the result, or null for all; rejected nodes are still traversed
+     * @return up to {@code k} hits, best first
+     */
+    public static TopHits search(HnswGraph graph, VectorScorer scorer, int k, int ef, IntPredicate accept) {
+        return search(graph, scorer, k, ef, accept, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #search(HnswGraph, VectorScorer, int, int, IntPredicate)}, but gives up after scoring
+     * {@code visitLimit} nodes on level 0. A restrictive filter makes the beam wander through rejected nodes;
+     * past the number of accepted nodes, scoring those directly with {@link #exhaustive} is cheaper.
+     *
+     * @return up to {@code k} hits, best first, or null if the visit limit was reached
+     */
+    public static TopHits search(HnswGraph graph, VectorScorer scorer, int k, int ef, IntPredicate accept,
+                                 int visitLimit) {
+        int entry = graph.entryNode();
+        int size = graph.size();
+        if (entry < 0 || size == 0 || k <= 0) {
+            return TopHits.EMPTY;
+        }
+        Scratch scratch = SCRATCH.get();
+        scratch.prepare(size, graph.maxNeighbors());
+
+        float entryScore = scorer.score(entry);
+        for (int level = graph.maxLevel(); level > 0; level--) {
+            long best = greedy(graph, scorer, entry, entryScore, level, size, scratch.neighbors);
+            entry = (int) best;
+            entryScore = Float.intBitsToFloat((int) (best >>> 32));
+        }
+
+        NeighborQueue results = scratch.results;
+        if (!searchLevel(graph, scorer, entry, entryScore, Math.max(ef, k), 0, size, accept, visitLimit, scratch,
+                results)) {
+            return null;
+        }
+        return drain(results, k);
+    }
+
+    /**
+     * Scores every ordinal produced by {@code ords} and keeps the best {@code k}: exact, and cheaper than a
+     * graph walk when only a few ordinals qualify.
+     */
+    public static TopHits exhaustive(VectorScorer scorer, int k, PrimitiveIterator.OfInt ords) {
+        if (k <= 0) {
+            return TopHits.EMPTY;
+        }
+        NeighborQueue results = SCRATCH.get().results;
+        results.clear();
+        while (ords.hasNext()) {
+            int ord = ords.nextInt();
+            results.insertWithOverflow(ord, scorer.score(ord), k);
+        }
+        return drain(results, k);
+    }
+
+    private static TopHits drain(NeighborQueue results, int k) {
+        while (results.size() > k) {
+            results.pop();
+        }
+        int count = results.size();
+        int[] ords = new int[count];
+        float[] scores = new float[count];
+        for (int i = count - 1; i >= 0; i--) {
+            scores[i] = results.topScore();
+            ords[i] = results.pop();
+        }
+        return new TopHits(ords, scores);
+    }
+
+    /**
+     * Follows the best-scoring neighbor on one level until no neighbor improves.
+     *
+     * @return the best node in the low 32 bits and its score's float bits in the high 32
+     */
+    static long greedy(HnswGraph graph, VectorScorer scorer, int entry, float entryScore, int level,
+                       int size, int[] neighbors) {
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int count = graph.neighbors(entry, level, neighbors);
+            for (int i = 0; i < count; i++) {
+                int node = neighbors[i];
+                if (node >= size) {
+                    continue;
+                }
+                float score = scorer.score(node);
+                if (score > entryScore) {
+                    entry = node;
+                    entryScore = score;
+                    improved = true;
+                }
+            }
+        }
+        return ((long) Float.floatToIntBits(entryScore) << 32) | (entry & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Beam search on one level. On return {@code results} is a min-heap of the best {@code ef} accepted nodes.
+     *
+     * @return false if the search stopped early because it scored {@code visitLimit} nodes
+     */
+    static boolean searchLevel(HnswGraph graph, VectorScorer scorer, int entry, float entryScore, int ef, int level,
+                               int size, IntPredicate accept, int visitLimit, Scratch scratch, NeighborQueue results) {
+        NeighborQueue candidates = scratch.candidates;
+        candidates.clear();
+        results.clear();
+        scratch.nextVisitEpoch();
+
+        scratch.visit(entry);
+        candidates.add(entry, entryScore);
+        if (accept == null || accept.test(entry)) {
+            results.add(entry, entryScore);
+        }
+        int[] neighbors = scratch.neighbors;
+        int visited = 1;
+        while (candidates.size() > 0) {
+            float candidateScore = candidates.topScore();
+            if (results.size() >= ef && candidateScore < results.topScore()) {
+                break;
+            }
+            int candidate = candidates.pop();
+            int count = graph.neighbors(candidate, level, neighbors);
+            for (int i = 0; i < count; i++) {
+                int node = neighbors[i];
+                if (node >= size || !scratch.visit(node)) {
+                    continue;
+                }
+                if (++visited > visitLimit) {
+                    return false;
+                }
+                float score = scorer.score(node);
+                if (results.size() < ef || score > results.topScore()) {
+                    candidates.add(node, score);
+                    if (accept == null || accept.test(node)) {
+                        results.insertWithOverflow(node, score, ef);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    static Scratch scratch() {
+        return SCRATCH.get();
+    }
+
+    /**
+     * Search ordinals and scores, best first.
+     */
+    public record TopHits(int[] ords, float[] scores) {
+        static final TopHits EMPTY = new TopHits(new int[0], new float[0]);
+
+        public int size() {
+            return ords.length;
+        }
+    }
+
+    /**
+     * Per-thread search state. The visited set is an epoch-stamped int array: bumping the epoch clears it
+     * without touching memory, and it is only reallocated when the graph outgrows it.
+     */
+    static final class Scratch {
+        final NeighborQueue candidates = new NeighborQueue(64, true);
+        final NeighborQueue results = new NeighborQueue(64, false);
+        int[] neighbors = new int[0];
+        private int[] visited = new int[0];
+        private int epoch;
+
+        void prepare(int size, int maxNeighbors) {
+            if (visited.length < size) {
+                visited = new int[Math.max(size, visited.length * 2)];
+                epoch = 0;
+            }
+            if (neighbors.length < maxNeighbors) {
+                neighbors = new int[maxNeighbors];
+            }
+        }
+
+        void nextVisitEpoch() {
+            if (++epoch == 0) {
+                Arrays.fill(visited, 0);
+                epoch = 1;
+            }
+        }
+
+        /** Marks the node visited; returns false if it already was. */
+        boolean visit(int node) {
+            if (visited[node] == epoch) {
+                return false;
+            }
+            visited[node] = epoch;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * Segment lifecycle settings of a persistent index. An in-memory index uses only the compaction ratio.
+ *
+ * @param flushThreshold  memtable size, in vectors, at which it is written out as a segment; also bounds
+ *                        write-ahead log replay after a crash
+ * @param maxSegments     segment count above which a background merge starts
+ * @param mergeFactor     how many of the smallest segments one merge combines
+ * @param compactionRatio fraction of a segment's vectors (or an in-memory index's memtable) that must be
+ *                        deleted before it is rewritten without them
+ */
+public record IndexSettings(int flushThreshold, int maxSegments, int mergeFactor, double compactionRatio) {
+    static final double DEFAULT_COMPACTION_RATIO = 0.2;
+
+    public IndexSettings {
+        if (flushThreshold < 1 || maxSegments < 1 || mergeFactor < 2) {
+            throw new IllegalArgumentException("flushThreshold and maxSegments must be >= 1 and mergeFactor >= 2");
+        }
+        if (!(compactionRatio > 0 && compactionRatio <= 1)) {
+            throw new IllegalArgumentException("compactionRatio must be in (0, 1]");
+        }
+    }
+
+    public IndexSettings(int flushThreshold, int maxSegments, int mergeFactor) {
+        this(flushThreshold, maxSegments, mergeFactor, DEFAULT_COMPACTION_RATIO);
+    }
+
+    /**
+     * Settings of an index that is never flushed; only the compaction ratio applies.
+     */
+    static IndexSettings inMemory(double compactionRatio) {
+        return new IndexSettings(Integer.MAX_VALUE, Integer.MAX_VALUE, 2, compactionRatio);
+    }
+}
@@ -0,0 +1,132 @@
+package com.java.coreTemplate.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only memory mapping of a whole file, split into fixed-size chunks because a single
+ * {@link MappedByteBuffer} cannot exceed 2 GB. Mapping costs no I/O: pages are faulted in on first touch
+ * and stay in the OS page cache across process restarts.
+ *
+ * <p>All reads are absolute and therefore thread-safe. Callers keep multi-byte values aligned to their
+ * size, so a single value never straddles two chunks; bulk reads may, and are split.
+ * There is no close: Java 17 cannot unmap eagerly, and a searcher may still hold a segment that a merge
+ * replaced, so the mapping is released when the last reference is garbage collected.
+ */
+final class MappedFile {
+    static final int DEFAULT_CHUNK_SHIFT = 30;
+
+    private final Path path;
+    private final long length;
+    private final int chunkShift;
+    private final long chunkMask;
+    private final ByteBuffer[] bytes;
+    private final IntBuffer[] ints;
+    private final LongBuffer[] longs;
+    private final FloatBuffer[] floats;
+
+    MappedFile(Path path, int chunkShift) throws IOException {
+        this.path = path;
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1L << chunkShift) - 1;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            this.length = channel.size();
+            int chunks = (int) ((length + chunkMask) >>> chunkShift);
+            bytes = new ByteBuffer[chunks];
+            ints = new IntBuffer[chunks];
+            longs = new LongBuffer[chunks];
+            floats = new FloatBuffer[chunks];
+            for (int i = 0; i < chunks; i++) {
+                long start = (long) i << chunkShift;
+                ByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(1L << chunkShift, length - start))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                bytes[i] = chunk;
+                ints[i] = chunk.asIntBuffer();
+                longs[i] = chunk.asLongBuffer();
+                floats[i] = chunk.asFloatBuffer();
+            }
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long length() {
+        return length;
+    }
+
+    int getInt(long position) {
+        return ints[chunk(position)].get((int) (position & chunkMask) >>> 2);
+    }
+
+    long getLong(long position) {
+        return longs[chunk(position)].get((int) (position & chunkMask) >>> 3);
+    }
+
+    void getInts(long position, int[] destination, int count) {
+        int offset = 0;
+        while (offset < count) {
+            int chunk = chunk(position);
+            int index = (int) (position & chunkMask) >>> 2;
+            int n = Math.min(count - offset, ints[chunk].limit() - index);
+            ints[chunk].get(index, destination, offset, n);
+            offset += n;
+            position += (long) n * Integer.BYTES;
+        }
+    }
+
+    void getBytes(long position, byte[] destination, int count) {
+        int offset = 0;
+        while (offset < count) {
+            ByteBuffer chunk = bytes[chunk(position)];
+            int index = (int) (position & chunkMask);
+            int n = Math.min(count - offset, chunk.limit() - index);
+            chunk.get(index, destination, offset, n);
+            offset += n;
+            position += n;
+        }
+    }
+
+    void getFloats(long position, float[] destination, int count) {
+        int offset = 0;
+        while (offset < count) {
+            int chunk = chunk(position);
+            int index = (int) (position & chunkMask) >>> 2;
+            int n = Math.min(count - offset, floats[chunk].limit() - index);
+            floats[chunk].get(index, destination, offset, n);
+            offset += n;
+            position += (long) n * Float.BYTES;
+        }
+    }
+
+    /**
+     * CRC32C of the byte range; reads the range sequentially, so it faults in every page it covers.
+     */
+    long checksum(long from, long to) {
+        CRC32C crc = new CRC32C();
+        long position = from;
+        while (position < to) {
+            ByteBuffer chunk = bytes[chunk(position)].duplicate();
+            int start = (int) (position & chunkMask);
+            int end = (int) Math.min(chunk.limit(), start + (to - position));
+            chunk.position(start).limit(end);
+            crc.update(chunk);
+            position += end - start;
+        }
+        return crc.getValue();
+    }
+
+    private int chunk(long position) {
+        return (int) (position >>> chunkShift);
+    }
+}
@@ -0,0 +1,309 @@
+package com.java.coreTemplate.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Immutable segment read through {@link MappedFile}. Opening validates the header and footer only, so it
+ * costs a few page faults regardless of segment size; {@link #verifyChecksum()} reads the whole file and is
+ * meant to run in the background.
+ */
+final class MappedSegment implements VectorValues, HnswGraph {
+    private final MappedFile file;
+    private final String name;
+    private final int dimension;
+    private final VectorMetric metric;
+    private final int count;
+    private final int maxConn0;
+    private final int maxConn;
+    private final int entryNode;
+    private final int maxLevel;
+    private final long vectorsOffset;
+    private final long idsOffset;
+    private final long idIndexOffset;
+    private final long level0Offset;
+    private final long attributesOffset;
+    private final long[] levelOffsets;
+    private final int[] levelNodeCounts;
+    private final long bodyCrc;
+    private final long footerOffset;
+    private final Tombstones deletes;
+
+    // Attached by the maintenance thread once built or loaded; searches use full precision until then
+    private volatile QuantizedVectors quantized;
+    // Decoded on the first filtered search; racing decodes produce equal indexes
+    private volatile AttributeIndex attributes;
+
+    private MappedSegment(MappedFile file, Tombstones deletes) {
+        this.file = file;
+        this.name = file.path().getFileName().toString();
+        long length = file.length();
+        if (length < SegmentFormat.FIXED_HEADER_BYTES + SegmentFormat.FOOTER_BYTES
+                || file.getInt(SegmentFormat.POS_MAGIC) != SegmentFormat.MAGIC) {
+            throw new CorruptSegmentException(name + " is not a vector segment");
+        }
+        int version = file.getInt(SegmentFormat.POS_VERSION);
+        if (version != SegmentFormat.VERSION && version != SegmentFormat.VERSION_WITHOUT_ATTRIBUTES) {
+            throw new CorruptSegmentException(name + " has unsupported format version " + version);
+        }
+        this.footerOffset = length - SegmentFormat.FOOTER_BYTES;
+        if (file.getInt(footerOffset + 20) != SegmentFormat.FOOTER_MAGIC) {
+            throw new CorruptSegmentException(name + " is truncated");
+        }
+        int fixedHeaderBytes = SegmentFormat.fixedHeaderBytes(version);
+        int headerBytes = file.getInt(footerOffset + 16);
+        long headerCrc = file.getLong(footerOffset);
+        if (headerBytes < fixedHeaderBytes || headerBytes > footerOffset
+                || file.checksum(0, headerBytes) != headerCrc) {
+            throw new CorruptSegmentException(name + " has a corrupt header");
+        }
+        this.bodyCrc = file.getLong(footerOffset + 8);
+
+        this.dimension = file.getInt(SegmentFormat.POS_DIMENSION);
+        this.metric = VectorMetric.values()[file.getInt(SegmentFormat.POS_METRIC)];
+        this.count = file.getInt(SegmentFormat.POS_COUNT);
+        this.maxConn0 = file.getInt(SegmentFormat.POS_MAX_CONN0);
+        this.maxConn = file.getInt(SegmentFormat.POS_MAX_CONN);
+        this.entryNode = file.getInt(SegmentFormat.POS_ENTRY_NODE);
+        this.maxLevel = file.getInt(SegmentFormat.POS_MAX_LEVEL);
+        this.vectorsOffset = file.getLong(SegmentFormat.POS_VECTORS);
+        this.idsOffset = file.getLong(SegmentFormat.POS_IDS);
+        this.idIndexOffset = file.getLong(SegmentFormat.POS_ID_INDEX);
+        this.level0Offset = file.getLong(SegmentFormat.POS_LEVEL0);
+        this.attributesOffset = version == SegmentFormat.VERSION_WITHOUT_ATTRIBUTES
+                ? -1 : file.getLong(SegmentFormat.POS_ATTRIBUTES);
+        this.levelOffsets = new long[maxLevel + 1];
+        this.levelNodeCounts = new int[maxLevel + 1];
+        for (int level = 1; level <= maxLevel; level++) {
+            levelOffsets[level] = file.getLong(fixedHeaderBytes + (long) (level - 1) * Long.BYTES);
+            levelNodeCounts[level] = file.getInt(levelOffsets[level]);
+        }
+        this.deletes = deletes == null ? new Tombstones(count) : deletes;
+    }
+
+    static MappedSegment open(Path path) throws IOException {
+        return open(path, MappedFile.DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Maps the segment and loads its {@link Tombstones}, if any were saved.
+     */
+    static MappedSegment open(Path path, int chunkShift) throws IOException {
+        MappedFile file = new MappedFile(path, chunkShift);
+        Path tombstones = tombstonesPath(path);
+        if (!Files.exists(tombstones)) {
+            return new MappedSegment(file, null);
+        }
+        // Checked against the header count only after the header itself has been validated
+        MappedSegment segment = new MappedSegment(file, null);
+        return new MappedSegment(file, Tombstones.read(tombstones, segment.size()));
+    }
+
+    /**
+     * Recomputes the CRC32C of the segment body and compares it with the one recorded at write time.
+     *
+     * @throws CorruptSegmentException on mismatch
+     */
+    void verifyChecksum() {
+        if (file.checksum(0, footerOffset) != bodyCrc) {
+            throw new CorruptSegmentException(name + " failed checksum verification");
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    Path path() {
+        return file.path();
+    }
+
+    long sizeInBytes() {
+        return file.length();
+    }
+
+    long id(int ord) {
+        return file.getLong(idsOffset + (long) ord * Long.BYTES);
+    }
+
+    /**
+     * Binary search over the sorted id index. An id updated while in the memtable appears more than once,
+     * with every copy but the last deleted.
+     *
+     * @return the live ordinal holding {@code id}, or -1
+     */
+    int ordOf(long id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                while (mid > 0 && idAt(mid - 1) == id) {
+                    mid--;
+                }
+                for (; mid < count && idAt(mid) == id; mid++) {
+                    int ord = file.getInt(idIndexOffset + (long) count * Long.BYTES + (long) mid * Integer.BYTES);
+                    if (!deletes.isDeleted(ord)) {
+                        return ord;
+                    }
+                }
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private long idAt(int index) {
+        return file.getLong(idIndexOffset + (long) index * Long.BYTES);
+    }
+
+    /** Deleted ordinals; mutable, unlike the rest of the segment. */
+    Tombstones deletes() {
+        return deletes;
+    }
+
+    int liveCount() {
+        return count - deletes.count();
+    }
+
+    /** Where this segment's tombstones are persisted. */
+    Path tombstonesPath() {
+        return tombstonesPath(file.path());
+    }
+
+    private static Path tombstonesPath(Path segment) {
+        return segment.resolveSibling(segment.getFileName() + Tombstones.EXTENSION);
+    }
+
+    QuantizedVectors quantized() {
+        return quantized;
+    }
+
+    void attach(QuantizedVectors quantized) {
+        this.quantized = quantized;
+    }
+
+    /** Term bitmaps of the segment's vector attributes; empty for segments written before they existed. */
+    AttributeIndex attributes() {
+        AttributeIndex index = attributes;
+        if (index == null) {
+            if (attributesOffset < 0) {
+                index = AttributeIndex.EMPTY;
+            } else {
+                byte[] bytes = new byte[file.getInt(attributesOffset)];
+                file.getBytes(attributesOffset + Integer.BYTES, bytes, bytes.length);
+                index = AttributeIndex.decode(ByteBuffer.wrap(bytes));
+            }
+            attributes = index;
+        }
+        return index;
+    }
+
+    /** Where this segment's quantized codes are persisted. */
+    Path codesPath() {
+        return file.path().resolveSibling(name + QuantizedVectors.EXTENSION);
+    }
+
+    void copyVector(int ord, float[] destination) {
+        file.getFloats(vectorsOffset + (long) ord * dimension * Float.BYTES, destination, dimension);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public VectorMetric metric() {
+        return metric;
+    }
+
+    @Override
+    public VectorScorer scorer(float[] query) {
+        // One scratch per scorer: a scorer is used by a single search on a single thread
+        float[] scratch = new float[dimension];
+        return ord -> {
+            copyVector(ord, scratch);
+            return metric.score(query, 0, scratch, 0, dimension);
+        };
+    }
+
+    @Override
+    public float score(int ordA, int ordB) {
+        float[] a = new float[dimension];
+        float[] b = new float[dimension];
+        copyVector(ordA, a);
+        copyVector(ordB, b);
+        return metric.score(a, 0, b, 0, dimension);
+    }
+
+    @Override
+    public int entryNode() {
+        return count == 0 ? -1 : entryNode;
+    }
+
+    @Override
+    public int maxLevel() {
+        return maxLevel;
+    }
+
+    @Override
+    public int maxNeighbors() {
+        return maxConn0;
+    }
+
+    @Override
+    public int neighbors(int node, int level, int[] scratch) {
+        long slot;
+        if (level == 0) {
+            slot = level0Offset + (long) node * (1 + maxConn0) * Integer.BYTES;
+        } else {
+            int index = levelIndex(node, level);
+            if (index < 0) {
+                return 0;
+            }
+            int nodes = levelNodeCounts[level];
+            slot = levelOffsets[level] + Integer.BYTES + (long) nodes * Integer.BYTES
+                    + (long) index * (1 + maxConn) * Integer.BYTES;
+        }
+        int n = file.getInt(slot);
+        file.getInts(slot + Integer.BYTES, scratch, n);
+        return n;
+    }
+
+    private int levelIndex(int node, int level) {
+        long nodesOffset = levelOffsets[level] + Integer.BYTES;
+        int low = 0;
+        int high = levelNodeCounts[level] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midNode = file.getInt(nodesOffset + (long) mid * Integer.BYTES);
+            if (midNode < node) {
+                low = mid + 1;
+            } else if (midNode > node) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    static final class CorruptSegmentException extends RuntimeException {
+        CorruptSegmentException(String message) {
+            super(message);
+        }
+    }
+}
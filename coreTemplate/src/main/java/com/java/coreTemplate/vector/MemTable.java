@@ -0,0 +1,87 @@
+package com.java.coreTemplate.vector;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The mutable, in-memory part of an index: new vectors are linked into an {@link OnHeapHnswGraph} here
+ * until the table is flushed to an immutable segment. Single writer, lock-free readers.
+ */
+final class MemTable {
+    final OnHeapVectorValues vectors;
+    final OnHeapHnswGraph graph;
+    final Tombstones deletes = new Tombstones(1024);
+    private final Map<Long, Integer> ordById = new HashMap<>();
+
+    // Written before the ordinal is published, so readers of size() see the ids below it
+    private volatile long[] idByOrd = new long[1024];
+    private volatile VectorAttributes[] attributesByOrd = new VectorAttributes[1024];
+
+    MemTable(int dimension, VectorMetric metric, HnswParameters parameters) {
+        this.vectors = new OnHeapVectorValues(dimension, metric, 1024);
+        this.graph = new OnHeapHnswGraph(vectors, parameters.m(), parameters.efConstruction(), parameters.seed());
+    }
+
+    /**
+     * @param vector already normalized if the metric requires it
+     */
+    void add(long id, float[] vector, VectorAttributes attributes) {
+        int ord = vectors.size();
+        long[] ids = idByOrd;
+        VectorAttributes[] attrs = attributesByOrd;
+        if (ord >= ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            attrs = Arrays.copyOf(attrs, attrs.length * 2);
+        }
+        ids[ord] = id;
+        attrs[ord] = attributes;
+        attributesByOrd = attrs;
+        idByOrd = ids;
+        graph.add(vector);
+        ordById.put(id, ord);
+    }
+
+    /** Writer-side lookup of live ids; not safe for concurrent readers. */
+    boolean contains(long id) {
+        return ordById.containsKey(id);
+    }
+
+    /**
+     * Marks the id's vector deleted; it stays linked in the graph so searches can still route through it.
+     *
+     * @return false if the id is not live here
+     */
+    boolean delete(long id) {
+        Integer ord = ordById.remove(id);
+        return ord != null && deletes.delete(ord);
+    }
+
+    int size() {
+        return vectors.size();
+    }
+
+    long id(int ord) {
+        return idByOrd[ord];
+    }
+
+    VectorAttributes attributes(int ord) {
+        return attributesByOrd[ord];
+    }
+
+    void writeTo(Path target) throws IOException {
+        VectorAttributes[] attrs = attributesByOrd;
+        int count = size();
+        SegmentWriter.write(target, vectors, graph, idByOrd, AttributeIndex.build(ord -> attrs[ord], count), count);
+        if (deletes.count() > 0) {
+            deletes.write(target.resolveSibling(target.getFileName() + Tombstones.EXTENSION), count);
+        }
+    }
+
+    long ramBytesUsed() {
+        return vectors.ramBytesUsed() + graph.ramBytesUsed() + (long) idByOrd.length * (Long.BYTES + 8)
+                + (long) ordById.size() * 64;
+    }
+}
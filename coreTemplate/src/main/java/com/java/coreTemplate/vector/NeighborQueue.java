@@ -0,0 +1,121 @@
+package com.java.coreTemplate.vector;
+
+import java.util.Arrays;
+
+/**
+ * Binary heap of (node, score) pairs packed into longs, so pushes and pops allocate nothing.
+ * The score is mapped to an order-preserving int in the high 32 bits and the node sits in the low 32.
+ * A max-heap stores the bitwise complement, which reverses the ordering.
+ */
+final class NeighborQueue {
+    private final boolean maxHeap;
+    private long[] heap;
+    private int size;
+
+    NeighborQueue(int initialCapacity, boolean maxHeap) {
+        this.heap = new long[Math.max(initialCapacity, 1)];
+        this.maxHeap = maxHeap;
+    }
+
+    void add(int node, float score) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        long encoded = encode(node, score);
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= encoded) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = encoded;
+    }
+
+    /**
+     * Adds the pair if there is room, or replaces the top if the new pair would rank below it
+     * (i.e. is better, for a min-heap of results). Keeps the queue at {@code capacity} best entries.
+     */
+    boolean insertWithOverflow(int node, float score, int capacity) {
+        if (size < capacity) {
+            add(node, score);
+            return true;
+        }
+        if (encode(node, score) <= heap[0]) {
+            return false;
+        }
+        pop();
+        add(node, score);
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int topNode() {
+        return (int) decodeRaw(heap[0]);
+    }
+
+    float topScore() {
+        return scoreOf(decodeRaw(heap[0]));
+    }
+
+    /** Removes the top and returns its node. */
+    int pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && heap[right] < heap[child]) {
+                child = right;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) {
+            heap[i] = last;
+        }
+        return (int) decodeRaw(top);
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /** Node at heap position {@code i}, in no particular order; for draining without popping. */
+    int nodeAt(int i) {
+        return (int) decodeRaw(heap[i]);
+    }
+
+    float scoreAt(int i) {
+        return scoreOf(decodeRaw(heap[i]));
+    }
+
+    private long encode(int node, float score) {
+        long encoded = ((long) sortableInt(score) << 32) | (node & 0xFFFFFFFFL);
+        return maxHeap ? ~encoded : encoded;
+    }
+
+    private long decodeRaw(long stored) {
+        return maxHeap ? ~stored : stored;
+    }
+
+    private static float scoreOf(long decoded) {
+        int sortable = (int) (decoded >> 32);
+        return Float.intBitsToFloat(sortable ^ ((sortable >> 31) & 0x7FFFFFFF));
+    }
+
+    private static int sortableInt(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+}
@@ -0,0 +1,235 @@
+package com.java.coreTemplate.vector;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mutable HNSW graph built incrementally over an {@link OnHeapVectorValues} (Malkov &amp; Yashunin, 2016).
+ * One thread inserts at a time while any number search concurrently: every neighbor list is an
+ * immutable {@code int[]} replaced by a volatile write, so readers see either the old or the new list,
+ * never a torn one.
+ */
+final class OnHeapHnswGraph implements HnswGraph {
+    private static final int MAX_LEVEL_CAP = 16;
+
+    private final OnHeapVectorValues vectors;
+    private final int maxConn;
+    private final int maxConn0;
+    private final int beamWidth;
+    private final double levelMultiplier;
+    private final SplittableRandom random;
+
+    private volatile Node[] nodes = new Node[16];
+    private volatile Entry entry = new Entry(-1, 0);
+
+    /**
+     * @param m              max neighbors per node on levels above 0 (level 0 allows {@code 2 * m})
+     * @param efConstruction beam width used when linking new nodes
+     */
+    OnHeapHnswGraph(OnHeapVectorValues vectors, int m, int efConstruction, long seed) {
+        if (m < 2 || efConstruction < 1) {
+            throw new IllegalArgumentException("HNSW needs m >= 2 and efConstruction >= 1");
+        }
+        this.vectors = vectors;
+        this.maxConn = m;
+        this.maxConn0 = 2 * m;
+        this.beamWidth = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int size() {
+        return vectors.size();
+    }
+
+    @Override
+    public int entryNode() {
+        return entry.node();
+    }
+
+    @Override
+    public int maxLevel() {
+        return entry.level();
+    }
+
+    @Override
+    public int maxNeighbors() {
+        return maxConn0;
+    }
+
+    @Override
+    public int neighbors(int node, int level, int[] scratch) {
+        Node n = nodes[node];
+        if (n == null || level > n.level()) {
+            return 0;
+        }
+        int[] links = n.links().get(level);
+        System.arraycopy(links, 0, scratch, 0, links.length);
+        return links.length;
+    }
+
+    int level(int node) {
+        return nodes[node].level();
+    }
+
+    /**
+     * Appends the vector and links it into the graph, then makes it visible to searches.
+     * Callers must serialize calls.
+     *
+     * @param vector already normalized if the metric requires it
+     * @return the new node's ordinal
+     */
+    int add(float[] vector) {
+        int ord = vectors.append(vector);
+        int level = Math.min((int) (-Math.log(1 - random.nextDouble()) * levelMultiplier), MAX_LEVEL_CAP);
+        Node node = new Node(level, new AtomicReferenceArray<>(level + 1));
+        for (int l = 0; l <= level; l++) {
+            node.links().set(l, new int[0]);
+        }
+        storeNode(ord, node);
+
+        Entry current = entry;
+        if (current.node() < 0) {
+            vectors.publish(ord + 1);
+            entry = new Entry(ord, level);
+            return ord;
+        }
+
+        // Search only the nodes that existed before this one; its own links are not set yet
+        int searchSize = ord;
+        VectorScorer scorer = vectors.scorer(vector);
+        HnswSearcher.Scratch scratch = HnswSearcher.scratch();
+        scratch.prepare(searchSize, maxConn0);
+
+        int ep = current.node();
+        float epScore = scorer.score(ep);
+        for (int l = current.level(); l > level; l--) {
+            long best = HnswSearcher.greedy(this, scorer, ep, epScore, l, searchSize, scratch.neighbors);
+            ep = (int) best;
+            epScore = Float.intBitsToFloat((int) (best >>> 32));
+        }
+
+        NeighborQueue nearest = new NeighborQueue(beamWidth, false);
+        for (int l = Math.min(level, current.level()); l >= 0; l--) {
+            HnswSearcher.searchLevel(this, scorer, ep, epScore, beamWidth, l, searchSize, null, Integer.MAX_VALUE,
+                    scratch, nearest);
+            node.links().set(l, selectDiverse(nearest, l == 0 ? maxConn0 : maxConn));
+            // Continue one level down from the best node found here
+            for (int i = 0; i < nearest.size(); i++) {
+                if (nearest.scoreAt(i) > epScore) {
+                    ep = nearest.nodeAt(i);
+                    epScore = nearest.scoreAt(i);
+                }
+            }
+        }
+
+        vectors.publish(ord + 1);
+        for (int l = Math.min(level, current.level()); l >= 0; l--) {
+            for (int neighbor : node.links().get(l)) {
+                addBacklink(neighbor, l, ord);
+            }
+        }
+        if (level > current.level()) {
+            entry = new Entry(ord, level);
+        }
+        return ord;
+    }
+
+    long ramBytesUsed() {
+        long bytes = (long) nodes.length * 8;
+        for (int i = 0; i < vectors.size(); i++) {
+            Node n = nodes[i];
+            for (int l = 0; l <= n.level(); l++) {
+                bytes += 16 + 4L * n.links().get(l).length;
+            }
+        }
+        return bytes;
+    }
+
+    private void storeNode(int ord, Node node) {
+        Node[] current = nodes;
+        if (ord >= current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[ord] = node;
+        nodes = current;
+    }
+
+    /**
+     * Heuristic neighbor selection (HNSW paper, algorithm 4): take candidates best first and keep one only
+     * if it is closer to the new node than to every neighbor already kept. This spreads links across
+     * clusters instead of spending them all on one dense neighborhood. Pruned candidates are not used to
+     * fill leftover slots: full lists would make every later backlink pay for a re-selection.
+     */
+    private int[] selectDiverse(NeighborQueue candidates, int max) {
+        int count = candidates.size();
+        int[] order = new int[count];
+        float[] scores = new float[count];
+        // Drain the min-heap into best-first order
+        for (int i = count - 1; i >= 0; i--) {
+            scores[i] = candidates.topScore();
+            order[i] = candidates.pop();
+        }
+        // Refill so the caller can still read the candidates
+        for (int i = 0; i < count; i++) {
+            candidates.add(order[i], scores[i]);
+        }
+        return selectDiverse(order, scores, count, max);
+    }
+
+    private int[] selectDiverse(int[] order, float[] scores, int count, int max) {
+        int[] selected = new int[Math.min(max, count)];
+        int kept = 0;
+        for (int i = 0; i < count && kept < selected.length; i++) {
+            boolean diverse = true;
+            for (int j = 0; j < kept; j++) {
+                if (vectors.score(order[i], selected[j]) > scores[i]) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[kept++] = order[i];
+            }
+        }
+        return kept == selected.length ? selected : Arrays.copyOf(selected, kept);
+    }
+
+    /**
+     * Links {@code target} into {@code node}'s list on {@code level}, re-running the diversity heuristic
+     * from {@code node}'s point of view when the list is full.
+     */
+    private void addBacklink(int node, int level, int target) {
+        Node n = nodes[node];
+        int[] links = n.links().get(level);
+        int max = level == 0 ? maxConn0 : maxConn;
+        if (links.length < max) {
+            int[] grown = Arrays.copyOf(links, links.length + 1);
+            grown[links.length] = target;
+            n.links().set(level, grown);
+            return;
+        }
+
+        int count = links.length + 1;
+        int[] order = new int[count];
+        float[] scores = new float[count];
+        NeighborQueue byScore = new NeighborQueue(count, true);
+        for (int link : links) {
+            byScore.add(link, vectors.score(node, link));
+        }
+        byScore.add(target, vectors.score(node, target));
+        for (int i = 0; i < count; i++) {
+            scores[i] = byScore.topScore();
+            order[i] = byScore.pop();
+        }
+        n.links().set(level, selectDiverse(order, scores, count, max));
+    }
+
+    private record Node(int level, AtomicReferenceArray<int[]> links) {
+    }
+
+    private record Entry(int node, int level) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.java.coreTemplate.vector;
+
+import java.util.Arrays;
+
+/**
+ * Append-only vectors in one flat {@code float[]} ({@code ord * dimension} offsets), so scoring walks
+ * contiguous memory with no per-vector object. Appends are single-writer; readers see every vector below
+ * the {@link #size()} they read, because the array is copied and republished before size moves past it.
+ */
+final class OnHeapVectorValues implements VectorValues {
+    private final int dimension;
+    private final VectorMetric metric;
+    private volatile float[] data;
+    private volatile int size;
+
+    OnHeapVectorValues(int dimension, VectorMetric metric, int initialCapacity) {
+        this.dimension = dimension;
+        this.metric = metric;
+        this.data = new float[Math.max(initialCapacity, 16) * dimension];
+    }
+
+    /**
+     * Stores the vector at the next ordinal without making it visible; call {@link #publish(int)} after the
+     * graph links for it are in place. Single writer only.
+     */
+    int append(float[] vector) {
+        int ord = size;
+        float[] current = data;
+        if ((ord + 1) * dimension > current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, (ord + 1) * dimension));
+        }
+        System.arraycopy(vector, 0, current, ord * dimension, dimension);
+        data = current;
+        return ord;
+    }
+
+    void publish(int newSize) {
+        size = newSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public VectorMetric metric() {
+        return metric;
+    }
+
+    @Override
+    public VectorScorer scorer(float[] query) {
+        // Capture the array once: a later append may swap in a larger copy, but this one stays valid
+        float[] vectors = data;
+        return ord -> metric.score(query, 0, vectors, ord * dimension, dimension);
+    }
+
+    @Override
+    public float score(int ordA, int ordB) {
+        float[] vectors = data;
+        return metric.score(vectors, ordA * dimension, vectors, ordB * dimension, dimension);
+    }
+
+    void copyVector(int ord, float[] destination) {
+        System.arraycopy(data, ord * dimension, destination, 0, dimension);
+    }
+
+    long ramBytesUsed() {
+        return (long) data.length * Float.BYTES;
+    }
+}
@@ -0,0 +1,174 @@
+package com.java.coreTemplate.vector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Product quantization: the dimensions are split into contiguous subspaces, each with its own k-means
+ * codebook of up to 256 centroids, and a vector is stored as one centroid index per subspace. A query
+ * precomputes its score against every centroid once (the lookup table), after which scoring a code is
+ * one table read and add per subspace.
+ */
+final class ProductQuantizer implements VectorQuantizer {
+    static final int MAX_CENTROIDS = 256;
+    private static final int ITERATIONS = 8;
+
+    private final int dimension;
+    private final VectorMetric metric;
+    private final int centroidCount;
+    private final int[] bounds;
+    // Row c holds centroid c of every subspace side by side, so subspace j of it starts at c * dimension + bounds[j]
+    private final float[] centroids;
+
+    private ProductQuantizer(int dimension, VectorMetric metric, int subspaces, int centroidCount, float[] centroids) {
+        this.dimension = dimension;
+        this.metric = metric;
+        this.centroidCount = centroidCount;
+        this.bounds = new int[subspaces + 1];
+        for (int j = 0; j <= subspaces; j++) {
+            bounds[j] = (int) ((long) j * dimension / subspaces);
+        }
+        this.centroids = centroids;
+    }
+
+    static ProductQuantizer train(float[][] sample, int dimension, VectorMetric metric, int subspaces, long seed) {
+        int centroidCount = Math.min(MAX_CENTROIDS, sample.length);
+        ProductQuantizer quantizer = new ProductQuantizer(dimension, metric, subspaces, centroidCount,
+                new float[centroidCount * dimension]);
+        Random random = new Random(seed);
+        for (int j = 0; j < subspaces; j++) {
+            quantizer.trainSubspace(sample, j, random);
+        }
+        return quantizer;
+    }
+
+    static ProductQuantizer read(DataInput in, int dimension, VectorMetric metric) throws IOException {
+        int subspaces = in.readInt();
+        int centroidCount = in.readInt();
+        if (subspaces < 1 || subspaces > dimension || centroidCount < 1 || centroidCount > MAX_CENTROIDS) {
+            throw new IOException("Invalid product quantizer shape " + subspaces + "x" + centroidCount);
+        }
+        float[] centroids = new float[centroidCount * dimension];
+        for (int i = 0; i < centroids.length; i++) {
+            centroids[i] = in.readFloat();
+        }
+        return new ProductQuantizer(dimension, metric, subspaces, centroidCount, centroids);
+    }
+
+    /**
+     * Lloyd's k-means on one subspace, seeded with distinct sample vectors. Clusters that empty out are
+     * reseeded with a random sample so every code value stays in use.
+     */
+    private void trainSubspace(float[][] sample, int subspace, Random random) {
+        int from = bounds[subspace];
+        int width = bounds[subspace + 1] - from;
+        int[] order = new int[sample.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        for (int c = 0; c < centroidCount; c++) {
+            int pick = c + random.nextInt(order.length - c);
+            int swap = order[c];
+            order[c] = order[pick];
+            order[pick] = swap;
+            System.arraycopy(sample[order[c]], from, centroids, c * dimension + from, width);
+        }
+
+        double[] sums = new double[centroidCount * width];
+        int[] counts = new int[centroidCount];
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            Arrays.fill(sums, 0);
+            Arrays.fill(counts, 0);
+            for (float[] vector : sample) {
+                int nearest = nearest(vector, subspace);
+                counts[nearest]++;
+                for (int d = 0; d < width; d++) {
+                    sums[nearest * width + d] += vector[from + d];
+                }
+            }
+            for (int c = 0; c < centroidCount; c++) {
+                if (counts[c] == 0) {
+                    System.arraycopy(sample[random.nextInt(sample.length)], from, centroids, c * dimension + from, width);
+                    continue;
+                }
+                for (int d = 0; d < width; d++) {
+                    centroids[c * dimension + from + d] = (float) (sums[c * width + d] / counts[c]);
+                }
+            }
+        }
+    }
+
+    private int nearest(float[] vector, int subspace) {
+        int from = bounds[subspace];
+        int width = bounds[subspace + 1] - from;
+        int best = 0;
+        float bestDistance = Float.POSITIVE_INFINITY;
+        for (int c = 0; c < centroidCount; c++) {
+            float distance = VectorMetric.squareDistance(vector, from, centroids, c * dimension + from, width);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public Quantization type() {
+        return Quantization.PQ;
+    }
+
+    @Override
+    public int codeBytes() {
+        return bounds.length - 1;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        for (int j = 0; j < bounds.length - 1; j++) {
+            codes[offset + j] = (byte) nearest(vector, j);
+        }
+    }
+
+    @Override
+    public VectorScorer scorer(float[] query, byte[] codes) {
+        int subspaces = bounds.length - 1;
+        boolean euclidean = metric == VectorMetric.EUCLIDEAN;
+        // Partial dot products and partial squared distances both add up across subspaces
+        float[] table = new float[subspaces * MAX_CENTROIDS];
+        for (int j = 0; j < subspaces; j++) {
+            int from = bounds[j];
+            int width = bounds[j + 1] - from;
+            for (int c = 0; c < centroidCount; c++) {
+                table[j * MAX_CENTROIDS + c] = euclidean
+                        ? VectorMetric.squareDistance(query, from, centroids, c * dimension + from, width)
+                        : VectorMetric.dot(query, from, centroids, c * dimension + from, width);
+            }
+        }
+        return ord -> {
+            int base = ord * subspaces;
+            float sum = 0;
+            for (int j = 0; j < subspaces; j++) {
+                sum += table[j * MAX_CENTROIDS + (codes[base + j] & 0xFF)];
+            }
+            return euclidean ? 1f / (1f + sum) : sum;
+        };
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return (long) centroids.length * Float.BYTES;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(bounds.length - 1);
+        out.writeInt(centroidCount);
+        for (float value : centroids) {
+            out.writeFloat(value);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * How segment vectors are held in memory for graph traversal. Quantized searches score candidates against
+ * compact codes and re-rank the best of them against the full-precision vectors in the segment file.
+ */
+public enum Quantization {
+    /** Full-precision floats, read from the mapped segment. */
+    NONE,
+    /** One byte per dimension: 4x smaller, near-lossless ranking. */
+    INT8,
+    /** One byte per subspace, scored with per-query lookup tables: the smallest codes, the most re-ranking. */
+    PQ
+}
@@ -0,0 +1,28 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * Quantization of one index's segments. Only persistent indexes quantize, since re-ranking needs the
+ * full vectors on disk; memtable vectors are always full precision.
+ *
+ * @param type           the code format
+ * @param pqSubspaces    product-quantization subspaces (code bytes per vector); 0 picks one per 8 dimensions
+ * @param rerankFactor   approximate candidates fetched per requested hit, then re-scored exactly
+ * @param trainingSample vectors sampled per segment to fit quantization ranges or codebooks
+ */
+public record QuantizationSettings(Quantization type, int pqSubspaces, int rerankFactor, int trainingSample) {
+    public static final QuantizationSettings NONE = new QuantizationSettings(Quantization.NONE, 0, 1, 1);
+
+    public QuantizationSettings {
+        if (type == null) {
+            type = Quantization.NONE;
+        }
+        if (pqSubspaces < 0 || rerankFactor < 1 || trainingSample < 1) {
+            throw new IllegalArgumentException("pqSubspaces must be >= 0, rerankFactor and trainingSample >= 1");
+        }
+    }
+
+    int subspaces(int dimension) {
+        int subspaces = pqSubspaces == 0 ? (dimension + 7) / 8 : pqSubspaces;
+        return Math.max(1, Math.min(subspaces, dimension));
+    }
+}
@@ -0,0 +1,140 @@
+package com.java.coreTemplate.vector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.CRC32C;
+
+/**
+ * On-heap quantized codes for every vector of one segment, persisted next to it as
+ * {@code <segment>.codes} so a restart loads them instead of retraining.
+ *
+ * <p>File layout: {@code magic, version, type, dimension, count}, the quantizer's parameters, the codes,
+ * and a CRC32C of everything before it. It is small next to the segment and always read in full, so it is
+ * streamed rather than mapped.
+ */
+final class QuantizedVectors {
+    static final String EXTENSION = ".codes";
+    private static final int MAGIC = 0x48515643;
+    private static final int VERSION = 1;
+
+    private final VectorQuantizer quantizer;
+    private final int dimension;
+    private final byte[] codes;
+
+    private QuantizedVectors(VectorQuantizer quantizer, int dimension, byte[] codes) {
+        this.quantizer = quantizer;
+        this.dimension = dimension;
+        this.codes = codes;
+    }
+
+    /**
+     * Trains a quantizer on an evenly spaced sample of the segment's vectors and encodes all of them.
+     * Reads the whole segment, so it belongs on the maintenance thread.
+     */
+    static QuantizedVectors build(MappedSegment segment, QuantizationSettings settings, long seed) {
+        int count = segment.size();
+        int dimension = segment.dimension();
+        float[][] sample = new float[Math.min(count, settings.trainingSample())][dimension];
+        for (int i = 0; i < sample.length; i++) {
+            segment.copyVector((int) ((long) i * count / sample.length), sample[i]);
+        }
+        VectorQuantizer quantizer = switch (settings.type()) {
+            case INT8 -> ScalarQuantizer.train(sample, dimension, segment.metric());
+            case PQ -> ProductQuantizer.train(sample, dimension, segment.metric(), settings.subspaces(dimension), seed);
+            case NONE -> throw new IllegalArgumentException("Nothing to build without quantization");
+        };
+
+        long codeBytes = (long) count * quantizer.codeBytes();
+        if (codeBytes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Segment " + segment.name() + " is too large to quantize into one array");
+        }
+        byte[] codes = new byte[(int) codeBytes];
+        float[] vector = new float[dimension];
+        for (int ord = 0; ord < count; ord++) {
+            segment.copyVector(ord, vector);
+            quantizer.encode(vector, codes, ord * quantizer.codeBytes());
+        }
+        return new QuantizedVectors(quantizer, dimension, codes);
+    }
+
+    /**
+     * @throws IOException if the file is unreadable, fails its checksum, or does not describe this segment
+     */
+    static QuantizedVectors read(Path path, MappedSegment segment) throws IOException {
+        // The checksum sits above the buffer so it covers exactly the bytes consumed, not the read-ahead
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path)), new CRC32C());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(path + " is not a quantized-vectors file");
+            }
+            int typeOrdinal = in.readInt();
+            int dimension = in.readInt();
+            int count = in.readInt();
+            if (typeOrdinal < 0 || typeOrdinal >= Quantization.values().length
+                    || dimension != segment.dimension() || count != segment.size()) {
+                throw new IOException(path + " does not match segment " + segment.name());
+            }
+            VectorQuantizer quantizer = switch (Quantization.values()[typeOrdinal]) {
+                case INT8 -> ScalarQuantizer.read(in, dimension, segment.metric());
+                case PQ -> ProductQuantizer.read(in, dimension, segment.metric());
+                case NONE -> throw new IOException(path + " has no quantizer");
+            };
+            byte[] codes = new byte[count * quantizer.codeBytes()];
+            in.readFully(codes);
+            long actual = checked.getChecksum().getValue();
+            if (in.readLong() != actual) {
+                throw new IOException(path + " failed its checksum");
+            }
+            return new QuantizedVectors(quantizer, dimension, codes);
+        }
+    }
+
+    /**
+     * Writes the codes under a temporary name and renames them into place once forced to disk.
+     */
+    void write(Path path) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), new CRC32C());
+        try (DataOutputStream out = new DataOutputStream(checked)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(quantizer.type().ordinal());
+            out.writeInt(dimension);
+            out.writeInt(codes.length / quantizer.codeBytes());
+            quantizer.writeTo(out);
+            out.write(codes);
+            out.writeLong(checked.getChecksum().getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    boolean matches(QuantizationSettings settings, int dimension) {
+        return quantizer.type() == settings.type()
+                && (settings.type() != Quantization.PQ || quantizer.codeBytes() == settings.subspaces(dimension));
+    }
+
+    VectorScorer scorer(float[] query) {
+        return quantizer.scorer(query, codes);
+    }
+
+    Quantization type() {
+        return quantizer.type();
+    }
+
+    long ramBytesUsed() {
+        return codes.length + quantizer.ramBytesUsed();
+    }
+}
@@ -0,0 +1,36 @@
+package com.java.coreTemplate.vector;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges ranked result lists whose scores are not comparable, such as BM25 and cosine similarity, by rank
+ * alone: each id scores {@code sum(1 / (rankConstant + rank))} over the lists it appears in, with ranks
+ * starting at 1. A larger rank constant flattens the advantage of the very top positions.
+ */
+public final class ReciprocalRankFusion {
+    public static final int DEFAULT_RANK_CONSTANT = 60;
+
+    private ReciprocalRankFusion() {
+    }
+
+    /**
+     * @param rankings lists ordered best first; each id should appear at most once per list
+     * @return up to {@code k} ids by fused score, best first; ties keep the order of first appearance
+     */
+    public static List<HnswIndex.Hit> fuse(int k, int rankConstant, List<List<HnswIndex.Hit>> rankings) {
+        Map<Long, Float> scores = new LinkedHashMap<>();
+        for (List<HnswIndex.Hit> ranking : rankings) {
+            for (int rank = 0; rank < ranking.size(); rank++) {
+                scores.merge(ranking.get(rank).id(), 1f / (rankConstant + rank + 1), Float::sum);
+            }
+        }
+        List<HnswIndex.Hit> fused = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> fused.add(new HnswIndex.Hit(id, score)));
+        fused.sort(Comparator.comparingDouble(HnswIndex.Hit::score).reversed());
+        return fused.size() > k ? new ArrayList<>(fused.subList(0, k)) : fused;
+    }
+}
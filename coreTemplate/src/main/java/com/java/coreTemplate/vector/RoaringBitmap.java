@@ -0,0 +1,419 @@
+package com.java.coreTemplate.vector;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Compressed set of non-negative ints in the Roaring layout: values are grouped by their high 16 bits, and
+ * each group is a sorted {@code char[]} while it holds at most 4096 values, or a 65536-bit bitmap once it is
+ * denser than that. Sparse attributes cost two bytes per matching vector, dense ones one bit.
+ *
+ * <p>Built by a single thread, then only read. Set operations return new bitmaps that may share containers
+ * with their inputs, so their results must not be added to.
+ */
+final class RoaringBitmap {
+    static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Container[] containers = new Container[0];
+    private int size;
+
+    /** Every value in {@code [0, end)}. */
+    static RoaringBitmap range(int end) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int start = 0; start < end; start += 1 << 16) {
+            int count = Math.min(1 << 16, end - start);
+            long[] words = new long[WORDS];
+            Arrays.fill(words, 0, count >>> 6, -1L);
+            if ((count & 63) != 0) {
+                words[count >>> 6] = (1L << count) - 1;
+            }
+            bitmap.append((char) (start >>> 16), Container.of(words, count));
+        }
+        return bitmap;
+    }
+
+    void add(int value) {
+        char key = (char) (value >>> 16);
+        int index = size > 0 && keys[size - 1] == key ? size - 1 : Arrays.binarySearch(keys, 0, size, key);
+        if (index < 0) {
+            index = -index - 1;
+            insert(index, key, new Container(new char[4], null, 0));
+        }
+        containers[index] = containers[index].add((char) value);
+    }
+
+    boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, 0, size, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    RoaringBitmap and(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0, j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container merged = containers[i].and(other.containers[j]);
+                if (merged.cardinality > 0) {
+                    result.append(keys[i], merged);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    RoaringBitmap or(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int i = 0, j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.append(keys[i], containers[i]);
+                i++;
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.append(other.keys[j], other.containers[j]);
+                j++;
+            } else {
+                result.append(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    RoaringBitmap andNot(RoaringBitmap other) {
+        RoaringBitmap result = new RoaringBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container remaining = j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j]) : containers[i];
+            if (remaining.cardinality > 0) {
+                result.append(keys[i], remaining);
+            }
+        }
+        return result;
+    }
+
+    /** Values in ascending order. */
+    PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int container;
+            private int position = -1;
+            private int next = advance();
+
+            private int advance() {
+                while (container < size) {
+                    int value = containers[container].nextFrom(position + 1);
+                    if (value >= 0) {
+                        position = value;
+                        return keys[container] << 16 | value;
+                    }
+                    container++;
+                    position = -1;
+                }
+                return -1;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                int value = next;
+                next = advance();
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Little-endian: {@code int containerCount}, then per container {@code char key, int cardinality} and
+     * either {@code char[cardinality]} or {@code long[1024]} when the cardinality exceeds 4096.
+     */
+    int serializedBytes() {
+        int bytes = Integer.BYTES;
+        for (int i = 0; i < size; i++) {
+            bytes += Character.BYTES + Integer.BYTES + (containers[i].words != null
+                    ? WORDS * Long.BYTES : containers[i].cardinality * Character.BYTES);
+        }
+        return bytes;
+    }
+
+    void serialize(ByteBuffer out) {
+        out.putInt(size);
+        for (int i = 0; i < size; i++) {
+            Container container = containers[i].compact();
+            out.putChar(keys[i]);
+            out.putInt(container.cardinality);
+            if (container.words != null) {
+                for (long word : container.words) {
+                    out.putLong(word);
+                }
+            } else {
+                for (int v = 0; v < container.cardinality; v++) {
+                    out.putChar(container.values[v]);
+                }
+            }
+        }
+    }
+
+    static RoaringBitmap deserialize(ByteBuffer in) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            char key = in.getChar();
+            int cardinality = in.getInt();
+            if (cardinality > ARRAY_MAX) {
+                long[] words = new long[WORDS];
+                for (int w = 0; w < WORDS; w++) {
+                    words[w] = in.getLong();
+                }
+                bitmap.append(key, Container.of(words, cardinality));
+            } else {
+                char[] values = new char[cardinality];
+                for (int v = 0; v < cardinality; v++) {
+                    values[v] = in.getChar();
+                }
+                bitmap.append(key, new Container(values, null, cardinality));
+            }
+        }
+        return bitmap;
+    }
+
+    long ramBytesUsed() {
+        long bytes = 32 + (long) keys.length * Character.BYTES + (long) containers.length * 8;
+        for (int i = 0; i < size; i++) {
+            bytes += 24 + (containers[i].words != null ? WORDS * Long.BYTES : containers[i].values.length * Character.BYTES);
+        }
+        return bytes;
+    }
+
+    private void append(char key, Container container) {
+        insert(size, key, container);
+    }
+
+    private void insert(int index, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = key;
+        containers[index] = container;
+        size++;
+    }
+
+    /**
+     * The low 16 bits of one group of values: exactly one of {@code values} (sorted, possibly with spare
+     * capacity) or {@code words} is set. Set operations never modify their inputs; {@link #add} may reuse
+     * this container's array and returns the container that replaces it.
+     */
+    private static final class Container {
+        final char[] values;
+        final long[] words;
+        final int cardinality;
+
+        Container(char[] values, long[] words, int cardinality) {
+            this.values = values;
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        static Container of(long[] words, int cardinality) {
+            if (cardinality > ARRAY_MAX) {
+                return new Container(null, words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int n = 0;
+            for (int w = 0; w < WORDS; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    values[n++] = (char) (w << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new Container(values, null, cardinality);
+        }
+
+        Container add(char value) {
+            if (words != null) {
+                long bit = 1L << value;
+                if ((words[value >>> 6] & bit) != 0) {
+                    return this;
+                }
+                words[value >>> 6] |= bit;
+                return new Container(null, words, cardinality + 1);
+            }
+            int index = cardinality > 0 && values[cardinality - 1] < value
+                    ? -cardinality - 1 : Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            index = -index - 1;
+            if (cardinality == ARRAY_MAX) {
+                long[] bits = toWords();
+                bits[value >>> 6] |= 1L << value;
+                return new Container(null, bits, cardinality + 1);
+            }
+            char[] target = cardinality == values.length ? Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2)) : values;
+            System.arraycopy(target, index, target, index + 1, cardinality - index);
+            target[index] = value;
+            return new Container(target, null, cardinality + 1);
+        }
+
+        boolean contains(char value) {
+            return words != null
+                    ? (words[value >>> 6] & (1L << value)) != 0
+                    : Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        Container and(Container other) {
+            if (words == null && other.words == null) {
+                char[] result = new char[Math.min(cardinality, other.cardinality)];
+                int n = 0, i = 0, j = 0;
+                while (i < cardinality && j < other.cardinality) {
+                    if (values[i] < other.values[j]) {
+                        i++;
+                    } else if (values[i] > other.values[j]) {
+                        j++;
+                    } else {
+                        result[n++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+                return new Container(result, null, n);
+            }
+            if (words == null || other.words == null) {
+                Container array = words == null ? this : other;
+                Container bitmap = words == null ? other : this;
+                char[] result = new char[array.cardinality];
+                int n = 0;
+                for (int i = 0; i < array.cardinality; i++) {
+                    if (bitmap.contains(array.values[i])) {
+                        result[n++] = array.values[i];
+                    }
+                }
+                return new Container(result, null, n);
+            }
+            long[] result = new long[WORDS];
+            int cardinality = 0;
+            for (int w = 0; w < WORDS; w++) {
+                result[w] = words[w] & other.words[w];
+                cardinality += Long.bitCount(result[w]);
+            }
+            return of(result, cardinality);
+        }
+
+        Container or(Container other) {
+            long[] result = toWords();
+            if (other.words != null) {
+                for (int w = 0; w < WORDS; w++) {
+                    result[w] |= other.words[w];
+                }
+            } else {
+                for (int i = 0; i < other.cardinality; i++) {
+                    result[other.values[i] >>> 6] |= 1L << other.values[i];
+                }
+            }
+            return of(result, bitCount(result));
+        }
+
+        Container andNot(Container other) {
+            if (words == null) {
+                char[] result = new char[cardinality];
+                int n = 0;
+                for (int i = 0; i < cardinality; i++) {
+                    if (!other.contains(values[i])) {
+                        result[n++] = values[i];
+                    }
+                }
+                return new Container(result, null, n);
+            }
+            long[] result = words.clone();
+            if (other.words != null) {
+                for (int w = 0; w < WORDS; w++) {
+                    result[w] &= ~other.words[w];
+                }
+            } else {
+                for (int i = 0; i < other.cardinality; i++) {
+                    result[other.values[i] >>> 6] &= ~(1L << other.values[i]);
+                }
+            }
+            return of(result, bitCount(result));
+        }
+
+        /** The smallest value at or after {@code from}, or -1. */
+        int nextFrom(int from) {
+            if (from > 0xFFFF) {
+                return -1;
+            }
+            if (words == null) {
+                int index = Arrays.binarySearch(values, 0, cardinality, (char) from);
+                index = index >= 0 ? index : -index - 1;
+                return index < cardinality ? values[index] : -1;
+            }
+            for (int w = from >>> 6; w < WORDS; w++) {
+                long word = words[w] & (w == from >>> 6 ? -1L << from : -1L);
+                if (word != 0) {
+                    return w << 6 | Long.numberOfTrailingZeros(word);
+                }
+            }
+            return -1;
+        }
+
+        /** Trims an array container's spare capacity before it is written out. */
+        Container compact() {
+            return words == null && values.length != cardinality
+                    ? new Container(Arrays.copyOf(values, cardinality), null, cardinality) : this;
+        }
+
+        private long[] toWords() {
+            if (words != null) {
+                return words.clone();
+            }
+            long[] result = new long[WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                result[values[i] >>> 6] |= 1L << values[i];
+            }
+            return result;
+        }
+
+        private static int bitCount(long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+}
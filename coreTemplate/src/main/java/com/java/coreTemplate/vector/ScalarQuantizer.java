@@ -0,0 +1,132 @@
+package com.java.coreTemplate.vector;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * int8 scalar quantization: each dimension is mapped linearly onto 256 levels between a low and high
+ * quantile of the training sample, so a few outliers do not stretch the range for everyone else.
+ * Values outside the range are clamped.
+ */
+final class ScalarQuantizer implements VectorQuantizer {
+    private static final double CLIP_QUANTILE = 0.001;
+    private static final int LEVELS = 255;
+
+    private final VectorMetric metric;
+    private final float[] min;
+    private final float[] step;
+
+    private ScalarQuantizer(VectorMetric metric, float[] min, float[] step) {
+        this.metric = metric;
+        this.min = min;
+        this.step = step;
+    }
+
+    static ScalarQuantizer train(float[][] sample, int dimension, VectorMetric metric) {
+        float[] min = new float[dimension];
+        float[] step = new float[dimension];
+        float[] column = new float[sample.length];
+        int low = (int) (CLIP_QUANTILE * (sample.length - 1));
+        int high = sample.length - 1 - low;
+        for (int d = 0; d < dimension; d++) {
+            for (int i = 0; i < sample.length; i++) {
+                column[i] = sample[i][d];
+            }
+            Arrays.sort(column);
+            min[d] = column[low];
+            step[d] = (column[high] - column[low]) / LEVELS;
+        }
+        return new ScalarQuantizer(metric, min, step);
+    }
+
+    static ScalarQuantizer read(DataInput in, int dimension, VectorMetric metric) throws IOException {
+        float[] min = new float[dimension];
+        float[] step = new float[dimension];
+        for (int d = 0; d < dimension; d++) {
+            min[d] = in.readFloat();
+        }
+        for (int d = 0; d < dimension; d++) {
+            step[d] = in.readFloat();
+        }
+        return new ScalarQuantizer(metric, min, step);
+    }
+
+    @Override
+    public Quantization type() {
+        return Quantization.INT8;
+    }
+
+    @Override
+    public int codeBytes() {
+        return min.length;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        for (int d = 0; d < min.length; d++) {
+            int level = step[d] == 0 ? 0 : Math.round((vector[d] - min[d]) / step[d]);
+            codes[offset + d] = (byte) Math.max(0, Math.min(LEVELS, level));
+        }
+    }
+
+    @Override
+    public VectorScorer scorer(float[] query, byte[] codes) {
+        int dimension = min.length;
+        if (metric == VectorMetric.EUCLIDEAN) {
+            // (q - v) per dimension is (q - min) - level * step; hoist the query-only half
+            float[] shifted = new float[dimension];
+            for (int d = 0; d < dimension; d++) {
+                shifted[d] = query[d] - min[d];
+            }
+            return ord -> {
+                int base = ord * dimension;
+                float sum = 0;
+                for (int d = 0; d < dimension; d++) {
+                    float diff = shifted[d] - step[d] * (codes[base + d] & 0xFF);
+                    sum += diff * diff;
+                }
+                return 1f / (1f + sum);
+            };
+        }
+        // q . v = q . min + sum(q * step * level): a constant plus one multiply-add per dimension
+        float[] weights = new float[dimension];
+        float constant = 0;
+        for (int d = 0; d < dimension; d++) {
+            weights[d] = query[d] * step[d];
+            constant += query[d] * min[d];
+        }
+        float offset = constant;
+        return ord -> {
+            int base = ord * dimension;
+            float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int d = 0;
+            for (int bound = dimension & ~3; d < bound; d += 4) {
+                s0 += weights[d] * (codes[base + d] & 0xFF);
+                s1 += weights[d + 1] * (codes[base + d + 1] & 0xFF);
+                s2 += weights[d + 2] * (codes[base + d + 2] & 0xFF);
+                s3 += weights[d + 3] * (codes[base + d + 3] & 0xFF);
+            }
+            for (; d < dimension; d++) {
+                s0 += weights[d] * (codes[base + d] & 0xFF);
+            }
+            return offset + (s0 + s1) + (s2 + s3);
+        };
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return 2L * min.length * Float.BYTES;
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        for (float value : min) {
+            out.writeFloat(value);
+        }
+        for (float value : step) {
+            out.writeFloat(value);
+        }
+    }
+}
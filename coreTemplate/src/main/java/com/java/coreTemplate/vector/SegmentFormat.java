@@ -0,0 +1,61 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * Layout of an immutable vector segment file. Little-endian; every section starts on a 64-byte boundary.
+ * <pre>
+ * header     magic, format version, dimension, metric, count, maxConn0, maxConn, entry node, max level,
+ *            then the offset of each section below
+ * vectors    float[count * dimension], by ordinal
+ * ids        long[count], by ordinal
+ * id index   long[count] ids ascending, then int[count] the ordinal of each
+ * level 0    count slots of (int n, int[maxConn0] neighbors)
+ * level L    int nodeCount, int[nodeCount] nodes ascending, then nodeCount slots of (int n, int[maxConn])
+ * attributes int length, then the {@link AttributeIndex} bitmaps (format version 2 on)
+ * footer     long header CRC32C, long CRC32C of everything before the footer, int header length, int magic
+ * </pre>
+ * Fixed-size neighbor slots make every level-0 lookup a single offset computation; the sparse upper
+ * levels are found by binary search over their node list.
+ */
+final class SegmentFormat {
+    static final int MAGIC = 0x57534E48; // "HNSW"
+    static final int FOOTER_MAGIC = 0x4E455346;
+    static final int VERSION = 2;
+    /** Segments written before the attribute section existed; read as having no attributes. */
+    static final int VERSION_WITHOUT_ATTRIBUTES = 1;
+    static final int ALIGNMENT = 64;
+    static final int FIXED_HEADER_BYTES = 80;
+    static final int FOOTER_BYTES = 24;
+    static final String EXTENSION = ".hnsw";
+
+    // Header field positions
+    static final int POS_MAGIC = 0;
+    static final int POS_VERSION = 4;
+    static final int POS_DIMENSION = 8;
+    static final int POS_METRIC = 12;
+    static final int POS_COUNT = 16;
+    static final int POS_MAX_CONN0 = 20;
+    static final int POS_MAX_CONN = 24;
+    static final int POS_ENTRY_NODE = 28;
+    static final int POS_MAX_LEVEL = 32;
+    static final int POS_VECTORS = 40;
+    static final int POS_IDS = 48;
+    static final int POS_ID_INDEX = 56;
+    static final int POS_LEVEL0 = 64;
+    static final int POS_ATTRIBUTES = 72;
+    // long[maxLevel] upper level offsets follow at FIXED_HEADER_BYTES
+
+    private SegmentFormat() {
+    }
+
+    static long align(long position) {
+        return (position + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    static int headerBytes(int maxLevel) {
+        return FIXED_HEADER_BYTES + Long.BYTES * maxLevel;
+    }
+
+    static int fixedHeaderBytes(int version) {
+        return version == VERSION_WITHOUT_ATTRIBUTES ? POS_ATTRIBUTES : FIXED_HEADER_BYTES;
+    }
+}
@@ -0,0 +1,234 @@
+package com.java.coreTemplate.vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Serializes an in-memory graph and its vectors into the {@link SegmentFormat}. The file is written under a
+ * temporary name, forced to disk and then atomically renamed, so a segment file either exists complete or
+ * not at all.
+ */
+final class SegmentWriter {
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private long position;
+
+    private SegmentWriter(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Writes the first {@code count} vectors of the graph to {@code target}.
+     *
+     * @param ids external id of each ordinal
+     * @param attributes filterable attributes of those ordinals
+     */
+    static void write(Path target, OnHeapVectorValues vectors, OnHeapHnswGraph graph, long[] ids,
+                      AttributeIndex attributes, int count) throws IOException {
+        int dimension = vectors.dimension();
+        int maxLevel = graph.maxLevel();
+        int maxConn0 = graph.maxNeighbors();
+        int maxConn = maxConn0 / 2;
+
+        int[][] levelNodes = new int[maxLevel + 1][];
+        for (int level = 1; level <= maxLevel; level++) {
+            int[] nodes = new int[count];
+            int n = 0;
+            for (int node = 0; node < count; node++) {
+                if (graph.level(node) >= level) {
+                    nodes[n++] = node;
+                }
+            }
+            levelNodes[level] = Arrays.copyOf(nodes, n);
+        }
+
+        // Lay out every section up front so the header can be written first, in one sequential pass
+        int headerBytes = SegmentFormat.headerBytes(maxLevel);
+        long vectorsOffset = SegmentFormat.align(headerBytes);
+        long idsOffset = SegmentFormat.align(vectorsOffset + (long) count * dimension * Float.BYTES);
+        long idIndexOffset = SegmentFormat.align(idsOffset + (long) count * Long.BYTES);
+        long level0Offset = SegmentFormat.align(idIndexOffset + (long) count * (Long.BYTES + Integer.BYTES));
+        long[] levelOffsets = new long[maxLevel + 1];
+        long end = SegmentFormat.align(level0Offset + (long) count * (1 + maxConn0) * Integer.BYTES);
+        for (int level = 1; level <= maxLevel; level++) {
+            levelOffsets[level] = end;
+            int n = levelNodes[level].length;
+            end = SegmentFormat.align(end + Integer.BYTES + (long) n * Integer.BYTES + (long) n * (1 + maxConn) * Integer.BYTES);
+        }
+        byte[] attributeBytes = attributes.encode();
+        long attributesOffset = end;
+        end = SegmentFormat.align(attributesOffset + Integer.BYTES + attributeBytes.length);
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            SegmentWriter out = new SegmentWriter(channel);
+            out.putInt(SegmentFormat.MAGIC);
+            out.putInt(SegmentFormat.VERSION);
+            out.putInt(dimension);
+            out.putInt(vectors.metric().ordinal());
+            out.putInt(count);
+            out.putInt(maxConn0);
+            out.putInt(maxConn);
+            out.putInt(graph.entryNode());
+            out.putInt(maxLevel);
+            out.putInt(0);
+            out.putLong(vectorsOffset);
+            out.putLong(idsOffset);
+            out.putLong(idIndexOffset);
+            out.putLong(level0Offset);
+            out.putLong(attributesOffset);
+            for (int level = 1; level <= maxLevel; level++) {
+                out.putLong(levelOffsets[level]);
+            }
+            long headerCrc = out.checksumSoFar();
+
+            out.padTo(vectorsOffset);
+            float[] vector = new float[dimension];
+            for (int ord = 0; ord < count; ord++) {
+                vectors.copyVector(ord, vector);
+                for (float component : vector) {
+                    out.putFloat(component);
+                }
+            }
+
+            out.padTo(idsOffset);
+            for (int ord = 0; ord < count; ord++) {
+                out.putLong(ids[ord]);
+            }
+
+            out.padTo(idIndexOffset);
+            Integer[] byId = new Integer[count];
+            for (int ord = 0; ord < count; ord++) {
+                byId[ord] = ord;
+            }
+            Arrays.sort(byId, (a, b) -> Long.compare(ids[a], ids[b]));
+            for (int ord : byId) {
+                out.putLong(ids[ord]);
+            }
+            for (int ord : byId) {
+                out.putInt(ord);
+            }
+
+            int[] neighbors = new int[maxConn0];
+            out.padTo(level0Offset);
+            for (int node = 0; node < count; node++) {
+                out.putSlot(graph, node, 0, neighbors, maxConn0);
+            }
+            for (int level = 1; level <= maxLevel; level++) {
+                out.padTo(levelOffsets[level]);
+                int[] nodes = levelNodes[level];
+                out.putInt(nodes.length);
+                for (int node : nodes) {
+                    out.putInt(node);
+                }
+                for (int node : nodes) {
+                    out.putSlot(graph, node, level, neighbors, maxConn);
+                }
+            }
+
+            out.padTo(attributesOffset);
+            out.putInt(attributeBytes.length);
+            out.putBytes(attributeBytes);
+
+            out.padTo(end);
+            long bodyCrc = out.checksumSoFar();
+            out.putLong(headerCrc);
+            out.putLong(bodyCrc);
+            out.putInt(headerBytes);
+            out.putInt(SegmentFormat.FOOTER_MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(target.getParent());
+    }
+
+    /**
+     * Makes a rename durable. Directories cannot be opened for sync on every platform; there the rename is
+     * left to the file system's own ordering.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException | UnsupportedOperationException ignored) {
+            // Not supported on this platform
+        }
+    }
+
+    private void putSlot(OnHeapHnswGraph graph, int node, int level, int[] neighbors, int slotSize) throws IOException {
+        int n = graph.neighbors(node, level, neighbors);
+        putInt(n);
+        for (int i = 0; i < slotSize; i++) {
+            putInt(i < n ? neighbors[i] : -1);
+        }
+    }
+
+    private void putInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    private void putLong(long value) throws IOException {
+        ensure(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    private void putBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int n = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, n);
+            offset += n;
+            position += n;
+        }
+    }
+
+    private void putFloat(float value) throws IOException {
+        ensure(Float.BYTES);
+        buffer.putFloat(value);
+        position += Float.BYTES;
+    }
+
+    private void padTo(long offset) throws IOException {
+        while (position < offset) {
+            ensure(1);
+            buffer.put((byte) 0);
+            position++;
+        }
+    }
+
+    private long checksumSoFar() throws IOException {
+        flush();
+        return crc.getValue();
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,194 @@
+package com.java.coreTemplate.vector;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Search results keyed by query embedding: a query whose cosine similarity to a cached query of the same
+ * store and search options reaches the threshold reuses that query's hits, so rephrasings of a question
+ * skip the index. Reused hits keep the scores computed for the cached query.
+ *
+ * <p>Each store holds at most {@code maxEntriesPerStore} entries, replacing the least recently used, and an
+ * entry expires {@code ttl} after it was cached. Any change to a store's index must call
+ * {@link #invalidate(long)}; a search that overlaps an invalidation returns its result but does not cache it.
+ *
+ * <p>Lookups scan the store's entries, which costs {@code maxEntriesPerStore * dimension} multiply-adds
+ * under a shared lock; keep the bound in the hundreds.
+ */
+public final class SemanticSearchCache {
+    private final int maxEntriesPerStore;
+    private final long ttlNanos;
+    private final float threshold;
+    private final LongSupplier clock;
+    private final Map<Long, StoreEntries> stores = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * @param maxEntriesPerStore 0 disables caching
+     * @param similarityThreshold minimum cosine similarity, in (0, 1], between a query and a cached one
+     */
+    public SemanticSearchCache(int maxEntriesPerStore, Duration ttl, double similarityThreshold) {
+        this(maxEntriesPerStore, ttl, similarityThreshold, System::nanoTime);
+    }
+
+    SemanticSearchCache(int maxEntriesPerStore, Duration ttl, double similarityThreshold, LongSupplier clock) {
+        if (similarityThreshold <= 0 || similarityThreshold > 1) {
+            throw new IllegalArgumentException("similarityThreshold must be in (0, 1]");
+        }
+        this.maxEntriesPerStore = Math.max(0, maxEntriesPerStore);
+        this.ttlNanos = ttl.toNanos();
+        this.threshold = (float) similarityThreshold;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the hits cached for a query similar to {@code query} under the same {@code options}, or runs
+     * {@code search} and caches its result.
+     *
+     * @param options every other search input that affects the result, e.g. k and the filter; compared with equals
+     */
+    public List<HnswIndex.Hit> get(long storeId, Object options, float[] query, Supplier<List<HnswIndex.Hit>> search) {
+        if (maxEntriesPerStore == 0 || query == null) {
+            return search.get();
+        }
+        float[] normalized = query.clone();
+        VectorMetric.normalize(normalized);
+        StoreEntries entries = stores.computeIfAbsent(storeId, id -> new StoreEntries(maxEntriesPerStore));
+        long generation = entries.generation;
+        List<HnswIndex.Hit> cached = entries.find(options, normalized, clock.getAsLong());
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        List<HnswIndex.Hit> result = List.copyOf(search.get());
+        entries.put(generation, options, normalized, result, clock.getAsLong());
+        return result;
+    }
+
+    /** Drops every entry of the store; call after each change to its index. */
+    public void invalidate(long storeId) {
+        StoreEntries entries = stores.get(storeId);
+        if (entries != null) {
+            entries.clear();
+            invalidations.increment();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long invalidationCount() {
+        return invalidations.sum();
+    }
+
+    public long size() {
+        return stores.values().stream().mapToLong(entries -> entries.size).sum();
+    }
+
+    private final class StoreEntries {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Object[] options;
+        private final float[][] queries;
+        private final List<HnswIndex.Hit>[] results;
+        private final long[] cachedAt;
+        private final long[] lastUsed;
+        private int size;
+        // Bumped by every invalidation, so a search that overlapped one can tell its result is stale
+        private volatile long generation;
+
+        @SuppressWarnings("unchecked")
+        StoreEntries(int capacity) {
+            this.options = new Object[capacity];
+            this.queries = new float[capacity][];
+            this.results = (List<HnswIndex.Hit>[]) new List[capacity];
+            this.cachedAt = new long[capacity];
+            this.lastUsed = new long[capacity];
+        }
+
+        List<HnswIndex.Hit> find(Object searchOptions, float[] query, long now) {
+            lock.readLock().lock();
+            try {
+                int best = -1;
+                float bestSimilarity = threshold;
+                for (int i = 0; i < size; i++) {
+                    if (now - cachedAt[i] >= ttlNanos || queries[i].length != query.length
+                            || !options[i].equals(searchOptions)) {
+                        continue;
+                    }
+                    float similarity = VectorMetric.dot(queries[i], 0, query, 0, query.length);
+                    if (similarity >= bestSimilarity) {
+                        best = i;
+                        bestSimilarity = similarity;
+                    }
+                }
+                if (best < 0) {
+                    return null;
+                }
+                // Racy but harmless: concurrent readers only ever move it forward by a little
+                lastUsed[best] = now;
+                return results[best];
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void put(long searchGeneration, Object searchOptions, float[] query, List<HnswIndex.Hit> result, long now) {
+            lock.writeLock().lock();
+            try {
+                if (generation != searchGeneration) {
+                    return;
+                }
+                int slot = size < options.length ? size++ : victim(now);
+                options[slot] = searchOptions;
+                queries[slot] = query;
+                results[slot] = result;
+                cachedAt[slot] = now;
+                lastUsed[slot] = now;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /** An expired entry if there is one, otherwise the least recently used. */
+        private int victim(long now) {
+            int victim = 0;
+            for (int i = 0; i < size; i++) {
+                if (now - cachedAt[i] >= ttlNanos) {
+                    return i;
+                }
+                if (lastUsed[i] < lastUsed[victim]) {
+                    victim = i;
+                }
+            }
+            return victim;
+        }
+
+        void clear() {
+            lock.writeLock().lock();
+            try {
+                generation++;
+                Arrays.fill(options, 0, size, null);
+                Arrays.fill(queries, 0, size, null);
+                Arrays.fill(results, 0, size, null);
+                size = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
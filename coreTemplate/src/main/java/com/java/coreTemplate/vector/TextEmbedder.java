@@ -0,0 +1,37 @@
+package com.java.coreTemplate.vector;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Turns text into fixed-dimension vectors for the index. Implementations must be thread-safe and
+ * deterministic: the same text always yields the same vector, so queries land near the documents
+ * embedded earlier.
+ */
+public interface TextEmbedder {
+
+    int dimension();
+
+    /**
+     * Embeds {@code text} into {@code destination}, which has {@link #dimension()} components; nothing else
+     * is allocated when the implementation keeps per-thread scratch space.
+     */
+    void embed(CharSequence text, float[] destination);
+
+    default float[] embed(CharSequence text) {
+        float[] vector = new float[dimension()];
+        embed(text, vector);
+        return vector;
+    }
+
+    /**
+     * Embeds every text on {@code pool}, splitting the list into fork/join tasks.
+     *
+     * @return one vector per text, in order
+     */
+    default float[][] embedAll(List<? extends CharSequence> texts, ForkJoinPool pool) {
+        float[][] vectors = new float[texts.size()][];
+        pool.invoke(new EmbedTask(this, texts, vectors, 0, texts.size()));
+        return vectors;
+    }
+}
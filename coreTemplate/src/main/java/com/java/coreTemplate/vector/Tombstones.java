@@ -0,0 +1,148 @@
+package com.java.coreTemplate.vector;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Bitset of deleted ordinals in a segment or memtable. Deletes come from the single index writer; searches
+ * read concurrently and see a delete as soon as {@link #delete} returns.
+ *
+ * <p>Persisted next to its segment as {@code <segment>.del}: {@code magic, version, word count, long[] words},
+ * then a CRC32C of those bytes.
+ */
+final class Tombstones {
+    static final String EXTENSION = ".del";
+    private static final int MAGIC = 0x48444C54;
+    private static final int VERSION = 1;
+
+    private volatile AtomicLongArray words;
+    private volatile int count;
+    // Set by deletes, cleared once written; only the writer touches it
+    private boolean dirty;
+
+    Tombstones(int size) {
+        this.words = new AtomicLongArray(Math.max(1, (size + 63) >>> 6));
+    }
+
+    boolean isDeleted(int ord) {
+        AtomicLongArray current = words;
+        int word = ord >>> 6;
+        return word < current.length() && (current.get(word) & (1L << ord)) != 0;
+    }
+
+    /**
+     * @return false if the ordinal was already deleted
+     */
+    boolean delete(int ord) {
+        int word = ord >>> 6;
+        AtomicLongArray current = words;
+        if (word >= current.length()) {
+            AtomicLongArray grown = new AtomicLongArray(Math.max(word + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            words = current = grown;
+        }
+        long bits = current.get(word);
+        if ((bits & (1L << ord)) != 0) {
+            return false;
+        }
+        current.set(word, bits | (1L << ord));
+        count++;
+        dirty = true;
+        return true;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /** Deleted ordinals in ascending order, stopping at {@code size}. */
+    int nextDeleted(int from, int size) {
+        AtomicLongArray current = words;
+        for (int ord = from; ord < size; ) {
+            int word = ord >>> 6;
+            if (word >= current.length()) {
+                return -1;
+            }
+            long bits = current.get(word) & (-1L << ord);
+            if (bits != 0) {
+                int next = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return next < size ? next : -1;
+            }
+            ord = (word + 1) << 6;
+        }
+        return -1;
+    }
+
+    /**
+     * @param size ordinals covered, which may be fewer than the words grown to
+     */
+    void write(Path path, int size) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        AtomicLongArray current = words;
+        int length = Math.min(current.length(), Math.max(1, (size + 63) >>> 6));
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(length);
+            for (int i = 0; i < length; i++) {
+                out.writeLong(current.get(i));
+            }
+            out.flush();
+            out.writeLong(crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        dirty = false;
+    }
+
+    /**
+     * @throws IOException if the file is unreadable or fails its checksum; deletes cannot be recovered then
+     */
+    static Tombstones read(Path path, int size) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path)), new CRC32C());
+        try (DataInputStream in = new DataInputStream(checked)) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(path + " is not a tombstones file");
+            }
+            int length = in.readInt();
+            if (length < 0 || length > Math.max(1, (size + 63) >>> 6)) {
+                throw new IOException(path + " does not match a segment of " + size + " vectors");
+            }
+            Tombstones tombstones = new Tombstones(size);
+            int count = 0;
+            for (int i = 0; i < length; i++) {
+                long bits = in.readLong();
+                tombstones.words.set(i, bits);
+                count += Long.bitCount(bits);
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException(path + " failed checksum verification");
+            }
+            tombstones.count = count;
+            return tombstones;
+        }
+    }
+}
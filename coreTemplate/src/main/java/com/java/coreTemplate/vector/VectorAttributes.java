@@ -0,0 +1,143 @@
+package com.java.coreTemplate.vector;
+
+import com.java.coreTemplate.exception.InvalidVectorException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filterable metadata of one vector: each field holds a set of string values, e.g. {@code environment=prod}
+ * or {@code tags={billing, faq}}. Immutable.
+ */
+public final class VectorAttributes {
+    public static final VectorAttributes EMPTY = new VectorAttributes(Map.of());
+
+    private static final int MAX_FIELD_LENGTH = 64;
+    private static final int MAX_VALUE_LENGTH = 256;
+
+    private final Map<String, Set<String>> values;
+
+    private VectorAttributes(Map<String, Set<String>> values) {
+        this.values = values;
+    }
+
+    /**
+     * @throws InvalidVectorException if a field or value is blank or too long
+     */
+    public static VectorAttributes of(Map<String, ? extends Collection<String>> attributes) {
+        if (attributes == null || attributes.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Set<String>> copy = new HashMap<>();
+        attributes.forEach((field, fieldValues) -> {
+            if (field == null || field.isBlank() || field.length() > MAX_FIELD_LENGTH) {
+                throw new InvalidVectorException("Attribute names must be 1-" + MAX_FIELD_LENGTH + " characters");
+            }
+            Set<String> set = new LinkedHashSet<>();
+            if (fieldValues != null) {
+                for (String value : fieldValues) {
+                    if (value == null || value.length() > MAX_VALUE_LENGTH) {
+                        throw new InvalidVectorException("Attribute values must be at most " + MAX_VALUE_LENGTH + " characters");
+                    }
+                    set.add(value);
+                }
+            }
+            if (!set.isEmpty()) {
+                copy.put(field, Set.copyOf(set));
+            }
+        });
+        return copy.isEmpty() ? EMPTY : new VectorAttributes(Map.copyOf(copy));
+    }
+
+    public boolean has(String field, String value) {
+        Set<String> fieldValues = values.get(field);
+        return fieldValues != null && fieldValues.contains(value);
+    }
+
+    public Map<String, Set<String>> asMap() {
+        return values;
+    }
+
+    boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    /**
+     * {@code int fieldCount}, then per field its name, {@code int valueCount} and the values, each string as
+     * {@code int length} plus UTF-8 bytes.
+     */
+    byte[] encode() {
+        if (values.isEmpty()) {
+            return new byte[0];
+        }
+        int bytes = Integer.BYTES;
+        for (Map.Entry<String, Set<String>> entry : values.entrySet()) {
+            bytes += Integer.BYTES * 2 + utf8Length(entry.getKey());
+            for (String value : entry.getValue()) {
+                bytes += Integer.BYTES + utf8Length(value);
+            }
+        }
+        ByteBuffer out = ByteBuffer.allocate(bytes);
+        out.putInt(values.size());
+        values.forEach((field, fieldValues) -> {
+            putString(out, field);
+            out.putInt(fieldValues.size());
+            fieldValues.forEach(value -> putString(out, value));
+        });
+        return out.array();
+    }
+
+    static VectorAttributes decode(ByteBuffer in) {
+        if (!in.hasRemaining()) {
+            return EMPTY;
+        }
+        Map<String, Set<String>> decoded = new HashMap<>();
+        int fields = in.getInt();
+        for (int f = 0; f < fields; f++) {
+            String field = getString(in);
+            int count = in.getInt();
+            Set<String> fieldValues = new LinkedHashSet<>();
+            for (int v = 0; v < count; v++) {
+                fieldValues.add(getString(in));
+            }
+            decoded.put(field, Set.copyOf(fieldValues));
+        }
+        return new VectorAttributes(Map.copyOf(decoded));
+    }
+
+    static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.putInt(bytes.length);
+        out.put(bytes);
+    }
+
+    static String getString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int utf8Length(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof VectorAttributes attributes && values.equals(attributes.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
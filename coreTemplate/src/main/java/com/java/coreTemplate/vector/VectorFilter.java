@@ -0,0 +1,310 @@
+package com.java.coreTemplate.vector;
+
+import com.java.coreTemplate.exception.InvalidFilterException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed attribute filter for vector search, e.g.
+ * <pre>
+ * environment = 'prod' AND (tags IN ('billing', 'faq') OR region != eu)
+ * </pre>
+ * Terms compare one attribute field with a value ({@code =}, {@code !=}, {@code IN (...)}); a term matches
+ * when any of the vector's values for that field equals the value. Terms combine with {@code AND}, {@code OR},
+ * {@code NOT} and parentheses; keywords are case-insensitive. Values are single-quoted ({@code ''} escapes a
+ * quote) or bare words of letters, digits and {@code _ - . :}.
+ */
+public final class VectorFilter {
+    private static final int MAX_LENGTH = 4096;
+    private static final int MAX_DEPTH = 32;
+
+    private final String expression;
+    private final Node root;
+
+    private VectorFilter(String expression, Node root) {
+        this.expression = expression;
+        this.root = root;
+    }
+
+    /**
+     * @return the filter, or null for a null or blank expression
+     * @throws InvalidFilterException if the expression is malformed or too long
+     */
+    public static VectorFilter parse(String expression) {
+        if (expression == null || expression.isBlank()) {
+            return null;
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new InvalidFilterException("Filter expressions are limited to " + MAX_LENGTH + " characters");
+        }
+        Parser parser = new Parser(expression);
+        Node root = parser.or(0);
+        if (parser.peek() != null) {
+            throw parser.error("unexpected '" + parser.peek().text() + "'");
+        }
+        return new VectorFilter(expression, root);
+    }
+
+    /** Ordinals in {@code [0, size)} of a segment that match. */
+    RoaringBitmap evaluate(AttributeIndex index, int size) {
+        return root.evaluate(index, size);
+    }
+
+    boolean test(VectorAttributes attributes) {
+        return root.test(attributes);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private sealed interface Node permits Term, And, Or, Not {
+        RoaringBitmap evaluate(AttributeIndex index, int size);
+
+        boolean test(VectorAttributes attributes);
+    }
+
+    private record Term(String field, String value) implements Node {
+        @Override
+        public RoaringBitmap evaluate(AttributeIndex index, int size) {
+            return index.get(field, value);
+        }
+
+        @Override
+        public boolean test(VectorAttributes attributes) {
+            return attributes.has(field, value);
+        }
+    }
+
+    private record And(List<Node> children) implements Node {
+        @Override
+        public RoaringBitmap evaluate(AttributeIndex index, int size) {
+            // Negated children subtract from the others instead of materializing a complement
+            RoaringBitmap result = null;
+            List<Node> negated = new ArrayList<>();
+            for (Node child : children) {
+                if (child instanceof Not not) {
+                    negated.add(not.child());
+                    continue;
+                }
+                RoaringBitmap bitmap = child.evaluate(index, size);
+                result = result == null ? bitmap : result.and(bitmap);
+            }
+            if (result == null) {
+                result = RoaringBitmap.range(size);
+            }
+            for (Node child : negated) {
+                result = result.andNot(child.evaluate(index, size));
+            }
+            return result;
+        }
+
+        @Override
+        public boolean test(VectorAttributes attributes) {
+            for (Node child : children) {
+                if (!child.test(attributes)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Or(List<Node> children) implements Node {
+        @Override
+        public RoaringBitmap evaluate(AttributeIndex index, int size) {
+            RoaringBitmap result = RoaringBitmap.EMPTY;
+            for (Node child : children) {
+                result = result.or(child.evaluate(index, size));
+            }
+            return result;
+        }
+
+        @Override
+        public boolean test(VectorAttributes attributes) {
+            for (Node child : children) {
+                if (child.test(attributes)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Not(Node child) implements Node {
+        @Override
+        public RoaringBitmap evaluate(AttributeIndex index, int size) {
+            return RoaringBitmap.range(size).andNot(child.evaluate(index, size));
+        }
+
+        @Override
+        public boolean test(VectorAttributes attributes) {
+            return !child.test(attributes);
+        }
+    }
+
+    private record Token(String text, boolean quoted) {
+        boolean is(String keyword) {
+            return !quoted && text.equalsIgnoreCase(keyword);
+        }
+    }
+
+    /**
+     * Recursive descent over {@code or := and (OR and)*}, {@code and := unary (AND unary)*},
+     * {@code unary := NOT unary | ( or ) | field (= | !=) value | field [NOT] IN ( value, ... )}.
+     */
+    private static final class Parser {
+        private final String input;
+        private final List<Token> tokens = new ArrayList<>();
+        private int position;
+
+        Parser(String input) {
+            this.input = input;
+            tokenize();
+        }
+
+        Node or(int depth) {
+            List<Node> children = new ArrayList<>(List.of(and(depth)));
+            while (peek() != null && peek().is("OR")) {
+                position++;
+                children.add(and(depth));
+            }
+            return children.size() == 1 ? children.get(0) : new Or(List.copyOf(children));
+        }
+
+        private Node and(int depth) {
+            List<Node> children = new ArrayList<>(List.of(unary(depth)));
+            while (peek() != null && peek().is("AND")) {
+                position++;
+                children.add(unary(depth));
+            }
+            return children.size() == 1 ? children.get(0) : new And(List.copyOf(children));
+        }
+
+        private Node unary(int depth) {
+            if (depth > MAX_DEPTH) {
+                throw error("nested more than " + MAX_DEPTH + " levels deep");
+            }
+            Token token = next("a condition");
+            if (token.is("NOT")) {
+                return new Not(unary(depth + 1));
+            }
+            if (token.is("(")) {
+                Node inner = or(depth + 1);
+                expect(")");
+                return inner;
+            }
+            if (token.quoted() || !isWord(token.text())) {
+                throw error("expected an attribute name, got '" + token.text() + "'");
+            }
+            String field = token.text();
+            Token operator = next("'=', '!=' or IN");
+            if (operator.is("=")) {
+                return new Term(field, value());
+            }
+            if (operator.is("!=")) {
+                return new Not(new Term(field, value()));
+            }
+            boolean negated = operator.is("NOT");
+            if (negated) {
+                operator = next("IN");
+            }
+            if (!operator.is("IN")) {
+                throw error("expected '=', '!=' or IN after " + field);
+            }
+            expect("(");
+            List<Node> values = new ArrayList<>(List.of(new Term(field, value())));
+            while (peek() != null && peek().is(",")) {
+                position++;
+                values.add(new Term(field, value()));
+            }
+            expect(")");
+            Node in = values.size() == 1 ? values.get(0) : new Or(List.copyOf(values));
+            return negated ? new Not(in) : in;
+        }
+
+        private String value() {
+            Token token = next("a value");
+            if (!token.quoted() && !isWord(token.text())) {
+                throw error("expected a value, got '" + token.text() + "'");
+            }
+            return token.text();
+        }
+
+        private void expect(String symbol) {
+            if (!next("'" + symbol + "'").is(symbol)) {
+                throw error("expected '" + symbol + "'");
+            }
+        }
+
+        Token peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        private Token next(String expected) {
+            if (position >= tokens.size()) {
+                throw error("expected " + expected + " at end of expression");
+            }
+            return tokens.get(position++);
+        }
+
+        InvalidFilterException error(String message) {
+            return new InvalidFilterException("Invalid filter '" + input + "': " + message);
+        }
+
+        private void tokenize() {
+            int i = 0;
+            while (i < input.length()) {
+                char c = input.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '\'') {
+                    StringBuilder value = new StringBuilder();
+                    i++;
+                    while (true) {
+                        if (i >= input.length()) {
+                            throw error("unterminated quoted value");
+                        }
+                        if (input.charAt(i) == '\'') {
+                            if (i + 1 < input.length() && input.charAt(i + 1) == '\'') {
+                                value.append('\'');
+                                i += 2;
+                                continue;
+                            }
+                            i++;
+                            break;
+                        }
+                        value.append(input.charAt(i++));
+                    }
+                    tokens.add(new Token(value.toString(), true));
+                } else if (c == '!' && i + 1 < input.length() && input.charAt(i + 1) == '=') {
+                    tokens.add(new Token("!=", false));
+                    i += 2;
+                } else if (c == '(' || c == ')' || c == ',' || c == '=') {
+                    tokens.add(new Token(String.valueOf(c), false));
+                    i++;
+                } else if (isWordChar(c)) {
+                    int start = i;
+                    while (i < input.length() && isWordChar(input.charAt(i))) {
+                        i++;
+                    }
+                    tokens.add(new Token(input.substring(start, i), false));
+                } else {
+                    throw error("unexpected character '" + c + "'");
+                }
+            }
+        }
+
+        private static boolean isWord(String text) {
+            return !text.isEmpty() && text.chars().allMatch(c -> isWordChar((char) c))
+                    && !List.of("AND", "OR", "NOT", "IN").contains(text.toUpperCase(Locale.ROOT));
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == ':';
+        }
+    }
+}
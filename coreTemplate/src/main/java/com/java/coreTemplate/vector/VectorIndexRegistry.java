@@ -0,0 +1,260 @@
+package com.java.coreTemplate.vector;
+
+import com.java.coreTemplate.config.VectorQuantizationProperties;
+import com.java.coreTemplate.exception.ResourceNotFoundException;
+import com.java.coreTemplate.repository.DatabaseIntegrationVectorStoresRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * One {@link HnswIndex} per {@code DatabaseIntegrationVectorStores} row, created on first insert with the
+ * dimension of that first vector. With {@code vector-index.directory} set, each index persists under
+ * {@code store-<id>} there and is reopened at startup; otherwise indexes are memory-only.
+ * Merges, compaction of deleted vectors, checksum verification and quantization run on one background thread.
+ * Search results are cached by query embedding in a {@link SemanticSearchCache}, invalidated per store on
+ * every write.
+ */
+@Slf4j
+@Service
+public class VectorIndexRegistry {
+    private static final String STORE_PREFIX = "store-";
+
+    private final DatabaseIntegrationVectorStoresRepository storeRepository;
+    private final Map<Long, HnswIndex> indexes = new ConcurrentHashMap<>();
+    private final VectorMetric metric;
+    private final HnswParameters parameters;
+    private final IndexSettings settings;
+    private final VectorQuantizationProperties quantization;
+    private final Path directory;
+    private final ExecutorService maintenance;
+    private final Timer searchTimer;
+    private final SemanticSearchCache searchCache;
+
+    public VectorIndexRegistry(DatabaseIntegrationVectorStoresRepository storeRepository,
+                               MeterRegistry meterRegistry,
+                               VectorQuantizationProperties quantization,
+                               @Value("${vector-index.metric:cosine}") String metric,
+                               @Value("${vector-index.hnsw.m:16}") int m,
+                               @Value("${vector-index.hnsw.ef-construction:100}") int efConstruction,
+                               @Value("${vector-index.hnsw.ef-search:64}") int efSearch,
+                               @Value("${vector-index.directory:}") String directory,
+                               @Value("${vector-index.flush-threshold:20000}") int flushThreshold,
+                               @Value("${vector-index.merge.max-segments:8}") int maxSegments,
+                               @Value("${vector-index.merge.factor:4}") int mergeFactor,
+                               @Value("${vector-index.compaction.deletes-ratio:0.2}") double compactionRatio,
+                               @Value("${vector-index.search-cache.max-entries-per-store:256}") int cacheEntriesPerStore,
+                               @Value("${vector-index.search-cache.ttl:10m}") Duration cacheTtl,
+                               @Value("${vector-index.search-cache.similarity-threshold:0.98}") double cacheThreshold) {
+        this.storeRepository = storeRepository;
+        this.metric = VectorMetric.valueOf(metric.toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.parameters = new HnswParameters(m, efConstruction, efSearch, 42L);
+        this.settings = new IndexSettings(flushThreshold, maxSegments, mergeFactor, compactionRatio);
+        this.quantization = quantization;
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.maintenance = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vector-index-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.searchTimer = Timer.builder("vector.search")
+                .description("Nearest-neighbor queries against in-process vector indexes")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("vector.index.vectors", indexes, all -> all.values().stream().mapToLong(HnswIndex::size).sum())
+                .register(meterRegistry);
+        Gauge.builder("vector.index.segments", indexes, all -> all.values().stream().mapToLong(HnswIndex::segmentCount).sum())
+                .register(meterRegistry);
+        Gauge.builder("vector.index.heap", indexes, all -> all.values().stream().mapToLong(HnswIndex::ramBytesUsed).sum())
+                .description("Heap held by memtables and quantized codes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.searchCache = new SemanticSearchCache(cacheEntriesPerStore, cacheTtl, cacheThreshold);
+        FunctionCounter.builder("vector.search.cache.requests", searchCache, SemanticSearchCache::hitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("vector.search.cache.requests", searchCache, SemanticSearchCache::missCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("vector.search.cache.invalidations", searchCache, SemanticSearchCache::invalidationCount)
+                .register(meterRegistry);
+        Gauge.builder("vector.search.cache.size", searchCache, SemanticSearchCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Maps every persisted index. Only headers are read here; segment pages load on first use.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void openPersistedIndexes() throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (DirectoryStream<Path> stores = Files.newDirectoryStream(directory, STORE_PREFIX + "*")) {
+            for (Path store : stores) {
+                if (!Files.exists(store.resolve(HnswIndex.MANIFEST))) {
+                    continue;
+                }
+                long storeId = Long.parseLong(store.getFileName().toString().substring(STORE_PREFIX.length()));
+                indexes.put(storeId, HnswIndex.open(store, parameters, settings, quantization.forStore(storeId),
+                        maintenance));
+            }
+        }
+        log.info("Opened {} vector indexes ({} vectors) in {} ms", indexes.size(),
+                indexes.values().stream().mapToLong(HnswIndex::size).sum(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds a vector to the store's index, creating the index if this is the store's first vector.
+     *
+     * @param attributes filterable metadata of the vector, e.g. {@code environment -> [prod]}; may be null
+     * @throws ResourceNotFoundException if the vector store does not exist
+     */
+    public void add(long storeId, long id, float[] vector, Map<String, List<String>> attributes) {
+        VectorAttributes parsed = VectorAttributes.of(attributes);
+        indexFor(storeId, vector).add(id, vector, parsed);
+        searchCache.invalidate(storeId);
+    }
+
+    /**
+     * Adds a vector or replaces the one indexed under the same id, creating the index if needed.
+     *
+     * @return true if a vector was replaced
+     * @throws ResourceNotFoundException if the vector store does not exist
+     */
+    public boolean upsert(long storeId, long id, float[] vector, Map<String, List<String>> attributes) {
+        VectorAttributes parsed = VectorAttributes.of(attributes);
+        boolean replaced = indexFor(storeId, vector).upsert(id, vector, parsed);
+        searchCache.invalidate(storeId);
+        return replaced;
+    }
+
+    /**
+     * Deletes one vector; searches stop returning it immediately.
+     *
+     * @throws ResourceNotFoundException if the store has no index or no vector with that id
+     */
+    public void delete(long storeId, long id) {
+        HnswIndex index = find(storeId).orElseThrow(
+                () -> new ResourceNotFoundException("No vectors indexed for vector store " + storeId));
+        if (!index.delete(id)) {
+            throw new ResourceNotFoundException("Vector " + id + " not found in vector store " + storeId);
+        }
+        searchCache.invalidate(storeId);
+    }
+
+    /**
+     * Removes the store's index and its files, if it has one. Called once the store itself is deleted.
+     */
+    public void drop(long storeId) {
+        HnswIndex index = indexes.remove(storeId);
+        searchCache.invalidate(storeId);
+        if (index == null || directory == null) {
+            return;
+        }
+        Path store = directory.resolve(STORE_PREFIX + storeId);
+        try {
+            index.close();
+            try (Stream<Path> files = Files.walk(store)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            log.info("Dropped vector index of store {}", storeId);
+        } catch (IOException e) {
+            log.error("Failed to delete vector index files of store {} in {}", storeId, store, e);
+        }
+    }
+
+    /**
+     * Searches the store's index, or returns the cached result of a search with the same options and a
+     * query embedding within the cache's similarity threshold.
+     *
+     * @param filter {@link VectorFilter} expression over vector attributes; null or blank matches everything
+     * @throws ResourceNotFoundException if the store has no index yet
+     * @throws com.java.coreTemplate.exception.InvalidFilterException if the filter does not parse
+     */
+    public List<HnswIndex.Hit> search(long storeId, float[] query, int k, Integer efSearch, String filter) {
+        VectorFilter parsed = VectorFilter.parse(filter);
+        HnswIndex index = find(storeId).orElseThrow(
+                () -> new ResourceNotFoundException("No vectors indexed for vector store " + storeId));
+        SearchOptions options = new SearchOptions(k, efSearch, parsed == null ? null : parsed.toString());
+        return searchCache.get(storeId, options, query,
+                () -> searchTimer.record(() -> index.search(query, k, efSearch, parsed)));
+    }
+
+    public Optional<HnswIndex> find(long storeId) {
+        return Optional.ofNullable(indexes.get(storeId));
+    }
+
+    /**
+     * Stops background work and flushes every memtable, so the next start has no log to replay.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        maintenance.shutdown();
+        if (!maintenance.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Vector index maintenance did not finish within 30s; interrupting");
+            maintenance.shutdownNow();
+        }
+        for (Map.Entry<Long, HnswIndex> entry : indexes.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (IOException e) {
+                log.error("Failed to flush vector index of store {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private HnswIndex indexFor(long storeId, float[] firstVector) {
+        HnswIndex index = indexes.get(storeId);
+        if (index == null) {
+            if (!storeRepository.existsById(storeId)) {
+                throw new ResourceNotFoundException("DatabaseIntegrationVectorStores with id " + storeId + " not found");
+            }
+            int dimension = firstVector == null ? 0 : firstVector.length;
+            index = indexes.computeIfAbsent(storeId, key -> createIndex(key, dimension));
+        }
+        return index;
+    }
+
+    private HnswIndex createIndex(long storeId, int dimension) {
+        if (directory == null) {
+            return new HnswIndex(dimension, metric, parameters, settings.compactionRatio());
+        }
+        try {
+            return HnswIndex.create(directory.resolve(STORE_PREFIX + storeId), dimension, metric, parameters,
+                    settings, quantization.forStore(storeId), maintenance);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create vector index for store " + storeId, e);
+        }
+    }
+
+    private record SearchOptions(int k, Integer efSearch, String filter) {
+    }
+}
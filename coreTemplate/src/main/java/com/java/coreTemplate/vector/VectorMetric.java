@@ -0,0 +1,83 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * Similarity functions. Every metric returns a score where higher means more similar, so search code
+ * never needs to know which one is in use.
+ */
+public enum VectorMetric {
+    /** Vectors are normalized to unit length on the way in, after which cosine is the dot product. */
+    COSINE {
+        @Override
+        public float score(float[] a, int aOffset, float[] b, int bOffset, int dimension) {
+            return dot(a, aOffset, b, bOffset, dimension);
+        }
+    },
+    DOT_PRODUCT {
+        @Override
+        public float score(float[] a, int aOffset, float[] b, int bOffset, int dimension) {
+            return dot(a, aOffset, b, bOffset, dimension);
+        }
+    },
+    /** {@code 1 / (1 + squared distance)}: monotonic in distance and bounded to (0, 1]. */
+    EUCLIDEAN {
+        @Override
+        public float score(float[] a, int aOffset, float[] b, int bOffset, int dimension) {
+            return 1f / (1f + squareDistance(a, aOffset, b, bOffset, dimension));
+        }
+    };
+
+    public abstract float score(float[] a, int aOffset, float[] b, int bOffset, int dimension);
+
+    public boolean normalizesVectors() {
+        return this == COSINE;
+    }
+
+    /**
+     * Scales the vector to unit length in place; a zero vector is left unchanged.
+     */
+    public static void normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, 0, vector, 0, vector.length));
+        if (norm > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] /= norm;
+            }
+        }
+    }
+
+    // Four independent accumulators break the dependency chain so the loop pipelines; float addition is not
+    // associative, so the JIT will not do this by itself
+    static float dot(float[] a, int aOffset, float[] b, int bOffset, int dimension) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int bound = dimension & ~3; i < bound; i += 4) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+            s1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            s2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            s3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < dimension; i++) {
+            s0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    static float squareDistance(float[] a, int aOffset, float[] b, int bOffset, int dimension) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (int bound = dimension & ~3; i < bound; i += 4) {
+            float d0 = a[aOffset + i] - b[bOffset + i];
+            float d1 = a[aOffset + i + 1] - b[bOffset + i + 1];
+            float d2 = a[aOffset + i + 2] - b[bOffset + i + 2];
+            float d3 = a[aOffset + i + 3] - b[bOffset + i + 3];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+        for (; i < dimension; i++) {
+            float d = a[aOffset + i] - b[bOffset + i];
+            s0 += d * d;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
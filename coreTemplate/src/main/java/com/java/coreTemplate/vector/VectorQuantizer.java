@@ -0,0 +1,29 @@
+package com.java.coreTemplate.vector;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Encodes vectors into fixed-width byte codes and scores full-precision queries against them
+ * (asymmetric distance: only the stored side loses precision). Scores follow {@link VectorMetric}'s
+ * higher-is-better convention but are approximations, so callers re-rank with exact scores.
+ */
+interface VectorQuantizer {
+
+    Quantization type();
+
+    int codeBytes();
+
+    void encode(float[] vector, byte[] codes, int offset);
+
+    /**
+     * Returns a scorer of {@code query} against the codes of every ordinal, laid out back to back.
+     */
+    VectorScorer scorer(float[] query, byte[] codes);
+
+    /** Heap held by the quantizer's own parameters, excluding codes. */
+    long ramBytesUsed();
+
+    /** Writes the quantizer's parameters; {@link QuantizedVectors} reads them back by type. */
+    void writeTo(DataOutput out) throws IOException;
+}
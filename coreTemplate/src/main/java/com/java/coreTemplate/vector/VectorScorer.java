@@ -0,0 +1,10 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * Scores stored vectors against one fixed query. Higher is more similar.
+ */
+@FunctionalInterface
+public interface VectorScorer {
+
+    float score(int ord);
+}
@@ -0,0 +1,23 @@
+package com.java.coreTemplate.vector;
+
+/**
+ * Random access to the vectors of an index by ordinal ({@code 0 .. size() - 1}).
+ */
+public interface VectorValues {
+
+    int size();
+
+    int dimension();
+
+    VectorMetric metric();
+
+    /**
+     * Returns a scorer for the query, which must already be normalized if the metric requires it.
+     */
+    VectorScorer scorer(float[] query);
+
+    /**
+     * Score between two stored vectors; used when choosing graph neighbors.
+     */
+    float score(int ordA, int ordB);
+}
@@ -0,0 +1,150 @@
+package com.java.coreTemplate.vector;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of changes not yet flushed to a segment, replayed into a fresh memtable on open.
+ * An insert is {@code (long id, int attributeLength, float[dimension] vector, byte[attributeLength]
+ * attributes, int crc32c)} and a delete is {@code (long id, int -1, int crc32c)}; replay stops at the first
+ * torn or corrupt record and truncates the log there.
+ * Appends are not forced to disk individually, so they survive a process crash but not necessarily a
+ * power loss.
+ */
+final class WriteAheadLog implements Closeable {
+    private static final int MAX_ATTRIBUTE_BYTES = 1 << 24;
+    private static final int DELETE = -1;
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final int dimension;
+    private final int fixedBytes;
+    private ByteBuffer record;
+    private final CRC32C crc = new CRC32C();
+
+    WriteAheadLog(Path path, int dimension) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.dimension = dimension;
+        this.fixedBytes = HEADER_BYTES + dimension * Float.BYTES;
+        this.record = ByteBuffer.allocate(fixedBytes + Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    interface Replay {
+        void add(long id, float[] vector, VectorAttributes attributes);
+
+        void delete(long id);
+    }
+
+    /**
+     * Feeds every intact record to {@code replay} in order, then positions the log for appends after them.
+     *
+     * @return the number of records replayed
+     */
+    int replay(Replay replay) throws IOException {
+        long position = 0;
+        int records = 0;
+        while (true) {
+            record.clear().limit(HEADER_BYTES);
+            if (!readFully(position)) {
+                break;
+            }
+            int attributeBytes = record.getInt(Long.BYTES);
+            boolean delete = attributeBytes == DELETE;
+            if (!delete && (attributeBytes < 0 || attributeBytes > MAX_ATTRIBUTE_BYTES)) {
+                break;
+            }
+            int payload = delete ? HEADER_BYTES : fixedBytes + attributeBytes;
+            ensureCapacity(payload + Integer.BYTES);
+            record.limit(payload + Integer.BYTES).position(HEADER_BYTES);
+            if (!readFully(position)) {
+                break;
+            }
+            crc.reset();
+            crc.update(record.array(), 0, payload);
+            if ((int) crc.getValue() != record.getInt(payload)) {
+                break;
+            }
+            if (delete) {
+                replay.delete(record.getLong(0));
+            } else {
+                float[] vector = new float[dimension];
+                for (int i = 0; i < dimension; i++) {
+                    vector[i] = record.getFloat(HEADER_BYTES + i * Float.BYTES);
+                }
+                VectorAttributes attributes = VectorAttributes.decode(ByteBuffer.wrap(record.array(), fixedBytes, attributeBytes));
+                replay.add(record.getLong(0), vector, attributes);
+            }
+            position += payload + Integer.BYTES;
+            records++;
+        }
+        channel.truncate(position);
+        channel.position(position);
+        return records;
+    }
+
+    void append(long id, float[] vector, VectorAttributes attributes) throws IOException {
+        byte[] attributeBytes = attributes.encode();
+        ensureCapacity(fixedBytes + attributeBytes.length + Integer.BYTES);
+        record.clear();
+        record.putLong(id);
+        record.putInt(attributeBytes.length);
+        for (float component : vector) {
+            record.putFloat(component);
+        }
+        record.put(attributeBytes);
+        writeRecord();
+    }
+
+    void appendDelete(long id) throws IOException {
+        record.clear();
+        record.putLong(id);
+        record.putInt(DELETE);
+        writeRecord();
+    }
+
+    private void writeRecord() throws IOException {
+        crc.reset();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+    }
+
+    /** Reads from the record's position to its limit; false at end of file. */
+    private boolean readFully(long recordStart) throws IOException {
+        while (record.hasRemaining()) {
+            if (channel.read(record, recordStart + record.position()) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (record.capacity() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(bytes, record.capacity() * 2)).order(ByteOrder.LITTLE_ENDIAN);
+            larger.put(record.array(), 0, record.capacity());
+            record = larger;
+        }
+    }
+
+    /** Discards every record; called once their vectors are durable in a segment. */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
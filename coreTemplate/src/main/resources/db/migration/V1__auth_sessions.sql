@@ -0,0 +1,11 @@
+-- Shared session table for JdbcSessionStore (auth.session.store=jdbc)
+CREATE TABLE IF NOT EXISTS auth_sessions (
+    session_id          VARCHAR(128) PRIMARY KEY,
+    user_id             VARCHAR(255) NOT NULL,
+    created_at          TIMESTAMP    NOT NULL,
+    last_accessed_at    TIMESTAMP    NOT NULL,
+    expires_at          TIMESTAMP    NOT NULL,
+    absolute_expires_at TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_auth_sessions_expires_at ON auth_sessions (expires_at);
@@ -0,0 +1,12 @@
+-- Composite indexes backing cursor pagination: WHERE (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_recommender_created_at_id
+    ON recommender (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_user_feedback_module_created_at_id
+    ON "user feedback module" (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_database_integration_vector_stores_created_at_id
+    ON "database integration & vector stores" (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_configuration_validation_utilities_created_at_id
+    ON "configuration & validation utilities" (created_at DESC, id DESC);
@@ -0,0 +1,10 @@
+-- Hibernate now assigns ids from this sequence with a pooled optimizer (allocationSize = 50),
+-- which lets feedback inserts be batched. INCREMENT BY must match the allocation size.
+CREATE SEQUENCE IF NOT EXISTS user_feedback_module_seq INCREMENT BY 50;
+
+SELECT setval('user_feedback_module_seq', COALESCE((SELECT MAX(id) FROM "user feedback module"), 0) + 50);
+
+-- A column default drawing from another sequence would hand out ids inside Hibernate's
+-- pre-allocated blocks, so ids must always come from the application.
+ALTER TABLE "user feedback module" ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE "user feedback module" ALTER COLUMN id DROP DEFAULT;
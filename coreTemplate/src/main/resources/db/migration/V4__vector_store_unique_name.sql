@@ -0,0 +1,4 @@
+-- Bulk loads merge on name (INSERT ... ON CONFLICT (name)), which needs a unique index to arbitrate.
+-- Fails if duplicate names already exist; de-duplicate them before applying.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_database_integration_vector_stores_name
+    ON "database integration & vector stores" (name);
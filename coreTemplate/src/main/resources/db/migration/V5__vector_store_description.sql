@@ -0,0 +1,2 @@
+-- Free-text description, searched together with name, tags and metadata by the in-process BM25 index.
+ALTER TABLE "database integration & vector stores" ADD COLUMN IF NOT EXISTS description TEXT;
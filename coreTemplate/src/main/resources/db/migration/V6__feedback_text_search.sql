@@ -0,0 +1,19 @@
+-- Full-text search over feedback: name matches (weight A) rank above description matches (weight B).
+-- Adding a stored generated column rewrites the table under an exclusive lock; apply off-peak.
+ALTER TABLE "user feedback module" ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_user_feedback_module_search_vector
+    ON "user feedback module" USING gin (search_vector);
+
+-- Trigram indexes serve the fuzzy fallback (word_similarity via <%) for misspelled terms
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_user_feedback_module_name_trgm
+    ON "user feedback module" USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_user_feedback_module_description_trgm
+    ON "user feedback module" USING gin (description gin_trgm_ops);
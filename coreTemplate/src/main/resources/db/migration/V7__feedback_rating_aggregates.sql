@@ -0,0 +1,18 @@
+-- Rating count, sum and 1-5 histogram of "user feedback module", overall (scope_key 0), per user (user_id)
+-- and per day (feedback_date in days since 1970-01-01). FeedbackRatingAggregates adds each write's deltas in
+-- the writing transaction. The overall row and today's row would serialize every writer on one row lock,
+-- so each transaction adds to one of several slots and readers sum them.
+-- Left empty here: the first reconciliation run after startup fills it from the feedback table.
+CREATE TABLE IF NOT EXISTS feedback_rating_aggregate (
+    scope        VARCHAR(16) NOT NULL,
+    scope_key    BIGINT      NOT NULL,
+    slot         SMALLINT    NOT NULL,
+    rating_count BIGINT      NOT NULL,
+    rating_sum   BIGINT      NOT NULL,
+    rating_1     BIGINT      NOT NULL,
+    rating_2     BIGINT      NOT NULL,
+    rating_3     BIGINT      NOT NULL,
+    rating_4     BIGINT      NOT NULL,
+    rating_5     BIGINT      NOT NULL,
+    PRIMARY KEY (scope, scope_key, slot)
+);
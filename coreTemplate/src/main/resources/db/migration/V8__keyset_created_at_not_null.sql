@@ -0,0 +1,18 @@
+-- Keyset pagination orders and seeks on (created_at, id). A NULL created_at sorts first under DESC,
+-- cannot be encoded in a cursor, and never satisfies the row-value seek, so paging stopped at such rows.
+-- Legacy rows take their last update time, or the epoch when that is missing too, and sort last.
+UPDATE recommender
+   SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+ALTER TABLE recommender ALTER COLUMN created_at SET NOT NULL;
+
+UPDATE "user feedback module"
+   SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+ALTER TABLE "user feedback module" ALTER COLUMN created_at SET NOT NULL;
+
+UPDATE "database integration & vector stores"
+   SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+ALTER TABLE "database integration & vector stores" ALTER COLUMN created_at SET NOT NULL;
+
+UPDATE "configuration & validation utilities"
+   SET created_at = COALESCE(updated_at, TIMESTAMP '1970-01-01 00:00:00') WHERE created_at IS NULL;
+ALTER TABLE "configuration & validation utilities" ALTER COLUMN created_at SET NOT NULL;
@@ -0,0 +1,111 @@
+package com.java.coreTemplate.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Two nodes sharing one {@code auth_sessions} table, each with its own servlet container: a session
+ * created on one node has to be accepted, and logged out, on the other without sticky routing.
+ */
+class AuthFilterTest {
+
+    private EmbeddedDatabase database;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/migration/V1__auth_sessions.sql")
+                .build();
+        nodeA = new Node(new JdbcTemplate(database));
+        nodeB = new Node(new JdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void sessionCreatedOnOneNodeAuthenticatesOnAnother() throws Exception {
+        String sessionId = nodeA.sessions.createSession("alice", new MockHttpServletRequest());
+
+        MockHttpServletRequest request = requestWithSession(sessionId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        nodeB.filter.doFilter(request, response, chain);
+
+        assertNotNull(chain.getRequest(), "request should reach the protected resource");
+        assertEquals(200, response.getStatus());
+        // Node B never had (and must not make) a container session for it
+        assertNull(request.getSession(false));
+        assertEquals("alice", nodeB.sessions.getUserIdFromSession(sessionId));
+    }
+
+    @Test
+    void logoutOnOneNodeIsHonouredByAnother() throws Exception {
+        MockHttpServletRequest login = new MockHttpServletRequest();
+        String sessionId = nodeA.sessions.createSession("alice", login);
+
+        MockHttpServletRequest logout = requestWithSession(sessionId);
+        nodeB.sessions.invalidateSession(nodeB.sessions.getRequestedSessionId(logout), logout);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        nodeA.filter.doFilter(requestWithSession(sessionId), response, chain);
+        assertNull(chain.getRequest());
+        assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    void unknownOrMissingSessionsAreRejected() throws Exception {
+        for (MockHttpServletRequest request : new MockHttpServletRequest[] {
+                requestWithSession("forged"), new MockHttpServletRequest() }) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            nodeB.filter.doFilter(request, response, chain);
+            assertNull(chain.getRequest());
+            assertEquals(401, response.getStatus());
+        }
+    }
+
+    /** A request carrying the session cookie, as the container parses it on a node without that session. */
+    private static MockHttpServletRequest requestWithSession(String sessionId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie("JSESSIONID", sessionId));
+        request.setRequestedSessionId(sessionId);
+        request.setRequestedSessionIdFromCookie(true);
+        return request;
+    }
+
+    private static final class Node {
+        private final SessionAuthService sessions;
+        private final AuthFilter filter;
+
+        private Node(JdbcTemplate jdbcTemplate) {
+            // No near cache, so a logout elsewhere is seen on the next request
+            sessions = new SessionAuthService(new JdbcSessionStore(jdbcTemplate, Duration.ofMinutes(30), Duration.ofHours(12),
+                    Duration.ZERO, 1000));
+            filter = new AuthFilter(sessions, mock(JwtClaimsCache.class));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.java.coreTemplate.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringSessionStoreTest {
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void idleSessionsExpire() {
+        ExpiringSessionStore store = store(Duration.ofMinutes(30), Duration.ofHours(12), 100);
+        store.put("s1", "alice");
+        store.put("s2", "bob");
+
+        advance(Duration.ofMinutes(29));
+        assertEquals("alice", store.getUserId("s1").orElseThrow());
+        advance(Duration.ofMinutes(2));
+        // s1 was read a minute ago; s2 has been idle for 31 minutes
+        assertTrue(store.getUserId("s1").isPresent());
+        assertFalse(store.getUserId("s2").isPresent());
+
+        advance(Duration.ofMinutes(30));
+        assertFalse(store.getUserId("s1").isPresent());
+    }
+
+    @Test
+    void activityCannotExtendASessionPastTheAbsoluteTimeout() {
+        ExpiringSessionStore store = store(Duration.ofMinutes(30), Duration.ofHours(2), 100);
+        store.put("s1", "alice");
+
+        // A read every 20 minutes keeps the idle window open until the absolute deadline
+        for (int i = 0; i < 5; i++) {
+            advance(Duration.ofMinutes(20));
+            assertTrue(store.getUserId("s1").isPresent(), "after " + (i + 1) * 20 + " minutes");
+        }
+        advance(Duration.ofMinutes(19));
+        assertTrue(store.getUserId("s1").isPresent());
+        advance(Duration.ofMinutes(1));
+        assertFalse(store.getUserId("s1").isPresent());
+    }
+
+    @Test
+    void absoluteTimeoutShorterThanIdleTimeoutWins() {
+        ExpiringSessionStore store = store(Duration.ofHours(1), Duration.ofMinutes(10), 100);
+        store.put("s1", "alice");
+        advance(Duration.ofMinutes(9));
+        assertTrue(store.getUserId("s1").isPresent());
+        advance(Duration.ofMinutes(1));
+        assertFalse(store.getUserId("s1").isPresent());
+    }
+
+    @Test
+    void removedSessionsAreGone() {
+        ExpiringSessionStore store = store(Duration.ofMinutes(30), Duration.ofHours(12), 100);
+        store.put("s1", "alice");
+        store.remove("s1");
+        store.remove("missing");
+        assertFalse(store.getUserId("s1").isPresent());
+    }
+
+    @Test
+    void sessionCountStaysWithinTheBound() {
+        ExpiringSessionStore store = store(Duration.ofMinutes(30), Duration.ofHours(12), 50);
+        for (int i = 0; i < 1000; i++) {
+            store.put("s" + i, "user" + i);
+        }
+        int live = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (store.getUserId("s" + i).isPresent()) {
+                live++;
+            }
+        }
+        assertTrue(live > 0 && live <= 50, live + " live sessions");
+    }
+
+    private ExpiringSessionStore store(Duration idleTimeout, Duration absoluteTimeout, long maxSessions) {
+        // Maintenance runs on the calling thread, so size-based eviction is done by the time put returns
+        return new ExpiringSessionStore(idleTimeout, absoluteTimeout, maxSessions, nanos::get, Runnable::run);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
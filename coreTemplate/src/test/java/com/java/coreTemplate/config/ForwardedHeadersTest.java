@@ -0,0 +1,78 @@
+package com.java.coreTemplate.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The login limiter keys on {@link HttpServletRequest#getRemoteAddr()}. Behind the load balancer that is
+ * the balancer's address unless the container takes the client from {@code X-Forwarded-For}, which the
+ * server settings in application.yml turn on for trusted (internal) proxies only.
+ */
+@SpringBootTest(classes = ForwardedHeadersTest.EchoApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ForwardedHeadersTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void clientAddressComesFromTheTrustedProxyChain() throws Exception {
+        // The test connects from loopback, an internal proxy; 10.0.0.5 is another hop inside the network
+        assertEquals("203.0.113.7", remoteAddr("203.0.113.7, 10.0.0.5"));
+        assertEquals("198.51.100.2", remoteAddr("198.51.100.2"));
+    }
+
+    @Test
+    void withoutTheHeaderThePeerAddressIsUsed() throws Exception {
+        assertEquals("127.0.0.1", remoteAddr(null));
+    }
+
+    private String remoteAddr(String forwardedFor) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/remote-addr"));
+        if (forwardedFor != null) {
+            request.header("X-Forwarded-For", forwardedFor);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class
+    })
+    static class EchoApplication {
+
+        @RestController
+        static class EchoController {
+
+            @GetMapping("/remote-addr")
+            String remoteAddr(HttpServletRequest request) {
+                return request.getRemoteAddr();
+            }
+        }
+    }
+}
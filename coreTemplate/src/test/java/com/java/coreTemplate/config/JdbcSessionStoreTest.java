@@ -0,0 +1,74 @@
+package com.java.coreTemplate.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JdbcSessionStoreTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("db/migration/V1__auth_sessions.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void sessionCreatedOnOneNodeIsVisibleOnAnother() {
+        JdbcSessionStore nodeA = store(Duration.ofSeconds(30), Duration.ofMinutes(5));
+        JdbcSessionStore nodeB = store(Duration.ofSeconds(30), Duration.ofMinutes(5));
+
+        nodeA.put("session-1", "alice");
+
+        assertEquals("alice", nodeB.getUserId("session-1").orElseThrow());
+    }
+
+    @Test
+    void logoutIsVisibleToOtherNodesOnceTheirNearCacheLapses() {
+        JdbcSessionStore nodeA = store(Duration.ofSeconds(30), Duration.ofMinutes(5));
+        JdbcSessionStore nodeB = store(Duration.ZERO, Duration.ofMinutes(5));
+
+        nodeA.put("session-1", "alice");
+        assertTrue(nodeB.getUserId("session-1").isPresent());
+
+        nodeA.remove("session-1");
+
+        assertTrue(nodeA.getUserId("session-1").isEmpty());
+        assertTrue(nodeB.getUserId("session-1").isEmpty());
+    }
+
+    @Test
+    void expiredSessionsAreRejectedAndPurged() {
+        JdbcSessionStore store = store(Duration.ZERO, Duration.ZERO);
+
+        store.put("session-1", "alice");
+
+        assertTrue(store.getUserId("session-1").isEmpty());
+        store.purgeExpired();
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auth_sessions", Integer.class));
+    }
+
+    private JdbcSessionStore store(Duration nearCacheTtl, Duration idleTimeout) {
+        return new JdbcSessionStore(jdbcTemplate, idleTimeout, Duration.ofHours(12), nearCacheTtl, 1000);
+    }
+}
@@ -0,0 +1,134 @@
+package com.java.coreTemplate.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtClaimsCacheTest {
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-06-01T00:00:00Z"));
+
+    @Test
+    void repeatTokensSkipVerification() {
+        JwtTokenUtil jwtTokenUtil = spy(new JwtTokenUtil(keyring(null), clock));
+        JwtClaimsCache cache = new JwtClaimsCache(jwtTokenUtil, 100, clock, () -> 0L);
+        String token = jwtTokenUtil.generateToken("alice", Map.of("role", "admin"));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("alice", cache.getVerifiedClaims(token).orElseThrow().getSubject());
+        }
+        verify(jwtTokenUtil, times(1)).parseSignedToken(token);
+
+        cache.invalidateAll();
+        assertTrue(cache.getVerifiedClaims(token).isPresent());
+        verify(jwtTokenUtil, times(2)).parseSignedToken(token);
+    }
+
+    @Test
+    void expiredTokenIsRejectedWhileStillCached() {
+        JwtTokenUtil jwtTokenUtil = spy(new JwtTokenUtil(keyring(null), clock));
+        // The cache's own clock never advances, so the entry outlives the token
+        JwtClaimsCache cache = new JwtClaimsCache(jwtTokenUtil, 100, clock, () -> 0L);
+        String token = jwtTokenUtil.generateToken("alice", Map.of());
+        assertTrue(cache.getVerifiedClaims(token).isPresent());
+
+        clock.advance(Duration.ofHours(23).plusMinutes(59));
+        assertTrue(cache.getVerifiedClaims(token).isPresent());
+        verify(jwtTokenUtil, times(1)).parseSignedToken(token);
+
+        clock.advance(Duration.ofMinutes(2));
+        assertFalse(cache.getVerifiedClaims(token).isPresent());
+        // The stale entry was dropped and the full parse rejected the token too
+        verify(jwtTokenUtil, times(2)).parseSignedToken(token);
+        assertFalse(cache.getVerifiedClaims(token).isPresent());
+        verify(jwtTokenUtil, times(3)).parseSignedToken(token);
+    }
+
+    @Test
+    void entriesExpireWhenTheirSigningKeyRetires() {
+        // Old key still verifies for an hour; a token it signed is only cached until then
+        Instant retireAt = clock.instant().plus(Duration.ofHours(1));
+        JwtTokenUtil oldSigner = new JwtTokenUtil(keyring(null), clock);
+        String token = oldSigner.generateToken("alice", Map.of());
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(keyring(retireAt), clock);
+        assertEquals(retireAt, jwtTokenUtil.validUntil(jwtTokenUtil.parseSignedToken(token)));
+
+        JwtClaimsCache cache = new JwtClaimsCache(jwtTokenUtil, 100, clock, () -> 0L);
+        clock.set(retireAt.minusSeconds(1));
+        assertTrue(cache.getVerifiedClaims(token).isPresent());
+        clock.set(retireAt);
+        assertFalse(cache.getVerifiedClaims(token).isPresent());
+    }
+
+    @Test
+    void invalidTokensAreRejected() {
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(keyring(null), clock);
+        JwtClaimsCache cache = new JwtClaimsCache(jwtTokenUtil, 100, clock, () -> 0L);
+        String token = jwtTokenUtil.generateToken("alice", Map.of());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertFalse(cache.getVerifiedClaims(tampered).isPresent());
+        assertFalse(cache.getVerifiedClaims("not a jwt").isPresent());
+        assertFalse(cache.getVerifiedClaims("").isPresent());
+        assertTrue(cache.getVerifiedClaims(token).isPresent());
+    }
+
+    /**
+     * One key "k1"; when {@code retireAt} is set it is retired and "k2" becomes the active key.
+     */
+    private JwtKeyring keyring(Instant retireAt) {
+        if (retireAt == null) {
+            return new JwtKeyring(new JwtKeyringProperties("k1", List.of(new JwtKeyringProperties.Key("k1", SECRET, null))), clock);
+        }
+        String other = Base64.getEncoder().encodeToString("another 256-bit secret for k2!!!".getBytes());
+        return new JwtKeyring(new JwtKeyringProperties("k2", List.of(
+                new JwtKeyringProperties.Key("k1", SECRET, retireAt),
+                new JwtKeyringProperties.Key("k2", other, null))), clock);
+    }
+
+    static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.java.coreTemplate.config;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtKeyringTest {
+    private static final Instant NOW = Instant.parse("2025-06-01T00:00:00Z");
+    private static final String OLD_SECRET = secret('o');
+    private static final String NEW_SECRET = secret('n');
+
+    @Test
+    void rotationKeepsOldTokensValidUntilTheOverlapEnds() {
+        Instant retireAt = NOW.plus(Duration.ofHours(25));
+        String oldToken = util(NOW, "old", key("old", OLD_SECRET, null)).generateToken("alice", Map.of());
+
+        // After the switch every node signs with the new key and still accepts the old one
+        JwtKeyringProperties.Key[] rotated = { key("old", OLD_SECRET, retireAt), key("new", NEW_SECRET, null) };
+        JwtTokenUtil duringOverlap = util(NOW.plus(Duration.ofHours(1)), "new", rotated);
+        String newToken = duringOverlap.generateToken("bob", Map.of());
+        assertEquals("new", duringOverlap.parseSignedToken(newToken).getHeader().getKeyId());
+        assertEquals("old", duringOverlap.parseSignedToken(oldToken).getHeader().getKeyId());
+        assertEquals("alice", duringOverlap.parseToken(oldToken).getSubject());
+
+        // The old token's own exp (24h) comes first here, so retirement does not cut it short
+        assertFalse(util(NOW.plus(Duration.ofHours(24).plusSeconds(1)), "new", rotated).validateToken(oldToken));
+
+        // Once retired, the old key verifies nothing, even a token that has not expired
+        String lateOldToken = util(NOW.plus(Duration.ofHours(12)), "old", key("old", OLD_SECRET, null))
+                .generateToken("carol", Map.of());
+        assertTrue(util(retireAt.minusSeconds(1), "new", rotated).validateToken(lateOldToken));
+        JwtTokenUtil afterRetirement = util(retireAt, "new", rotated);
+        assertFalse(afterRetirement.validateToken(lateOldToken));
+        assertTrue(afterRetirement.validateToken(afterRetirement.generateToken("bob", Map.of())));
+    }
+
+    @Test
+    void verificationKeyHonoursRetirement() {
+        Instant retireAt = NOW.plus(Duration.ofHours(1));
+        JwtKeyringProperties properties = new JwtKeyringProperties("new", List.of(
+                key("old", OLD_SECRET, retireAt), key("new", NEW_SECRET, null)));
+
+        JwtKeyring beforeRetirement = new JwtKeyring(properties, Clock.fixed(retireAt.minusMillis(1), ZoneOffset.UTC));
+        assertEquals("old", beforeRetirement.verificationKey("old").orElseThrow().id());
+        JwtKeyring atRetirement = new JwtKeyring(properties, Clock.fixed(retireAt, ZoneOffset.UTC));
+        assertTrue(atRetirement.verificationKey("old").isEmpty());
+        assertEquals("new", atRetirement.verificationKey("new").orElseThrow().id());
+        assertEquals("new", atRetirement.activeKey().id());
+        assertTrue(atRetirement.verificationKey("missing").isEmpty());
+        assertTrue(atRetirement.verificationKey(null).isEmpty());
+    }
+
+    @Test
+    void tokensWithAnUnknownOrMissingKidAreRejected() {
+        JwtTokenUtil jwtTokenUtil = util(NOW, "new", key("new", NEW_SECRET, null));
+        JwtKeyring.SigningKey signingKey = keyring("new", key("new", NEW_SECRET, null)).activeKey();
+
+        // Signed with a valid secret, so only the kid lookup can reject these
+        String unknownKid = Jwts.builder().header().keyId("k9").and()
+                .subject("mallory").expiration(Date.from(NOW.plus(Duration.ofHours(1))))
+                .signWith(signingKey.key()).compact();
+        String noKid = Jwts.builder()
+                .subject("mallory").expiration(Date.from(NOW.plus(Duration.ofHours(1))))
+                .signWith(signingKey.key()).compact();
+        assertThrows(JwtException.class, () -> jwtTokenUtil.parseSignedToken(unknownKid));
+        assertThrows(JwtException.class, () -> jwtTokenUtil.parseSignedToken(noKid));
+        assertFalse(jwtTokenUtil.validateToken(unknownKid));
+        assertFalse(jwtTokenUtil.validateToken(noKid));
+
+        // A kid naming a real key does not help a token signed with a different secret
+        String forged = Jwts.builder().header().keyId("new").and()
+                .subject("mallory").expiration(Date.from(NOW.plus(Duration.ofHours(1))))
+                .signWith(keyring("old", key("old", OLD_SECRET, null)).activeKey().key()).compact();
+        assertFalse(jwtTokenUtil.validateToken(forged));
+    }
+
+    @Test
+    void misconfiguredKeyringsFailFast() {
+        assertThrows(IllegalStateException.class, () -> keyring("missing", key("new", NEW_SECRET, null)));
+        assertThrows(IllegalStateException.class, () -> keyring("new", key("new", NEW_SECRET, NOW.plusSeconds(60))));
+        assertThrows(IllegalStateException.class, () -> keyring("new", key("new", NEW_SECRET, null), key("new", OLD_SECRET, null)));
+        assertThrows(IllegalStateException.class, () -> keyring("new", key(" ", NEW_SECRET, null)));
+        assertThrows(IllegalStateException.class, () -> keyring("new", key("new", null, null)));
+
+        JwtKeyring ephemeral = new JwtKeyring(new JwtKeyringProperties(null, null));
+        assertTrue(ephemeral.activeKey().id().startsWith("ephemeral-"));
+        assertEquals(ephemeral.activeKey(), ephemeral.verificationKey(ephemeral.activeKey().id()).orElseThrow());
+    }
+
+    private static JwtTokenUtil util(Instant now, String activeKeyId, JwtKeyringProperties.Key... keys) {
+        Clock clock = Clock.fixed(now, ZoneOffset.UTC);
+        return new JwtTokenUtil(new JwtKeyring(new JwtKeyringProperties(activeKeyId, List.of(keys)), clock), clock);
+    }
+
+    private static JwtKeyring keyring(String activeKeyId, JwtKeyringProperties.Key... keys) {
+        return new JwtKeyring(new JwtKeyringProperties(activeKeyId, List.of(keys)), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static JwtKeyringProperties.Key key(String id, String secret, Instant retireAt) {
+        return new JwtKeyringProperties.Key(id, secret, retireAt);
+    }
+
+    private static String secret(char fill) {
+        return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes());
+    }
+}
@@ -0,0 +1,156 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.controller.OAuthStubController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Runs {@link OAuthService} and its pooled client against the in-process stub provider over real HTTP.
+ * Only the web layer and the OAuth beans are started, so no database is needed. The pool allows one
+ * connection to the stub, which makes a leaked connection or an exhausted pool show up immediately.
+ */
+@SpringBootTest(classes = OAuthServiceStubTest.StubApplication.class,
+        webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
+        properties = {
+                "oauth2.http.max-connections-per-route=1",
+                "oauth2.http.read-timeout=500ms",
+                "oauth2.http.pool-acquire-timeout=100ms"
+        })
+@ActiveProfiles({ "local", "oauth-stub" })
+class OAuthServiceStubTest {
+    private static final int PORT = freePort();
+
+    @Autowired
+    private OAuthService oauthService;
+
+    @MockitoSpyBean
+    private OAuthStubController stub;
+
+    @DynamicPropertySource
+    static void serverPort(DynamicPropertyRegistry registry) {
+        // The oauth-stub profile points the provider URIs at ${server.port}, so it has to be a real port
+        registry.add("server.port", () -> PORT);
+    }
+
+    @Test
+    void callbackFlowRunsAgainstTheStub() {
+        String accessToken = oauthService.getAccessToken("flow");
+        assertEquals("stub-flow", accessToken);
+        Map<String, Object> userInfo = oauthService.getUserInfo(accessToken);
+        assertEquals("flow@stub.local", userInfo.get("email"));
+        assertEquals("Stub User flow", userInfo.get("name"));
+    }
+
+    @Test
+    void userInfoIsCachedPerToken() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            assertEquals("cached@stub.local", oauthService.getUserInfo("stub-cached").get("email"));
+        }
+        assertEquals("other@stub.local", oauthService.getUserInfo("stub-other").get("email"));
+        verify(stub, times(1)).userInfo("stub-cached");
+        verify(stub, times(1)).userInfo("stub-other");
+    }
+
+    @Test
+    void connectionsGoBackToThePool() {
+        // With a single pooled connection, any response left unconsumed would starve the next request
+        for (int i = 0; i < 20; i++) {
+            assertEquals("pooled-" + i + "@stub.local", oauthService.getUserInfo("stub-pooled-" + i).get("email"));
+        }
+    }
+
+    @Test
+    void aSlowProviderTimesOutAndIsNotCached() throws InterruptedException {
+        doAnswer(invocation -> {
+            Thread.sleep(1500);
+            return invocation.callRealMethod();
+        }).when(stub).userInfo(anyString());
+
+        long start = System.nanoTime();
+        ResourceAccessException e = assertThrows(ResourceAccessException.class, () -> oauthService.getUserInfo("stub-slow"));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertInstanceOf(SocketTimeoutException.class, e.getCause());
+        assertTrue(elapsedMillis < 1500, elapsedMillis + " ms");
+
+        doAnswer(invocation -> invocation.callRealMethod()).when(stub).userInfo(anyString());
+        assertEquals("slow@stub.local", oauthService.getUserInfo("stub-slow").get("email"));
+    }
+
+    @Test
+    void anExhaustedPoolFailsFastInsteadOfQueueing() throws Exception {
+        CountDownLatch inProvider = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            inProvider.countDown();
+            Thread.sleep(300);
+            return invocation.callRealMethod();
+        }).when(stub).userInfo(anyString());
+
+        CompletableFuture<Map<String, Object>> holder = CompletableFuture.supplyAsync(() -> oauthService.getUserInfo("stub-holder"));
+        assertTrue(inProvider.await(5, TimeUnit.SECONDS));
+        ResourceAccessException e = assertThrows(ResourceAccessException.class, () -> oauthService.getUserInfo("stub-waiter"));
+        assertInstanceOf(ConnectionRequestTimeoutException.class, e.getCause());
+        assertEquals("holder@stub.local", holder.get(5, TimeUnit.SECONDS).get("email"));
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({
+            PropertyPlaceholderAutoConfiguration.class,
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({ OAuthClientConfig.class, OAuthService.class, OAuthStubController.class })
+    static class StubApplication {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
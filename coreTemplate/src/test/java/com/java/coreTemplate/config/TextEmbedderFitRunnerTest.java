@@ -0,0 +1,62 @@
+package com.java.coreTemplate.config;
+
+import com.java.coreTemplate.vector.HashingTextEmbedder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TextEmbedderFitRunnerTest {
+    private static final List<String> CORPUS = List.of(
+            "How many orders were placed last month?",
+            "List customers in the EU region with overdue invoices",
+            "Total revenue per region for the current quarter");
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void writesWeightsFittedToTheCorpusLines() throws IOException {
+        Path corpus = directory.resolve("corpus.txt");
+        Files.writeString(corpus, String.join("\n\n", CORPUS) + "\n");
+        Path output = directory.resolve("embedder.idf");
+
+        new TextEmbedderFitRunner(corpus, output, 128, 2, 3, pool).run(new DefaultApplicationArguments());
+
+        // What TextEmbedderConfig loads from idf-file embeds like an embedder fitted in process
+        HashingTextEmbedder read = HashingTextEmbedder.read(output);
+        HashingTextEmbedder fitted = HashingTextEmbedder.fit(CORPUS, 128, 2, 3, pool);
+        assertEquals(128, read.dimension());
+        for (String text : CORPUS) {
+            assertArrayEquals(fitted.embed(text), read.embed(text));
+        }
+    }
+
+    @Test
+    void anEmptyCorpusWritesNothing() throws IOException {
+        Path corpus = Files.writeString(directory.resolve("corpus.txt"), "\n  \n");
+        Path output = directory.resolve("embedder.idf");
+
+        TextEmbedderFitRunner runner = new TextEmbedderFitRunner(corpus, output, 128, 2, 3, pool);
+        assertThrows(IOException.class, () -> runner.run(new DefaultApplicationArguments()));
+        assertFalse(Files.exists(output));
+    }
+}
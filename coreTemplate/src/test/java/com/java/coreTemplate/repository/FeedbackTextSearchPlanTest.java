@@ -0,0 +1,98 @@
+package com.java.coreTemplate.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the search queries against a real PostgreSQL, since H2 has neither tsvector nor pg_trgm. Point
+ * TEST_POSTGRES_URL (and TEST_POSTGRES_USER / TEST_POSTGRES_PASSWORD) at a scratch database; everything is
+ * created in a throwaway schema.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class FeedbackTextSearchPlanTest {
+    private static final String SCHEMA = "feedback_search_test";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource(System.getenv("TEST_POSTGRES_URL"),
+                System.getenv("TEST_POSTGRES_USER"), System.getenv("TEST_POSTGRES_PASSWORD"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        // pg_trgm may already be installed in public
+        jdbcTemplate.execute("SET search_path TO " + SCHEMA + ", public");
+        jdbcTemplate.execute("CREATE TABLE \"user feedback module\" (" +
+                "id bigserial PRIMARY KEY, name varchar(255) NOT NULL, description varchar(500))");
+        ScriptUtils.executeSqlScript(dataSource.getConnection(),
+                new ClassPathResource("db/migration/V6__feedback_text_search.sql"));
+
+        // One row in a thousand mentions checkout; the rest repeat a handful of common words
+        jdbcTemplate.execute("INSERT INTO \"user feedback module\" (name, description) " +
+                "SELECT 'feedback ' || i, " +
+                "       CASE WHEN i % 1000 = 0 THEN 'The checkout page froze after I entered my card details' " +
+                "            ELSE (ARRAY['great app', 'slow loading screens', 'love the new design', " +
+                "                        'crashes on startup', 'search is confusing'])[i % 5 + 1] || ' ' || i END " +
+                "FROM generate_series(1, 50000) AS i");
+        jdbcTemplate.execute("ANALYZE \"user feedback module\"");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        dataSource.destroy();
+    }
+
+    @Test
+    void fullTextSearchUsesTheGinIndexAndHighlightsMatches() {
+        Map<String, Object> params = Map.of("query", "checkout froze", "limit", 11, "offset", 0);
+
+        String plan = explain(UserfeedbackmoduleRepositoryImpl.FULL_TEXT_SEARCH, params);
+        assertTrue(plan.contains("idx_user_feedback_module_search_vector"), plan);
+
+        List<Map<String, Object>> rows = namedJdbcTemplate.queryForList(UserfeedbackmoduleRepositoryImpl.FULL_TEXT_SEARCH, params);
+        assertEquals(11, rows.size());
+        String highlight = (String) rows.get(0).get("ts_headline");
+        assertTrue(highlight.contains("<mark>checkout</mark>"), highlight);
+        assertTrue((Boolean) namedJdbcTemplate.queryForObject(UserfeedbackmoduleRepositoryImpl.HAS_FULL_TEXT_MATCH,
+                Map.of("query", "checkout"), Boolean.class));
+        assertFalse((Boolean) namedJdbcTemplate.queryForObject(UserfeedbackmoduleRepositoryImpl.HAS_FULL_TEXT_MATCH,
+                Map.of("query", "chekout"), Boolean.class));
+    }
+
+    @Test
+    void misspelledQueriesUseTheTrigramIndexes() {
+        Map<String, Object> params = Map.of("query", "chekout", "limit", 10, "offset", 0);
+
+        String plan = explain(UserfeedbackmoduleRepositoryImpl.FUZZY_SEARCH, params);
+        assertTrue(plan.contains("idx_user_feedback_module_description_trgm"), plan);
+
+        List<Map<String, Object>> rows = namedJdbcTemplate.queryForList(UserfeedbackmoduleRepositoryImpl.FUZZY_SEARCH, params);
+        assertEquals(10, rows.size());
+        assertNull(rows.get(0).get("text"));
+    }
+
+    private String explain(String sql, Map<String, Object> params) {
+        return String.join("\n", namedJdbcTemplate.queryForList("EXPLAIN " + sql, params, String.class));
+    }
+}
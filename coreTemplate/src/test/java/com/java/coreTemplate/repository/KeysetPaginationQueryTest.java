@@ -0,0 +1,149 @@
+package com.java.coreTemplate.repository;
+
+import com.java.coreTemplate.model.dto.KeysetPage;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import com.java.coreTemplate.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the repository's keyset JPQL against an in-memory H2 schema generated for the feedback entity alone.
+ * The queries are taken from the {@link Query} annotations and executed with the same size + 1 limit a
+ * Slice uses. Rows share created_at values so that the id tie-breaker in the row-value comparison is what
+ * keeps pages from skipping or repeating rows.
+ */
+class KeysetPaginationQueryTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private SingleConnectionDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:keyset;DB_CLOSE_DELAY=-1", "sa", "", true);
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(Userfeedbackmodule.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+        entityManagerFactory.close();
+        dataSource.destroy();
+    }
+
+    @Test
+    void pagesWalkEveryRowOnceInCreatedAtThenIdOrder() {
+        List<Userfeedbackmodule> expected = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            // Three rows per timestamp, so most page boundaries fall inside a tie
+            expected.add(insert("feedback " + i, BASE.plusMinutes(i / 3)));
+        }
+        expected.sort(Comparator.comparing(Userfeedbackmodule::getCreatedAt)
+                .thenComparing(Userfeedbackmodule::getId).reversed());
+
+        List<Long> walked = new ArrayList<>();
+        Slice<Userfeedbackmodule> slice = firstPage(5);
+        int pages = 1;
+        while (true) {
+            KeysetPage<Userfeedbackmodule> page = KeysetPage.of(slice, f -> new KeysetCursor(f.getCreatedAt(), f.getId()));
+            page.content().forEach(f -> walked.add(f.getId()));
+            if (!page.hasNext()) {
+                assertNull(page.nextCursor());
+                break;
+            }
+            KeysetCursor cursor = KeysetCursor.decode(page.nextCursor());
+            slice = pageAfter(cursor.createdAt(), cursor.id(), 5);
+            pages++;
+        }
+        assertEquals(expected.stream().map(Userfeedbackmodule::getId).toList(), walked);
+        assertEquals(5, pages);
+    }
+
+    @Test
+    void aCursorPastTheLastRowYieldsAnEmptyFinalPage() {
+        Userfeedbackmodule only = insert("only", BASE);
+        Slice<Userfeedbackmodule> after = pageAfter(only.getCreatedAt(), only.getId(), 10);
+        assertTrue(after.getContent().isEmpty());
+        assertFalse(after.hasNext());
+
+        // A same-timestamp cursor with a higher id still includes the row
+        Slice<Userfeedbackmodule> before = pageAfter(only.getCreatedAt(), only.getId() + 1, 10);
+        assertEquals(List.of(only.getId()), before.getContent().stream().map(Userfeedbackmodule::getId).toList());
+    }
+
+    private Userfeedbackmodule insert(String name, LocalDateTime createdAt) {
+        Userfeedbackmodule feedback = new Userfeedbackmodule();
+        feedback.setName(name);
+        feedback.setRating(4);
+        feedback.setFeedbackDate(createdAt);
+        feedback.setUserId(1L);
+        entityManager.persist(feedback);
+        entityManager.flush();
+        // @PrePersist stamps the current time; pin it so rows can share a timestamp
+        entityManager.createQuery("UPDATE Userfeedbackmodule f SET f.createdAt = :createdAt WHERE f.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", feedback.getId())
+                .executeUpdate();
+        entityManager.clear();
+        return entityManager.find(Userfeedbackmodule.class, feedback.getId());
+    }
+
+    private Slice<Userfeedbackmodule> firstPage(int size) {
+        return slice(entityManager.createQuery(declaredQuery("findFirstKeysetPage", Pageable.class), Userfeedbackmodule.class), size);
+    }
+
+    private Slice<Userfeedbackmodule> pageAfter(LocalDateTime createdAt, Long id, int size) {
+        return slice(entityManager.createQuery(
+                        declaredQuery("findKeysetPageAfter", LocalDateTime.class, Long.class, Pageable.class), Userfeedbackmodule.class)
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", id), size);
+    }
+
+    private static Slice<Userfeedbackmodule> slice(TypedQuery<Userfeedbackmodule> query, int size) {
+        Pageable limit = KeysetPage.limit(size);
+        List<Userfeedbackmodule> rows = query.setMaxResults(limit.getPageSize() + 1).getResultList();
+        boolean hasNext = rows.size() > limit.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit.getPageSize()) : rows, limit, hasNext);
+    }
+
+    private static String declaredQuery(String method, Class<?>... parameterTypes) {
+        try {
+            return UserfeedbackmoduleRepository.class.getMethod(method, parameterTypes).getAnnotation(Query.class).value();
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.InvalidValidationRuleException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.regex.Matcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledValidationRuleTest {
+
+    @Test
+    void requiredRejectsOnlyMissingValues() {
+        assertFalse(test("required", null));
+        assertFalse(test("required", ""));
+        assertTrue(test("required", " "));
+        // Without required, a missing value passes every other clause
+        assertTrue(test("minLength:3;integer;oneOf:x;regex:[a-z]+", null));
+        assertTrue(test("minLength:3;integer;oneOf:x;regex:[a-z]+", ""));
+        assertTrue(test(null, ""));
+        assertTrue(test("  ", "anything"));
+    }
+
+    @Test
+    void lengthBoundsAreInclusive() {
+        String rule = "minLength:2;maxLength:4";
+        assertFalse(test(rule, "a"));
+        assertTrue(test(rule, "ab"));
+        assertTrue(test(rule, "abcd"));
+        assertFalse(test(rule, "abcde"));
+        assertTrue(test("minLength:3;maxLength:3", "abc"));
+        assertFalse(test("maxLength:0", "a"));
+    }
+
+    @Test
+    void numericAcceptsPlainDecimalsOnly() {
+        for (String value : new String[] { "0", "12", "-12.5", "+3", "007", "1.50" }) {
+            assertTrue(test("numeric", value), value);
+        }
+        for (String value : new String[] { "-", ".", "1.2.3", "1e5", "0x10", "12a", " 1", "NaN", "Infinity" }) {
+            assertFalse(test("numeric", value), value);
+        }
+        assertTrue(test("integer", "-42"));
+        assertFalse(test("integer", "4.2"));
+        assertFalse(test("integer", "4."));
+    }
+
+    @Test
+    void numericBoundsAreInclusiveAndImplyNumeric() {
+        String rule = "min:-1.5;max:10";
+        assertTrue(test(rule, "-1.5"));
+        assertFalse(test(rule, "-1.51"));
+        assertTrue(test(rule, "10"));
+        assertTrue(test(rule, "10.000"));
+        assertFalse(test(rule, "10.000001"));
+        assertFalse(test(rule, "five"));
+        assertTrue(test("min:5;max:5", "5.0"));
+        assertFalse(test("min:5;max:5", "4.9999"));
+        assertTrue(test("max:0", "-0"));
+        assertTrue(test("integer;min:1;max:3", "2"));
+        assertFalse(test("integer;min:1;max:3", "2.5"));
+    }
+
+    @Test
+    void digitStringsLongerThanALongKeepTheirMagnitude() {
+        String fortyDigits = "1234567890123456789012345678901234567890";
+        assertTrue(test("numeric;min:1e39;max:1e40", fortyDigits));
+        assertFalse(test("numeric;max:1e39", fortyDigits));
+        assertTrue(test("numeric;min:-1e40;max:-1e39", "-" + fortyDigits));
+        // Beyond double range the value is infinite, which still orders correctly
+        String fourHundredDigits = "1" + "0".repeat(399);
+        assertTrue(test("numeric;min:1e308", fourHundredDigits));
+        assertFalse(test("numeric;max:1e308", fourHundredDigits));
+        // Leading zeros and long fractions do not shift the magnitude
+        assertTrue(test("min:42;max:42", "0".repeat(30) + "42"));
+        assertTrue(test("min:42;max:42", "42." + "0".repeat(30)));
+        assertTrue(test("min:0.1;max:0.2", "0.1" + "9".repeat(40)));
+        assertFalse(test("min:0", "-0." + "0".repeat(30) + "1"));
+        assertFalse(test("integer", "9".repeat(30) + ".5"));
+    }
+
+    @Test
+    void boundsCheckAgreesWithBigDecimal() {
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            String value = randomDecimal(random);
+            double low = random.nextGaussian() * Math.pow(10, random.nextInt(24));
+            double high = low + Math.abs(random.nextGaussian()) * Math.pow(10, random.nextInt(24));
+            BigDecimal exact = new BigDecimal(value);
+            boolean expected = exact.compareTo(new BigDecimal(low)) >= 0 && exact.compareTo(new BigDecimal(high)) <= 0;
+            assertEquals(expected, test("min:" + low + ";max:" + high, value), value + " in [" + low + ", " + high + "]");
+        }
+    }
+
+    @Test
+    void oneOfMatchesExactly() {
+        String rule = "oneOf:red|green|";
+        assertTrue(test(rule, "red"));
+        assertTrue(test(rule, "green"));
+        assertFalse(test(rule, "Red"));
+        assertFalse(test(rule, "red|green"));
+        assertFalse(test(rule, " red"));
+    }
+
+    @Test
+    void regexMatchesTheWholeValueAndMayContainSemicolons() {
+        CompiledValidationRule rule = CompiledValidationRule.compile(1, 1, "REQUIRED; MaxLength: 5; regex:[a-z]+;[0-9]");
+        assertTrue(rule.test("ab;1", rule.newMatcher()));
+        assertFalse(rule.test("ab;12", rule.newMatcher()));
+        assertFalse(rule.test("Ab;1", rule.newMatcher()));
+        assertFalse(rule.test("", rule.newMatcher()));
+        assertNull(CompiledValidationRule.compile(1, 1, "required").newMatcher());
+
+        // A matcher is reset for every value, so one can be reused across inputs
+        Matcher matcher = rule.newMatcher();
+        assertTrue(rule.test("a;1", matcher));
+        assertFalse(rule.test("1;a", matcher));
+        assertTrue(rule.test("abc;9", matcher));
+    }
+
+    @Test
+    void regexSwallowsEverythingAfterIt() {
+        // "required" is part of the pattern here, not a clause
+        CompiledValidationRule rule = CompiledValidationRule.compile(1, 1, "minLength:1;regex:^a$;required");
+        assertTrue(rule.test("", rule.newMatcher()));
+        assertFalse(rule.test("a", rule.newMatcher()));
+        assertTrue(rule.test("a;required", CompiledValidationRule.compile(1, 1, "regex:a;required").newMatcher()));
+    }
+
+    @Test
+    void malformedRulesAreRejected() {
+        assertInvalid("maxlen:3", "Unknown clause 'maxlen'");
+        assertInvalid("required;;bogus", "Unknown clause 'bogus'");
+        assertInvalid("minLength:abc", "Invalid minlength");
+        assertInvalid("maxLength:2147483648", "Invalid maxlength");
+        assertInvalid("minLength:-1", "Negative minlength");
+        assertInvalid("min", "needs an argument");
+        assertInvalid("oneOf:", "needs an argument");
+        assertInvalid("max:1O", "Invalid max");
+        assertInvalid("min:NaN", "Invalid min");
+        assertInvalid("minLength:5;maxLength:4", "lower bound above its upper bound");
+        assertInvalid("min:5;max:1", "lower bound above its upper bound");
+        assertInvalid("regex:[unclosed", "Invalid regex");
+        assertInvalid("regex:", "needs an argument");
+    }
+
+    private static boolean test(String rule, String value) {
+        CompiledValidationRule compiled = CompiledValidationRule.compile(1, 1, rule);
+        return compiled.test(value, compiled.newMatcher());
+    }
+
+    private static void assertInvalid(String rule, String expectedMessage) {
+        InvalidValidationRuleException e = assertThrows(InvalidValidationRuleException.class,
+                () -> CompiledValidationRule.compile(1, 1, rule), rule);
+        assertTrue(e.getMessage().contains(expectedMessage), e.getMessage());
+    }
+
+    private static String randomDecimal(Random random) {
+        StringBuilder value = new StringBuilder();
+        if (random.nextBoolean()) {
+            value.append('-');
+        }
+        int integerDigits = 1 + random.nextInt(24);
+        for (int i = 0; i < integerDigits; i++) {
+            value.append((char) ('0' + random.nextInt(10)));
+        }
+        if (random.nextBoolean()) {
+            value.append('.');
+            int fractionDigits = 1 + random.nextInt(24);
+            for (int i = 0; i < fractionDigits; i++) {
+                value.append((char) ('0' + random.nextInt(10)));
+            }
+        }
+        return value.toString();
+    }
+}
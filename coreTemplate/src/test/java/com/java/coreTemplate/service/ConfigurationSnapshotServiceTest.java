@@ -0,0 +1,276 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.ServiceUnavailableException;
+import com.java.coreTemplate.exception.UnknownValidationRuleException;
+import com.java.coreTemplate.model.dto.ConfigurationSnapshot;
+import com.java.coreTemplate.model.dto.ConfigurationValidationUtilities;
+import com.java.coreTemplate.repository.ConfigurationValidationUtilitiesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConfigurationSnapshotServiceTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final Map<Long, ConfigurationValidationUtilities> activeRows = new ConcurrentHashMap<>();
+    private final List<ConfigurationSnapshotPublishedEvent> published = new ArrayList<>();
+
+    @Test
+    void clientsOutsideTheDeltaWindowGetAFullSnapshot() {
+        ConfigurationSnapshotService service = service(1000);
+        long boot = service.currentVersion();
+        put(1, 0, "required");
+        put(2, 0, null);
+        service.refresh();
+        long v1 = service.currentVersion();
+        assertEquals(boot + 1, v1);
+
+        put(2, 1, "integer");
+        service.refresh();
+        long v2 = service.currentVersion();
+
+        ConfigurationSnapshot delta = answer(service.poll(v1, TIMEOUT));
+        assertFalse(delta.full());
+        assertEquals(v2, delta.version());
+        assertEquals(List.of(2L), ids(delta.changed()));
+
+        // No version, one from before this process started, and one from a newer process or another node
+        for (Long since : new Long[] { null, boot - 1, v2 + 1 }) {
+            ConfigurationSnapshot full = answer(service.poll(since, TIMEOUT));
+            assertTrue(full.full(), "since " + since);
+            assertEquals(List.of(1L, 2L), ids(full.changed()));
+            assertTrue(full.removed().isEmpty());
+        }
+        // The boot version itself is still answerable as a delta
+        assertEquals(List.of(1L, 2L), ids(answer(service.poll(boot, TIMEOUT)).changed()));
+        assertFalse(answer(service.poll(boot, TIMEOUT)).full());
+    }
+
+    @Test
+    void versionsFromAnotherInstanceAreNeverAnsweredWithADelta() {
+        // Two nodes over the same rows, where node B has seen more changes than node A
+        ConfigurationSnapshotService nodeA = node(1);
+        ConfigurationSnapshotService nodeB = node(2);
+        put(1, 0, "required");
+        put(2, 0, null);
+        nodeA.refresh();
+        long[] versionsOfB = new long[4];
+        for (int i = 0; i < versionsOfB.length; i++) {
+            put(2, i + 1, null);
+            nodeB.refresh();
+            versionsOfB[i] = nodeB.currentVersion();
+        }
+        for (int i = 1; i <= 10; i++) {
+            put(3, i, null);
+            nodeA.refresh();
+        }
+
+        // A client moving from B to A must replace its copy, however the two sequences line up
+        for (long since : versionsOfB) {
+            ConfigurationSnapshot answer = answer(nodeA.poll(since, TIMEOUT));
+            assertTrue(answer.full(), "since " + since);
+            assertEquals(List.of(1L, 2L, 3L), ids(answer.changed()));
+        }
+        assertTrue(nodeA.currentVersion() < 1L << 53);
+        assertThrows(IllegalArgumentException.class,
+                () -> node(1 << ConfigurationSnapshotService.INSTANCE_ID_BITS));
+    }
+
+    @Test
+    void unchangedReloadsPublishNothing() {
+        ConfigurationSnapshotService service = service(1000);
+        put(1, 0, "required");
+        service.refresh();
+        long version = service.currentVersion();
+        service.refresh();
+        assertEquals(version, service.currentVersion());
+        assertEquals(1, published.size());
+
+        DeferredResult<ResponseEntity<ConfigurationSnapshot>> parked = service.poll(version, TIMEOUT);
+        service.refresh();
+        assertFalse(parked.hasResult());
+    }
+
+    @Test
+    void removalHistoryIsTrimmedAndRaisesTheFloor() {
+        ConfigurationSnapshotService service = service(2);
+        for (long id = 1; id <= 4; id++) {
+            put(id, 0, null);
+        }
+        service.refresh();
+        long v1 = service.currentVersion();
+
+        activeRows.remove(1L);
+        service.refresh();
+        long v2 = service.currentVersion();
+        activeRows.remove(2L);
+        service.refresh();
+        activeRows.remove(3L);
+        service.refresh();
+        long v4 = service.currentVersion();
+
+        // Only the last two removals are kept, so v2 is the oldest version a delta can start from
+        ConfigurationSnapshot fromV2 = answer(service.poll(v2, TIMEOUT));
+        assertFalse(fromV2.full());
+        assertEquals(List.of(2L, 3L), fromV2.removed());
+        ConfigurationSnapshot fromV1 = answer(service.poll(v1, TIMEOUT));
+        assertTrue(fromV1.full());
+        assertEquals(List.of(4L), ids(fromV1.changed()));
+
+        // A re-activated row is reported as changed and leaves the removal history
+        put(3, 1, null);
+        service.refresh();
+        ConfigurationSnapshot fromV4 = answer(service.poll(v4, TIMEOUT));
+        assertEquals(List.of(3L), ids(fromV4.changed()));
+        assertTrue(fromV4.removed().isEmpty());
+        assertEquals(List.of(2L), answer(service.poll(v2, TIMEOUT)).removed());
+    }
+
+    @Test
+    void parkedPollersShareOneResponse() {
+        ConfigurationSnapshotService service = service(1000);
+        put(1, 0, "required");
+        service.refresh();
+        long version = service.currentVersion();
+
+        List<DeferredResult<ResponseEntity<ConfigurationSnapshot>>> parked = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            parked.add(service.poll(version, TIMEOUT));
+        }
+        parked.forEach(result -> assertFalse(result.hasResult()));
+
+        put(1, 1, "integer");
+        service.refresh();
+        Object first = parked.get(0).getResult();
+        for (DeferredResult<ResponseEntity<ConfigurationSnapshot>> result : parked) {
+            assertSame(first, result.getResult());
+        }
+        ConfigurationSnapshot delta = answer(parked.get(0));
+        assertEquals(List.of(1L), ids(delta.changed()));
+        assertEquals(version + 1, delta.version());
+    }
+
+    @Test
+    void pollersBeyondTheLimitAreTurnedAway() {
+        ConfigurationSnapshotService service = service(1000, 2);
+        long version = service.currentVersion();
+        service.poll(version, TIMEOUT);
+        service.poll(version, TIMEOUT);
+        assertThrows(ServiceUnavailableException.class, () -> service.poll(version, TIMEOUT));
+        // Clients that are behind are answered without parking
+        assertTrue(service.poll(version - 1, TIMEOUT).hasResult());
+    }
+
+    @Test
+    void aSnapshotPublishedWhileParkingIsNotMissed() {
+        AtomicReference<ConfigurationSnapshotService> service = new AtomicReference<>();
+        // Publishes the next snapshot after poll() has checked the version but before its waiter is registered
+        Set<ConfigurationSnapshotService.Waiter> waiters = new CopyOnWriteArraySet<>() {
+            @Override
+            public boolean add(ConfigurationSnapshotService.Waiter waiter) {
+                put(1, 1, null);
+                service.get().refresh();
+                return super.add(waiter);
+            }
+        };
+        service.set(new ConfigurationSnapshotService(repository(),
+                event -> published.add((ConfigurationSnapshotPublishedEvent) event), 100, 100, waiters, 7));
+        put(1, 0, null);
+        service.get().refresh();
+        long version = service.get().currentVersion();
+
+        DeferredResult<ResponseEntity<ConfigurationSnapshot>> result = service.get().poll(version, TIMEOUT);
+        assertTrue(result.hasResult());
+        ConfigurationSnapshot delta = answer(result);
+        assertEquals(version + 1, delta.version());
+        assertEquals(List.of(1L), ids(delta.changed()));
+    }
+
+    @Test
+    void ruleEngineFollowsPublishedSnapshots() {
+        ValidationRuleEngine engine = new ValidationRuleEngine();
+        ConfigurationSnapshotService service = new ConfigurationSnapshotService(repository(), event -> {
+            published.add((ConfigurationSnapshotPublishedEvent) event);
+            engine.onSnapshotPublished((ConfigurationSnapshotPublishedEvent) event);
+        }, 1000, 1000);
+        put(1, 0, "minLength:2");
+        put(2, 0, null);
+        put(3, 0, "bogus:clause");
+        service.refresh();
+        assertEquals(service.currentVersion(), published.get(published.size() - 1).version());
+        CompiledValidationRule first = engine.rule(1).orElseThrow();
+        assertTrue(engine.rule(2).isEmpty());
+        assertTrue(engine.rule(3).isEmpty());
+
+        // Unchanged rows keep their compiled rule; changed ones are recompiled; removed ones disappear
+        put(2, 1, "integer");
+        service.refresh();
+        assertSame(first, engine.rule(1).orElseThrow());
+        assertTrue(engine.rule(2).orElseThrow().test("42", null));
+        activeRows.remove(1L);
+        service.refresh();
+        assertTrue(engine.rule(1).isEmpty());
+        assertThrows(UnknownValidationRuleException.class, () -> engine.validate(List.of(1L), List.of("x")));
+    }
+
+    private ConfigurationSnapshotService service(int maxRemovals) {
+        return service(maxRemovals, 10_000);
+    }
+
+    private ConfigurationSnapshotService service(int maxRemovals, int maxWaiters) {
+        return new ConfigurationSnapshotService(repository(),
+                event -> published.add((ConfigurationSnapshotPublishedEvent) event), maxWaiters, maxRemovals);
+    }
+
+    private ConfigurationSnapshotService node(int instanceId) {
+        return new ConfigurationSnapshotService(repository(),
+                event -> published.add((ConfigurationSnapshotPublishedEvent) event), 10_000, 1000,
+                ConcurrentHashMap.newKeySet(), instanceId);
+    }
+
+    private ConfigurationValidationUtilitiesRepository repository() {
+        ConfigurationValidationUtilitiesRepository repository = mock(ConfigurationValidationUtilitiesRepository.class);
+        when(repository.findByIsActiveTrue()).thenAnswer(invocation -> List.copyOf(activeRows.values()));
+        return repository;
+    }
+
+    private void put(long id, long version, String validationRule) {
+        ConfigurationValidationUtilities row = new ConfigurationValidationUtilities();
+        row.setId(id);
+        row.setName("config " + id);
+        row.setActive(true);
+        row.setVersion(version);
+        row.setValidationRule(validationRule);
+        activeRows.put(id, row);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConfigurationSnapshot answer(DeferredResult<ResponseEntity<ConfigurationSnapshot>> result) {
+        assertTrue(result.hasResult());
+        ResponseEntity<ConfigurationSnapshot> response = (ResponseEntity<ConfigurationSnapshot>) result.getResult();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    private static List<Long> ids(List<ConfigurationValidationUtilities> rows) {
+        return rows.stream().map(ConfigurationValidationUtilities::getId).sorted().toList();
+    }
+}
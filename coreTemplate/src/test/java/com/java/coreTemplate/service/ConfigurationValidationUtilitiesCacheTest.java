@@ -0,0 +1,93 @@
+package com.java.coreTemplate.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConfigurationValidationUtilitiesCacheTest {
+    private static final Object KEY = new ConfigurationValidationUtilitiesCache.ByName("rule");
+
+    private final ConfigurationValidationUtilitiesCache cache = new ConfigurationValidationUtilitiesCache(100, Duration.ofMinutes(10));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    private final TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void loadsOnceThenServesFromCache() {
+        assertEquals("v1", cache.get(KEY, () -> load("v1")));
+        assertEquals("v1", cache.get(KEY, () -> load("v2")));
+        assertEquals(1, loads.get());
+
+        cache.invalidateAll();
+        assertEquals("v2", cache.get(KEY, () -> load("v2")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void aLoadThatRacesAnInvalidationIsReturnedButNotCached() {
+        String stale = cache.get(KEY, () -> {
+            // A write commits while this read is still on its way back from the database
+            cache.invalidateAll();
+            return load("stale");
+        });
+        assertEquals("stale", stale);
+
+        assertEquals("fresh", cache.get(KEY, () -> load("fresh")));
+        assertEquals("fresh", cache.get(KEY, () -> load("later")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidationWaitsForCommit() {
+        cache.get(KEY, () -> load("old"));
+        transaction.executeWithoutResult(status -> {
+            cache.invalidateAfterCompletion();
+            // Until the write commits, other readers must keep seeing (and may re-cache) the committed row
+            assertEquals("old", cache.get(KEY, () -> load("uncommitted")));
+        });
+        assertEquals("new", cache.get(KEY, () -> load("new")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void rollbackAlsoInvalidates() {
+        cache.get(KEY, () -> load("old"));
+        transaction.executeWithoutResult(status -> {
+            cache.invalidateAfterCompletion();
+            assertEquals("old", cache.get(KEY, () -> load("uncommitted")));
+            status.setRollbackOnly();
+        });
+        // Dropping entries after a rollback costs one reload; keeping them would trust reads made during it
+        assertEquals("reloaded", cache.get(KEY, () -> load("reloaded")));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void withoutATransactionInvalidationIsImmediate() {
+        cache.get(KEY, () -> load("old"));
+        cache.invalidateAfterCompletion();
+        assertEquals("new", cache.get(KEY, () -> load("new")));
+    }
+
+    private String load(String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,80 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.ConfigurationValidationUtilities;
+import com.java.coreTemplate.repository.ConfigurationValidationUtilitiesRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConfigurationValidationUtilitiesServiceTest {
+    private final ConfigurationValidationUtilitiesRepository repository = mock(ConfigurationValidationUtilitiesRepository.class);
+    private final ConfigurationValidationUtilitiesService service = new ConfigurationValidationUtilitiesService(repository,
+            new ConfigurationValidationUtilitiesCache(100, Duration.ofMinutes(10)), mock(ApplicationEventPublisher.class));
+
+    @Test
+    void cachedLookupsHandOutCopies() {
+        ConfigurationValidationUtilities row = row(1L, "required");
+        when(repository.findById(1L)).thenReturn(Optional.of(row));
+
+        ConfigurationValidationUtilities first = service.findById(1L).orElseThrow();
+        first.setValidationRule("maxLength=3");
+        ConfigurationValidationUtilities second = service.findById(1L).orElseThrow();
+
+        assertNotSame(first, second);
+        assertNotSame(row, second);
+        assertEquals("required", second.getValidationRule());
+        // The row the persistence context handed back is not held either
+        row.setValidationRule("minLength=1");
+        assertEquals("required", service.findById(1L).orElseThrow().getValidationRule());
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    void cachedListsAreCopiedAndUnmodifiable() {
+        when(repository.findByIsActiveTrue()).thenReturn(List.of(row(1L, "required"), row(2L, "numeric")));
+
+        List<ConfigurationValidationUtilities> first = service.findAllActive();
+        first.get(0).setName("renamed");
+        assertThrows(UnsupportedOperationException.class, () -> first.add(row(3L, "integer")));
+
+        List<ConfigurationValidationUtilities> second = service.findAllActive();
+        assertEquals(List.of("rule-1", "rule-2"), second.stream().map(ConfigurationValidationUtilities::getName).toList());
+        verify(repository, times(1)).findByIsActiveTrue();
+    }
+
+    @Test
+    void writesOutsideATransactionDropCachedLookups() {
+        ConfigurationValidationUtilities row = row(1L, "required");
+        when(repository.findById(1L)).thenReturn(Optional.of(row));
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ConfigurationValidationUtilities edited = service.findById(1L).orElseThrow();
+        edited.setDescription("edited");
+        service.update(edited);
+        row.setDescription("edited");
+
+        assertEquals("edited", service.findById(1L).orElseThrow().getDescription());
+    }
+
+    private static ConfigurationValidationUtilities row(Long id, String rule) {
+        ConfigurationValidationUtilities row = new ConfigurationValidationUtilities();
+        row.setId(id);
+        row.setName("rule-" + id);
+        row.setActive(true);
+        row.setValidationRule(rule);
+        row.setVersion(0L);
+        return row;
+    }
+}
@@ -0,0 +1,157 @@
+package com.java.coreTemplate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.postgresql.copy.CopyIn;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class DatabaseIntegrationVectorStoresBulkLoaderTest {
+    private static final String HEADER = "name,connection_string,vector_store_type,is_active,environment,region,tags,metadata\n";
+
+    private final DatabaseIntegrationVectorStoresBulkLoader loader =
+            new DatabaseIntegrationVectorStoresBulkLoader(null, null, new ObjectMapper(), 0, null);
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+    private final CopyIn copy = copyIn();
+
+    @Test
+    void csvRecordsAreCountedByUnquotedNewlines() throws Exception {
+        String csv = HEADER +
+                "plain,postgres://a,pgvector,true,prod,eu,,\n" +
+                "\"with, comma\",postgres://b,pgvector,,,,,\n" +
+                "\"multi\nline\n\nname\",postgres://c,pgvector,,,,\"a,b\",\n" +
+                "\"say \"\"hi\"\"\",postgres://d,pgvector,,,,,\"{\"\"q\"\": 1}\"\n";
+        assertEquals(4, copyCsv(csv));
+        // Everything but blank lines is forwarded byte for byte
+        assertEquals(csv, copied());
+    }
+
+    @Test
+    void aFinalRecordWithoutNewlineCounts() throws Exception {
+        assertEquals(2, copyCsv(HEADER + "a,b,c,,,,,\nd,e,f,,,,,"));
+        assertEquals(1, copyCsv(HEADER + "\"open,\nquote\",b,c,,,,,"));
+    }
+
+    @Test
+    void blankCsvLinesAreDroppedAndNotCounted() throws Exception {
+        String csv = "\r\n" + HEADER + "a,b,c,,,,,\r\n\r\n\nd,e,f,,,,,\n\n\r\n\r";
+        assertEquals(2, copyCsv(csv));
+        assertEquals(HEADER + "a,b,c,,,,,\r\nd,e,f,,,,,\n", copied());
+    }
+
+    @Test
+    void headerOnlyOrEmptyCsvHasNoRecords() throws Exception {
+        assertEquals(0, copyCsv(HEADER));
+        assertEquals(0, copyCsv(HEADER.trim()));
+        assertEquals(0, copyCsv("\n\n"));
+        assertEquals(0, copyCsv(""));
+    }
+
+    @Test
+    void csvSurvivesBufferBoundaries() throws Exception {
+        // Well past one 64 KiB buffer, with CRLF blank lines and quoted newlines landing on every offset
+        StringBuilder csv = new StringBuilder(HEADER);
+        StringBuilder expected = new StringBuilder(HEADER);
+        int records = 0;
+        for (int i = 0; records < 6000; i++) {
+            String record = i % 3 == 0
+                    ? "\"store\n" + i + "\",postgres://" + i + ",pgvector,,,,,\r\n"
+                    : "store-" + i + ",postgres://" + i + ",pgvector,,,,,\n";
+            csv.append(record);
+            expected.append(record);
+            records++;
+            csv.append("\r".repeat(i % 4)).append(i % 5 == 0 ? "\n" : "");
+            if (i % 5 != 0) {
+                // Without a newline the CRs belong to the next record's line
+                expected.append("\r".repeat(i % 4));
+            }
+        }
+        // CRs left at the very end form a final blank line
+        String forwarded = expected.toString().replaceAll("\r+$", "");
+        assertEquals(records, loader.copyCsv(new TrickleInputStream(csv.toString(), 997), copy, "test.csv"));
+        assertEquals(forwarded, copied());
+    }
+
+    @Test
+    void ndjsonIsReencodedAsCsv() throws Exception {
+        String ndjson = "{\"name\":\"with, comma\",\"connection_string\":\"postgres://a\",\"vector_store_type\":\"pgvector\"," +
+                "\"is_active\":false,\"tags\":\"\",\"metadata\":{\"question\":\"say \\\"hi\\\"\",\"sql\":\"SELECT 1\"}}\n" +
+                "\n" +
+                "  \r\n" +
+                "{\"name\":\"multi\\nline\",\"connection_string\":\"postgres://b\",\"vector_store_type\":\"pgvector\",\"region\":null}\r\n" +
+                "{\"name\":\"n\",\"connection_string\":\"c\",\"vector_store_type\":\"t\",\"environment\":42,\"metadata\":\"plain\"}";
+        assertEquals(3, loader.copyNdjson(in(ndjson), copy, "test.ndjson"));
+        assertEquals(
+                // A missing or null key is an unquoted empty field (NULL); an empty string stays quoted
+                "\"with, comma\",\"postgres://a\",\"pgvector\",\"false\",,,\"\",\"{\"\"question\"\":\"\"say \\\"\"hi\\\"\"\"\",\"\"sql\"\":\"\"SELECT 1\"\"}\"\n" +
+                "\"multi\nline\",\"postgres://b\",\"pgvector\",,,,,\n" +
+                "\"n\",\"c\",\"t\",,\"42\",,,\"plain\"\n",
+                copied());
+    }
+
+    @Test
+    void malformedNdjsonNamesTheLine() {
+        IOException invalid = assertThrows(IOException.class,
+                () -> loader.copyNdjson(in("{\"name\":\"a\"}\n\n{\"name\":\n"), copy, "bad.ndjson"));
+        assertTrue(invalid.getMessage().startsWith("Invalid JSON on line 3 of bad.ndjson"), invalid.getMessage());
+
+        IOException notAnObject = assertThrows(IOException.class,
+                () -> loader.copyNdjson(in("[1, 2]\n"), copy, "bad.ndjson"));
+        assertEquals("Line 1 of bad.ndjson is not a JSON object", notAnObject.getMessage());
+    }
+
+    private long copyCsv(String csv) throws IOException, SQLException {
+        copied.reset();
+        return loader.copyCsv(in(csv), copy, "test.csv");
+    }
+
+    private String copied() {
+        return copied.toString(StandardCharsets.UTF_8);
+    }
+
+    private CopyIn copyIn() {
+        CopyIn copyIn = mock(CopyIn.class);
+        try {
+            doAnswer(invocation -> {
+                copied.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+                return null;
+            }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return copyIn;
+    }
+
+    private static InputStream in(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns at most {@code chunk} bytes per read, so buffer boundaries fall at odd offsets. */
+    private static final class TrickleInputStream extends FilterInputStream {
+        private final int chunk;
+
+        private TrickleInputStream(String text, int chunk) {
+            super(in(text));
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, chunk));
+        }
+    }
+}
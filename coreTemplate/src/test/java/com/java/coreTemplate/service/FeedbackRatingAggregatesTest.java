@@ -0,0 +1,119 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.RatingAggregate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs against a real PostgreSQL, since the upserts and the reconciliation query are PostgreSQL-specific.
+ * Point TEST_POSTGRES_URL (and TEST_POSTGRES_USER / TEST_POSTGRES_PASSWORD) at a scratch database;
+ * everything is created in a throwaway schema.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class FeedbackRatingAggregatesTest {
+    private static final String SCHEMA = "feedback_aggregates_test";
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private FeedbackRatingAggregates aggregates;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource(System.getenv("TEST_POSTGRES_URL"),
+                System.getenv("TEST_POSTGRES_USER"), System.getenv("TEST_POSTGRES_PASSWORD"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        jdbcTemplate.execute("SET search_path TO " + SCHEMA);
+        jdbcTemplate.execute("CREATE TABLE \"user feedback module\" (" +
+                "id bigserial PRIMARY KEY, user_id bigint NOT NULL, feedback_date timestamp NOT NULL, rating int NOT NULL)");
+        ScriptUtils.executeSqlScript(dataSource.getConnection(),
+                new ClassPathResource("db/migration/V7__feedback_rating_aggregates.sql"));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        aggregates = new FeedbackRatingAggregates(jdbcTemplate, transactionManager, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        dataSource.destroy();
+    }
+
+    @Test
+    void changesApplyOnlyWhenTheirTransactionCommits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            insert(1, DAY, 5);
+            insert(1, DAY, 3);
+            insert(2, DAY.plusDays(1), 1);
+        });
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            insert(1, DAY, 2);
+            throw new IllegalStateException("rolled back");
+        }));
+        // Rating 3 becomes 4 and moves to the next day, then user 2's only feedback is deleted
+        transactionTemplate.executeWithoutResult(status -> aggregates.recordChange(
+                new FeedbackRatingAggregates.Rating(1, DAY, 3), new FeedbackRatingAggregates.Rating(1, DAY.plusDays(1), 4)));
+        transactionTemplate.executeWithoutResult(status ->
+                aggregates.recordChange(new FeedbackRatingAggregates.Rating(2, DAY.plusDays(1), 1), null));
+
+        assertAggregate(aggregates.overall(), 2, 9, 0, 0, 0, 1, 1);
+        assertAggregate(aggregates.forUser(1), 2, 9, 0, 0, 0, 1, 1);
+        assertAggregate(aggregates.forUser(2), 0, 0, 0, 0, 0, 0, 0);
+        assertAggregate(aggregates.forDay(DAY), 1, 5, 0, 0, 0, 0, 1);
+        assertAggregate(aggregates.forDay(DAY.plusDays(1)), 1, 4, 0, 0, 0, 1, 0);
+        assertEquals(4.5, aggregates.overall().average());
+    }
+
+    @Test
+    void reconciliationRepairsDrift() {
+        // Written behind the service's back: the aggregates never hear of these
+        for (int rating = 1; rating <= 5; rating++) {
+            jdbcTemplate.update("INSERT INTO \"user feedback module\" (user_id, feedback_date, rating) VALUES (?, ?, ?)",
+                    7L, Timestamp.valueOf(DAY.atTime(rating, 0)), rating);
+        }
+        transactionTemplate.executeWithoutResult(status -> insert(8, DAY, 4));
+        jdbcTemplate.update("UPDATE feedback_rating_aggregate SET rating_count = rating_count + 10 WHERE scope = 'USER' AND scope_key = 8");
+        assertAggregate(aggregates.overall(), 1, 4, 0, 0, 0, 1, 0);
+
+        // Overall, the day, user 7 and user 8
+        assertEquals(4, aggregates.reconcile());
+        assertAggregate(aggregates.overall(), 6, 19, 1, 1, 1, 2, 1);
+        assertAggregate(aggregates.forUser(7), 5, 15, 1, 1, 1, 1, 1);
+        assertAggregate(aggregates.forUser(8), 1, 4, 0, 0, 0, 1, 0);
+        assertAggregate(aggregates.forDay(DAY), 6, 19, 1, 1, 1, 2, 1);
+        assertEquals(0, aggregates.reconcile());
+    }
+
+    private void insert(long userId, LocalDate day, int rating) {
+        LocalDateTime feedbackDate = day.atTime(12, 0);
+        jdbcTemplate.update("INSERT INTO \"user feedback module\" (user_id, feedback_date, rating) VALUES (?, ?, ?)",
+                userId, Timestamp.valueOf(feedbackDate), rating);
+        aggregates.recordChange(null, new FeedbackRatingAggregates.Rating(userId, day, rating));
+    }
+
+    private static void assertAggregate(RatingAggregate aggregate, long count, long sum, long... histogram) {
+        assertEquals(count, aggregate.count());
+        assertEquals(sum, aggregate.sum());
+        assertArrayEquals(histogram, aggregate.histogram());
+    }
+}
@@ -0,0 +1,134 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<PasswordHashingService> services = new ArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Semaphore blockersDone = new Semaphore(0);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        services.forEach(PasswordHashingService::shutdown);
+    }
+
+    @Test
+    void hashesVerifyAndLegacyPlaintextStillMatches() {
+        PasswordHashingService service = service(4, 1, 4, Duration.ofSeconds(5));
+        String hash = service.hash("correct horse");
+        assertNotEquals("correct horse", hash);
+        assertTrue(service.verify("correct horse", hash));
+        assertFalse(service.verify("wrong horse", hash));
+        assertFalse(service.needsRehash(hash));
+
+        // Values stored before hashing was introduced are compared as plaintext and flagged for migration
+        assertTrue(service.verify("legacy-pass", "legacy-pass"));
+        assertFalse(service.verify("legacy-Pass", "legacy-pass"));
+        assertFalse(service.verify("legacy", "legacy-pass"));
+        assertTrue(service.needsRehash("legacy-pass"));
+
+        assertFalse(service.verify(null, hash));
+        assertFalse(service.verify("correct horse", null));
+    }
+
+    @Test
+    void hashesFromALowerWorkFactorNeedRehash() {
+        String weak = service(4, 1, 4, Duration.ofSeconds(5)).hash("correct horse");
+        PasswordHashingService stronger = service(5, 1, 4, Duration.ofSeconds(5));
+        assertTrue(stronger.verify("correct horse", weak));
+        assertTrue(stronger.needsRehash(weak));
+        assertFalse(stronger.needsRehash(stronger.hash("correct horse")));
+    }
+
+    @Test
+    void unknownUsersCostOneVerification() {
+        PasswordHashingService service = service(4, 1, 4, Duration.ofSeconds(5));
+        long before = meterRegistry.get("auth.credentials.verify").timer().count();
+        assertFalse(service.verifyUnknownUser("guess"));
+        assertFalse(service.verifyUnknownUser(null));
+        assertEquals(before + 2, meterRegistry.get("auth.credentials.verify").timer().count());
+    }
+
+    @Test
+    void aSaturatedPoolShedsWithServiceUnavailable() throws InterruptedException {
+        PasswordHashingService service = service(4, 1, 1, Duration.ofSeconds(5));
+        String hash = service.hash("correct horse");
+        // One task running and one queued fill a single thread with a queue of one
+        block(service, 2);
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> service.verify("correct horse", hash));
+        assertThrows(ServiceUnavailableException.class, () -> service.hash("another"));
+        // Unknown users are shed the same way, so saturation does not single them out either
+        assertThrows(ServiceUnavailableException.class, () -> service.verifyUnknownUser("guess"));
+        assertEquals(3, meterRegistry.get("auth.credentials.rejected").counter().count());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new ResponseStatusExceptionResolver().resolveException(new MockHttpServletRequest(), response, null, e);
+        assertEquals(503, response.getStatus());
+
+        release.countDown();
+        // The queued blocker holds the only queue slot until the thread has taken it
+        blockersDone.acquire(2);
+        assertTrue(service.verify("correct horse", hash));
+    }
+
+    @Test
+    void slowVerificationTimesOut() throws InterruptedException {
+        PasswordHashingService service = service(4, 1, 4, Duration.ofMillis(50));
+        String hash = service.hash("correct horse");
+        block(service, 1);
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class, () -> service.verify("correct horse", hash));
+        assertTrue(e.getMessage().contains("timed out"), e.getMessage());
+        assertEquals(0, meterRegistry.get("auth.credentials.rejected").counter().count());
+    }
+
+    private PasswordHashingService service(int strength, int threads, int queueCapacity, Duration timeout) {
+        PasswordHashingService service = new PasswordHashingService(meterRegistry, strength, threads, queueCapacity, timeout);
+        services.add(service);
+        return service;
+    }
+
+    /** Submits tasks that hold the verifier threads or queue slots until the test ends. */
+    private void block(PasswordHashingService service, int tasks) throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+        for (int i = 0; i < tasks; i++) {
+            CountDownLatch started = new CountDownLatch(1);
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    blockersDone.release();
+                }
+            });
+            // A thread may still be finishing an earlier task; until it picks this one up it sits in the queue
+            if (i < executor.getCorePoolSize()) {
+                started.await();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.entity.UserDetails;
+import com.java.coreTemplate.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingService passwordHashingService =
+            spy(new PasswordHashingService(new SimpleMeterRegistry(), 4, 1, 4, Duration.ofSeconds(5)));
+    private final UserService userService = new UserService();
+
+    UserServiceTest() {
+        ReflectionTestUtils.setField(userService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "userIdentityFilter", mock(UserIdentityFilter.class));
+        ReflectionTestUtils.setField(userService, "passwordHashingService", passwordHashingService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void legacyPasswordsAreRehashedOnLogin() {
+        UserDetails user = new UserDetails("alice", "legacy-pass", "alice@example.com");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        assertTrue(userService.authenticateUser("alice", "legacy-pass").isPresent());
+        verify(userRepository).save(user);
+        assertNotEquals("legacy-pass", user.getPassword());
+        assertTrue(passwordHashingService.verify("legacy-pass", user.getPassword()));
+        assertFalse(passwordHashingService.needsRehash(user.getPassword()));
+    }
+
+    @Test
+    void currentHashesAndWrongPasswordsAreNotRewritten() {
+        String hash = passwordHashingService.hash("correct horse");
+        UserDetails user = new UserDetails("alice", hash, "alice@example.com");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        assertTrue(userService.authenticateUser("alice", "correct horse").isPresent());
+        assertFalse(userService.authenticateUser("alice", "wrong horse").isPresent());
+        UserDetails legacy = new UserDetails("bob", "legacy-pass", "bob@example.com");
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(legacy));
+        assertFalse(userService.authenticateUser("bob", "wrong").isPresent());
+
+        verify(userRepository, never()).save(any());
+        assertEquals(hash, user.getPassword());
+        assertEquals("legacy-pass", legacy.getPassword());
+    }
+
+    @Test
+    void unknownUsersStillPayForAVerification() {
+        when(userRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+        assertFalse(userService.authenticateUser("nobody", "guess").isPresent());
+        verify(passwordHashingService).verifyUnknownUser("guess");
+    }
+}
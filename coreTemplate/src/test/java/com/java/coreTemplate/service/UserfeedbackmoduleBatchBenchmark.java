@@ -0,0 +1,79 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.model.dto.BatchIngestResult;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares per-row saves against {@link UserfeedbackmoduleService#saveBatch(List)}.
+ * Needs a real database; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class UserfeedbackmoduleBatchBenchmark {
+    private static final int ROWS = 5_000;
+    private static final long BENCHMARK_USER_ID = -4242L;
+
+    @Autowired
+    private UserfeedbackmoduleService service;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        // Through the service, so the rating aggregates lose these rows too
+        createdIds.forEach(service::deleteById);
+        createdIds.clear();
+        assertEquals(0, service.getRatingAggregateForUser(BENCHMARK_USER_ID).count());
+    }
+
+    @Test
+    void batchInsertOutperformsPerRowSave() {
+        List<Userfeedbackmodule> perRow = feedbacks(ROWS);
+        long perRowStart = System.nanoTime();
+        for (Userfeedbackmodule feedback : perRow) {
+            createdIds.add(service.save(feedback).getId());
+        }
+        double perRowRate = rowsPerSecond(ROWS, System.nanoTime() - perRowStart);
+
+        List<Userfeedbackmodule> batch = feedbacks(ROWS);
+        long batchStart = System.nanoTime();
+        BatchIngestResult result = service.saveBatch(batch);
+        double batchRate = rowsPerSecond(ROWS, System.nanoTime() - batchStart);
+        batch.forEach(feedback -> createdIds.add(feedback.getId()));
+
+        System.out.printf("per-row save: %.0f rows/s, saveBatch: %.0f rows/s (%.1fx)%n",
+                perRowRate, batchRate, batchRate / perRowRate);
+        assertEquals(ROWS, result.inserted());
+        assertTrue(batchRate > perRowRate, "batched insert should be faster than per-row save");
+    }
+
+    private static List<Userfeedbackmodule> feedbacks(int count) {
+        List<Userfeedbackmodule> feedbacks = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Userfeedbackmodule feedback = new Userfeedbackmodule();
+            feedback.setName("benchmark-" + i);
+            feedback.setRating(1 + i % 5);
+            feedback.setFeedbackDate(now);
+            feedback.setUserId(BENCHMARK_USER_ID);
+            feedbacks.add(feedback);
+        }
+        return feedbacks;
+    }
+
+    private static double rowsPerSecond(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.java.coreTemplate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.coreTemplate.model.dto.BatchIngestResult;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import com.java.coreTemplate.repository.UserfeedbackmoduleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Chunked batch inserts against an entity manager that fails the flush of any unit of work holding a
+ * "duplicate" row, the way a unique constraint would.
+ */
+class UserfeedbackmoduleBatchTest {
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    // Rows persisted since the last clear or rollback
+    private final List<Userfeedbackmodule> pending = new ArrayList<>();
+    // "name:id:version" of every row as it was handed to persist
+    private final List<String> persistedState = new ArrayList<>();
+    private long nextId = 1;
+    private UserfeedbackmoduleService service;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Userfeedbackmodule entity = invocation.getArgument(0);
+            persistedState.add(entity.getName() + ":" + entity.getId() + ":" + entity.getVersion());
+            entity.setId(nextId++);
+            entity.setVersion(0L);
+            pending.add(entity);
+            return null;
+        }).when(entityManager).persist(any());
+        doAnswer(invocation -> {
+            if (pending.stream().anyMatch(entity -> entity.getName().startsWith("duplicate"))) {
+                throw new PersistenceException("duplicate key value violates unique constraint");
+            }
+            return null;
+        }).when(entityManager).flush();
+        doAnswer(invocation -> {
+            pending.clear();
+            return null;
+        }).when(entityManager).clear();
+        // Rolling back discards the persistence context along with the transaction
+        doAnswer(invocation -> {
+            pending.clear();
+            return null;
+        }).when(transactionManager).rollback(any());
+
+        service = new UserfeedbackmoduleService(mock(UserfeedbackmoduleRepository.class), new ObjectMapper(),
+                transactionManager, mock(FeedbackRatingAggregates.class));
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+        ReflectionTestUtils.setField(service, "batchChunkSize", 3);
+    }
+
+    @Test
+    void everyValidItemIsInsertedInChunks() {
+        BatchIngestResult result = service.saveBatch(List.of(feedback("a"), feedback("b"), feedback("c"), feedback("d")));
+
+        assertEquals(new BatchIngestResult(4, 4, List.of()), result);
+        verify(entityManager, times(2)).flush();
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void aFailedChunkIsRetriedRowByRowAndOnlyTheBadRowsAreReported() {
+        Userfeedbackmodule unnamed = feedback("unnamed");
+        unnamed.setName(" ");
+        // Valid items 0, 2, 3 form the first chunk and 4, 5, 6 the second, which fails as a whole
+        List<Userfeedbackmodule> batch = List.of(feedback("a"), unnamed, feedback("b"), feedback("c"),
+                feedback("duplicate"), feedback("d"), feedback("e"));
+
+        BatchIngestResult result = service.saveBatch(batch);
+
+        // Any failure turns the response into a 207 listing each rejected position
+        assertEquals(7, result.received());
+        assertEquals(5, result.inserted());
+        assertEquals(List.of(1, 4), result.failures().stream().map(BatchIngestResult.ItemFailure::index).toList());
+        assertEquals("name is required", result.failures().get(0).error());
+        assertTrue(result.failures().get(1).error().contains("duplicate key"), result.failures().get(1).error());
+
+        // The rolled-back chunk had assigned ids 4-6; each retry persists the row as new again
+        assertEquals(List.of("a:null:null", "b:null:null", "c:null:null",
+                        "duplicate:null:null", "d:null:null", "e:null:null",
+                        "duplicate:null:null", "d:null:null", "e:null:null"), persistedState);
+        assertEquals(8L, batch.get(5).getId());
+        assertEquals(9L, batch.get(6).getId());
+        assertNull(batch.get(1).getId());
+        // The first chunk and the two good retries commit; the failed chunk and the bad row roll back
+        verify(transactionManager, times(3)).commit(any());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    private static Userfeedbackmodule feedback(String name) {
+        Userfeedbackmodule feedback = new Userfeedbackmodule();
+        feedback.setName(name);
+        feedback.setRating(4);
+        feedback.setFeedbackDate(LocalDateTime.of(2025, 6, 1, 12, 0));
+        feedback.setUserId(1L);
+        return feedback;
+    }
+}
@@ -0,0 +1,95 @@
+package com.java.coreTemplate.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.coreTemplate.model.dto.FeedbackExportFilter;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import com.java.coreTemplate.repository.UserfeedbackmoduleRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserfeedbackmoduleExportTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void writesOneParseableObjectPerLineWithoutFlushingEachRow() throws IOException {
+        UserfeedbackmoduleRepository repository = mock(UserfeedbackmoduleRepository.class);
+        FeedbackExportFilter filter = new FeedbackExportFilter(null, null, null, 7L);
+        List<Userfeedbackmodule> rows = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            rows.add(feedback(id, id == 2 ? "multi-line\n\"quoted\", with commas" : "feedback " + id));
+        }
+        when(repository.streamForExport(filter)).thenReturn(rows.stream());
+        UserfeedbackmoduleService service = new UserfeedbackmoduleService(repository, objectMapper,
+                mock(PlatformTransactionManager.class), mock(FeedbackRatingAggregates.class));
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+
+        CountingOutputStream out = new CountingOutputStream();
+        assertEquals(300, service.exportNdjson(filter, out));
+
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"));
+        String[] lines = ndjson.split("\n", -1);
+        // The trailing newline leaves one empty string after the last line
+        assertEquals(301, lines.length);
+        assertEquals("", lines[300]);
+        for (int i = 0; i < 300; i++) {
+            assertFalse(lines[i].isEmpty() || Character.isWhitespace(lines[i].charAt(0)), "line " + i + ": " + lines[i]);
+            JsonNode node = objectMapper.readTree(lines[i]);
+            assertEquals(i + 1, node.get("id").asLong());
+        }
+        assertEquals("multi-line\n\"quoted\", with commas", objectMapper.readTree(lines[1]).get("description").asText());
+        // The final flush and the one close() passes on, rather than one per row
+        assertTrue(out.flushes <= 2, out.flushes + " flushes");
+    }
+
+    @Test
+    void emptyExportWritesNothing() throws IOException {
+        UserfeedbackmoduleRepository repository = mock(UserfeedbackmoduleRepository.class);
+        FeedbackExportFilter filter = new FeedbackExportFilter(null, null, 5, null);
+        when(repository.streamForExport(filter)).thenReturn(Stream.empty());
+        UserfeedbackmoduleService service = new UserfeedbackmoduleService(repository, objectMapper,
+                mock(PlatformTransactionManager.class), mock(FeedbackRatingAggregates.class));
+
+        CountingOutputStream out = new CountingOutputStream();
+        assertEquals(0, service.exportNdjson(filter, out));
+        assertEquals(0, out.size());
+    }
+
+    private static Userfeedbackmodule feedback(long id, String description) {
+        Userfeedbackmodule feedback = new Userfeedbackmodule();
+        feedback.setId(id);
+        feedback.setName("name " + id);
+        feedback.setDescription(description);
+        feedback.setRating((int) (id % 5) + 1);
+        feedback.setUserId(7L);
+        feedback.setFeedbackDate(LocalDateTime.of(2025, 1, 1, 12, 0).plusMinutes(id));
+        return feedback;
+    }
+
+    private static final class CountingOutputStream extends ByteArrayOutputStream {
+        int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
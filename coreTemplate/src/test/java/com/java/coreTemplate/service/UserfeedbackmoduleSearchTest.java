@@ -0,0 +1,154 @@
+package com.java.coreTemplate.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.java.coreTemplate.exception.InvalidFilterException;
+import com.java.coreTemplate.model.dto.Userfeedbackmodule;
+import com.java.coreTemplate.repository.UserfeedbackmoduleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The paged /search filters, run through the repository's JPQL against an in-memory H2 schema generated
+ * for the feedback entity alone.
+ */
+class UserfeedbackmoduleSearchTest {
+    private static final Pageable NEWEST_FIRST = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private SingleConnectionDataSource dataSource;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private UserfeedbackmoduleService service;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:feedback-search;DB_CLOSE_DELAY=-1", "sa", "", true);
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(Userfeedbackmodule.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+
+        UserfeedbackmoduleRepository repository = mock(UserfeedbackmoduleRepository.class);
+        when(repository.search(any(), any(), any())).thenAnswer(invocation ->
+                search(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+        service = new UserfeedbackmoduleService(repository, new ObjectMapper(),
+                mock(PlatformTransactionManager.class), mock(FeedbackRatingAggregates.class));
+
+        insert("Login error", "Cannot sign in after reset", false, 1);
+        insert("Slow export", "The export takes 100% CPU", true, 2);
+        insert("Dark mode", "Please add a dark_theme toggle", false, 3);
+        insert("LOGIN page typo", null, true, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.getTransaction().rollback();
+        entityManager.close();
+        entityManagerFactory.close();
+        dataSource.destroy();
+    }
+
+    @Test
+    void noFiltersPagesEverything() {
+        Page<Userfeedbackmodule> page = service.search(null, null, null, PageRequest.of(0, 3, NEWEST_FIRST.getSort()));
+        assertEquals(List.of("LOGIN page typo", "Dark mode", "Slow export"), names(page));
+        assertEquals(4, page.getTotalElements());
+    }
+
+    @Test
+    void keywordMatchesNameOrDescriptionIgnoringCase() {
+        assertEquals(List.of("LOGIN page typo", "Login error"), names(service.search(null, null, "login", NEWEST_FIRST)));
+        assertEquals(List.of("Login error"), names(service.search(null, null, " SIGN IN ", NEWEST_FIRST)));
+        assertEquals(List.of("LOGIN page typo", "Dark mode", "Slow export", "Login error"),
+                names(service.search(null, "", " ", NEWEST_FIRST)));
+    }
+
+    @Test
+    void likeWildcardsInTheKeywordAreLiteral() {
+        assertEquals(List.of("Slow export"), names(service.search(null, null, "100%", NEWEST_FIRST)));
+        assertEquals(List.of("Dark mode"), names(service.search(null, null, "dark_", NEWEST_FIRST)));
+        assertEquals(List.of(), names(service.search(null, null, "%%", NEWEST_FIRST)));
+    }
+
+    @Test
+    void statusFiltersOnResolution() {
+        assertEquals(List.of("Dark mode", "Login error"), names(service.search(null, "pending", null, NEWEST_FIRST)));
+        assertEquals(List.of("LOGIN page typo"), names(service.search(null, "RESOLVED", "login", NEWEST_FIRST)));
+    }
+
+    @Test
+    void filtersThatCannotBeAppliedAreRejected() {
+        assertThrows(InvalidFilterException.class, () -> service.search("BUG_REPORT", null, null, NEWEST_FIRST));
+        assertThrows(InvalidFilterException.class, () -> service.search(null, "ARCHIVED", null, NEWEST_FIRST));
+    }
+
+    private Page<Userfeedbackmodule> search(Boolean resolved, String pattern, Pageable pageable) {
+        Sort.Order order = pageable.getSort().iterator().next();
+        String jpql = declaredQuery() + " ORDER BY f." + order.getProperty() + " " + order.getDirection();
+        List<Userfeedbackmodule> rows = entityManager.createQuery(jpql, Userfeedbackmodule.class)
+                .setParameter("resolved", resolved)
+                .setParameter("pattern", pattern)
+                .getResultList();
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+    }
+
+    private void insert(String name, String description, boolean resolved, int minutes) {
+        Userfeedbackmodule feedback = new Userfeedbackmodule();
+        feedback.setName(name);
+        feedback.setDescription(description);
+        feedback.setResolved(resolved);
+        feedback.setRating(3);
+        feedback.setFeedbackDate(LocalDateTime.of(2025, 6, 1, 12, 0));
+        feedback.setUserId(1L);
+        entityManager.persist(feedback);
+        entityManager.flush();
+        entityManager.createQuery("UPDATE Userfeedbackmodule f SET f.createdAt = :createdAt WHERE f.id = :id")
+                .setParameter("createdAt", LocalDateTime.of(2025, 6, 1, 12, 0).plusMinutes(minutes))
+                .setParameter("id", feedback.getId())
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    private static List<String> names(Page<Userfeedbackmodule> page) {
+        return page.getContent().stream().map(Userfeedbackmodule::getName).toList();
+    }
+
+    private static String declaredQuery() {
+        try {
+            return UserfeedbackmoduleRepository.class.getMethod("search", Boolean.class, String.class, Pageable.class)
+                    .getAnnotation(Query.class).value();
+        } catch (NoSuchMethodException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
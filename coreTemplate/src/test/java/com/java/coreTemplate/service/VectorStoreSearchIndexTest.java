@@ -0,0 +1,149 @@
+package com.java.coreTemplate.service;
+
+import com.java.coreTemplate.exception.InvalidPageException;
+import com.java.coreTemplate.model.dto.DatabaseIntegrationVectorStores;
+import com.java.coreTemplate.repository.DatabaseIntegrationVectorStoresRepository;
+import com.java.coreTemplate.vector.HashingTextEmbedder;
+import com.java.coreTemplate.vector.VectorIndexRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VectorStoreSearchIndexTest {
+    private final Map<Long, DatabaseIntegrationVectorStores> rows = new TreeMap<>();
+    private final List<List<Long>> loaded = new ArrayList<>();
+    private final DatabaseIntegrationVectorStoresRepository repository = repository();
+    private final VectorStoreSearchIndex index =
+            new VectorStoreSearchIndex(repository, new HashingTextEmbedder(64, 2, 3), 100, 60, 0.2f, 1000, 0.2);
+
+    @Test
+    void refreshLoadsOnlyRowsWhoseVersionChanged() {
+        for (long id = 1; id <= 1200; id++) {
+            put(id, 0, "store " + id);
+        }
+        index.refresh();
+        assertEquals(1200, index.size());
+        // Entities are fetched in bounded batches rather than with one unbounded IN list
+        assertEquals(List.of(500, 500, 200), loaded.stream().map(List::size).toList());
+
+        loaded.clear();
+        index.refresh();
+        assertTrue(loaded.isEmpty());
+
+        put(7, 1, "renamed warehouse");
+        put(1201, 0, "store 1201");
+        rows.remove(3L);
+        index.refresh();
+        assertEquals(List.of(List.of(7L, 1201L)), loaded);
+        assertEquals(1200, index.size());
+        assertEquals(7L, index.search("renamed warehouse", 0, 1).get(0).item().getId());
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    void aRowDeletedBetweenTheVersionScanAndTheLoadIsSkipped() {
+        put(1, 0, "alpha");
+        put(2, 0, "beta");
+        // Row 2 disappears after its version was read but before its entity is loaded
+        doAnswer(invocation -> {
+            rows.remove(2L);
+            return load(invocation.getArgument(0));
+        }).when(repository).findAllById(any());
+        index.refresh();
+        assertEquals(1, index.size());
+
+        // The next refresh sees it is gone for good and has nothing to drop or load
+        index.refresh();
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void rewritingOneRowNeverReloadsTheWholeTable() {
+        for (long id = 1; id <= 10; id++) {
+            put(id, 0, "store " + id);
+        }
+        index.refresh();
+        for (long version = 1; version <= 30; version++) {
+            loaded.clear();
+            put(1, version, "store one revision " + version);
+            index.refresh();
+            // Replaced vectors are compacted inside the HNSW index, not by re-embedding every row
+            assertEquals(List.of(List.of(1L)), loaded);
+        }
+        assertEquals(10, index.size());
+        assertEquals(1L, index.search("store one revision 30", 0, 1).get(0).item().getId());
+    }
+
+    @Test
+    void pagesPastTheResultCapAreRejected() {
+        put(1, 0, "alpha");
+        index.refresh();
+        assertTrue(index.search("alpha", 990, 10).isEmpty());
+        assertThrows(InvalidPageException.class, () -> index.search("alpha", 991, 10));
+        assertThrows(InvalidPageException.class, () -> index.search("alpha", -10, 10));
+        // In int arithmetic these pages would wrap to a negative offset and to offset 4
+        DatabaseIntegrationVectorStoresService service =
+                new DatabaseIntegrationVectorStoresService(repository, mock(VectorIndexRegistry.class), index);
+        assertThrows(InvalidPageException.class, () -> service.search("alpha", Integer.MAX_VALUE, 20));
+        assertThrows(InvalidPageException.class, () -> service.search("alpha", 858_993_460, 5));
+    }
+
+    private DatabaseIntegrationVectorStoresRepository repository() {
+        DatabaseIntegrationVectorStoresRepository repository = mock(DatabaseIntegrationVectorStoresRepository.class);
+        when(repository.findAllRowVersions()).thenAnswer(invocation -> rows.values().stream()
+                .map(row -> (DatabaseIntegrationVectorStoresRepository.RowVersion) new DatabaseIntegrationVectorStoresRepository.RowVersion() {
+                    private final Long id = row.getId();
+                    private final Long version = row.getVersion();
+
+                    @Override
+                    public Long getId() {
+                        return id;
+                    }
+
+                    @Override
+                    public Long getVersion() {
+                        return version;
+                    }
+                })
+                .toList());
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Long> batch = new ArrayList<>();
+            ids.forEach(batch::add);
+            loaded.add(batch);
+            return load(batch);
+        });
+        return repository;
+    }
+
+    private List<DatabaseIntegrationVectorStores> load(Iterable<Long> ids) {
+        List<DatabaseIntegrationVectorStores> found = new ArrayList<>();
+        for (Long id : ids) {
+            if (rows.containsKey(id)) {
+                found.add(rows.get(id));
+            }
+        }
+        return found;
+    }
+
+    private void put(long id, long version, String name) {
+        DatabaseIntegrationVectorStores row = new DatabaseIntegrationVectorStores();
+        row.setId(id);
+        row.setVersion(version);
+        row.setName(name);
+        rows.put(id, row);
+    }
+}
@@ -0,0 +1,98 @@
+package com.java.coreTemplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysReported() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put(username(i));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain(username(i)), username(i));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTarget() {
+        assertFalsePositiveRate(100_000, 0.01);
+        assertFalsePositiveRate(100_000, 0.001);
+        assertFalsePositiveRate(10_000, 0.05);
+    }
+
+    @Test
+    void anEmptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        assertFalse(filter.mightContain("alice"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void concurrentPutsDoNotLoseBits() throws Exception {
+        // Sized small so that threads keep setting bits in the same words
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        int threads = 8;
+        int perThread = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        filter.put(username(offset + i));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (int i = 0; i < threads * perThread; i++) {
+            assertTrue(filter.mightContain(username(i)), username(i));
+        }
+    }
+
+    @Test
+    void invalidSizingIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1000, 1));
+    }
+
+    private static void assertFalsePositiveRate(int insertions, double target) {
+        BloomFilter filter = new BloomFilter(insertions, target);
+        for (int i = 0; i < insertions; i++) {
+            filter.put(username(i));
+        }
+        // Probe values that were never added and share the inserted values' shape
+        int probes = 1_000_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(username(insertions + i))) {
+                falsePositives++;
+            }
+        }
+        double rate = (double) falsePositives / probes;
+        assertTrue(rate > target * 0.5 && rate < target * 1.5,
+                "false-positive rate " + rate + " for target " + target);
+    }
+
+    private static String username(int i) {
+        return "user" + i + "@example.com";
+    }
+}
@@ -0,0 +1,67 @@
+package com.java.coreTemplate.util;
+
+import com.java.coreTemplate.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.mvc.annotation.ResponseStatusExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodedCursorsDecodeToTheSamePosition() {
+        for (KeysetCursor cursor : new KeysetCursor[] {
+                new KeysetCursor(LocalDateTime.of(2025, 6, 1, 12, 0), 1L),
+                new KeysetCursor(LocalDateTime.of(2025, 6, 1, 12, 0, 0, 123_456_789), Long.MAX_VALUE),
+                new KeysetCursor(LocalDateTime.of(1999, 12, 31, 23, 59, 59, 1_000), 0L) }) {
+            String token = cursor.encode();
+            assertEquals(cursor, KeysetCursor.decode(token));
+            // URL-safe without padding, so it can go into ?after= as is
+            assertTrue(token.matches("[A-Za-z0-9_-]+"), token);
+        }
+    }
+
+    @Test
+    void blankTokensMeanTheFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+        assertNull(KeysetCursor.decode("   "));
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        for (String token : new String[] {
+                "not base64!",
+                encode("2025-06-01T12:00"),
+                encode("2025-06-01T12:00|"),
+                encode("|42"),
+                encode("yesterday|42"),
+                encode("2025-06-01T12:00|forty-two"),
+                encode("2025-13-01T12:00|42") }) {
+            InvalidCursorException e = assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(token), token);
+            assertNotNull(e.getCause(), token);
+        }
+    }
+
+    @Test
+    void malformedTokensAreABadRequest() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        InvalidCursorException e = assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("%%%"));
+        assertNotNull(new ResponseStatusExceptionResolver().resolveException(new MockHttpServletRequest(), response, null, e));
+        assertEquals(400, response.getStatus());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,133 @@
+package com.java.coreTemplate.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketLimiterTest {
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void burstUpToCapacityThenSteadyRefill() {
+        TokenBucketLimiter limiter = limiter(5, 1, 1000, Duration.ofMinutes(10));
+        assertAllowed(limiter, "alice", 5);
+        assertFalse(limiter.tryAcquire("alice"));
+
+        advance(Duration.ofMillis(999));
+        assertFalse(limiter.tryAcquire("alice"));
+        advance(Duration.ofMillis(1));
+        assertTrue(limiter.tryAcquire("alice"));
+        assertFalse(limiter.tryAcquire("alice"));
+
+        // A long pause refills to capacity and no further
+        advance(Duration.ofMinutes(1));
+        assertAllowed(limiter, "alice", 5);
+        assertFalse(limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void rejectedAttemptsKeepPartialRefill() {
+        TokenBucketLimiter limiter = limiter(1, 0.5, 1000, Duration.ofMinutes(10));
+        assertTrue(limiter.tryAcquire("alice"));
+        for (int i = 0; i < 3; i++) {
+            advance(Duration.ofMillis(500));
+            assertFalse(limiter.tryAcquire("alice"));
+        }
+        advance(Duration.ofMillis(500));
+        assertTrue(limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = limiter(2, 1, 1000, Duration.ofMinutes(10));
+        assertAllowed(limiter, "alice", 2);
+        assertFalse(limiter.tryAcquire("alice"));
+        assertAllowed(limiter, "bob", 2);
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void floodingFreshKeysNeverLocksOutNewUsers() {
+        // One bucket per stripe, drained by junk keys
+        TokenBucketLimiter limiter = limiter(3, 1 / 60d, 1, Duration.ofMinutes(10));
+        for (int i = 0; i < 10_000; i++) {
+            assertAllowed(limiter, "attacker-" + i, 3);
+        }
+        assertTrue(limiter.size() <= 64, limiter.size() + " buckets");
+        assertAllowed(limiter, "alice", 3);
+        assertFalse(limiter.tryAcquire("alice"));
+    }
+
+    @Test
+    void refilledBucketsAreEvictedBeforeDrainedOnes() {
+        // Equal hash codes put these keys in one stripe, which holds two buckets
+        TokenBucketLimiter limiter = limiter(3, 1 / 60d, 128, Duration.ofMinutes(10));
+        assertAllowed(limiter, "AaAa", 3);
+        assertTrue(limiter.tryAcquire("AaBB"));
+        advance(Duration.ofSeconds(60));
+
+        // AaAa is least recently used but has one token; AaBB has refilled, so it makes room
+        assertTrue(limiter.tryAcquire("BBAa"));
+        assertTrue(limiter.tryAcquire("AaAa"));
+        assertFalse(limiter.tryAcquire("AaAa"));
+    }
+
+    @Test
+    void aStripeOfDrainedBucketsEvictsTheLeastRecentlyUsed() {
+        TokenBucketLimiter limiter = limiter(3, 1 / 60d, 128, Duration.ofMinutes(10));
+        assertAllowed(limiter, "AaAa", 3);
+        assertAllowed(limiter, "AaBB", 3);
+
+        assertTrue(limiter.tryAcquire("BBAa"));
+        assertFalse(limiter.tryAcquire("AaBB"));
+        // AaAa was the one dropped, so it starts over with a full bucket
+        assertAllowed(limiter, "AaAa", 3);
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void idleBucketsAreDroppedOnlyOnceRefilled() {
+        TokenBucketLimiter limiter = limiter(10, 1, 1000, Duration.ofSeconds(5));
+        assertAllowed(limiter, "drained", 10);
+        assertTrue(limiter.tryAcquire("touched"));
+
+        advance(Duration.ofSeconds(6));
+        limiter.evictIdle();
+        // Both are idle; only the one that refilled in that time is gone
+        assertEquals(1, limiter.size());
+        assertAllowed(limiter, "touched", 10);
+        advance(Duration.ofSeconds(6));
+        assertAllowed(limiter, "drained", 10);
+        assertFalse(limiter.tryAcquire("drained"));
+
+        advance(Duration.ofSeconds(10));
+        limiter.evictIdle();
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void nonPositiveLimitsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(0, 1, 10, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> limiter(1, 0, 10, Duration.ofMinutes(1)));
+    }
+
+    private TokenBucketLimiter limiter(int capacity, double refillPerSecond, int maxKeys, Duration idleTimeout) {
+        return new TokenBucketLimiter(capacity, refillPerSecond, maxKeys, idleTimeout.toMillis(), nanos::get);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private static void assertAllowed(TokenBucketLimiter limiter, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(limiter.tryAcquire(key), key + " request " + (i + 1));
+        }
+    }
+}
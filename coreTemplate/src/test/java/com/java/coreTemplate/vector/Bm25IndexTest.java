@@ -0,0 +1,71 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class Bm25IndexTest {
+
+    @Test
+    void ranksRareAndHeavilyWeightedTermsFirst() {
+        Bm25Index index = new Bm25Index(1.2f, 0.75f, 3f, 1f);
+        index.put(1, "orders warehouse", "Nightly copy of the orders table");
+        index.put(2, "billing", "Invoices and orders per customer");
+        index.put(3, "support tickets", "Customer support conversations, tagged by product");
+        index.put(4, "analytics", null);
+
+        // "orders" in a name outweighs it in a description
+        assertEquals(List.of(1L, 2L), ids(index.search("orders", 10)));
+        // "customer" appears twice, "invoices" once, so the invoice match ranks first
+        assertEquals(List.of(2L, 3L), ids(index.search("Customer INVOICES!", 10)));
+        assertEquals(List.of(1L), ids(index.search("orders", 1)));
+        assertTrue(index.search("nothing matches", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsStopMatching() {
+        Bm25Index index = new Bm25Index(1.2f, 0.75f, 1f);
+        Random random = new Random(7);
+        String[] words = { "alpha", "beta", "gamma", "delta", "epsilon" };
+        for (int id = 0; id < 5000; id++) {
+            index.put(id, words[random.nextInt(words.length)] + " doc" + id);
+        }
+        index.put(42, "omega");
+        assertEquals(List.of(42L), ids(index.search("omega doc42", 10)));
+
+        // Enough removals to compact the postings along the way
+        for (int id = 0; id < 5000; id += 2) {
+            assertTrue(index.remove(id));
+        }
+        assertFalse(index.remove(0));
+        assertEquals(2500, index.size());
+        assertTrue(index.search("omega", 10).isEmpty());
+        assertEquals(List.of(43L), ids(index.search("doc43", 10)));
+        for (HnswIndex.Hit hit : index.search("alpha beta gamma delta epsilon", 3000)) {
+            assertEquals(1, hit.id() % 2);
+        }
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    void fusionFavorsIdsRankedWellByBothLists() {
+        List<HnswIndex.Hit> lexical = List.of(new HnswIndex.Hit(1, 9f), new HnswIndex.Hit(2, 5f), new HnswIndex.Hit(3, 1f));
+        List<HnswIndex.Hit> semantic = List.of(new HnswIndex.Hit(2, 0.9f), new HnswIndex.Hit(4, 0.8f), new HnswIndex.Hit(1, 0.1f));
+
+        List<HnswIndex.Hit> fused = ReciprocalRankFusion.fuse(3, 60, List.of(lexical, semantic));
+        assertEquals(List.of(2L, 1L, 4L), ids(fused));
+        assertEquals(1f / 62 + 1f / 61, fused.get(0).score(), 1e-6f);
+    }
+
+    private static List<Long> ids(List<HnswIndex.Hit> hits) {
+        return hits.stream().map(HnswIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package com.java.coreTemplate.vector;
+
+import com.java.coreTemplate.exception.InvalidFilterException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilteredSearchTest {
+    private static final int DIMENSION = 16;
+    private static final int COUNT = 3000;
+    private static final HnswParameters PARAMETERS = new HnswParameters(16, 100, 100, 42);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void bitmapEvaluationAgreesWithPerVectorTest() {
+        VectorAttributes[] attributes = new VectorAttributes[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            attributes[i] = attributes(i);
+        }
+        AttributeIndex index = AttributeIndex.decode(ByteBuffer.wrap(
+                AttributeIndex.build(ord -> attributes[ord], COUNT).encode()));
+        for (String expression : List.of(
+                "environment = prod",
+                "environment != 'prod' AND tags IN (t1, t3)",
+                "NOT (tags = t0 OR tags = t5) AND rare = yes",
+                "tags NOT IN (t1, t2, t3) OR environment = dev",
+                "missing = value")) {
+            VectorFilter filter = VectorFilter.parse(expression);
+            RoaringBitmap matches = filter.evaluate(index, COUNT);
+            int expected = 0;
+            for (int ord = 0; ord < COUNT; ord++) {
+                assertEquals(filter.test(attributes[ord]), matches.contains(ord), expression + " at " + ord);
+                expected += filter.test(attributes[ord]) ? 1 : 0;
+            }
+            assertEquals(expected, matches.cardinality(), expression);
+        }
+        assertNull(VectorFilter.parse("  "));
+        assertThrows(InvalidFilterException.class, () -> VectorFilter.parse("environment = "));
+        assertThrows(InvalidFilterException.class, () -> VectorFilter.parse("(environment = prod"));
+        assertThrows(InvalidFilterException.class, () -> VectorFilter.parse("environment > prod"));
+    }
+
+    @Test
+    void filteredSearchMatchesBruteForce() throws IOException {
+        Random random = new Random(3);
+        float[][] vectors = new float[COUNT][];
+        // Two flushed segments plus a memtable, so both filtering paths are covered
+        HnswIndex index = HnswIndex.create(directory.resolve("store-1"), DIMENSION, VectorMetric.EUCLIDEAN, PARAMETERS,
+                new IndexSettings(1200, 8, 4), QuantizationSettings.NONE, Runnable::run);
+        for (int i = 0; i < COUNT; i++) {
+            vectors[i] = vector(random);
+            index.add(i, vectors[i], attributes(i));
+        }
+        assertEquals(2, index.segmentCount());
+
+        // Broad filters walk the graph; the selective ones fall back to scoring every match
+        for (String expression : List.of("environment = prod", "tags NOT IN (t0, t1)", "tags = t3",
+                "rare = yes AND environment = prod")) {
+            VectorFilter filter = VectorFilter.parse(expression);
+            int found = 0;
+            int expected = 0;
+            for (int q = 0; q < 20; q++) {
+                float[] query = vector(random);
+                Set<Long> exact = exactTopK(vectors, query, 10, filter);
+                List<HnswIndex.Hit> hits = index.search(query, 10, null, filter);
+                assertEquals(exact.size(), hits.size(), expression);
+                for (HnswIndex.Hit hit : hits) {
+                    assertTrue(filter.test(attributes((int) hit.id())), expression + " returned " + hit.id());
+                    found += exact.contains(hit.id()) ? 1 : 0;
+                }
+                expected += exact.size();
+            }
+            assertTrue(found >= expected * 0.9, expression + " recall was " + found / (double) expected);
+        }
+        assertTrue(index.search(vector(random), 10, null, VectorFilter.parse("environment = staging")).isEmpty());
+    }
+
+    @Test
+    void attributesSurviveLogReplayFlushAndMerge() throws IOException {
+        Path store = directory.resolve("store-2");
+        Random random = new Random(5);
+        HnswIndex index = HnswIndex.create(store, DIMENSION, VectorMetric.COSINE, PARAMETERS,
+                new IndexSettings(400, 1, 2), QuantizationSettings.NONE, Runnable::run);
+        for (int i = 0; i < 1000; i++) {
+            index.add(i, vector(random), attributes(i));
+        }
+        // 800 vectors flushed and merged into one segment, 200 only in the log; no close() simulates a crash
+        assertEquals(1, index.segmentCount());
+
+        HnswIndex reopened = HnswIndex.open(store, PARAMETERS, new IndexSettings(400, 1, 2), QuantizationSettings.NONE,
+                Runnable::run);
+        assertEquals(1000, reopened.size());
+        VectorFilter filter = VectorFilter.parse("rare = yes");
+        Set<Long> ids = new HashSet<>();
+        reopened.search(vector(random), 100, null, filter).forEach(hit -> ids.add(hit.id()));
+        assertEquals(Set.of(0L, 300L, 600L, 900L), ids);
+    }
+
+    private static VectorAttributes attributes(int i) {
+        return i % 300 == 0
+                ? VectorAttributes.of(Map.of("environment", List.of(i % 2 == 0 ? "prod" : "dev"),
+                        "tags", List.of("t" + i % 10, "t" + (i + 1) % 10), "rare", List.of("yes")))
+                : VectorAttributes.of(Map.of("environment", List.of(i % 2 == 0 ? "prod" : "dev"),
+                        "tags", List.of("t" + i % 10, "t" + (i + 1) % 10)));
+    }
+
+    private static Set<Long> exactTopK(float[][] vectors, float[] query, int k, VectorFilter filter) {
+        Long[] ids = new Long[vectors.length];
+        float[] scores = new float[vectors.length];
+        int n = 0;
+        for (int i = 0; i < vectors.length; i++) {
+            if (filter.test(attributes(i))) {
+                ids[n] = (long) i;
+                scores[i] = VectorMetric.EUCLIDEAN.score(query, 0, vectors[i], 0, DIMENSION);
+                n++;
+            }
+        }
+        Long[] matches = Arrays.copyOf(ids, n);
+        Arrays.sort(matches, (a, b) -> Float.compare(scores[(int) (long) b], scores[(int) (long) a]));
+        return new HashSet<>(List.of(matches).subList(0, Math.min(k, n)));
+    }
+
+    private static float[] vector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
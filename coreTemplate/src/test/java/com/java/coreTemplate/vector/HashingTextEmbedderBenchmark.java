@@ -0,0 +1,55 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bulk embedding throughput by pool size, to check that re-embedding a collection scales with cores.
+ * Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class HashingTextEmbedderBenchmark {
+    private static final int DOCUMENTS = 200_000;
+    private static final String[] WORDS = ("select count orders customers region revenue month quarter year total "
+            + "average invoices overdue products return rate carrier delivery time show list which highest per by "
+            + "the in of for with over past last current placed number").split(" ");
+
+    @Test
+    void reportThroughputByParallelism() {
+        Random random = new Random(1);
+        List<String> texts = new ArrayList<>(DOCUMENTS);
+        for (int i = 0; i < DOCUMENTS; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 8 + random.nextInt(24); w > 0; w--) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            texts.add(text.toString());
+        }
+        HashingTextEmbedder embedder = new HashingTextEmbedder(512, 2, 3);
+
+        System.out.printf("%d documents, dimension %d%n%8s %12s %8s%n", DOCUMENTS, embedder.dimension(),
+                "threads", "docs/s", "speedup");
+        double single = 0;
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                embedder.embedAll(texts.subList(0, 20_000), pool);
+                long start = System.nanoTime();
+                float[][] vectors = embedder.embedAll(texts, pool);
+                double perSecond = DOCUMENTS / ((System.nanoTime() - start) / 1e9);
+                assertEquals(DOCUMENTS, vectors.length);
+                single = threads == 1 ? perSecond : single;
+                System.out.printf("%8d %,12.0f %8.2f%n", threads, perSecond, perSecond / single);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashingTextEmbedderTest {
+    private static final List<String> CORPUS = List.of(
+            "How many orders were placed last month?",
+            "Show the number of orders placed in the last month",
+            "List customers in the EU region with overdue invoices",
+            "Which products have the highest return rate?",
+            "Total revenue per region for the current quarter",
+            "Average delivery time by carrier over the past year");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void paraphrasesAreCloserThanUnrelatedQuestions() {
+        HashingTextEmbedder embedder = new HashingTextEmbedder(256, 2, 3);
+        float[] orders = embedder.embed(CORPUS.get(0));
+        float[] paraphrase = embedder.embed(CORPUS.get(1));
+        float[] unrelated = embedder.embed(CORPUS.get(2));
+
+        assertEquals(1f, VectorMetric.dot(orders, 0, orders, 0, 256), 1e-5f);
+        assertTrue(similarity(orders, paraphrase) > similarity(orders, unrelated) + 0.2f);
+        // Case and punctuation do not matter
+        assertArrayEquals(orders, embedder.embed("how MANY orders were placed, last month"));
+    }
+
+    @Test
+    void parallelEmbeddingMatchesSequential() {
+        HashingTextEmbedder embedder = new HashingTextEmbedder(128, 3, 4);
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            texts.add(CORPUS.get(i % CORPUS.size()) + " #" + i);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            float[][] vectors = embedder.embedAll(texts, pool);
+            for (int i = 0; i < texts.size(); i++) {
+                assertArrayEquals(embedder.embed(texts.get(i)), vectors[i]);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void fittedWeightsRoundTrip() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            HashingTextEmbedder fitted = HashingTextEmbedder.fit(CORPUS, 256, 2, 3, pool);
+            Path file = directory.resolve("embedder.idf");
+            fitted.write(file);
+            HashingTextEmbedder read = HashingTextEmbedder.read(file);
+            assertEquals(256, read.dimension());
+            for (String text : CORPUS) {
+                assertArrayEquals(fitted.embed(text), read.embed(text));
+            }
+            // Rare words weigh more than ones shared by most documents, so fitting changes the vector
+            float[] unweighted = new HashingTextEmbedder(256, 2, 3).embed(CORPUS.get(0));
+            assertTrue(similarity(unweighted, fitted.embed(CORPUS.get(0))) < 0.9999f);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void aFileWithInvalidSettingsFailsToRead() throws IOException {
+        Path file = directory.resolve("embedder.idf");
+        new HashingTextEmbedder(4, 2, 3).write(file);
+        // Same layout and a valid checksum, but five-word n-grams
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(Files.newOutputStream(file), crc))) {
+            for (int value : new int[] { 0x48544531, 1, 4, 5, 3 }) {
+                out.writeInt(value);
+            }
+            for (int i = 0; i < 4; i++) {
+                out.writeFloat(1f);
+            }
+            out.flush();
+            out.writeLong(crc.getValue());
+        }
+        IOException e = assertThrows(IOException.class, () -> HashingTextEmbedder.read(file));
+        assertTrue(e.getMessage().contains("wordNgrams"), e.getMessage());
+    }
+
+    private static float similarity(float[] a, float[] b) {
+        return VectorMetric.dot(a, 0, b, 0, a.length);
+    }
+}
@@ -0,0 +1,96 @@
+package com.java.coreTemplate.vector;
+
+import com.java.coreTemplate.exception.ConflictException;
+import com.java.coreTemplate.exception.InvalidVectorException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HnswIndexTest {
+    private static final int DIMENSION = 16;
+
+    @Test
+    void approximateSearchMatchesExactSearch() {
+        Random random = new Random(7);
+        float[][] vectors = randomVectors(random, 3000);
+        HnswIndex index = new HnswIndex(DIMENSION, VectorMetric.COSINE, new HnswParameters(16, 100, 100, 42));
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(i, vectors[i]);
+        }
+
+        int queries = 50;
+        int k = 10;
+        int found = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVectors(random, 1)[0];
+            Set<Long> exact = exactTopK(vectors, query, k);
+            List<HnswIndex.Hit> hits = index.search(query, k, null);
+            assertEquals(k, hits.size());
+            for (HnswIndex.Hit hit : hits) {
+                if (exact.contains(hit.id())) {
+                    found++;
+                }
+            }
+        }
+        double recall = found / (double) (queries * k);
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+    }
+
+    @Test
+    void hitsAreOrderedBestFirst() {
+        HnswIndex index = new HnswIndex(2, VectorMetric.EUCLIDEAN, new HnswParameters(4, 16, 16, 1));
+        index.add(1, new float[] { 0, 0 });
+        index.add(2, new float[] { 5, 5 });
+        index.add(3, new float[] { 1, 1 });
+
+        List<HnswIndex.Hit> hits = index.search(new float[] { 0.9f, 0.9f }, 3, null);
+        assertEquals(List.of(3L, 1L, 2L), hits.stream().map(HnswIndex.Hit::id).toList());
+    }
+
+    @Test
+    void rejectsDuplicateIdsAndWrongDimensions() {
+        HnswIndex index = new HnswIndex(2, VectorMetric.DOT_PRODUCT, new HnswParameters(4, 16, 16, 1));
+        index.add(1, new float[] { 1, 0 });
+
+        assertThrows(ConflictException.class, () -> index.add(1, new float[] { 0, 1 }));
+        assertThrows(InvalidVectorException.class, () -> index.add(2, new float[] { 1, 0, 0 }));
+        assertThrows(InvalidVectorException.class, () -> index.search(new float[] { Float.NaN, 0 }, 1, null));
+    }
+
+    private static float[][] randomVectors(Random random, int count) {
+        float[][] vectors = new float[count][DIMENSION];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < DIMENSION; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+        }
+        return vectors;
+    }
+
+    private static Set<Long> exactTopK(float[][] vectors, float[] query, int k) {
+        float[] q = query.clone();
+        VectorMetric.normalize(q);
+        Integer[] order = new Integer[vectors.length];
+        float[] scores = new float[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            float[] v = vectors[i].clone();
+            VectorMetric.normalize(v);
+            scores[i] = VectorMetric.dot(q, 0, v, 0, DIMENSION);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+        Set<Long> top = new HashSet<>();
+        for (int i = 0; i < k; i++) {
+            top.add((long) order[i]);
+        }
+        return top;
+    }
+}
@@ -0,0 +1,127 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedSegmentTest {
+    private static final int DIMENSION = 16;
+    private static final HnswParameters PARAMETERS = new HnswParameters(8, 64, 64, 42);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void segmentRoundTripsAcrossChunkBoundaries() throws IOException {
+        Random random = new Random(3);
+        MemTable memTable = new MemTable(DIMENSION, VectorMetric.EUCLIDEAN, PARAMETERS);
+        float[][] vectors = new float[500][];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomVector(random);
+            // Ids deliberately out of insertion order so the id index has to sort them
+            memTable.add(1_000_000L - i * 7L, vectors[i], VectorAttributes.EMPTY);
+        }
+        Path path = directory.resolve("seg-00000001.hnsw");
+        memTable.writeTo(path);
+
+        // 4 KiB chunks force vectors and neighbor lists to straddle mapping boundaries
+        MappedSegment segment = MappedSegment.open(path, 12);
+        segment.verifyChecksum();
+        assertEquals(vectors.length, segment.size());
+        float[] copy = new float[DIMENSION];
+        for (int i = 0; i < vectors.length; i++) {
+            int ord = segment.ordOf(1_000_000L - i * 7L);
+            assertEquals(i, ord);
+            segment.copyVector(ord, copy);
+            assertArrayEquals(vectors[i], copy);
+        }
+        assertEquals(-1, segment.ordOf(3));
+
+        float[] query = randomVector(random);
+        HnswSearcher.TopHits hits = HnswSearcher.search(segment, segment.scorer(query), 5, 64, null);
+        assertEquals(5, hits.size());
+    }
+
+    @Test
+    void corruptionIsDetected() throws IOException {
+        MemTable memTable = new MemTable(DIMENSION, VectorMetric.COSINE, PARAMETERS);
+        Random random = new Random(5);
+        for (int i = 0; i < 100; i++) {
+            memTable.add(i, randomVector(random), VectorAttributes.EMPTY);
+        }
+        Path path = directory.resolve("seg-00000001.hnsw");
+        memTable.writeTo(path);
+        long size = MappedSegment.open(path).sizeInBytes();
+
+        flipByte(path, size / 2);
+        MappedSegment segment = MappedSegment.open(path);
+        assertThrows(MappedSegment.CorruptSegmentException.class, segment::verifyChecksum);
+
+        flipByte(path, SegmentFormat.POS_VECTORS);
+        assertThrows(MappedSegment.CorruptSegmentException.class, () -> MappedSegment.open(path));
+    }
+
+    @Test
+    void reopenedIndexAnswersLikeTheOriginal() throws IOException {
+        Path store = directory.resolve("store-1");
+        Random random = new Random(11);
+        HnswIndex index = HnswIndex.create(store, DIMENSION, VectorMetric.COSINE, PARAMETERS,
+                new IndexSettings(300, 2, 2), QuantizationSettings.NONE, Runnable::run);
+        for (int i = 0; i < 1000; i++) {
+            index.add(i, randomVector(random));
+        }
+        index.flush();
+        float[] query = randomVector(random);
+        List<HnswIndex.Hit> before = index.search(query, 10, null);
+        index.close();
+
+        HnswIndex reopened = HnswIndex.open(store, PARAMETERS, new IndexSettings(300, 2, 2), QuantizationSettings.NONE, Runnable::run);
+        assertEquals(1000, reopened.size());
+        assertEquals(before, reopened.search(query, 10, null));
+    }
+
+    @Test
+    void unflushedVectorsAreReplayedFromTheLog() throws IOException {
+        Path store = directory.resolve("store-2");
+        Random random = new Random(13);
+        HnswIndex index = HnswIndex.create(store, DIMENSION, VectorMetric.DOT_PRODUCT, PARAMETERS,
+                new IndexSettings(1000, 8, 4), QuantizationSettings.NONE, Runnable::run);
+        for (int i = 0; i < 50; i++) {
+            index.add(i, randomVector(random));
+        }
+        // No close(): simulates a crash with everything still in the memtable
+
+        HnswIndex reopened = HnswIndex.open(store, PARAMETERS, new IndexSettings(1000, 8, 4), QuantizationSettings.NONE, Runnable::run);
+        assertEquals(50, reopened.size());
+        assertEquals(0, reopened.segmentCount());
+    }
+
+    private static void flipByte(Path path, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) ~buffer.get(0));
+            buffer.rewind();
+            channel.write(buffer, position);
+        }
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,129 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recall@10, query latency and heap per quantization mode and re-rank factor, to choose per-store
+ * {@code vector-index.quantization} settings. Run with {@code mvn -Pbenchmark test}; adjust the constants
+ * to match a store's dimension and size.
+ */
+@Tag("benchmark")
+class QuantizationBenchmark {
+    private static final int DIMENSION = 128;
+    private static final int COUNT = 20_000;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+    private static final HnswParameters PARAMETERS = new HnswParameters(16, 100, 64, 42);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reportRecallLatencyAndMemory() throws IOException {
+        Random random = new Random(17);
+        float[][] vectors = new float[COUNT][];
+        for (int i = 0; i < COUNT; i++) {
+            vectors[i] = clustered(random, i % 64);
+        }
+        float[][] queries = new float[QUERIES][];
+        List<Set<Long>> truth = new ArrayList<>();
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = clustered(random, random.nextInt(64));
+            truth.add(exactTopK(vectors, queries[q]));
+        }
+
+        Path store = directory.resolve("store-1");
+        HnswIndex full = HnswIndex.create(store, DIMENSION, VectorMetric.EUCLIDEAN, PARAMETERS,
+                new IndexSettings(COUNT, 8, 4), QuantizationSettings.NONE, Runnable::run);
+        for (int i = 0; i < COUNT; i++) {
+            full.add(i, vectors[i]);
+        }
+        full.close();
+
+        System.out.printf("%d vectors x %d dims, full precision = %,d bytes%n", COUNT, DIMENSION,
+                (long) COUNT * DIMENSION * Float.BYTES);
+        System.out.printf("%-10s %7s %10s %12s %14s%n", "mode", "rerank", "recall@10", "mean us", "heap bytes");
+        Result none = run(store, QuantizationSettings.NONE, queries, truth);
+        print("none", 1, none);
+        for (QuantizationSettings settings : List.of(
+                new QuantizationSettings(Quantization.INT8, 0, 1, 5000),
+                new QuantizationSettings(Quantization.INT8, 0, 2, 5000),
+                new QuantizationSettings(Quantization.INT8, 0, 4, 5000),
+                new QuantizationSettings(Quantization.PQ, DIMENSION / 8, 2, 5000),
+                new QuantizationSettings(Quantization.PQ, DIMENSION / 8, 4, 5000),
+                new QuantizationSettings(Quantization.PQ, DIMENSION / 8, 8, 5000),
+                new QuantizationSettings(Quantization.PQ, DIMENSION / 4, 4, 5000))) {
+            Result result = run(store, settings, queries, truth);
+            String mode = settings.type() == Quantization.PQ
+                    ? "pq/" + settings.subspaces(DIMENSION) : settings.type().name().toLowerCase();
+            print(mode, settings.rerankFactor(), result);
+            assertTrue(result.heapBytes() < (long) COUNT * DIMENSION * Float.BYTES, "codes should be smaller than floats");
+        }
+    }
+
+    private static Result run(Path store, QuantizationSettings settings, float[][] queries, List<Set<Long>> truth)
+            throws IOException {
+        HnswIndex index = HnswIndex.open(store, PARAMETERS, new IndexSettings(COUNT, 8, 4), settings, Runnable::run);
+        for (int warmup = 0; warmup < 2; warmup++) {
+            for (float[] query : queries) {
+                index.search(query, K, null);
+            }
+        }
+        int found = 0;
+        long start = System.nanoTime();
+        for (int q = 0; q < queries.length; q++) {
+            for (HnswIndex.Hit hit : index.search(queries[q], K, null)) {
+                if (truth.get(q).contains(hit.id())) {
+                    found++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        Result result = new Result(found / (double) (queries.length * K), elapsed / 1000.0 / queries.length,
+                index.ramBytesUsed());
+        index.close();
+        return result;
+    }
+
+    private static void print(String mode, int rerank, Result result) {
+        System.out.printf("%-10s %7d %10.3f %12.1f %,14d%n", mode, rerank, result.recall(), result.meanMicros(),
+                result.heapBytes());
+    }
+
+    private static Set<Long> exactTopK(float[][] vectors, float[] query) {
+        Long[] ids = new Long[vectors.length];
+        float[] scores = new float[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            ids[i] = (long) i;
+            scores[i] = VectorMetric.EUCLIDEAN.score(query, 0, vectors[i], 0, DIMENSION);
+        }
+        Arrays.sort(ids, (a, b) -> Float.compare(scores[(int) (long) b], scores[(int) (long) a]));
+        return new HashSet<>(List.of(ids).subList(0, K));
+    }
+
+    // Embeddings cluster by topic; uniform noise would make every quantizer look worse than it is in practice
+    private static float[] clustered(Random random, int cluster) {
+        Random centers = new Random(cluster);
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) (centers.nextGaussian() + 0.5 * random.nextGaussian());
+        }
+        return vector;
+    }
+
+    private record Result(double recall, double meanMicros, long heapBytes) {
+    }
+}
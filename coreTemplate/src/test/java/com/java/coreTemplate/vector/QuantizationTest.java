@@ -0,0 +1,127 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuantizationTest {
+    private static final int DIMENSION = 32;
+    private static final int COUNT = 2000;
+    private static final HnswParameters PARAMETERS = new HnswParameters(16, 100, 100, 42);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void int8SearchKeepsRecallAfterReRank() throws IOException {
+        assertRecall(new QuantizationSettings(Quantization.INT8, 0, 2, 1000), VectorMetric.EUCLIDEAN);
+    }
+
+    @Test
+    void productQuantizedSearchKeepsRecallAfterReRank() throws IOException {
+        assertRecall(new QuantizationSettings(Quantization.PQ, 8, 8, 1000), VectorMetric.COSINE);
+    }
+
+    @Test
+    void persistedCodesAreReusedOnReopen() throws IOException {
+        QuantizationSettings settings = new QuantizationSettings(Quantization.INT8, 0, 2, 1000);
+        HnswIndex index = build(directory.resolve("store-1"), settings, VectorMetric.DOT_PRODUCT, vectors(new Random(1)));
+        index.close();
+        Path codes = directory.resolve("store-1").resolve("seg-00000001.hnsw" + QuantizedVectors.EXTENSION);
+        assertTrue(Files.exists(codes));
+        long written = Files.getLastModifiedTime(codes).toMillis();
+
+        HnswIndex reopened = HnswIndex.open(directory.resolve("store-1"), PARAMETERS, new IndexSettings(COUNT, 8, 4),
+                settings, Runnable::run);
+        assertEquals(written, Files.getLastModifiedTime(codes).toMillis());
+        assertTrue(reopened.ramBytesUsed() >= (long) COUNT * DIMENSION, "codes should be loaded on heap");
+
+        // Switching a store back to full precision drops its codes on the next open
+        reopened.close();
+        HnswIndex.open(directory.resolve("store-1"), PARAMETERS, new IndexSettings(COUNT, 8, 4),
+                QuantizationSettings.NONE, Runnable::run);
+        assertTrue(Files.notExists(codes));
+    }
+
+    private void assertRecall(QuantizationSettings settings, VectorMetric metric) throws IOException {
+        Random random = new Random(7);
+        float[][] vectors = vectors(random);
+        HnswIndex index = build(directory.resolve("store-" + settings.type()), settings, metric, vectors);
+        assertEquals(1, index.segmentCount());
+        assertTrue(index.ramBytesUsed() > 0);
+
+        int queries = 50;
+        int k = 10;
+        int found = 0;
+        for (int q = 0; q < queries; q++) {
+            float[] query = vector(random);
+            Set<Long> exact = exactTopK(vectors, query, k, metric);
+            List<HnswIndex.Hit> hits = index.search(query, k, null);
+            assertEquals(k, hits.size());
+            for (HnswIndex.Hit hit : hits) {
+                if (exact.contains(hit.id())) {
+                    found++;
+                }
+            }
+        }
+        double recall = found / (double) (queries * k);
+        assertTrue(recall >= 0.9, settings.type() + " recall@10 was " + recall);
+    }
+
+    private static HnswIndex build(Path store, QuantizationSettings settings, VectorMetric metric, float[][] vectors)
+            throws IOException {
+        // Running maintenance inline quantizes each segment as soon as it is flushed
+        HnswIndex index = HnswIndex.create(store, DIMENSION, metric, PARAMETERS, new IndexSettings(COUNT, 8, 4),
+                settings, Runnable::run);
+        for (int i = 0; i < vectors.length; i++) {
+            index.add(i, vectors[i]);
+        }
+        return index;
+    }
+
+    private static Set<Long> exactTopK(float[][] vectors, float[] query, int k, VectorMetric metric) {
+        float[] q = query.clone();
+        if (metric.normalizesVectors()) {
+            VectorMetric.normalize(q);
+        }
+        Long[] ids = new Long[vectors.length];
+        float[] scores = new float[vectors.length];
+        for (int i = 0; i < vectors.length; i++) {
+            float[] v = vectors[i].clone();
+            if (metric.normalizesVectors()) {
+                VectorMetric.normalize(v);
+            }
+            ids[i] = (long) i;
+            scores[i] = metric.score(q, 0, v, 0, DIMENSION);
+        }
+        Arrays.sort(ids, (a, b) -> Float.compare(scores[(int) (long) b], scores[(int) (long) a]));
+        return new HashSet<>(List.of(ids).subList(0, k));
+    }
+
+    private static float[][] vectors(Random random) {
+        float[][] vectors = new float[COUNT][];
+        for (int i = 0; i < COUNT; i++) {
+            vectors[i] = vector(random);
+        }
+        return vectors;
+    }
+
+    private static float[] vector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,78 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SemanticSearchCacheTest {
+    private static final List<HnswIndex.Hit> RESULT = List.of(new HnswIndex.Hit(7, 0.9f));
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger searches = new AtomicInteger();
+
+    @Test
+    void nearDuplicateQueriesReuseTheResult() {
+        SemanticSearchCache cache = new SemanticSearchCache(4, Duration.ofMinutes(1), 0.98, now::get);
+        cache.get(1, "k=10", new float[]{1, 0, 0}, this::search);
+        cache.get(1, "k=10", new float[]{2, 0.1f, 0}, this::search);
+        assertEquals(1, searches.get());
+
+        // Different direction, options or store all miss
+        cache.get(1, "k=10", new float[]{1, 1, 0}, this::search);
+        cache.get(1, "k=5", new float[]{1, 0, 0}, this::search);
+        cache.get(2, "k=10", new float[]{1, 0, 0}, this::search);
+        assertEquals(4, searches.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(4, cache.missCount());
+    }
+
+    @Test
+    void entriesExpireAndAreInvalidated() {
+        SemanticSearchCache cache = new SemanticSearchCache(4, Duration.ofSeconds(10), 0.98, now::get);
+        cache.get(1, "k=10", new float[]{1, 0}, this::search);
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        cache.get(1, "k=10", new float[]{1, 0}, this::search);
+        assertEquals(2, searches.get());
+
+        cache.invalidate(1);
+        cache.get(1, "k=10", new float[]{1, 0}, this::search);
+        assertEquals(3, searches.get());
+
+        // A search that overlaps an invalidation is not cached
+        cache.get(1, "k=20", new float[]{0, 1}, () -> {
+            cache.invalidate(1);
+            return search();
+        });
+        cache.get(1, "k=20", new float[]{0, 1}, this::search);
+        assertEquals(5, searches.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsReplaced() {
+        SemanticSearchCache cache = new SemanticSearchCache(2, Duration.ofMinutes(1), 0.98, now::get);
+        cache.get(1, "k=10", new float[]{1, 0, 0}, this::search);
+        now.incrementAndGet();
+        cache.get(1, "k=10", new float[]{0, 1, 0}, this::search);
+        now.incrementAndGet();
+        cache.get(1, "k=10", new float[]{1, 0, 0}, this::search);
+        now.incrementAndGet();
+        cache.get(1, "k=10", new float[]{0, 0, 1}, this::search);
+        assertEquals(2, cache.size());
+        assertEquals(3, searches.get());
+
+        cache.get(1, "k=10", new float[]{1, 0, 0}, this::search);
+        assertEquals(3, searches.get());
+        cache.get(1, "k=10", new float[]{0, 1, 0}, this::search);
+        assertEquals(4, searches.get());
+    }
+
+    private List<HnswIndex.Hit> search() {
+        searches.incrementAndGet();
+        return RESULT;
+    }
+}
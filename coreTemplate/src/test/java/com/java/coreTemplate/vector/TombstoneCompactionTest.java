@@ -0,0 +1,161 @@
+package com.java.coreTemplate.vector;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TombstoneCompactionTest {
+    private static final int DIMENSION = 16;
+    private static final HnswParameters PARAMETERS = new HnswParameters(16, 100, 100, 42);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void deletesAndUpdatesSurviveReplayAndReopen() throws IOException {
+        Path store = directory.resolve("store-1");
+        // A ratio of 1 keeps compaction out of the way
+        IndexSettings settings = new IndexSettings(200, 8, 4, 1.0);
+        Random random = new Random(3);
+        float[][] vectors = new float[500][];
+        HnswIndex index = HnswIndex.create(store, DIMENSION, VectorMetric.COSINE, PARAMETERS, settings,
+                QuantizationSettings.NONE, Runnable::run);
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = vector(random);
+            index.add(i, vectors[i]);
+        }
+        // Ids 0-199 and 200-399 are in segments, 400-499 in the memtable
+        assertEquals(2, index.segmentCount());
+        for (int id = 0; id < 500; id += 50) {
+            assertTrue(index.delete(id));
+        }
+        assertFalse(index.delete(0));
+        float[] moved = vector(random);
+        assertTrue(index.upsert(7, moved, VectorAttributes.of(Map.of("state", List.of("moved")))));
+        assertTrue(index.upsert(420, moved, null));
+        assertFalse(index.upsert(1000, vector(random), null));
+        assertChanges(index, vectors, moved);
+
+        // No close(): the segment deletes are only in the log
+        HnswIndex replayed = HnswIndex.open(store, PARAMETERS, settings, QuantizationSettings.NONE, Runnable::run);
+        assertChanges(replayed, vectors, moved);
+        replayed.close();
+
+        HnswIndex reopened = HnswIndex.open(store, PARAMETERS, settings, QuantizationSettings.NONE, Runnable::run);
+        assertChanges(reopened, vectors, moved);
+        assertEquals(List.of(7L), reopened.search(moved, 10, null, VectorFilter.parse("state = moved")).stream()
+                .map(HnswIndex.Hit::id).toList());
+    }
+
+    @Test
+    void compactionRewritesSegmentsPastTheRatio() throws IOException {
+        Path store = directory.resolve("store-2");
+        IndexSettings settings = new IndexSettings(300, 8, 4, 0.2);
+        Random random = new Random(9);
+        float[][] vectors = new float[600][];
+        HnswIndex index = HnswIndex.create(store, DIMENSION, VectorMetric.EUCLIDEAN, PARAMETERS, settings,
+                QuantizationSettings.NONE, Runnable::run);
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = vector(random);
+            index.add(i, vectors[i]);
+        }
+        index.flush();
+        assertEquals(2, index.segmentCount());
+        // The 60th delete from the first segment passes the ratio and compacts it; the rest land in the rewrite
+        for (int id = 0; id < 100; id++) {
+            assertTrue(index.delete(id));
+        }
+        assertEquals(500, index.size());
+        assertEquals(2, index.segmentCount());
+        for (int id = 0; id < vectors.length; id++) {
+            long top = index.search(vectors[id], 1, null).get(0).id();
+            if (id < 100) {
+                assertTrue(top >= 100, "deleted vector " + id + " was returned");
+            } else {
+                assertEquals(id, top);
+            }
+        }
+        index.close();
+
+        try (Stream<Path> files = Files.list(store)) {
+            // The compacted segment's remaining deletes, and nothing left over from the one it replaced
+            assertEquals(1, files.filter(file -> file.toString().endsWith(Tombstones.EXTENSION)).count());
+        }
+        HnswIndex reopened = HnswIndex.open(store, PARAMETERS, settings, QuantizationSettings.NONE, Runnable::run);
+        assertEquals(500, reopened.size());
+        for (int id = 300; id < 600; id++) {
+            assertTrue(reopened.delete(id));
+        }
+        // Compacted repeatedly as the deletes pile up, until nothing live is left and the segment is dropped
+        assertEquals(200, reopened.size());
+        assertEquals(1, reopened.segmentCount());
+        reopened.close();
+        try (Stream<Path> files = Files.list(store)) {
+            assertEquals(1, files.filter(file -> file.toString().endsWith(SegmentFormat.EXTENSION)).count());
+        }
+    }
+
+    @Test
+    void inMemoryIndexRebuildsOnceDeletesPassTheRatio() {
+        HnswIndex index = new HnswIndex(DIMENSION, VectorMetric.EUCLIDEAN, PARAMETERS, 0.25);
+        Random random = new Random(5);
+        float[][] vectors = new float[8000][];
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = vector(random);
+            index.add(i, vectors[i], VectorAttributes.of(Map.of("parity", List.of(i % 2 == 0 ? "even" : "odd"))));
+        }
+        long full = index.ramBytesUsed();
+        for (int id = 0; id < 7800; id++) {
+            assertTrue(index.delete(id));
+        }
+        float[] moved = vector(random);
+        assertTrue(index.upsert(7900, moved, VectorAttributes.of(Map.of("parity", List.of("moved")))));
+
+        assertEquals(200, index.size());
+        // Without the rebuilds the memtable would still hold all 8000 vectors and their links
+        assertTrue(index.ramBytesUsed() < full / 4, index.ramBytesUsed() + " of " + full + " bytes");
+        for (int id = 7800; id < vectors.length; id++) {
+            if (id != 7900) {
+                assertEquals(id, index.search(vectors[id], 1, null).get(0).id());
+            }
+        }
+        assertEquals(7900, index.search(moved, 1, null).get(0).id());
+        // Attributes are carried into the rebuilt memtable
+        assertEquals(List.of(7900L), index.search(moved, 10, null, VectorFilter.parse("parity = moved")).stream()
+                .map(HnswIndex.Hit::id).toList());
+        for (HnswIndex.Hit hit : index.search(vectors[7801], 50, null, VectorFilter.parse("parity = odd"))) {
+            assertTrue(hit.id() >= 7800 && hit.id() % 2 == 1 && hit.id() != 7900, "unexpected hit " + hit.id());
+        }
+        assertFalse(index.delete(0));
+    }
+
+    private static void assertChanges(HnswIndex index, float[][] vectors, float[] moved) {
+        assertEquals(491, index.size());
+        for (int id = 0; id < 500; id += 50) {
+            for (HnswIndex.Hit hit : index.search(vectors[id], 10, null)) {
+                assertFalse(hit.id() < 500 && hit.id() % 50 == 0, "deleted vector " + hit.id() + " was returned");
+            }
+        }
+        assertEquals(List.of(7L, 420L), index.search(moved, 2, null).stream().map(HnswIndex.Hit::id).sorted().toList());
+        assertTrue(index.search(vectors[7], 1, null).get(0).id() != 7);
+    }
+
+    private static float[] vector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}